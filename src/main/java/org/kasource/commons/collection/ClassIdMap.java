@@ -0,0 +1,161 @@
+package org.kasource.commons.collection;
+
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.cache.ClassIdRegistry;
+
+/**
+ * Map of classes to values, indexed by the id of the class in the ClassIdRegistry.
+ * <p>
+ * A lookup is an array access instead of a hash lookup. Dispatch code that already holds the id
+ * of a class can use {@link #get(int)} directly, {@link #get(Class)} resolves the id from the
+ * registry first. Null values are not supported, null is returned for classes without a value.
+ * <p>
+ * The classes themselves are not referenced by the map. The generation of each id is stored with
+ * its value, once the class loader of a class has been collected and its id reclaimed, the value
+ * is no longer returned for the id. Values are strongly referenced, like in a HashMap a value referencing
+ * its class keeps the class loader of the class from being collected.
+ * <p>
+ * Note: This class is not thread safe.
+ *
+ * @author rikardwi
+ *
+ * @param <V> Value type of the map
+ **/
+public class ClassIdMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ClassIdRegistry registry;
+    private Object[] values = new Object[0];
+    private int[] generations = new int[0];
+
+    /**
+     * Constructor, using the shared registry.
+     **/
+    public ClassIdMap() {
+        this(ClassIdRegistry.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param registry Registry to get class ids from.
+     **/
+    public ClassIdMap(ClassIdRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Returns the value of clazz or null if not found.
+     *
+     * @param clazz Class to get value for.
+     *
+     * @return the value of clazz or null if not found.
+     **/
+    public V get(Class<?> clazz) {
+        int id = registry.findId(clazz);
+        return id < 0 ? null : get(id);
+    }
+
+    /**
+     * Returns the value of the class with id or null if not found.
+     *
+     * @param id Id of the class, as assigned by the registry of the map.
+     *
+     * @return the value of the class with id or null if not found.
+     **/
+    @SuppressWarnings("unchecked")
+    public V get(int id) {
+        if (id < 0 || id >= values.length || generations[id] != registry.getGeneration(id)) {
+            return null;
+        }
+        return (V) values[id];
+    }
+
+    /**
+     * Returns true if the map contains a value for clazz.
+     *
+     * @param clazz Class to look for.
+     *
+     * @return true if the map contains a value for clazz.
+     **/
+    public boolean containsKey(Class<?> clazz) {
+        return get(clazz) != null;
+    }
+
+    /**
+     * Associates value with clazz.
+     *
+     * @param clazz Class to associate value with.
+     * @param value Value, not null.
+     *
+     * @return the previous value of clazz or null if none.
+     *
+     * @throws IllegalArgumentException if value is null.
+     **/
+    public V put(Class<?> clazz, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported, use remove");
+        }
+        int id = registry.getId(clazz);
+        if (id >= values.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, Math.max(id + 1, values.length * 2));
+            values = Arrays.copyOf(values, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+        V previous = get(id);
+        values[id] = value;
+        generations[id] = registry.getGeneration(id);
+        return previous;
+    }
+
+    /**
+     * Removes the value of clazz.
+     *
+     * @param clazz Class to remove value for.
+     *
+     * @return the removed value or null if none.
+     **/
+    public V remove(Class<?> clazz) {
+        int id = registry.findId(clazz);
+        V previous = id < 0 ? null : get(id);
+        if (previous != null) {
+            values[id] = null;
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the number of classes in the map.
+     *
+     * @return the number of classes in the map.
+     **/
+    public int size() {
+        int size = 0;
+        for (int id = 0; id < values.length; id++) {
+            if (get(id) != null) {
+                size++;
+            } else {
+                // Release the value of a reclaimed id
+                values[id] = null;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns true if the map is empty.
+     *
+     * @return true if the map is empty.
+     **/
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all values.
+     **/
+    public void clear() {
+        Arrays.fill(values, null);
+    }
+}
@@ -0,0 +1,190 @@
+package org.kasource.commons.collection;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.kasource.commons.reflection.cache.ClassIdRegistry;
+
+/**
+ * Set of classes stored as a bit set of their ids in the ClassIdRegistry.
+ * <p>
+ * Membership tests and set operations are bit operations. The classes themselves are not
+ * referenced by the set, it will never prevent a class from being garbage collected. The generation
+ * of each id is stored with its bit, once the class loader of a class has been collected and its id
+ * reclaimed, the set no longer contains the id.
+ * <p>
+ * Note: This class is not thread safe.
+ *
+ * @author rikardwi
+ **/
+public class ClassIdSet {
+    private final ClassIdRegistry registry;
+    private final BitSet ids = new BitSet();
+    private int[] generations = new int[0];
+
+    /**
+     * Constructor, using the shared registry.
+     **/
+    public ClassIdSet() {
+        this(ClassIdRegistry.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param registry Registry to get class ids from.
+     **/
+    public ClassIdSet(ClassIdRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Adds clazz to the set.
+     *
+     * @param clazz Class to add.
+     *
+     * @return true if clazz was not already in the set.
+     **/
+    public boolean add(Class<?> clazz) {
+        int id = registry.getId(clazz);
+        if (contains(id)) {
+            return false;
+        }
+        set(id, registry.getGeneration(id));
+        return true;
+    }
+
+    /**
+     * Returns true if clazz is in the set.
+     *
+     * @param clazz Class to look for.
+     *
+     * @return true if clazz is in the set.
+     **/
+    public boolean contains(Class<?> clazz) {
+        return contains(registry.findId(clazz));
+    }
+
+    /**
+     * Returns true if the class with id is in the set.
+     *
+     * @param id Id of the class, as assigned by the registry of the set.
+     *
+     * @return true if the class with id is in the set.
+     **/
+    public boolean contains(int id) {
+        return id >= 0 && ids.get(id) && generations[id] == registry.getGeneration(id);
+    }
+
+    /**
+     * Removes clazz from the set.
+     *
+     * @param clazz Class to remove.
+     *
+     * @return true if clazz was in the set.
+     **/
+    public boolean remove(Class<?> clazz) {
+        int id = registry.findId(clazz);
+        if (!contains(id)) {
+            return false;
+        }
+        ids.clear(id);
+        return true;
+    }
+
+    /**
+     * Returns true if all classes of other are in this set.
+     *
+     * @param other Set to test.
+     *
+     * @return true if all classes of other are in this set.
+     *
+     * @throws IllegalArgumentException if other uses another registry.
+     **/
+    public boolean containsAll(ClassIdSet other) {
+        BitSet missing = (BitSet) other.getIds(this).clone();
+        missing.andNot(getIds(other));
+        return missing.isEmpty();
+    }
+
+    /**
+     * Returns true if this set and other have at least one class in common.
+     *
+     * @param other Set to test.
+     *
+     * @return true if this set and other have at least one class in common.
+     *
+     * @throws IllegalArgumentException if other uses another registry.
+     **/
+    public boolean intersects(ClassIdSet other) {
+        return getIds(other).intersects(other.getIds(this));
+    }
+
+    /**
+     * Adds all classes of other to this set.
+     *
+     * @param other Set to add.
+     *
+     * @throws IllegalArgumentException if other uses another registry.
+     **/
+    public void addAll(ClassIdSet other) {
+        BitSet added = other.getIds(this);
+        for (int id = added.nextSetBit(0); id >= 0; id = added.nextSetBit(id + 1)) {
+            set(id, other.generations[id]);
+        }
+    }
+
+    /**
+     * Returns the number of classes in the set.
+     *
+     * @return the number of classes in the set.
+     **/
+    public int size() {
+        return getIds(this).cardinality();
+    }
+
+    /**
+     * Returns true if the set is empty.
+     *
+     * @return true if the set is empty.
+     **/
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all classes.
+     **/
+    public void clear() {
+        ids.clear();
+    }
+
+    private void set(int id, int generation) {
+        if (id >= generations.length) {
+            generations = Arrays.copyOf(generations, Math.max(id + 1, generations.length * 2));
+        }
+        ids.set(id);
+        generations[id] = generation;
+    }
+
+    /**
+     * Returns the ids in the set, after clearing the ids reclaimed by the registry.
+     *
+     * @param other Set to be combined with this set.
+     *
+     * @return the ids of the set, which is not to be modified.
+     *
+     * @throws IllegalArgumentException if other uses another registry.
+     **/
+    private BitSet getIds(ClassIdSet other) {
+        if (other.registry != registry) {
+            throw new IllegalArgumentException("Sets of different registries can not be combined");
+        }
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            if (generations[id] != registry.getGeneration(id)) {
+                ids.clear(id);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,37 @@
+package org.kasource.commons.jmx;
+
+import org.kasource.commons.jmx.annotation.JmxAttribute;
+import org.kasource.commons.jmx.annotation.JmxBean;
+import org.kasource.commons.jmx.annotation.JmxConstructor;
+import org.kasource.commons.jmx.annotation.JmxOperation;
+import org.kasource.commons.jmx.annotation.JmxParameter;
+import org.kasource.commons.jmx.annotation.OnJmxNotification;
+import org.kasource.commons.reflection.cache.AnnotationValueCache;
+
+/**
+ * Holds the shared cache of materialized JMX annotation values, used when building MBean info and
+ * registering MBeans so that annotation attributes are read once per member.
+ * 
+ * @author rikardwi
+ **/
+public final class JmxAnnotationValues {
+    @SuppressWarnings("unchecked")
+    private static final AnnotationValueCache INSTANCE = new AnnotationValueCache(JmxBean.class, 
+                                                                                  JmxAttribute.class, 
+                                                                                  JmxOperation.class, 
+                                                                                  JmxConstructor.class, 
+                                                                                  JmxParameter.class, 
+                                                                                  OnJmxNotification.class);
+    
+    private JmxAnnotationValues() {
+    }
+    
+    /**
+     * Returns the shared cache of JMX annotation values.
+     * 
+     * @return the shared cache of JMX annotation values.
+     **/
+    public static AnnotationValueCache getInstance() {
+        return INSTANCE;
+    }
+}
@@ -1,6 +1,5 @@
 package org.kasource.commons.jmx.dynamic;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -18,12 +17,16 @@ import javax.management.MBeanOperationInfo;
 import javax.management.MBeanParameterInfo;
 import javax.management.NotificationEmitter;
 
+import org.kasource.commons.jmx.JmxAnnotationValues;
+import org.kasource.commons.jmx.OperationImpact;
 import org.kasource.commons.jmx.annotation.JmxAttribute;
 import org.kasource.commons.jmx.annotation.JmxBean;
 import org.kasource.commons.jmx.annotation.JmxConstructor;
 import org.kasource.commons.jmx.annotation.JmxOperation;
 import org.kasource.commons.jmx.annotation.JmxParameter;
 import org.kasource.commons.reflection.ClassIntrospector;
+import org.kasource.commons.reflection.cache.AnnotationValueCache;
+import org.kasource.commons.reflection.cache.AnnotationValues;
 import org.kasource.commons.reflection.filter.ConstructorFilterBuilder;
 import org.kasource.commons.reflection.filter.MethodFilterBuilder;
 import org.kasource.commons.reflection.filter.methods.MethodFilter;
@@ -36,6 +39,8 @@ import org.kasource.commons.reflection.filter.methods.MethodFilter;
  * - Creates operations for methods annotated with @JmxOperation
  * - Creates constructors for constructors with @JmxConstructor
  * 
+ * Annotation attributes are read from the materialized values of JmxAnnotationValues.
+ * 
  * @author rikardwi
  **/
 public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
@@ -46,6 +51,7 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
                                                             .not().returnType(Void.TYPE)
                                                             .annotated(JmxAttribute.class)
                                                             .build();
+    private static final AnnotationValueCache ANNOTATION_VALUES = JmxAnnotationValues.getInstance();
     
     /**
      * Returns a DynamicMBean generated for the supplied object
@@ -58,8 +64,7 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
      */
     @Override
     public DynamicMBean getMBeanFor(Object object) throws IllegalStateException {
-        JmxBean jmxBean = object.getClass().getAnnotation(JmxBean.class);
-        if (jmxBean == null) {
+        if (ANNOTATION_VALUES.getValues(object.getClass(), JmxBean.class) == null) {
             throw new IllegalArgumentException("Could not find annotation " + JmxBean.class + " on " + object.getClass());
         }
         try {
@@ -90,10 +95,10 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
      * @throws IllegalArgumentException
      */
     private MBeanInfo getInfo(Object object, ClassIntrospector classIntrospector) throws IntrospectionException {
-        JmxBean jmxBean = object.getClass().getAnnotation(JmxBean.class);
+        AnnotationValues jmxBean = ANNOTATION_VALUES.getValues(object.getClass(), JmxBean.class);
        
         MBeanInfo beanInfo = new MBeanInfo(object.getClass().getName(), 
-                                           jmxBean.description(), 
+                                           jmxBean.getString("description"), 
                                            getAttributes(classIntrospector), 
                                            getConstructors(classIntrospector), 
                                            getOperations(classIntrospector), 
@@ -109,7 +114,7 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
      **/
     private MBeanAttributeInfo[] getAttributes(ClassIntrospector classIntrospector) throws IntrospectionException {
        
-        Set<Method> methods = classIntrospector.getMethods(GETTER_FILTER);
+        Set<Method> methods = classIntrospector.getEffectiveMethods(GETTER_FILTER);
         Iterator<Method> iter = methods.iterator();
         MBeanAttributeInfo[] attributeInfo = new MBeanAttributeInfo[methods.size()];
         for (int i = 0; i < attributeInfo.length; i++) {
@@ -121,9 +126,9 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
     
     private MBeanAttributeInfo getAttribute(ClassIntrospector classIntrospector, Method getter) throws IntrospectionException {
         String name = getAttributeName(getter);
-        JmxAttribute jmxAttribute = getter.getAnnotation(JmxAttribute.class);
+        AnnotationValues jmxAttribute = ANNOTATION_VALUES.getValues(getter, JmxAttribute.class);
         Method setter = null;
-        Set<Method> setters = classIntrospector.getMethods(new MethodFilterBuilder()
+        Set<Method> setters = classIntrospector.getEffectiveMethods(new MethodFilterBuilder()
                                                      .isPublic()
                                                      .name("set" + name)
                                                      .hasSignature(getter.getReturnType())
@@ -135,7 +140,7 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
        }
 
        
-       return  new MBeanAttributeInfo(name, jmxAttribute.description(), getter, setter);
+       return  new MBeanAttributeInfo(name, jmxAttribute.getString("description"), getter, setter);
         
     }
     
@@ -163,53 +168,41 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
     }
     
     private MBeanConstructorInfo getConstructor(Constructor<?> constructor) {
-        JmxConstructor jmxConstructor = constructor.getAnnotation(JmxConstructor.class);
-        MBeanParameterInfo[] parameterInfo = getParamaterInfo(constructor.getParameterTypes(), constructor.getParameterAnnotations());
+        AnnotationValues jmxConstructor = ANNOTATION_VALUES.getValues(constructor, JmxConstructor.class);
+        MBeanParameterInfo[] parameterInfo = getParamaterInfo(constructor.getParameterTypes(), 
+                                                              ANNOTATION_VALUES.getParameterValues(constructor, JmxParameter.class));
         MBeanConstructorInfo constructorInfo 
                             = new MBeanConstructorInfo(constructor.getName(), 
-                                        jmxConstructor.description(),
+                                        jmxConstructor.getString("description"),
                                         parameterInfo);
         return constructorInfo;
     }
     
    
     
-    private MBeanParameterInfo[] getParamaterInfo(Class<?>[] parameters, Annotation[][] parameterAnnotations) {
-        MBeanParameterInfo[] parameterInfo = new MBeanParameterInfo[parameterAnnotations.length];
+    private MBeanParameterInfo[] getParamaterInfo(Class<?>[] parameters, AnnotationValues[] jmxParameters) {
+        MBeanParameterInfo[] parameterInfo = new MBeanParameterInfo[parameters.length];
         for (int i = 0; i < parameters.length; i++) {
-            parameterInfo[i] = getParamaterInfo(parameters[i], parameterAnnotations[i], i);
+            parameterInfo[i] = getParamaterInfo(parameters[i], jmxParameters == null ? null : jmxParameters[i], i);
         }
         return parameterInfo;
     }
     
-    MBeanParameterInfo getParamaterInfo(Class<?> parameter, Annotation[] annotations, int index) {
+    MBeanParameterInfo getParamaterInfo(Class<?> parameter, AnnotationValues jmxParameter, int index) {
         String name = "p" + index;
         String description = "";
        
-        JmxParameter jmxParameter = getJmxParameter(annotations);
-       
         if (jmxParameter != null) {
-            if (!jmxParameter.name().isEmpty()) {
-              name =jmxParameter.name();
+            if (!jmxParameter.getString("name").isEmpty()) {
+              name =jmxParameter.getString("name");
             }
-            description = jmxParameter.description();
+            description = jmxParameter.getString("description");
         } 
         return new MBeanParameterInfo(name, parameter.getName(), description);
     }
     
-    private JmxParameter getJmxParameter(Annotation[] annotations) {
-        
-        for (Annotation annotation : annotations) {
-            if (JmxParameter.class.isInstance(annotation)) {
-                return (JmxParameter) annotation;
-                
-            }
-        }
-        return null;
-    }
-    
     private MBeanOperationInfo[] getOperations(ClassIntrospector classIntrospector) {
-        Set<Method> methods = classIntrospector.getMethods(new MethodFilterBuilder()
+        Set<Method> methods = classIntrospector.getEffectiveMethods(new MethodFilterBuilder()
                                                                 .isPublic()
                                                                 .annotated(JmxOperation.class)
                                                                 .build());
@@ -222,12 +215,13 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
     }
     
     private MBeanOperationInfo getOperation(Method method) {
-        JmxOperation jmxOperation = method.getAnnotation(JmxOperation.class);
+        AnnotationValues jmxOperation = ANNOTATION_VALUES.getValues(method, JmxOperation.class);
         MBeanOperationInfo operation = new MBeanOperationInfo(method.getName(), 
-                                                              jmxOperation.description(), 
-                                                              getParamaterInfo(method.getParameterTypes(), method.getParameterAnnotations()), 
+                                                              jmxOperation.getString("description"), 
+                                                              getParamaterInfo(method.getParameterTypes(), 
+                                                                               ANNOTATION_VALUES.getParameterValues(method, JmxParameter.class)), 
                                                               method.getReturnType().getName(), 
-                                                              jmxOperation.impact().getImpact());
+                                                              jmxOperation.get("impact", OperationImpact.class).getImpact());
         return operation;
     }
     
@@ -235,7 +229,7 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
     
     private Map<String, Method> getOperationsMap(ClassIntrospector classIntrospector) {
         Map<String, Method> operations = new HashMap<String, Method>();
-        Set<Method> methods = classIntrospector.getMethods(new MethodFilterBuilder()
+        Set<Method> methods = classIntrospector.getEffectiveMethods(new MethodFilterBuilder()
                                             .isPublic()
                                             .annotated(JmxOperation.class)
                                             .build());
@@ -246,11 +240,11 @@ public class AnnotationDynamicMBeanFactory implements DynamicMBeanFactory{
     }
     
     private void resolveGettersAndSetters(ClassIntrospector classIntrospector, Map<String, Method> getters, Map<String, Method> setters) {
-        Set<Method> methods = classIntrospector.getMethods(GETTER_FILTER);
+        Set<Method> methods = classIntrospector.getEffectiveMethods(GETTER_FILTER);
         for (Method getter : methods) {
             String attributeName = getAttributeName(getter);
             getters.put(attributeName, getter);
-            Set<Method> setterCandidates = classIntrospector.getMethods(new MethodFilterBuilder()
+            Set<Method> setterCandidates = classIntrospector.getEffectiveMethods(new MethodFilterBuilder()
                                                                             .isPublic()
                                                                             .name("set" + attributeName)
                                                                             .hasSignature(getter.getReturnType())
@@ -1,6 +1,7 @@
 package org.kasource.commons.jmx.dynamic;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 
 import javax.management.Attribute;
@@ -15,6 +16,9 @@ import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.management.ReflectionException;
 
+import org.kasource.commons.reflection.invoke.MethodInvoker;
+import org.kasource.commons.reflection.invoke.MethodInvokerFactory;
+
 /**
  * Dynamic MBean implementation, which delegates all access to a target object.
  * 
@@ -24,9 +28,9 @@ public class DynamicMBeanImpl implements DynamicMBean, MBeanRegistration {
 
     private Object target;
     private MBeanInfo mBeanInfo;
-    private Map<String, Method> setters;
-    private Map<String, Method> getters;
-    private Map<String, Method> operations;
+    private Map<String, MethodInvoker<Object>> setters;
+    private Map<String, MethodInvoker<Object>> getters;
+    private Map<String, MethodInvoker<Object>> operations;
    
     /**
      * Constructor.
@@ -81,10 +85,10 @@ public class DynamicMBeanImpl implements DynamicMBean, MBeanRegistration {
 
     @Override
     public Object invoke(String operation, Object[] parameters, String[] signature) throws MBeanException, ReflectionException {
-        Method method = operations.get(operation);
-        if (method != null) {
+        MethodInvoker<Object> invoker = operations.get(operation);
+        if (invoker != null) {
             try {
-                return method.invoke(target, parameters);
+                return invoker.invokeWithArguments(target, parameters);
             } catch (Exception e) {
             }
         }
@@ -97,10 +101,10 @@ public class DynamicMBeanImpl implements DynamicMBean, MBeanRegistration {
     }
 
     private Object getAttributeValue(String attributeName) throws IllegalStateException, IllegalArgumentException{
-        Method method = getters.get(attributeName);
-        if (method != null) {
+        MethodInvoker<Object> invoker = getters.get(attributeName);
+        if (invoker != null) {
             try {
-                return method.invoke(target);
+                return invoker.invoke(target);
             } catch (Exception e) {
                 throw new IllegalStateException("Could not invokd getter for " + attributeName, e);
             }
@@ -109,10 +113,10 @@ public class DynamicMBeanImpl implements DynamicMBean, MBeanRegistration {
     }
     
     private boolean setAttributeValue(Attribute attribute) {
-        Method method = setters.get(attribute.getName());
-        if (method != null) {
+        MethodInvoker<Object> invoker = setters.get(attribute.getName());
+        if (invoker != null) {
             try {
-                 method.invoke(target, attribute.getValue());
+                 invoker.invoke(target, attribute.getValue());
                  return true;
             } catch (Exception e) {
             }
@@ -131,21 +135,36 @@ public class DynamicMBeanImpl implements DynamicMBean, MBeanRegistration {
      * @param setters the setters to set
      */
     public void setSetters(Map<String, Method> setters) {
-        this.setters = setters;
+        this.setters = toInvokers(setters);
     }
 
     /**
      * @param getters the getters to set
      */
     public void setGetters(Map<String, Method> getters) {
-        this.getters = getters;
+        this.getters = toInvokers(getters);
     }
 
     /**
      * @param operations the operations to set
      */
     public void setOperations(Map<String, Method> operations) {
-        this.operations = operations;
+        this.operations = toInvokers(operations);
+    }
+    
+    /**
+     * Returns a map of invokers for the methods supplied.
+     * 
+     * @param methods Map of methods.
+     * 
+     * @return Map of invokers with the same keys as methods.
+     **/
+    private Map<String, MethodInvoker<Object>> toInvokers(Map<String, Method> methods) {
+        Map<String, MethodInvoker<Object>> invokers = new HashMap<String, MethodInvoker<Object>>();
+        for (Map.Entry<String, Method> entry : methods.entrySet()) {
+            invokers.put(entry.getKey(), MethodInvokerFactory.getInvoker(entry.getValue()));
+        }
+        return invokers;
     }
 
     @Override
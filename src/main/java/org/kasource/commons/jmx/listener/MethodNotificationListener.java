@@ -6,6 +6,8 @@ import java.lang.reflect.Method;
 import javax.management.Notification;
 import javax.management.NotificationListener;
 
+import org.kasource.commons.reflection.invoke.MethodInvoker;
+import org.kasource.commons.reflection.invoke.MethodInvokerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,7 +18,7 @@ import org.slf4j.LoggerFactory;
  **/
 public class MethodNotificationListener implements NotificationListener {
     private static final Logger LOG = LoggerFactory.getLogger(MethodNotificationListener.class);
-    private Method method;
+    private MethodInvoker<Object> invoker;
     private Object target;
     
     /**
@@ -26,7 +28,7 @@ public class MethodNotificationListener implements NotificationListener {
      * @param target  Object to invoke method on.
      */
     public MethodNotificationListener(Method method, Object target) {
-        this.method = method;
+        this.invoker = MethodInvokerFactory.getInvoker(method);
         this.target = target;
     }
     
@@ -36,9 +38,9 @@ public class MethodNotificationListener implements NotificationListener {
     @Override
     public void handleNotification(Notification notification, Object handback) {
        try {
-           method.invoke(target, notification, handback);
+           invoker.invoke(target, notification, handback);
        } catch (Exception e) {
-           LOG.error("Could not invoke MessageListener method " + method + " on " + target, e);
+           LOG.error("Could not invoke MessageListener method " + invoker.getMethod() + " on " + target, e);
        }
         
     }
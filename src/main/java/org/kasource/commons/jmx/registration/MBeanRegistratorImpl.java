@@ -29,6 +29,7 @@ import org.kasource.commons.jmx.standard.AnnotatedStandardMBean;
 import org.kasource.commons.reflection.ClassIntrospector;
 import org.kasource.commons.reflection.filter.ClassFilterBuilder;
 import org.kasource.commons.reflection.filter.MethodFilterBuilder;
+import org.kasource.commons.reflection.invoke.MethodInvokerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -126,7 +127,8 @@ public class MBeanRegistratorImpl implements MBeanRegistrator {
                                                                     .hasSignature(Notification.class, Object.class)
                                                                     .build());
         if (listenerMethod != null) {
-            OnJmxNotification onJmxNotification = listenerMethod.getAnnotation(OnJmxNotification.class);
+            // The annotation may be declared on an implemented or overridden method
+            OnJmxNotification onJmxNotification = classIntrospector.getAnnotation(listenerMethod, OnJmxNotification.class);
             filterObjectName = ObjectName.getInstance(onJmxNotification.value());
         }
         return filterObjectName;
@@ -140,9 +142,8 @@ public class MBeanRegistratorImpl implements MBeanRegistrator {
                                                                     .returnTypeExtends(NotificationFilter.class)
                                                                     .build());
         if (filterMethod != null) {
-            filterMethod.setAccessible(true);
             try {
-                return (NotificationFilter) filterMethod.invoke(object);
+                return MethodInvokerFactory.getInvoker(filterMethod, NotificationFilter.class).invoke(object);
             } catch (Exception e) {
                LOG.error("Could not get NotificationFilter from " + filterMethod);
             } 
@@ -1,6 +1,5 @@
 package org.kasource.commons.jmx.standard;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
@@ -12,16 +11,20 @@ import javax.management.MBeanParameterInfo;
 import javax.management.NotCompliantMBeanException;
 import javax.management.StandardMBean;
 
+import org.kasource.commons.jmx.JmxAnnotationValues;
 import org.kasource.commons.jmx.OperationImpact;
 import org.kasource.commons.jmx.annotation.JmxAttribute;
 import org.kasource.commons.jmx.annotation.JmxBean;
 import org.kasource.commons.jmx.annotation.JmxConstructor;
 import org.kasource.commons.jmx.annotation.JmxOperation;
 import org.kasource.commons.jmx.annotation.JmxParameter;
+import org.kasource.commons.reflection.cache.AnnotationValueCache;
+import org.kasource.commons.reflection.cache.AnnotationValues;
+import org.kasource.commons.reflection.cache.ClassLoadingCache;
 import org.kasource.commons.util.reflection.ClassUtils;
 
 public class AnnotatedStandardMBean extends StandardMBean {
-
+    private static final AnnotationValueCache ANNOTATION_VALUES = JmxAnnotationValues.getInstance();
    
     protected AnnotatedStandardMBean(Class<?> mbeanInterface) throws NotCompliantMBeanException {
         super(mbeanInterface);
@@ -46,9 +49,9 @@ public class AnnotatedStandardMBean extends StandardMBean {
     
     @Override
     protected String getDescription(@JmxParameter MBeanInfo mbeaninfo) {
-        JmxBean jmxBean =  this.getImplementationClass().getAnnotation(JmxBean.class);
-        if (jmxBean != null && !jmxBean.description().isEmpty()) {
-           return jmxBean.description();
+        AnnotationValues jmxBean = ANNOTATION_VALUES.getValues(this.getImplementationClass(), JmxBean.class);
+        if (jmxBean != null && !jmxBean.getString("description").isEmpty()) {
+           return jmxBean.getString("description");
         } 
         if (mbeaninfo == null) {
             return null;
@@ -64,9 +67,9 @@ public class AnnotatedStandardMBean extends StandardMBean {
         } else {
             Method method = getGetter(mBeanattributeInfo);
             if (method != null) {
-                JmxAttribute jmxAttribute =  method.getAnnotation(JmxAttribute.class);
-                if (jmxAttribute != null && !jmxAttribute.description().isEmpty()) {
-                    return jmxAttribute.description();
+                AnnotationValues jmxAttribute = ANNOTATION_VALUES.getValues(method, JmxAttribute.class);
+                if (jmxAttribute != null && !jmxAttribute.getString("description").isEmpty()) {
+                    return jmxAttribute.getString("description");
                 }
             }
             return mBeanattributeInfo.getDescription();
@@ -80,9 +83,9 @@ public class AnnotatedStandardMBean extends StandardMBean {
        } else {
            Method method = getOperationsMethod(operation);
             if (method != null) {
-                JmxOperation jmxOperation = method.getAnnotation(JmxOperation.class);
+                AnnotationValues jmxOperation = ANNOTATION_VALUES.getValues(method, JmxOperation.class);
                 if (jmxOperation != null) {
-                    return jmxOperation.description();
+                    return jmxOperation.getString("description");
                 }
             }
             return operation.getDescription();
@@ -105,7 +108,7 @@ public class AnnotatedStandardMBean extends StandardMBean {
     private Class<?> getClass(String className) throws ClassNotFoundException {
         Class<?> clazz = ClassUtils.getPrimitiveClass(className);
         if (clazz == null) {
-            clazz =  Class.forName(className);
+            clazz =  ClassLoadingCache.getInstance().forName(className, AnnotatedStandardMBean.class.getClassLoader());
         }
         return clazz;
     }
@@ -132,23 +135,19 @@ public class AnnotatedStandardMBean extends StandardMBean {
         if (operation == null) {
             return null;
         } else {
-            JmxParameter jmxParameter = getNthJmxParamter(operation, paramNo);
-            if (jmxParameter != null && !jmxParameter.name().isEmpty()) {
-                return jmxParameter.name();
+            AnnotationValues jmxParameter = getNthJmxParamter(operation, paramNo);
+            if (jmxParameter != null && !jmxParameter.getString("name").isEmpty()) {
+                return jmxParameter.getString("name");
             }
             return paramInfo.getName();
         }
     }
     
-    private JmxParameter getNthJmxParamter(MBeanOperationInfo operation, int paramNo) {
+    private AnnotationValues getNthJmxParamter(MBeanOperationInfo operation, int paramNo) {
         Method method = getOperationsMethod(operation);
         if (method != null) {
-            Annotation[] annotations = method.getParameterAnnotations()[paramNo];
-            for (Annotation annotation : annotations) {
-                if (JmxParameter.class.isInstance(annotation)) {
-                   return (JmxParameter) annotation; 
-                }
-            }
+            AnnotationValues[] jmxParameters = ANNOTATION_VALUES.getParameterValues(method, JmxParameter.class);
+            return jmxParameters == null ? null : jmxParameters[paramNo];
         }
         return null;
     }
@@ -160,9 +159,9 @@ public class AnnotatedStandardMBean extends StandardMBean {
         if (operation == null) {
             return null;
         } else {
-            JmxParameter jmxParameter = getNthJmxParamter(operation, paramNo);
-            if (jmxParameter != null && !jmxParameter.description().isEmpty()) {
-                return jmxParameter.description();
+            AnnotationValues jmxParameter = getNthJmxParamter(operation, paramNo);
+            if (jmxParameter != null && !jmxParameter.getString("description").isEmpty()) {
+                return jmxParameter.getString("description");
             }
             
             return paramInfo.getDescription();
@@ -175,9 +174,10 @@ public class AnnotatedStandardMBean extends StandardMBean {
             return MBeanOperationInfo.UNKNOWN;
         } else {
             Method method = getOperationsMethod(mBeanoperationInfo);
-            JmxOperation jmxOperation = method.getAnnotation(JmxOperation.class);
-            if (jmxOperation != null && jmxOperation.impact() != OperationImpact.UNKNOWN){
-                return jmxOperation.impact().getImpact();
+            AnnotationValues jmxOperation = method == null ? null : ANNOTATION_VALUES.getValues(method, JmxOperation.class);
+            OperationImpact impact = jmxOperation == null ? OperationImpact.UNKNOWN : jmxOperation.get("impact", OperationImpact.class);
+            if (impact != OperationImpact.UNKNOWN){
+                return impact.getImpact();
             }
             return mBeanoperationInfo.getImpact();
         }
@@ -189,9 +189,9 @@ public class AnnotatedStandardMBean extends StandardMBean {
         } else {
             Constructor<?> cons = getConstructor(mBeanConstructorInfo);
             if (cons != null) {
-                JmxConstructor jmxConstructor = cons.getAnnotation(JmxConstructor.class);
-                if (jmxConstructor != null && !jmxConstructor.description().isEmpty()) {
-                    return jmxConstructor.description();
+                AnnotationValues jmxConstructor = ANNOTATION_VALUES.getValues(cons, JmxConstructor.class);
+                if (jmxConstructor != null && !jmxConstructor.getString("description").isEmpty()) {
+                    return jmxConstructor.getString("description");
                 }
             }
             return mBeanConstructorInfo.getDescription();
@@ -216,9 +216,9 @@ public class AnnotatedStandardMBean extends StandardMBean {
         if(mBeanParameterInfo == null) {
             return null;
         } else {
-            JmxParameter jmxParameter = getNthJmxParamter(mBeanConstructorInfo, index);
-            if (jmxParameter != null && !jmxParameter.description().isEmpty()) {
-                return jmxParameter.description();
+            AnnotationValues jmxParameter = getNthJmxParamter(mBeanConstructorInfo, index);
+            if (jmxParameter != null && !jmxParameter.getString("description").isEmpty()) {
+                return jmxParameter.getString("description");
             }
             
             return mBeanParameterInfo.getDescription();
@@ -229,24 +229,20 @@ public class AnnotatedStandardMBean extends StandardMBean {
         if(mBeanParameterInfo == null) {
             return null;
         } else {
-            JmxParameter jmxParameter = getNthJmxParamter(mBeanConstructorInfo, index);
-            if (jmxParameter != null && !jmxParameter.name().isEmpty()) {
-                return jmxParameter.name();
+            AnnotationValues jmxParameter = getNthJmxParamter(mBeanConstructorInfo, index);
+            if (jmxParameter != null && !jmxParameter.getString("name").isEmpty()) {
+                return jmxParameter.getString("name");
             }
             
             return mBeanParameterInfo.getName();
         } 
     }
     
-    private JmxParameter getNthJmxParamter(MBeanConstructorInfo mBeanConstructorInfo, int paramNo) {
+    private AnnotationValues getNthJmxParamter(MBeanConstructorInfo mBeanConstructorInfo, int paramNo) {
         Constructor<?> cons = getConstructor(mBeanConstructorInfo);
         if (cons != null) {
-            Annotation[] annotations = cons.getParameterAnnotations()[paramNo];
-            for (Annotation annotation : annotations) {
-                if (JmxParameter.class.isInstance(annotation)) {
-                   return (JmxParameter) annotation; 
-                }
-            }
+            AnnotationValues[] jmxParameters = ANNOTATION_VALUES.getParameterValues(cons, JmxParameter.class);
+            return jmxParameters == null ? null : jmxParameters[paramNo];
         }
         return null;
     }
@@ -0,0 +1,309 @@
+package org.kasource.commons.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kasource.commons.reflection.filter.classes.ClassFilter;
+import org.kasource.commons.reflection.filter.fields.FieldFilter;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+
+/**
+ * Introspects many classes in parallel.
+ * <p>
+ * The classes are partitioned into chunks which are introspected concurrently by an
+ * ExecutorService, each class is introspected by a ClassIntrospector so the shared meta data
+ * and result caches are used. Results are returned in the iteration order of the classes
+ * supplied, the sets of each class are the shared unmodifiable sets of the result cache.
+ * <p>
+ * By default a shared pool of daemon threads, one per available processor, is used. The pool
+ * threads have no context class loader, so the pool never pins the class loader of the application
+ * that happened to create it. A caller supplied executor can be used instead, its life cycle is 
+ * managed by the caller. Small collections are introspected on the calling thread, as are all 
+ * collections introspected from a thread of the shared pool, which would otherwise wait for tasks 
+ * queued behind itself.
+ * <p>
+ * The filters supplied will be evaluated concurrently and must be thread safe, which all
+ * filters in the org.kasource.commons.reflection.filter packages are.
+ * <p>
+ * Example: Finding setters of classes found by the AnnotationScanner:
+ * {@code
+ * BulkIntrospector introspector = new BulkIntrospector(classes);
+ * Map<Class<?>, Set<Method>> setters = introspector.getMethods(MethodFilterBuilder.FILTER_SETTERS);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class BulkIntrospector {
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static ExecutorService sharedExecutor;
+
+    private List<Class<?>> classes;
+    private ExecutorService executor;
+
+    /**
+     * Constructor, using the shared executor.
+     *
+     * @param classes Classes to introspect.
+     **/
+    public BulkIntrospector(Collection<? extends Class<?>> classes) {
+        this(classes, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param classes   Classes to introspect.
+     * @param executor  Executor to run introspection with, null to use the shared executor.
+     **/
+    public BulkIntrospector(Collection<? extends Class<?>> classes, ExecutorService executor) {
+        this.classes = new ArrayList<Class<?>>(classes);
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the methods matching methodFilter declared by each class or its super classes.
+     *
+     * @param methodFilter Filter to apply.
+     *
+     * @return Map of class to methods found, in the order of the classes.
+     **/
+    public Map<Class<?>, Set<Method>> getMethods(MethodFilter methodFilter) {
+        return getMethods(methodFilter, HierarchyScope.SUPER_CLASSES);
+    }
+
+    /**
+     * Returns the methods matching methodFilter declared by the types in scope of each class.
+     *
+     * @param methodFilter Filter to apply.
+     * @param scope        The part of the type hierarchy to inspect.
+     *
+     * @return Map of class to methods found, in the order of the classes.
+     **/
+    public Map<Class<?>, Set<Method>> getMethods(final MethodFilter methodFilter, final HierarchyScope scope) {
+        return introspect(new Query<Set<Method>>() {
+            @Override
+            public Set<Method> execute(ClassIntrospector introspector) {
+                return introspector.getCachedMethods(methodFilter, scope);
+            }
+        });
+    }
+
+    /**
+     * Returns the fields matching filter declared by each class or its super classes.
+     *
+     * @param filter Filter to apply.
+     *
+     * @return Map of class to fields found, in the order of the classes.
+     **/
+    public Map<Class<?>, Set<Field>> getFields(FieldFilter filter) {
+        return getFields(filter, HierarchyScope.SUPER_CLASSES);
+    }
+
+    /**
+     * Returns the fields matching filter declared by the types in scope of each class.
+     *
+     * @param filter Filter to apply.
+     * @param scope  The part of the type hierarchy to inspect.
+     *
+     * @return Map of class to fields found, in the order of the classes.
+     **/
+    public Map<Class<?>, Set<Field>> getFields(final FieldFilter filter, final HierarchyScope scope) {
+        return introspect(new Query<Set<Field>>() {
+            @Override
+            public Set<Field> execute(ClassIntrospector introspector) {
+                return introspector.getCachedFields(filter, scope);
+            }
+        });
+    }
+
+    /**
+     * Returns the interfaces matching filter implemented by each class or its super classes.
+     *
+     * @param filter Filter to apply.
+     *
+     * @return Map of class to interfaces found, in the order of the classes.
+     **/
+    public Map<Class<?>, Set<Class<?>>> getInterfaces(ClassFilter filter) {
+        return getInterfaces(filter, HierarchyScope.SUPER_CLASSES);
+    }
+
+    /**
+     * Returns the interfaces matching filter implemented by the types in scope of each class.
+     *
+     * @param filter Filter to apply.
+     * @param scope  The part of the type hierarchy to inspect.
+     *
+     * @return Map of class to interfaces found, in the order of the classes.
+     **/
+    public Map<Class<?>, Set<Class<?>>> getInterfaces(final ClassFilter filter, final HierarchyScope scope) {
+        return introspect(new Query<Set<Class<?>>>() {
+            @Override
+            public Set<Class<?>> execute(ClassIntrospector introspector) {
+                return introspector.getCachedInterfaces(filter, scope);
+            }
+        });
+    }
+
+    /**
+     * Returns the classes that passes filter.
+     *
+     * @param filter Filter to apply.
+     *
+     * @return The classes that passes filter, in the order of the classes.
+     **/
+    public Set<Class<?>> getClasses(final ClassFilter filter) {
+        Set<Class<?>> matches = new LinkedHashSet<Class<?>>();
+        for (List<Class<?>> result : execute(new Chunk<List<Class<?>>>() {
+            @Override
+            public List<Class<?>> execute(List<Class<?>> chunk) {
+                List<Class<?>> passed = new ArrayList<Class<?>>();
+                for (Class<?> clazz : chunk) {
+                    if (filter.passFilter(clazz)) {
+                        passed.add(clazz);
+                    }
+                }
+                return passed;
+            }
+        })) {
+            matches.addAll(result);
+        }
+        return matches;
+    }
+
+    /**
+     * Runs query for each class and returns the results.
+     *
+     * @param <T>   Type of result.
+     * @param query Query to run.
+     *
+     * @return Map of class to result, in the order of the classes.
+     **/
+    private <T> Map<Class<?>, T> introspect(final Query<T> query) {
+        Map<Class<?>, T> results = new LinkedHashMap<Class<?>, T>();
+        for (Map<Class<?>, T> result : execute(new Chunk<Map<Class<?>, T>>() {
+            @Override
+            public Map<Class<?>, T> execute(List<Class<?>> chunk) {
+                Map<Class<?>, T> chunkResult = new LinkedHashMap<Class<?>, T>();
+                for (Class<?> clazz : chunk) {
+                    chunkResult.put(clazz, query.execute(new ClassIntrospector(clazz)));
+                }
+                return chunkResult;
+            }
+        })) {
+            results.putAll(result);
+        }
+        return results;
+    }
+
+    /**
+     * Partitions the classes into chunks and executes task on each chunk.
+     *
+     * @param <T>   Type of chunk result.
+     * @param task  Task to execute.
+     *
+     * @return The result of each chunk, in chunk order.
+     *
+     * @throws IllegalStateException if interrupted or the task threw a checked exception.
+     **/
+    private <T> List<T> execute(final Chunk<T> task) {
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, classes.size() / (THREADS * CHUNKS_PER_THREAD) + 1);
+        if (classes.size() <= chunkSize || executor == null && Thread.currentThread() instanceof PoolThread) {
+            return Collections.singletonList(task.execute(classes));
+        }
+        ExecutorService executorService = executor == null ? getSharedExecutor() : executor;
+        List<Future<T>> futures = new ArrayList<Future<T>>();
+        try {
+            for (int i = 0; i < classes.size(); i += chunkSize) {
+                final List<Class<?>> chunk = classes.subList(i, Math.min(i + chunkSize, classes.size()));
+                futures.add(executorService.submit(new Callable<T>() {
+                    @Override
+                    public T call() {
+                        return task.execute(chunk);
+                    }
+                }));
+            }
+            List<T> results = new ArrayList<T>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while introspecting classes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Could not introspect classes", e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Returns the shared executor, creating it on first use.
+     *
+     * @return the shared executor.
+     **/
+    private static synchronized ExecutorService getSharedExecutor() {
+        if (sharedExecutor == null) {
+            sharedExecutor = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new PoolThread(runnable, "BulkIntrospector-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(null);
+                    return thread;
+                }
+            });
+        }
+        return sharedExecutor;
+    }
+
+    /**
+     * Thread of the shared executor.
+     **/
+    private static class PoolThread extends Thread {
+        PoolThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+
+    /**
+     * Query executed on a single class.
+     **/
+    private interface Query<T> {
+        T execute(ClassIntrospector introspector);
+    }
+
+    /**
+     * Task executed on a chunk of classes.
+     **/
+    private interface Chunk<T> {
+        T execute(List<Class<?>> chunk);
+    }
+}
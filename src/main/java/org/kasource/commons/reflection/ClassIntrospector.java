@@ -4,18 +4,37 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.kasource.commons.reflection.filter.MethodFilterBuilder;
+import org.kasource.commons.reflection.cache.AnnotationIndex;
+import org.kasource.commons.reflection.cache.AnnotationIndexCache;
+import org.kasource.commons.reflection.cache.ClassMetadata;
+import org.kasource.commons.reflection.cache.ClassMetadataCache;
+import org.kasource.commons.reflection.cache.EffectiveMethodTable;
+import org.kasource.commons.reflection.cache.EffectiveMethodTableCache;
+import org.kasource.commons.reflection.cache.FieldFeatureTable;
+import org.kasource.commons.reflection.cache.FieldFeatureTableCache;
+import org.kasource.commons.reflection.cache.FilterResultCache;
+import org.kasource.commons.reflection.cache.FilterResultCache.QueryType;
+import org.kasource.commons.reflection.cache.MergedAnnotationCache;
+import org.kasource.commons.reflection.cache.MethodFeatureTable;
+import org.kasource.commons.reflection.cache.MethodFeatureTableCache;
 import org.kasource.commons.reflection.filter.classes.ClassFilter;
 import org.kasource.commons.reflection.filter.constructors.ConstructorFilter;
 import org.kasource.commons.reflection.filter.fields.FieldFilter;
 import org.kasource.commons.reflection.filter.methods.MethodFilter;
-import org.kasource.commons.reflection.filter.methods.MethodFilterList;
+import org.kasource.commons.reflection.invoke.FieldAccessor;
+import org.kasource.commons.reflection.invoke.FieldAccessorFactory;
+import org.kasource.commons.reflection.invoke.MethodInvoker;
+import org.kasource.commons.reflection.invoke.MethodInvokerFactory;
+import org.kasource.commons.reflection.type.GenericTypeResolver;
 import org.kasource.commons.util.reflection.MethodUtils;
 
 /**
@@ -31,6 +50,16 @@ import org.kasource.commons.util.reflection.MethodUtils;
  * <p>
  * The same pattern is applied for any getXXX and getDeclaredXXX method pairs.
  * <p>
+ * Methods, fields and interfaces can also be queried with an explicit HierarchyScope, the
+ * TYPE_HIERARCHY scope includes all interfaces implemented directly or transitively by the target class. The 
+ * type hierarchy is linearized once per class, results are ordered most specific type first.
+ * <p>
+ * Declared members are read from the shared ClassMetadataCache, so the reflection
+ * API is only invoked once per class. The results of filter queries are cached
+ * in the shared FilterResultCache, repeating a query with an equal filter will not evaluate 
+ * the filter again. The getXXX methods return a new modifiable copy of the cached result, 
+ * while the getCachedXXX methods return the cached result itself as an unmodifiable set.
+ * <p>
  * ClassFilter, FieldFilter and MethodFilter is used to query (filter) for interfaces, fields 
  * and methods.
  * <p>
@@ -43,8 +72,11 @@ import org.kasource.commons.util.reflection.MethodUtils;
  * @author rikardwi
  **/
 public class ClassIntrospector {
-
+    private static final FilterResultCache RESULT_CACHE = FilterResultCache.getInstance();
+    private static final AnnotationIndexCache ANNOTATION_INDEX_CACHE = AnnotationIndexCache.getInstance();
+    
     private Class<?> target;
+    private ClassMetadata metadata;
     
     /**
      * Constructor.
@@ -53,6 +85,7 @@ public class ClassIntrospector {
      **/
     public ClassIntrospector(Class<?> target) {
         this.target = target;
+        this.metadata = ClassMetadataCache.getInstance().get(target);
     }
     
     
@@ -117,77 +150,68 @@ public class ClassIntrospector {
      * 
      **/
     public  Set<Method> getDeclaredMethods(MethodFilter methodFilter) {
-        return getDeclaredMethods(target, methodFilter);
+        return getMethods(methodFilter, HierarchyScope.DECLARED);
     }
     
     /**
-     * Returns true if the supplied annotation is present on the target class
-     * or any of its super classes.
+     * Returns true if the supplied annotation is present on the target class, 
+     * any of its super classes or the interfaces it implements.
      * 
      * @param annotation Annotation to find.
      * 
-     * @return true if the supplied annotation is present on the target class
-     * or any of its super classes.
+     * @return true if the supplied annotation is present on the target class, 
+     * any of its super classes or the interfaces it implements.
      **/
     public  boolean isAnnotationPresent(Class<? extends Annotation> annotation) {
-        Class<?> clazz = target;
-        if (clazz.isAnnotationPresent(annotation)) {
-            return true;
-        }
-        while((clazz = clazz.getSuperclass()) != null) {
-            if (clazz.isAnnotationPresent(annotation)) {
-                return true;
-            }
-        }
-        return false;
+        return getAnnotation(annotation) != null;
     }
     
     /**
-     * Returns the annotation of the annotationClass of the clazz or any of it super classes.
+     * Returns the annotation of the annotationClass of the target class, any of it super classes or 
+     * the interfaces it implements. The annotation of the class itself takes precedence over the annotations
+     * of its super class and interfaces.
      * 
-     * @param clazz
-     *           The class to inspect.
      * @param annotationClass
      *           Class of the annotation to return
      *           
      * @return The annotation of annnotationClass if found else null.
      */
     public  <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
-        Class<?> clazz = target;
-        T annotation = clazz.getAnnotation(annotationClass);
-        if(annotation != null) {
-            return annotation;
-        }
-        while((clazz = clazz.getSuperclass()) != null) {
-            annotation = clazz.getAnnotation(annotationClass);
-            if(annotation != null) {
-                return annotation;
-            }
-        }
-        return null;
+        return MergedAnnotationCache.getInstance().getAnnotation(target, annotationClass);
     }
     
     /**
-     * Returns the methods declared by clazz which matches the supplied
-     * method filter.
+     * Returns the annotation of the annotationClass of method or of any method it overrides or implements.
      * 
-     * @param clazz
-     *            The class to inspect
+     * @param method
+     *           Method to inspect.
+     * @param annotationClass
+     *           Class of the annotation to return
+     *           
+     * @return The annotation of annnotationClass if found else null.
+     */
+    public  <T extends Annotation> T getAnnotation(Method method, Class<T> annotationClass) {
+        return MergedAnnotationCache.getInstance().getAnnotation(method, annotationClass);
+    }
+    
+    /**
+     * Adds the methods declared by clazz which matches the supplied
+     * method filter to matches.
+     * 
+     * @param classMetadata
+     *            Meta data of the class to inspect
      * @param methodFilter
      *            The method filter to apply.
-     * 
-     * @return methods that match the params argument in their method signature
-     * 
+     * @param matches
+     *            Set to add matching methods to.
      **/
-    private Set<Method> getDeclaredMethods(Class<?> clazz, MethodFilter methodFilter) {
-        Method[] methods = target.getDeclaredMethods();
-        Set<Method> matches = new HashSet<Method>();
+    private void addDeclaredMethods(ClassMetadata classMetadata, MethodFilter methodFilter, Set<Method> matches) {
+        List<Method> methods = classMetadata.getDeclaredMethods();
         for (Method method : methods) {       
             if (methodFilter.passFilter(method)) {
                 matches.add(method);
             }
         }
-        return matches;
     }
 
     /**
@@ -201,18 +225,70 @@ public class ClassIntrospector {
      * 
      **/
     public  Set<Method> getMethods(MethodFilter methodFilter) {
-        Class<?> clazz = target;
-        Set<Method> matches = getDeclaredMethods(clazz, methodFilter);      
-        while((clazz = clazz.getSuperclass()) != null) {     
-            matches.addAll(getDeclaredMethods(clazz, methodFilter));
+        return getMethods(methodFilter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns the methods declared by the types in scope, which matches the supplied
+     * methodFilter. Methods are ordered most specific type first.
+     * 
+     * @param methodFilter
+     *            The method filter to apply.
+     * @param scope
+     *            The part of the type hierarchy to inspect.
+     * 
+     * @return methods that match the methodFilter.
+     * 
+     **/
+    public  Set<Method> getMethods(MethodFilter methodFilter, HierarchyScope scope) {
+        return new LinkedHashSet<Method>(getCachedMethods(methodFilter, scope));
+    }
+    
+    /**
+     * Returns the methods declared by the target class and any of its super classes, which matches the supplied
+     * methodFilter.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param methodFilter
+     *            The method filter to apply.
+     * 
+     * @return unmodifiable set of methods that match the methodFilter.
+     **/
+    public  Set<Method> getCachedMethods(MethodFilter methodFilter) {
+        return getCachedMethods(methodFilter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns the methods declared by the types in scope, which matches the supplied
+     * methodFilter. Methods are ordered most specific type first.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param methodFilter
+     *            The method filter to apply.
+     * @param scope
+     *            The part of the type hierarchy to inspect.
+     * 
+     * @return unmodifiable set of methods that match the methodFilter.
+     **/
+    public  Set<Method> getCachedMethods(MethodFilter methodFilter, HierarchyScope scope) {
+        QueryType queryType = toQueryType(scope, QueryType.DECLARED_METHODS, QueryType.METHODS, QueryType.HIERARCHY_METHODS);
+        Set<Method> methods = RESULT_CACHE.getResult(target, queryType, methodFilter);
+        if (methods != null) {
+            return methods;
         }
-        return matches;
+        Set<Method> matches = new LinkedHashSet<Method>();
+        for (ClassMetadata classMetadata : metadata.getHierarchy(scope)) {     
+            addDeclaredMethods(classMetadata, methodFilter, matches);
+        }
+        return RESULT_CACHE.putResult(target, queryType, methodFilter, matches);
     }
     
     /**
      * Returns the method declared by the target class and any of its super classes, which matches the supplied
      * methodFilter, if method is found null is returned. If more than one method is found the
-     * first in the resulting set iterator is returned.
+     * first in the resulting set iterator is returned, which is declared by the most specific class.
      * 
      * @param methodFilter
      *            The method filter to apply.
@@ -221,11 +297,78 @@ public class ClassIntrospector {
      * 
      **/
     public  Method getMethod(MethodFilter methodFilter) {
-        Set<Method> methods = getMethods(methodFilter);
-        if (!methods.isEmpty()) {
-            return methods.iterator().next();
+        return getMethod(methodFilter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns the first method declared by the types in scope, which matches the supplied
+     * methodFilter, or null if no method is found. 
+     * <p>
+     * The hierarchy is walked most specific type first and the walk stops at the first match, no 
+     * set of matches is built.
+     * 
+     * @param methodFilter
+     *            The method filter to apply.
+     * @param scope
+     *            The part of the type hierarchy to inspect.
+     * 
+     * @return the first method that match the methodFilter or null if no such method was found.
+     **/
+    public  Method getMethod(MethodFilter methodFilter, HierarchyScope scope) {
+        return methodMatches(methodFilter, scope).findFirst();
+    }
+    
+    /**
+     * Returns the methods declared by the types in scope, which matches the supplied
+     * methodFilter, as a lazily evaluated sequence. Methods are ordered most specific type first.
+     * <p>
+     * The hierarchy is only walked as far as the returned sequence is iterated and results are not cached, 
+     * use this method when only the first few matches are needed.
+     * 
+     * @param methodFilter
+     *            The method filter to apply.
+     * @param scope
+     *            The part of the type hierarchy to inspect.
+     * 
+     * @return lazily evaluated methods that match the methodFilter.
+     **/
+    public Iterable<Method> iterateMethods(MethodFilter methodFilter, HierarchyScope scope) {
+        return methodMatches(methodFilter, scope);
+    }
+    
+    private MatchIterable<Method> methodMatches(final MethodFilter methodFilter, HierarchyScope scope) {
+        return new MatchIterable<Method>(metadata.getHierarchy(scope), false) {
+            @Override
+            List<Method> getCandidates(ClassMetadata classMetadata) {
+                return classMetadata.getDeclaredMethods();
+            }
+
+            @Override
+            boolean passFilter(Method method) {
+                return methodFilter.passFilter(method);
+            }
+        };
+    }
+    
+    /**
+     * Returns an invoker for the method declared by the target class and any of its super classes, which matches the supplied
+     * methodFilter. If more than one method is found the invoker of the method returned by {@link #getMethod(MethodFilter)} is
+     * returned.
+     * 
+     * @param methodFilter  The method filter to apply.
+     * @param returnType    The return type of the method or any of its super types.
+     * 
+     * @return invoker of the method that match the methodFilter.
+     * 
+     * @throws IllegalArgumentException if no method matches the methodFilter or if the return type of the method
+     * is not assignable to returnType.
+     **/
+    public <T> MethodInvoker<T> getInvoker(MethodFilter methodFilter, Class<T> returnType) {
+        Method method = getMethod(methodFilter);
+        if (method == null) {
+            throw new IllegalArgumentException("No method found matching filter " + methodFilter + " in " + target);
         }
-        return null;
+        return MethodInvokerFactory.getInvoker(method, returnType);
     }
       
     
@@ -238,14 +381,68 @@ public class ClassIntrospector {
      * @return a set of interfaces from the target class that passes the supplied filter.
      */
     public  Set<Class<?>> getInterfaces(ClassFilter filter) {
-        Class<?> clazz = target;
-        Set<Class<?>> interfacesFound = getDeclaredInterfaces(clazz, filter);
-        
-        while((clazz = clazz.getSuperclass()) != null) {
-            interfacesFound.addAll(getDeclaredInterfaces(clazz, filter));
+        return getInterfaces(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns a set of interfaces implemented by the types in scope that passes the supplied filter.
+     * <p>
+     * With the TYPE_HIERARCHY scope all interfaces implemented or extended directly or transitively
+     * are inspected, ordered as in {@link #getTypeHierarchy()}.
+     * 
+     * @param filter            The class filter to use.
+     * @param scope             The part of the type hierarchy to inspect.
+     * 
+     * @return a set of interfaces from the target class that passes the supplied filter.
+     */
+    public  Set<Class<?>> getInterfaces(ClassFilter filter, HierarchyScope scope) {
+        return new LinkedHashSet<Class<?>>(getCachedInterfaces(filter, scope));
+    }
+    
+    /**
+     * Returns a set of interfaces from the target class that passes the supplied filter.
+     * This method also inspects any interfaces implemented by super classes.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param filter            The class filter to use.
+     * 
+     * @return unmodifiable set of interfaces from the target class that passes the supplied filter.
+     */
+    public  Set<Class<?>> getCachedInterfaces(ClassFilter filter) {
+        return getCachedInterfaces(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns a set of interfaces implemented by the types in scope that passes the supplied filter, 
+     * ordered as {@link #getInterfaces(ClassFilter, HierarchyScope)}.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param filter            The class filter to use.
+     * @param scope             The part of the type hierarchy to inspect.
+     * 
+     * @return unmodifiable set of interfaces from the target class that passes the supplied filter.
+     */
+    public  Set<Class<?>> getCachedInterfaces(ClassFilter filter, HierarchyScope scope) {
+        QueryType queryType = toQueryType(scope, QueryType.DECLARED_INTERFACES, QueryType.INTERFACES, QueryType.HIERARCHY_INTERFACES);
+        Set<Class<?>> interfaces = RESULT_CACHE.getResult(target, queryType, filter);
+        if (interfaces != null) {
+            return interfaces;
         }
-        return interfacesFound;
-       
+        Set<Class<?>> interfacesFound = new LinkedHashSet<Class<?>>();
+        if (scope == HierarchyScope.TYPE_HIERARCHY) {
+            for (Class<?> type : metadata.getTypeHierarchy()) {
+                if (type.isInterface() && type != target && filter.passFilter(type)) {
+                    interfacesFound.add(type);
+                }
+            }
+        } else {
+            for (ClassMetadata classMetadata : metadata.getHierarchy(scope)) {
+                addDeclaredInterfaces(classMetadata, filter, interfacesFound);
+            }
+        }
+        return RESULT_CACHE.putResult(target, queryType, filter, interfacesFound);
     }
     
     /**
@@ -260,11 +457,71 @@ public class ClassIntrospector {
      * be null if no match is found.
      */
     public  Class<?> getInterface(ClassFilter filter) {
-        Set<Class<?>> interfaces = getInterfaces(filter);
-        if (!interfaces.isEmpty()) {
-            return interfaces.iterator().next();
+        return getInterface(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns the first interface implemented by the types in scope that passes the supplied filter,
+     * or null if no interface is found.
+     * <p>
+     * The hierarchy is walked most specific type first and the walk stops at the first match, no 
+     * set of matches is built.
+     * 
+     * @param filter  The class filter to use.
+     * @param scope   The part of the type hierarchy to inspect.
+     * 
+     * @return the first interface that passes the supplied filter or null if no match is found.
+     **/
+    public  Class<?> getInterface(ClassFilter filter, HierarchyScope scope) {
+        return interfaceMatches(filter, scope).findFirst();
+    }
+    
+    /**
+     * Returns the interfaces implemented by the types in scope that passes the supplied filter, as a 
+     * lazily evaluated sequence ordered as {@link #getInterfaces(ClassFilter, HierarchyScope)}.
+     * <p>
+     * The hierarchy is only walked as far as the returned sequence is iterated and results are not cached, 
+     * use this method when only the first few matches are needed.
+     * 
+     * @param filter  The class filter to use.
+     * @param scope   The part of the type hierarchy to inspect.
+     * 
+     * @return lazily evaluated interfaces that passes the supplied filter.
+     **/
+    public Iterable<Class<?>> iterateInterfaces(ClassFilter filter, HierarchyScope scope) {
+        return interfaceMatches(filter, scope);
+    }
+    
+    private MatchIterable<Class<?>> interfaceMatches(final ClassFilter filter, HierarchyScope scope) {
+        if (scope == HierarchyScope.TYPE_HIERARCHY) {
+            return new MatchIterable<Class<?>>(metadata.getHierarchy(scope), false) {
+                @Override
+                List<Class<?>> getCandidates(ClassMetadata classMetadata) {
+                    Class<?> type = classMetadata.getType();
+                    if (type.isInterface() && type != target) {
+                        return Collections.<Class<?>>singletonList(type);
+                    }
+                    return Collections.emptyList();
+                }
+    
+                @Override
+                boolean passFilter(Class<?> interfaceClass) {
+                    return filter.passFilter(interfaceClass);
+                }
+            };
         }
-        return null;
+        // The same interface may be implemented by several classes
+        return new MatchIterable<Class<?>>(metadata.getHierarchy(scope), scope == HierarchyScope.SUPER_CLASSES) {
+            @Override
+            List<Class<?>> getCandidates(ClassMetadata classMetadata) {
+                return classMetadata.getInterfaces();
+            }
+
+            @Override
+            boolean passFilter(Class<?> interfaceClass) {
+                return filter.passFilter(interfaceClass);
+            }
+        };
     }
 
     
@@ -276,28 +533,38 @@ public class ClassIntrospector {
      * @return all Interface classes from clazz that passes the filter.
      */
     public Set<Class<?>> getDeclaredInterfaces(ClassFilter filter) {
-       return getDeclaredInterfaces(target, filter);
+        return getInterfaces(filter, HierarchyScope.DECLARED);
     }
     
     
     /**
-     * Returns a set of interfaces that the from clazz that passes the supplied filter.
+     * Adds the interfaces from clazz that passes the supplied filter to interfacesFound.
      * 
-     * @param clazz             The class to inspect
+     * @param classMetadata     Meta data of the class to inspect
      * @param filter            The class filter to use.
-     * 
-     * @return all Interface classes from clazz that passes the filter.
+     * @param interfacesFound   Set to add matching interfaces to.
      */
-    private Set<Class<?>> getDeclaredInterfaces(Class<?> clazz, ClassFilter filter) {
-        Set<Class<?>> interfacesFound = new HashSet<Class<?>>();
-
-        Class<?>[] interfaces = clazz.getInterfaces();
+    private void addDeclaredInterfaces(ClassMetadata classMetadata, ClassFilter filter, Set<Class<?>> interfacesFound) {
+        List<Class<?>> interfaces = classMetadata.getInterfaces();
         for(Class<?> interfaceClass : interfaces) {
             if(filter.passFilter(interfaceClass)) {
                 interfacesFound.add(interfaceClass);
             }
         }
-        return interfacesFound;
+    }
+    
+    /**
+     * Returns the linearized type hierarchy of the target class: the target class, its super classes
+     * (except Object), all interfaces implemented directly or transitively and finally Object.
+     * <p>
+     * An interface is always listed before the interfaces it extends.
+     * 
+     * @return the type hierarchy of the target class, most specific type first.
+     * 
+     * @see HierarchyScope#TYPE_HIERARCHY
+     **/
+    public List<Class<?>> getTypeHierarchy() {
+        return metadata.getTypeHierarchy();
     }
     
     /**
@@ -309,27 +576,24 @@ public class ClassIntrospector {
      * @return All matching fields declared by the target class.
      **/
     public  Set<Field> getDeclaredFields(FieldFilter filter) {
-        return getDeclaredFields(target, filter);
+        return getFields(filter, HierarchyScope.DECLARED);
     }
     
     /**
-     * Returns a set of all fields matching the supplied filter
-     * declared in the clazz class.
-     * 
-     * @param clazz     The class to inspect.
-     * @param filter    Filter to use.
+     * Adds all fields matching the supplied filter
+     * declared in the clazz class to fields.
      * 
-     * @return All matching fields declared by the clazz class.
+     * @param classMetadata Meta data of the class to inspect.
+     * @param filter        Filter to use.
+     * @param fields        Set to add matching fields to.
      **/
-    private  Set<Field> getDeclaredFields(Class<?> clazz, FieldFilter filter) {
-        Set<Field> fields = new HashSet<Field>();
-        Field[] allFields = clazz.getDeclaredFields();
+    private void addDeclaredFields(ClassMetadata classMetadata, FieldFilter filter, Set<Field> fields) {
+        List<Field> allFields = classMetadata.getDeclaredFields();
         for(Field field : allFields) {
             if(filter.passFilter(field)) {
                 fields.add(field);
             }
         }
-        return fields;
     }
     
     /**
@@ -341,12 +605,147 @@ public class ClassIntrospector {
      * @return All matching fields declared by the target class.
      **/
     public Set<Field> getFields(FieldFilter filter) {
-        Class<?> clazz = target;
-        Set<Field> fields = getDeclaredFields(clazz, filter);
-        while((clazz = clazz.getSuperclass()) != null) {    
-            fields.addAll(getDeclaredFields(clazz, filter));
+        return getFields(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns a set of all fields matching the supplied filter
+     * declared by the types in scope, ordered most specific type first.
+     * <p>
+     * With the TYPE_HIERARCHY scope constants declared by interfaces are included.
+     * 
+     * @param filter    Filter to use.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return All matching fields declared by the types in scope.
+     **/
+    public Set<Field> getFields(FieldFilter filter, HierarchyScope scope) {
+        return new LinkedHashSet<Field>(getCachedFields(filter, scope));
+    }
+    
+    /**
+     * Returns a set of all fields matching the supplied filter
+     * declared in the target class or any of its super classes.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param filter    Filter to use.
+     * 
+     * @return Unmodifiable set of all matching fields declared by the target class.
+     **/
+    public Set<Field> getCachedFields(FieldFilter filter) {
+        return getCachedFields(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns a set of all fields matching the supplied filter
+     * declared by the types in scope, ordered most specific type first.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param filter    Filter to use.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return Unmodifiable set of all matching fields declared by the types in scope.
+     **/
+    public Set<Field> getCachedFields(FieldFilter filter, HierarchyScope scope) {
+        QueryType queryType = toQueryType(scope, QueryType.DECLARED_FIELDS, QueryType.FIELDS, QueryType.HIERARCHY_FIELDS);
+        Set<Field> cachedFields = RESULT_CACHE.getResult(target, queryType, filter);
+        if (cachedFields != null) {
+            return cachedFields;
+        }
+        Set<Field> fields = new LinkedHashSet<Field>();
+        for (ClassMetadata classMetadata : metadata.getHierarchy(scope)) {    
+            addDeclaredFields(classMetadata, filter, fields);
         }
-        return fields;
+        return RESULT_CACHE.putResult(target, queryType, filter, fields);
+    }
+    
+    /**
+     * Returns the first field matching the supplied filter declared in the target class or 
+     * any of its super classes, or null if no field is found.
+     * 
+     * @param filter    Filter to use.
+     * 
+     * @return The first matching field or null if not found.
+     **/
+    public Field getField(FieldFilter filter) {
+        return getField(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns the first field matching the supplied filter declared by the types in scope, 
+     * or null if no field is found.
+     * <p>
+     * The hierarchy is walked most specific type first and the walk stops at the first match, no 
+     * set of matches is built.
+     * 
+     * @param filter    Filter to use.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return The first matching field or null if not found.
+     **/
+    public Field getField(FieldFilter filter, HierarchyScope scope) {
+        return fieldMatches(filter, scope).findFirst();
+    }
+    
+    /**
+     * Returns the fields matching the supplied filter declared by the types in scope, 
+     * as a lazily evaluated sequence ordered most specific type first.
+     * <p>
+     * The hierarchy is only walked as far as the returned sequence is iterated and results are not cached, 
+     * use this method when only the first few matches are needed.
+     * 
+     * @param filter    Filter to use.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return lazily evaluated matching fields.
+     **/
+    public Iterable<Field> iterateFields(FieldFilter filter, HierarchyScope scope) {
+        return fieldMatches(filter, scope);
+    }
+    
+    private MatchIterable<Field> fieldMatches(final FieldFilter filter, HierarchyScope scope) {
+        return new MatchIterable<Field>(metadata.getHierarchy(scope), false) {
+            @Override
+            List<Field> getCandidates(ClassMetadata classMetadata) {
+                return classMetadata.getDeclaredFields();
+            }
+
+            @Override
+            boolean passFilter(Field field) {
+                return filter.passFilter(field);
+            }
+        };
+    }
+    
+    /**
+     * Returns accessors for all fields matching the supplied filter
+     * declared in the target class or any of its super classes.
+     * 
+     * @param filter    Filter to use.
+     * 
+     * @return Accessors of all matching fields, in the order returned by {@link #getFields(FieldFilter)}.
+     **/
+    public Set<FieldAccessor> getFieldAccessors(FieldFilter filter) {
+        return getFieldAccessors(filter, HierarchyScope.SUPER_CLASSES);
+    }
+    
+    /**
+     * Returns accessors for all fields matching the supplied filter
+     * declared by the types in scope.
+     * 
+     * @param filter    Filter to use.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return Accessors of all matching fields, in the order returned by {@link #getFields(FieldFilter, HierarchyScope)}.
+     **/
+    public Set<FieldAccessor> getFieldAccessors(FieldFilter filter, HierarchyScope scope) {
+        Set<FieldAccessor> accessors = new LinkedHashSet<FieldAccessor>();
+        for (Field field : getCachedFields(filter, scope)) {
+            accessors.add(FieldAccessorFactory.getAccessor(field));
+        }
+        return accessors;
     }
     
     /**
@@ -359,19 +758,12 @@ public class ClassIntrospector {
      * 
      * @throws IllegalArgumentException if ofType does not match the target class.
      **/
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public <T> Set<Constructor<T>> getConstructors(ConstructorFilter filter, Class<T> ofType) {
         if(!ofType.equals(target)) {
             throw new IllegalArgumentException("ofType must be target class: " + target);
         }
-        Set<Constructor<T>> cons = new HashSet<Constructor<T>>();
-        Constructor<T>[] constructors = (Constructor<T>[]) target.getDeclaredConstructors();
-        for(Constructor<T> constructor : constructors) {
-            if(filter.passFilter(constructor)) {
-                cons.add(constructor);
-            }
-        }
-        return cons;
+        return (Set) getConstructors(filter);
     }
     
     /**
@@ -382,15 +774,31 @@ public class ClassIntrospector {
      * @return constructors that matches the filter parameter.
      **/
     public Set<Constructor<?>> getConstructors(ConstructorFilter filter) {
-        
-        Set<Constructor<?>> cons = new HashSet<Constructor<?>>();
-        Constructor<?>[] constructors = (Constructor<?>[]) target.getDeclaredConstructors();
+        return new LinkedHashSet<Constructor<?>>(getCachedConstructors(filter));
+    }
+    
+    /**
+     * Returns set of constructors that matches the filter parameter.
+     * <p>
+     * The cached result is returned as is, the set is shared and unmodifiable.
+     * 
+     * @param filter Filter to apply.
+     * 
+     * @return unmodifiable set of constructors that matches the filter parameter.
+     **/
+    public Set<Constructor<?>> getCachedConstructors(ConstructorFilter filter) {
+        Set<Constructor<?>> cachedConstructors = RESULT_CACHE.getResult(target, QueryType.CONSTRUCTORS, filter);
+        if (cachedConstructors != null) {
+            return cachedConstructors;
+        }
+        Set<Constructor<?>> cons = new LinkedHashSet<Constructor<?>>();
+        List<Constructor<?>> constructors = metadata.getDeclaredConstructors();
         for(Constructor<?> constructor : constructors) {
             if(filter.passFilter(constructor)) {
                 cons.add(constructor);
             }
         }
-        return cons;
+        return RESULT_CACHE.putResult(target, QueryType.CONSTRUCTORS, filter, cons);
     }
 
     /**
@@ -403,15 +811,12 @@ public class ClassIntrospector {
      * @throws IllegalArgumentException if ofType does not match the target class.
      * or no constructor is found matching the filter.
      **/
+    @SuppressWarnings("unchecked")
     public <T> Constructor<T> getConstructor(ConstructorFilter filter, Class<T> ofType) {
         if(!ofType.equals(target)) {
             throw new IllegalArgumentException("ofType must be target class: " + target);
         }
-        Set<Constructor<T>> cons = getConstructors(filter, ofType);
-        if(cons.isEmpty()) {
-            throw new IllegalArgumentException("No constructor found mathcing filter " + filter);
-        }
-        return cons.iterator().next();
+        return (Constructor<T>) getConstructor(filter);
     }
     
     /**
@@ -425,15 +830,357 @@ public class ClassIntrospector {
      * @throws IllegalArgumentException if no constructor is found matching the filter.
      **/
     public Constructor<?> getConstructor(ConstructorFilter filter) {
-        Set<Constructor<?>> cons = getConstructors(filter);
-        if(cons.isEmpty()) {
+        Constructor<?> constructor = constructorMatches(filter).findFirst();
+        if(constructor == null) {
             throw new IllegalArgumentException("No constructor found mathcing filter " + filter);
         }
-        return cons.iterator().next();
+        return constructor;
+    }
+    
+    /**
+     * Returns the constructors that matches the filter parameter, as a lazily evaluated sequence.
+     * 
+     * @param filter Filter to apply.
+     * 
+     * @return lazily evaluated constructors that matches the filter parameter.
+     **/
+    public Iterable<Constructor<?>> iterateConstructors(ConstructorFilter filter) {
+        return constructorMatches(filter);
+    }
+    
+    private MatchIterable<Constructor<?>> constructorMatches(final ConstructorFilter filter) {
+        return new MatchIterable<Constructor<?>>(metadata.getHierarchy(HierarchyScope.DECLARED), false) {
+            @Override
+            List<Constructor<?>> getCandidates(ClassMetadata classMetadata) {
+                return classMetadata.getDeclaredConstructors();
+            }
+
+            @Override
+            boolean passFilter(Constructor<?> constructor) {
+                return filter.passFilter(constructor);
+            }
+        };
+    }
+    
+    /**
+     * Visits the methods declared by the target class and any of its super classes, which matches
+     * the supplied methodFilter, most specific class first.
+     * <p>
+     * No collection is allocated, use this method when the matches are iterated once.
+     * 
+     * @param methodFilter  The method filter to apply.
+     * @param visitor       Visitor to invoke for each match, may stop the query by returning false.
+     **/
+    public void forEachMethod(MethodFilter methodFilter, MemberVisitor<? super Method> visitor) {
+        forEachMethod(methodFilter, HierarchyScope.SUPER_CLASSES, visitor);
+    }
+    
+    /**
+     * Visits the methods declared by the types in scope, which matches the supplied methodFilter, 
+     * most specific type first.
+     * <p>
+     * No collection is allocated, use this method when the matches are iterated once.
+     * 
+     * @param methodFilter  The method filter to apply.
+     * @param scope         The part of the type hierarchy to inspect.
+     * @param visitor       Visitor to invoke for each match, may stop the query by returning false.
+     **/
+    public void forEachMethod(MethodFilter methodFilter, HierarchyScope scope, MemberVisitor<? super Method> visitor) {
+        List<ClassMetadata> hierarchy = metadata.getHierarchy(scope);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            List<Method> methods = hierarchy.get(i).getDeclaredMethods();
+            for (int j = 0; j < methods.size(); j++) {
+                Method method = methods.get(j);
+                if (methodFilter.passFilter(method) && !visitor.visit(method)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of methods declared by the types in scope, which matches the supplied methodFilter.
+     * 
+     * @param methodFilter  The method filter to apply.
+     * @param scope         The part of the type hierarchy to inspect.
+     * 
+     * @return the number of matching methods.
+     **/
+    public int countMethods(MethodFilter methodFilter, HierarchyScope scope) {
+        int count = 0;
+        List<ClassMetadata> hierarchy = metadata.getHierarchy(scope);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            List<Method> methods = hierarchy.get(i).getDeclaredMethods();
+            for (int j = 0; j < methods.size(); j++) {
+                Method method = methods.get(j);
+                if (methodFilter.passFilter(method)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Returns true if any method declared by the types in scope matches the supplied methodFilter.
+     * 
+     * @param methodFilter  The method filter to apply.
+     * @param scope         The part of the type hierarchy to inspect.
+     * 
+     * @return true if any method matches.
+     **/
+    public boolean hasMethod(MethodFilter methodFilter, HierarchyScope scope) {
+        List<ClassMetadata> hierarchy = metadata.getHierarchy(scope);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            List<Method> methods = hierarchy.get(i).getDeclaredMethods();
+            for (int j = 0; j < methods.size(); j++) {
+                Method method = methods.get(j);
+                if (methodFilter.passFilter(method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Visits the fields declared by the target class and any of its super classes, which matches
+     * the supplied filter, most specific class first.
+     * <p>
+     * No collection is allocated, use this method when the matches are iterated once.
+     * 
+     * @param filter    The field filter to apply.
+     * @param visitor   Visitor to invoke for each match, may stop the query by returning false.
+     **/
+    public void forEachField(FieldFilter filter, MemberVisitor<? super Field> visitor) {
+        forEachField(filter, HierarchyScope.SUPER_CLASSES, visitor);
+    }
+    
+    /**
+     * Visits the fields declared by the types in scope, which matches the supplied filter, 
+     * most specific type first.
+     * <p>
+     * No collection is allocated, use this method when the matches are iterated once.
+     * 
+     * @param filter    The field filter to apply.
+     * @param scope     The part of the type hierarchy to inspect.
+     * @param visitor   Visitor to invoke for each match, may stop the query by returning false.
+     **/
+    public void forEachField(FieldFilter filter, HierarchyScope scope, MemberVisitor<? super Field> visitor) {
+        List<ClassMetadata> hierarchy = metadata.getHierarchy(scope);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            List<Field> fields = hierarchy.get(i).getDeclaredFields();
+            for (int j = 0; j < fields.size(); j++) {
+                Field field = fields.get(j);
+                if (filter.passFilter(field) && !visitor.visit(field)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of fields declared by the types in scope, which matches the supplied filter.
+     * 
+     * @param filter    The field filter to apply.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return the number of matching fields.
+     **/
+    public int countFields(FieldFilter filter, HierarchyScope scope) {
+        int count = 0;
+        List<ClassMetadata> hierarchy = metadata.getHierarchy(scope);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            List<Field> fields = hierarchy.get(i).getDeclaredFields();
+            for (int j = 0; j < fields.size(); j++) {
+                Field field = fields.get(j);
+                if (filter.passFilter(field)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Returns true if any field declared by the types in scope matches the supplied filter.
+     * 
+     * @param filter    The field filter to apply.
+     * @param scope     The part of the type hierarchy to inspect.
+     * 
+     * @return true if any field matches.
+     **/
+    public boolean hasField(FieldFilter filter, HierarchyScope scope) {
+        List<ClassMetadata> hierarchy = metadata.getHierarchy(scope);
+        for (int i = 0; i < hierarchy.size(); i++) {
+            List<Field> fields = hierarchy.get(i).getDeclaredFields();
+            for (int j = 0; j < fields.size(); j++) {
+                Field field = fields.get(j);
+                if (filter.passFilter(field)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Visits the constructors of the target class which matches the supplied filter.
+     * <p>
+     * No collection is allocated, use this method when the matches are iterated once.
+     * 
+     * @param filter    The constructor filter to apply.
+     * @param visitor   Visitor to invoke for each match, may stop the query by returning false.
+     **/
+    public void forEachConstructor(ConstructorFilter filter, MemberVisitor<? super Constructor<?>> visitor) {
+        List<Constructor<?>> constructors = metadata.getDeclaredConstructors();
+        for (int i = 0; i < constructors.size(); i++) {
+            Constructor<?> constructor = constructors.get(i);
+            if (filter.passFilter(constructor) && !visitor.visit(constructor)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of constructors of the target class which matches the supplied filter.
+     * 
+     * @param filter The constructor filter to apply.
+     * 
+     * @return the number of matching constructors.
+     **/
+    public int countConstructors(ConstructorFilter filter) {
+        int count = 0;
+        List<Constructor<?>> constructors = metadata.getDeclaredConstructors();
+        for (int i = 0; i < constructors.size(); i++) {
+            Constructor<?> constructor = constructors.get(i);
+            if (filter.passFilter(constructor)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Returns true if any constructor of the target class matches the supplied filter.
+     * 
+     * @param filter The constructor filter to apply.
+     * 
+     * @return true if any constructor matches.
+     **/
+    public boolean hasConstructor(ConstructorFilter filter) {
+        List<Constructor<?>> constructors = metadata.getDeclaredConstructors();
+        for (int i = 0; i < constructors.size(); i++) {
+            Constructor<?> constructor = constructors.get(i);
+            if (filter.passFilter(constructor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the index of annotated methods, fields and constructors of the target class.
+     * 
+     * @return the annotation index of the target class.
+     **/
+    public AnnotationIndex getAnnotationIndex() {
+        return ANNOTATION_INDEX_CACHE.get(target);
+    }
+    
+    /**
+     * Returns the columnar feature table of the methods declared by the target class and its super classes.
+     * <p>
+     * Use with BulkFilterEvaluator to evaluate filters against all methods at once.
+     * 
+     * @return the method feature table of the target class.
+     **/
+    public MethodFeatureTable getMethodFeatures() {
+        return MethodFeatureTableCache.getInstance().get(target);
+    }
+    
+    /**
+     * Returns the columnar feature table of the fields declared by the target class and its super classes.
+     * <p>
+     * Use with BulkFilterEvaluator to evaluate filters against all fields at once.
+     * 
+     * @return the field feature table of the target class.
+     **/
+    public FieldFeatureTable getFieldFeatures() {
+        return FieldFeatureTableCache.getInstance().get(target);
+    }
+    
+    /**
+     * Returns the effective method table of the target class, with overrides resolved and 
+     * bridge methods removed.
+     * 
+     * @return the effective method table of the target class.
+     **/
+    public EffectiveMethodTable getEffectiveMethodTable() {
+        return EffectiveMethodTableCache.getInstance().get(target);
+    }
+    
+    /**
+     * Returns the effective methods of the target class that passes methodFilter, ordered by signature.
+     * <p>
+     * Unlike getMethods an overridden method is never returned together with its override, only the
+     * most specific implementation or declaration of each signature is evaluated.
+     * 
+     * @param methodFilter Filter to apply.
+     * 
+     * @return the effective methods that passes methodFilter.
+     **/
+    public Set<Method> getEffectiveMethods(MethodFilter methodFilter) {
+        Set<Method> methods = new LinkedHashSet<Method>();
+        for (Method method : getEffectiveMethodTable().getMethods()) {
+            if (methodFilter.passFilter(method)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+    
+    /**
+     * Returns the generic return type of method with the type variables bound by the target class resolved.
+     * 
+     * @param method Method declared by the target class or one of its super types.
+     * 
+     * @return the resolved generic return type of method.
+     **/
+    public Type getGenericReturnType(Method method) {
+        return GenericTypeResolver.getInstance().getReturnType(method, target);
+    }
+    
+    /**
+     * Returns the generic parameter types of method with the type variables bound by the target class resolved.
+     * 
+     * @param method Method declared by the target class or one of its super types.
+     * 
+     * @return the resolved generic parameter types of method.
+     **/
+    public Type[] getGenericParameterTypes(Method method) {
+        return GenericTypeResolver.getInstance().getParameterTypes(method, target);
+    }
+    
+    /**
+     * Returns the generic type of field with the type variables bound by the target class resolved.
+     * 
+     * @param field Field declared by the target class or one of its super classes.
+     * 
+     * @return the resolved generic type of field.
+     **/
+    public Type getGenericType(Field field) {
+        return GenericTypeResolver.getInstance().getType(field, target);
     }
     
     /**
      * Returns a map of methods annotated with an annotation from the annotations parameter.
+     * <p>
+     * The methods are looked up in the annotation index of the target class, so the class hierarchy
+     * is not traversed for each annotation.
+     * <p>
+     * Annotations are matched like the annotated method filter matches them, including annotations 
+     * inherited from overridden or implemented methods.
      * 
      * @param methodFilter  Filter for methods, may be null to include all annotated methods.
      * @param annotations   Method annotations to find methods for
@@ -441,18 +1188,66 @@ public class ClassIntrospector {
      * @return Methods that is annotated with the supplied annotation set.
      **/
     public Map<Class<? extends Annotation>, Set<Method>> findAnnotatedMethods(MethodFilter methodFilter, Collection<Class<? extends Annotation>> annotations) {
-        
+        AnnotationIndex index = getAnnotationIndex();
         Map<Class<? extends Annotation>, Set<Method>> annotatedMethods = new HashMap<Class<? extends Annotation>, Set<Method>>();
         for (Class<? extends Annotation> annotation : annotations) { 
-            MethodFilter annotationFilter = new MethodFilterBuilder().annotated(annotation).build();
-            if(methodFilter != null) {
-                annotationFilter = new MethodFilterList(annotationFilter, methodFilter);
+            // The index sets are shared, always return a copy
+            Set<Method> matches = new LinkedHashSet<Method>();
+            for (Method method : index.getMethods(annotation)) {
+                if (methodFilter == null || methodFilter.passFilter(method)) {
+                    matches.add(method);
+                }
             }
-            Set<Method> methods = getMethods(annotationFilter);
-            annotatedMethods.put(annotation, methods);
+            annotatedMethods.put(annotation, matches);
         }
         
         return annotatedMethods;
     }
     
-}
+    /**
+     * Returns a map of fields annotated with an annotation from the annotations parameter.
+     * 
+     * @param fieldFilter   Filter for fields, may be null to include all annotated fields.
+     * @param annotations   Field annotations to find fields for
+     * 
+     * @return Fields that is annotated with the supplied annotation set.
+     **/
+    public Map<Class<? extends Annotation>, Set<Field>> findAnnotatedFields(FieldFilter fieldFilter, Collection<Class<? extends Annotation>> annotations) {
+        AnnotationIndex index = getAnnotationIndex();
+        Map<Class<? extends Annotation>, Set<Field>> annotatedFields = new HashMap<Class<? extends Annotation>, Set<Field>>();
+        for (Class<? extends Annotation> annotation : annotations) { 
+            // The index sets are shared, always return a copy
+            Set<Field> matches = new LinkedHashSet<Field>();
+            for (Field field : index.getFields(annotation)) {
+                if (fieldFilter == null || fieldFilter.passFilter(field)) {
+                    matches.add(field);
+                }
+            }
+            annotatedFields.put(annotation, matches);
+        }
+        
+        return annotatedFields;
+    }
+    
+    /**
+     * Returns the query type for the scope supplied.
+     * 
+     * @param scope                 The scope of the query.
+     * @param declaredType          Query type for the DECLARED scope.
+     * @param superClassesType      Query type for the SUPER_CLASSES scope.
+     * @param typeHierarchyType     Query type for the TYPE_HIERARCHY scope.
+     * 
+     * @return the query type for the scope supplied.
+     **/
+    private QueryType toQueryType(HierarchyScope scope, QueryType declaredType, QueryType superClassesType, QueryType typeHierarchyType) {
+        switch (scope) {
+        case DECLARED:
+            return declaredType;
+        case SUPER_CLASSES:
+            return superClassesType;
+        default:
+            return typeHierarchyType;
+        }
+    }
+    
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package org.kasource.commons.reflection;
+
+/**
+ * The part of a class' type hierarchy a ClassIntrospector query inspects.
+ * 
+ * @author rikardwi
+ **/
+public enum HierarchyScope {
+    /**
+     * The target class only.
+     **/
+    DECLARED, 
+    /**
+     * The target class and all its super classes, most specific class first.
+     **/
+    SUPER_CLASSES, 
+    /**
+     * The full type hierarchy of the target class: the target class, its super classes (except Object), 
+     * all interfaces implemented or extended directly or transitively and finally Object. 
+     * <p>
+     * An interface is always listed before the interfaces it extends, interfaces that are not related 
+     * are listed in the order they are declared, sub classes first.
+     **/
+    TYPE_HIERARCHY
+}
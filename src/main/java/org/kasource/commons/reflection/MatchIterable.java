@@ -0,0 +1,116 @@
+package org.kasource.commons.reflection;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.kasource.commons.reflection.cache.ClassMetadata;
+
+/**
+ * Lazily evaluated sequence of the members of a type hierarchy that passes a filter.
+ * <p>
+ * The hierarchy is walked one type at a time as the iterator advances, no collection of
+ * matches is built and the walk stops when the caller stops iterating. Members are returned
+ * most specific type first, in the order of the hierarchy supplied.
+ * 
+ * @author rikardwi
+ *
+ * @param <T> Member type.
+ **/
+abstract class MatchIterable<T> implements Iterable<T> {
+    private final List<ClassMetadata> hierarchy;
+    private final boolean distinct;
+    
+    /**
+     * Constructor.
+     * 
+     * @param hierarchy The types to inspect, in order.
+     * @param distinct  true to skip members already returned, needed when the same member 
+     *                  can be found on several types.
+     **/
+    MatchIterable(List<ClassMetadata> hierarchy, boolean distinct) {
+        this.hierarchy = hierarchy;
+        this.distinct = distinct;
+    }
+    
+    /**
+     * Returns the candidate members of a type.
+     * 
+     * @param classMetadata Meta data of the type.
+     * 
+     * @return the candidate members of a type.
+     **/
+    abstract List<T> getCandidates(ClassMetadata classMetadata);
+    
+    /**
+     * Returns true if member is a match.
+     * 
+     * @param member Candidate member.
+     * 
+     * @return true if member is a match.
+     **/
+    abstract boolean passFilter(T member);
+    
+    /**
+     * Returns the first match or null if no match is found.
+     * 
+     * @return the first match or null.
+     **/
+    T findFirst() {
+        for (ClassMetadata classMetadata : hierarchy) {
+            for (T member : getCandidates(classMetadata)) {
+                if (passFilter(member)) {
+                    return member;
+                }
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final Set<T> returned = distinct ? new HashSet<T>() : null;
+            private int typeIndex;
+            private List<T> candidates;
+            private int candidateIndex;
+            private T next;
+            
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    if (candidates == null || candidateIndex >= candidates.size()) {
+                        if (typeIndex >= hierarchy.size()) {
+                            return false;
+                        }
+                        candidates = getCandidates(hierarchy.get(typeIndex++));
+                        candidateIndex = 0;
+                        continue;
+                    }
+                    T candidate = candidates.get(candidateIndex++);
+                    if (passFilter(candidate) && (returned == null || returned.add(candidate))) {
+                        next = candidate;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T member = next;
+                next = null;
+                return member;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package org.kasource.commons.reflection;
+
+/**
+ * Callback invoked for each member matched by a ClassIntrospector forEach query.
+ * <p>
+ * Visiting members does not allocate any collection, a visitor instance can be reused for
+ * any number of queries.
+ * <p>
+ * Example: Invoking all setters:
+ * {@code
+ * introspector.forEachMethod(MethodFilterBuilder.FILTER_SETTERS, new MemberVisitor<Method>() {
+ *     public boolean visit(Method method) {
+ *         ...
+ *         return true;
+ *     }
+ * });
+ * }
+ * 
+ * @author rikardwi
+ *
+ * @param <T> Member type.
+ **/
+public interface MemberVisitor<T> {
+    
+    /**
+     * Visits a matching member.
+     * 
+     * @param member The member that matched.
+     * 
+     * @return true to continue with the next match, false to stop.
+     **/
+    public boolean visit(T member);
+}
@@ -0,0 +1,95 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Thread safe registry assigning each annotation type a dense integer id, the index of the annotation
+ * type in an AnnotationMask.
+ * <p>
+ * Ids are assigned on first use and never reused. Annotation types are weakly referenced, the
+ * registry will never prevent an annotation type from being garbage collected.
+ * <p>
+ * Example:
+ * {@code
+ * AnnotationMask mask = AnnotationIdRegistry.getInstance().getMask(JmxAttribute.class, JmxOperation.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class AnnotationIdRegistry {
+    private static final AnnotationIdRegistry INSTANCE = new AnnotationIdRegistry();
+
+    private final Map<Class<? extends Annotation>, Integer> ids = new WeakHashMap<Class<? extends Annotation>, Integer>();
+    private int nextId;
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static AnnotationIdRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the id of annotationType, assigning the next free id if not already registered.
+     *
+     * @param annotationType Annotation type.
+     *
+     * @return the id of annotationType.
+     **/
+    public int getId(Class<? extends Annotation> annotationType) {
+        synchronized (ids) {
+            Integer id = ids.get(annotationType);
+            if (id == null) {
+                id = nextId++;
+                ids.put(annotationType, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the mask of the annotation types supplied.
+     *
+     * @param annotationTypes Annotation types.
+     *
+     * @return the mask of the annotation types supplied.
+     **/
+    @SuppressWarnings("unchecked")
+    public AnnotationMask getMask(Class<? extends Annotation>... annotationTypes) {
+        int[] maskIds = new int[annotationTypes.length];
+        for (int i = 0; i < annotationTypes.length; i++) {
+            maskIds[i] = getId(annotationTypes[i]);
+        }
+        return new AnnotationMask(maskIds);
+    }
+
+    /**
+     * Returns the mask of the types of the annotations supplied.
+     *
+     * @param annotations Annotations.
+     *
+     * @return the mask of the types of the annotations supplied.
+     **/
+    public AnnotationMask getMask(Annotation[] annotations) {
+        int[] maskIds = new int[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            maskIds[i] = getId(annotations[i].annotationType());
+        }
+        return new AnnotationMask(maskIds);
+    }
+
+    /**
+     * Returns the number of annotation types currently registered.
+     *
+     * @return the number of annotation types currently registered.
+     **/
+    public int size() {
+        synchronized (ids) {
+            return ids.size();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.kasource.commons.reflection.HierarchyScope;
+
+/**
+ * Index of the annotated members of a class, by annotation type.
+ * <p>
+ * The index is built in a single pass over the methods and fields declared by the class
+ * and its super classes and the constructors declared by the class, so that members annotated 
+ * with any number of annotations can be looked up without traversing the class hierarchy again.
+ * <p>
+ * Methods are indexed by their merged annotations from the MergedAnnotationCache, including the
+ * annotations of the methods they override or implement, the same annotations the annotated method 
+ * filters match. Fields and constructors are indexed by their declared annotations.
+ * <p>
+ * Methods and fields are ordered most specific class first. Sets returned are unmodifiable.
+ * <p>
+ * Note: Instances should be retrieved from the AnnotationIndexCache.
+ *
+ * @author rikardwi
+ **/
+public class AnnotationIndex {
+    private final Class<?> type;
+    private final Map<Class<? extends Annotation>, Set<Method>> methods;
+    private final Map<Class<? extends Annotation>, Set<Field>> fields;
+    private final Map<Class<? extends Annotation>, Set<Constructor<?>>> constructors;
+
+    /**
+     * Constructor.
+     *
+     * @param metadata Meta data of the class to index.
+     **/
+    AnnotationIndex(ClassMetadata metadata) {
+        this.type = metadata.getType();
+        Map<Class<? extends Annotation>, Set<Method>> methodIndex = new HashMap<Class<? extends Annotation>, Set<Method>>();
+        Map<Class<? extends Annotation>, Set<Field>> fieldIndex = new HashMap<Class<? extends Annotation>, Set<Field>>();
+        MergedAnnotationCache mergedAnnotations = MergedAnnotationCache.getInstance();
+        for (ClassMetadata classMetadata : metadata.getHierarchy(HierarchyScope.SUPER_CLASSES)) {
+            for (Method method : classMetadata.getDeclaredMethods()) {
+                index(method, mergedAnnotations.getAnnotations(method), methodIndex);
+            }
+            for (Field field : classMetadata.getDeclaredFields()) {
+                index(field, field.getDeclaredAnnotations(), fieldIndex);
+            }
+        }
+        Map<Class<? extends Annotation>, Set<Constructor<?>>> constructorIndex = 
+                    new HashMap<Class<? extends Annotation>, Set<Constructor<?>>>();
+        for (Constructor<?> constructor : metadata.getDeclaredConstructors()) {
+            index(constructor, constructor.getDeclaredAnnotations(), constructorIndex);
+        }
+        this.methods = unmodifiable(methodIndex);
+        this.fields = unmodifiable(fieldIndex);
+        this.constructors = unmodifiable(constructorIndex);
+    }
+
+    private static <T> void index(T member, Annotation[] annotations, Map<Class<? extends Annotation>, Set<T>> index) {
+        for (Annotation annotation : annotations) {
+            Set<T> members = index.get(annotation.annotationType());
+            if (members == null) {
+                members = new LinkedHashSet<T>();
+                index.put(annotation.annotationType(), members);
+            }
+            members.add(member);
+        }
+    }
+
+    private static <T> Map<Class<? extends Annotation>, Set<T>> unmodifiable(Map<Class<? extends Annotation>, Set<T>> index) {
+        for (Map.Entry<Class<? extends Annotation>, Set<T>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        return index;
+    }
+
+    /**
+     * Returns the class indexed.
+     *
+     * @return the class indexed.
+     **/
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the methods annotated with annotation, declared by the class or its super classes.
+     *
+     * @param annotation Annotation to find methods for.
+     *
+     * @return the methods annotated with annotation.
+     **/
+    public Set<Method> getMethods(Class<? extends Annotation> annotation) {
+        return lookup(methods, annotation);
+    }
+
+    /**
+     * Returns the fields annotated with annotation, declared by the class or its super classes.
+     *
+     * @param annotation Annotation to find fields for.
+     *
+     * @return the fields annotated with annotation.
+     **/
+    public Set<Field> getFields(Class<? extends Annotation> annotation) {
+        return lookup(fields, annotation);
+    }
+
+    /**
+     * Returns the constructors annotated with annotation.
+     *
+     * @param annotation Annotation to find constructors for.
+     *
+     * @return the constructors annotated with annotation.
+     **/
+    public Set<Constructor<?>> getConstructors(Class<? extends Annotation> annotation) {
+        return lookup(constructors, annotation);
+    }
+
+    /**
+     * Returns the annotation types present on any method.
+     *
+     * @return the annotation types present on any method.
+     **/
+    public Set<Class<? extends Annotation>> getMethodAnnotations() {
+        return Collections.unmodifiableSet(methods.keySet());
+    }
+
+    private <T> Set<T> lookup(Map<Class<? extends Annotation>, Set<T>> index, Class<? extends Annotation> annotation) {
+        Set<T> members = index.get(annotation);
+        if (members == null) {
+            return Collections.emptySet();
+        }
+        return members;
+    }
+}
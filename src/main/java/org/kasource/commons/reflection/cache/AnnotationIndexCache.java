@@ -0,0 +1,30 @@
+package org.kasource.commons.reflection.cache;
+
+/**
+ * Shared cache of annotation indexes.
+ * <p>
+ * Example:
+ * {@code
+ * Set<Method> handlers = AnnotationIndexCache.getInstance().get(MyClass.class).getMethods(OnEvent.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class AnnotationIndexCache extends ClassCache<AnnotationIndex> {
+    private static final AnnotationIndexCache INSTANCE = new AnnotationIndexCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static AnnotationIndexCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected AnnotationIndex create(Class<?> clazz) {
+        return new AnnotationIndex(ClassMetadataCache.getInstance().get(clazz));
+    }
+
+}
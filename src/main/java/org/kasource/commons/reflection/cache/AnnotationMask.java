@@ -0,0 +1,96 @@
+package org.kasource.commons.reflection.cache;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of annotation ids, as assigned by the AnnotationIdRegistry, stored as a bit mask.
+ * <p>
+ * Testing if an annotation is present is a single bit test and testing if several annotations
+ * are present is one mask comparison per 64 annotation types registered.
+ *
+ * @author rikardwi
+ **/
+public final class AnnotationMask {
+    private final long[] words;
+
+    /**
+     * Constructor.
+     *
+     * @param ids Annotation ids in the mask.
+     **/
+    AnnotationMask(int... ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        words = new long[(max >> 6) + 1];
+        for (int id : ids) {
+            words[id >> 6] |= 1L << id;
+        }
+    }
+
+    /**
+     * Returns true if the annotation with the id supplied is in the mask.
+     *
+     * @param id Annotation id.
+     *
+     * @return true if the annotation with the id supplied is in the mask.
+     **/
+    public boolean contains(int id) {
+        int word = id >> 6;
+        return word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Returns true if all annotations of mask are in this mask.
+     *
+     * @param mask Mask to test.
+     *
+     * @return true if all annotations of mask are in this mask.
+     **/
+    public boolean containsAll(AnnotationMask mask) {
+        for (int i = 0; i < mask.words.length; i++) {
+            long word = i < words.length ? words[i] : 0L;
+            if ((word & mask.words[i]) != mask.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the mask contains no annotations.
+     *
+     * @return true if the mask contains no annotations.
+     **/
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AnnotationMask)) {
+            return false;
+        }
+        AnnotationMask other = (AnnotationMask) obj;
+        return containsAll(other) && other.containsAll(this);
+    }
+
+    @Override
+    public int hashCode() {
+        // Trailing zero words does not affect equality
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+}
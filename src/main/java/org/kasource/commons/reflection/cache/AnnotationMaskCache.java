@@ -0,0 +1,140 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared cache of the annotation masks of classes and their declared members.
+ * <p>
+ * The masks of a class and all its declared methods, fields and constructors are computed the first
+ * time the class is looked up. The mask of a class holds the annotations present as by 
+ * Class.isAnnotationPresent, the mask of a method holds its merged annotations, including the annotations
+ * of the methods it overrides or implements, and the masks of fields and constructors hold the annotations
+ * declared.
+ * <p>
+ * Example:
+ * {@code
+ * int id = AnnotationIdRegistry.getInstance().getId(JmxAttribute.class);
+ * boolean annotated = AnnotationMaskCache.getInstance().getMask(method).contains(id);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class AnnotationMaskCache {
+    private static final AnnotationMaskCache INSTANCE = new AnnotationMaskCache();
+
+    private final MaskCache cache = new MaskCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static AnnotationMaskCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the mask of the annotations present on clazz.
+     *
+     * @param clazz Class to inspect.
+     *
+     * @return the mask of the annotations present on clazz.
+     **/
+    public AnnotationMask getMask(Class<?> clazz) {
+        return cache.get(clazz).classMask;
+    }
+
+    /**
+     * Returns the mask of the merged annotations of method.
+     *
+     * @param method Method to inspect.
+     *
+     * @return the mask of the merged annotations of method.
+     **/
+    public AnnotationMask getMask(Method method) {
+        return getMemberMask(method);
+    }
+
+    /**
+     * Returns the mask of the annotations declared by field.
+     *
+     * @param field Field to inspect.
+     *
+     * @return the mask of the annotations declared by field.
+     **/
+    public AnnotationMask getMask(Field field) {
+        return getMemberMask(field);
+    }
+
+    /**
+     * Returns the mask of the annotations declared by constructor.
+     *
+     * @param constructor Constructor to inspect.
+     *
+     * @return the mask of the annotations declared by constructor.
+     **/
+    public AnnotationMask getMask(Constructor<?> constructor) {
+        return getMemberMask(constructor);
+    }
+
+    private AnnotationMask getMemberMask(Member member) {
+        AnnotationMask mask = cache.get(member.getDeclaringClass()).memberMasks.get(member);
+        if (mask == null) {
+            throw new IllegalArgumentException(member + " is not declared by " + member.getDeclaringClass());
+        }
+        return mask;
+    }
+
+    /**
+     * Removes all cached masks and resets the statistics.
+     **/
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns the number of classes currently in the cache.
+     *
+     * @return the number of classes currently in the cache.
+     **/
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * The annotation masks of a class and its declared members.
+     **/
+    private static class ClassMasks {
+        private AnnotationMask classMask;
+        private final Map<Member, AnnotationMask> memberMasks = new HashMap<Member, AnnotationMask>();
+    }
+
+    /**
+     * Computes the masks of a class and its declared members.
+     **/
+    private static class MaskCache extends ClassCache<ClassMasks> {
+
+        @Override
+        protected ClassMasks create(Class<?> clazz) {
+            AnnotationIdRegistry registry = AnnotationIdRegistry.getInstance();
+            ClassMetadata metadata = ClassMetadataCache.getInstance().get(clazz);
+            ClassMasks masks = new ClassMasks();
+            masks.classMask = registry.getMask(clazz.getAnnotations());
+            for (Method method : metadata.getDeclaredMethods()) {
+                masks.memberMasks.put(method, registry.getMask(MergedAnnotationCache.getInstance().getAnnotations(method)));
+            }
+            for (Field field : metadata.getDeclaredFields()) {
+                masks.memberMasks.put(field, registry.getMask(field.getDeclaredAnnotations()));
+            }
+            for (Constructor<?> constructor : metadata.getDeclaredConstructors()) {
+                masks.memberMasks.put(constructor, registry.getMask(constructor.getDeclaredAnnotations()));
+            }
+            return masks;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of materialized annotation values for a set of annotation types a framework registers interest in.
+ * <p>
+ * The first time a class is looked up the registered annotations of the class, its declared constructors, 
+ * methods, fields and their parameters are read into AnnotationValues, once for all members. Later lookups
+ * are served from the cache without invoking any annotation proxy.
+ * <p>
+ * Annotations of the class are resolved as by Class.getAnnotation, annotations of methods are the merged
+ * annotations, including the annotations of the methods overridden or implemented. Annotations of
+ * constructors, fields and parameters are the annotations declared.
+ * <p>
+ * Example:
+ * {@code
+ * AnnotationValueCache cache = new AnnotationValueCache(JmxAttribute.class, JmxOperation.class);
+ * AnnotationValues operation = cache.getValues(method, JmxOperation.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class AnnotationValueCache {
+    private final Set<Class<? extends Annotation>> annotationTypes;
+    private final ValueCache cache = new ValueCache();
+
+    /**
+     * Constructor.
+     *
+     * @param annotationTypes The annotation types to materialize values of.
+     **/
+    @SuppressWarnings("unchecked")
+    public AnnotationValueCache(Class<? extends Annotation>... annotationTypes) {
+        this.annotationTypes = Collections.unmodifiableSet(
+                    new LinkedHashSet<Class<? extends Annotation>>(Arrays.asList(annotationTypes)));
+    }
+
+    /**
+     * Returns the annotation types registered.
+     *
+     * @return the annotation types registered.
+     **/
+    public Set<Class<? extends Annotation>> getAnnotationTypes() {
+        return annotationTypes;
+    }
+
+    /**
+     * Returns the values of the annotationType annotation of clazz or null if not annotated.
+     *
+     * @param clazz          Class to inspect.
+     * @param annotationType Registered annotation type.
+     *
+     * @return the values of the annotationType annotation or null if not annotated.
+     *
+     * @throws IllegalArgumentException if annotationType is not registered.
+     **/
+    public AnnotationValues getValues(Class<?> clazz, Class<? extends Annotation> annotationType) {
+        return lookup(clazz, clazz, annotationType);
+    }
+
+    /**
+     * Returns the values of the annotationType annotation of method or null if not annotated.
+     *
+     * @param method         Method to inspect.
+     * @param annotationType Registered annotation type.
+     *
+     * @return the values of the annotationType annotation or null if not annotated.
+     *
+     * @throws IllegalArgumentException if annotationType is not registered.
+     **/
+    public AnnotationValues getValues(Method method, Class<? extends Annotation> annotationType) {
+        return lookup(method.getDeclaringClass(), method, annotationType);
+    }
+
+    /**
+     * Returns the values of the annotationType annotation of constructor or null if not annotated.
+     *
+     * @param constructor    Constructor to inspect.
+     * @param annotationType Registered annotation type.
+     *
+     * @return the values of the annotationType annotation or null if not annotated.
+     *
+     * @throws IllegalArgumentException if annotationType is not registered.
+     **/
+    public AnnotationValues getValues(Constructor<?> constructor, Class<? extends Annotation> annotationType) {
+        return lookup(constructor.getDeclaringClass(), constructor, annotationType);
+    }
+
+    /**
+     * Returns the values of the annotationType annotation of field or null if not annotated.
+     *
+     * @param field          Field to inspect.
+     * @param annotationType Registered annotation type.
+     *
+     * @return the values of the annotationType annotation or null if not annotated.
+     *
+     * @throws IllegalArgumentException if annotationType is not registered.
+     **/
+    public AnnotationValues getValues(Field field, Class<? extends Annotation> annotationType) {
+        return lookup(field.getDeclaringClass(), field, annotationType);
+    }
+
+    /**
+     * Returns the values of the annotationType annotation of each parameter of method or constructor, 
+     * an element is null if that parameter is not annotated.
+     * <p>
+     * The array returned must not be modified.
+     *
+     * @param member         Method or constructor to inspect.
+     * @param annotationType Registered annotation type.
+     *
+     * @return the values of the annotationType annotation of each parameter.
+     *
+     * @throws IllegalArgumentException if annotationType is not registered or member is not a method or constructor.
+     **/
+    public AnnotationValues[] getParameterValues(Member member, Class<? extends Annotation> annotationType) {
+        if (!(member instanceof Method || member instanceof Constructor)) {
+            throw new IllegalArgumentException(member + " is not a method or constructor");
+        }
+        return lookup(member.getDeclaringClass(), member, annotationType, true);
+    }
+
+    private AnnotationValues lookup(Class<?> clazz, AnnotatedElement element, Class<? extends Annotation> annotationType) {
+        AnnotationValues[] values = lookup(clazz, element, annotationType, false);
+        return values == null ? null : values[0];
+    }
+
+    private AnnotationValues[] lookup(Class<?> clazz, Object element, Class<? extends Annotation> annotationType, 
+                                      boolean parameters) {
+        if (!annotationTypes.contains(annotationType)) {
+            throw new IllegalArgumentException(annotationType.getName() + " is not registered");
+        }
+        Map<Object, Map<Class<? extends Annotation>, AnnotationValues[]>> elements = parameters 
+                    ? cache.get(clazz).parameters : cache.get(clazz).elements;
+        Map<Class<? extends Annotation>, AnnotationValues[]> values = elements.get(element);
+        return values == null ? null : values.get(annotationType);
+    }
+
+    /**
+     * Removes all cached values.
+     **/
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns the number of classes currently in the cache.
+     *
+     * @return the number of classes currently in the cache.
+     **/
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * The values of the registered annotations of a class and its declared members.
+     **/
+    private static class ClassValues {
+        /** Values by class or member, single element arrays. **/
+        private final Map<Object, Map<Class<? extends Annotation>, AnnotationValues[]>> elements =
+                    new HashMap<Object, Map<Class<? extends Annotation>, AnnotationValues[]>>();
+        /** Values of each parameter by method or constructor. **/
+        private final Map<Object, Map<Class<? extends Annotation>, AnnotationValues[]>> parameters =
+                    new HashMap<Object, Map<Class<? extends Annotation>, AnnotationValues[]>>();
+    }
+
+    /**
+     * Creates the values of all registered annotations of a class when first looked up.
+     **/
+    private class ValueCache extends ClassCache<ClassValues> {
+
+        @Override
+        protected ClassValues create(Class<?> clazz) {
+            ClassValues classValues = new ClassValues();
+            ClassMetadata metadata = ClassMetadataCache.getInstance().get(clazz);
+            MergedAnnotations merged = MergedAnnotationCache.getInstance().get(clazz);
+            put(classValues.elements, clazz, clazz.getAnnotations());
+            for (Method method : metadata.getDeclaredMethods()) {
+                Map<Class<? extends Annotation>, Annotation> annotations = merged.getAnnotations(method);
+                put(classValues.elements, method, annotations.values().toArray(new Annotation[annotations.size()]));
+                putParameters(classValues.parameters, method, method.getParameterAnnotations());
+            }
+            for (Constructor<?> constructor : metadata.getDeclaredConstructors()) {
+                put(classValues.elements, constructor, constructor.getDeclaredAnnotations());
+                putParameters(classValues.parameters, constructor, constructor.getParameterAnnotations());
+            }
+            for (Field field : metadata.getDeclaredFields()) {
+                put(classValues.elements, field, field.getDeclaredAnnotations());
+            }
+            return classValues;
+        }
+
+        private void put(Map<Object, Map<Class<? extends Annotation>, AnnotationValues[]>> elements, 
+                         Object element, Annotation[] annotations) {
+            for (Annotation annotation : annotations) {
+                if (annotationTypes.contains(annotation.annotationType())) {
+                    getValues(elements, element).put(annotation.annotationType(), 
+                                                     new AnnotationValues[] {AnnotationValues.of(annotation)});
+                }
+            }
+        }
+
+        private void putParameters(Map<Object, Map<Class<? extends Annotation>, AnnotationValues[]>> parameters, 
+                                   Object member, Annotation[][] parameterAnnotations) {
+            for (int i = 0; i < parameterAnnotations.length; i++) {
+                for (Annotation annotation : parameterAnnotations[i]) {
+                    if (annotationTypes.contains(annotation.annotationType())) {
+                        Map<Class<? extends Annotation>, AnnotationValues[]> values = getValues(parameters, member);
+                        AnnotationValues[] parameterValues = values.get(annotation.annotationType());
+                        if (parameterValues == null) {
+                            parameterValues = new AnnotationValues[parameterAnnotations.length];
+                            values.put(annotation.annotationType(), parameterValues);
+                        }
+                        parameterValues[i] = AnnotationValues.of(annotation);
+                    }
+                }
+            }
+        }
+
+        private Map<Class<? extends Annotation>, AnnotationValues[]> getValues(
+                    Map<Object, Map<Class<? extends Annotation>, AnnotationValues[]>> elements, Object element) {
+            Map<Class<? extends Annotation>, AnnotationValues[]> values = elements.get(element);
+            if (values == null) {
+                values = new HashMap<Class<? extends Annotation>, AnnotationValues[]>();
+                elements.put(element, values);
+            }
+            return values;
+        }
+    }
+}
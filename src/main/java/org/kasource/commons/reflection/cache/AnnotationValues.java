@@ -0,0 +1,189 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable attribute values of an annotation, read once from the annotation instance.
+ * <p>
+ * Reading an attribute of an annotation invokes the JDK annotation proxy, which is a reflective
+ * call. The values stored here are plain objects: primitives are boxed, enums, strings and classes
+ * are stored as is, nested annotations are materialized as AnnotationValues and arrays are copied.
+ * Arrays are copied again when returned, so the values can be shared freely.
+ * <p>
+ * Attributes are ordered by name.
+ * <p>
+ * Example:
+ * {@code
+ * AnnotationValues values = AnnotationValues.of(method.getAnnotation(JmxOperation.class));
+ * String description = values.getString("description");
+ * }
+ *
+ * @author rikardwi
+ **/
+public class AnnotationValues {
+    private final Class<? extends Annotation> annotationType;
+    private final Map<String, Object> values;
+
+    /**
+     * Constructor.
+     *
+     * @param annotationType Type of annotation.
+     * @param values         Attribute values by name.
+     **/
+    AnnotationValues(Class<? extends Annotation> annotationType, Map<String, Object> values) {
+        this.annotationType = annotationType;
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Materializes the attribute values of annotation.
+     *
+     * @param annotation Annotation to read values from.
+     *
+     * @return the attribute values of annotation.
+     *
+     * @throws IllegalStateException if an attribute could not be read.
+     **/
+    public static AnnotationValues of(Annotation annotation) {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        Method[] attributes = annotationType.getDeclaredMethods();
+        Arrays.sort(attributes, new Comparator<Method>() {
+            @Override
+            public int compare(Method method1, Method method2) {
+                return method1.getName().compareTo(method2.getName());
+            }
+        });
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        for (Method attribute : attributes) {
+            values.put(attribute.getName(), materialize(read(annotation, attribute)));
+        }
+        return new AnnotationValues(annotationType, values);
+    }
+
+    private static Object read(Annotation annotation, Method attribute) {
+        try {
+            if (!attribute.isAccessible()) {
+                attribute.setAccessible(true);
+            }
+            return attribute.invoke(annotation);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not read " + attribute.getName() + " of " + annotation, e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Could not read " + attribute.getName() + " of " + annotation, e.getCause());
+        }
+    }
+
+    private static Object materialize(Object value) {
+        if (value instanceof Annotation) {
+            return of((Annotation) value);
+        }
+        if (value instanceof Annotation[]) {
+            Annotation[] annotations = (Annotation[]) value;
+            AnnotationValues[] materialized = new AnnotationValues[annotations.length];
+            for (int i = 0; i < annotations.length; i++) {
+                materialized[i] = of(annotations[i]);
+            }
+            return materialized;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the type of annotation.
+     *
+     * @return the type of annotation.
+     **/
+    public Class<? extends Annotation> getAnnotationType() {
+        return annotationType;
+    }
+
+    /**
+     * Returns the value of attribute name, arrays are returned as copies.
+     *
+     * @param name Name of the attribute.
+     *
+     * @return the value of attribute name.
+     *
+     * @throws IllegalArgumentException if the annotation has no attribute named name.
+     **/
+    public Object get(String name) {
+        Object value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(annotationType.getName() + " has no attribute named " + name);
+        }
+        if (value.getClass().isArray()) {
+            return copy(value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value of attribute name.
+     *
+     * @param <T>   Type of value, the wrapper class for primitive attributes.
+     * @param name  Name of the attribute.
+     * @param type  Type of value.
+     *
+     * @return the value of attribute name.
+     *
+     * @throws IllegalArgumentException if the annotation has no attribute named name.
+     * @throws ClassCastException if the value is not of type.
+     **/
+    public <T> T get(String name, Class<T> type) {
+        return type.cast(get(name));
+    }
+
+    /**
+     * Returns the value of the String attribute name.
+     *
+     * @param name Name of the attribute.
+     *
+     * @return the value of attribute name.
+     *
+     * @throws IllegalArgumentException if the annotation has no attribute named name.
+     * @throws ClassCastException if the attribute is not a String.
+     **/
+    public String getString(String name) {
+        return get(name, String.class);
+    }
+
+    /**
+     * Returns the attribute values by name, arrays in the map must not be modified.
+     *
+     * @return the attribute values by name.
+     **/
+    public Map<String, Object> asMap() {
+        return values;
+    }
+
+    private static Object copy(Object array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("@").append(annotationType.getName()).append('(');
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            // Wrapped to handle arrays of primitives, the brackets of the wrapping array are removed
+            String value = Arrays.deepToString(new Object[] {entry.getValue()});
+            sb.append(entry.getKey()).append('=').append(value, 1, value.length() - 1);
+        }
+        return sb.append(')').toString();
+    }
+}
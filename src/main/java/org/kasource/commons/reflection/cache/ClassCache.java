@@ -0,0 +1,250 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe cache of values computed per class.
+ * <p>
+ * Classes are weakly referenced. Values usually reference their class strongly, so how long a value
+ * is kept depends on the class loader of its class:
+ * <ul>
+ * <li>Classes loaded by the class loader of this cache, or any of its parents, can never be unloaded
+ * before the cache itself. Their values are softly referenced and kept until there is memory pressure.</li>
+ * <li>Classes loaded by any other class loader, such as the class loader of a deployed application, are
+ * strongly referenced while in use. A value not used for the idle time of the cache, one minute by default,
+ * is only weakly referenced from then on, so once the application is undeployed its class loader is
+ * collected by the next garbage collection. A value still reachable when it is used again is kept,
+ * otherwise it is created again.</li>
+ * </ul>
+ * Idle values are released when the cache is accessed. The values of a class loader can be evicted
+ * immediately with {@link #clear(ClassLoader)}.
+ * <p>
+ * Values are computed outside of any lock, if two threads concurrently misses the same
+ * class the first value stored is used. Values must therefore be possible to
+ * compute more than once.
+ *
+ * @author rikardwi
+ *
+ * @param <V> Type of value cached.
+ **/
+public abstract class ClassCache<V> {
+    private static final long DEFAULT_IDLE_MILLIS = 60000L;
+
+    private final Map<Class<?>, Entry<V>> cache = new WeakHashMap<Class<?>, Entry<V>>();
+    private final List<ClassLoader> cacheSafeLoaders = getCacheSafeLoaders();
+    private final long idleNanos;
+    private long nextRelease;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor, using the default idle time.
+     **/
+    protected ClassCache() {
+        this(DEFAULT_IDLE_MILLIS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param idleMillis Time in milliseconds after which an unused value of a class loaded by another
+     *                   class loader than the one of this cache is only weakly referenced.
+     *
+     * @throws IllegalArgumentException if idleMillis is negative.
+     **/
+    protected ClassCache(long idleMillis) {
+        if (idleMillis < 0) {
+            throw new IllegalArgumentException("idleMillis must not be negative");
+        }
+        this.idleNanos = idleMillis * 1000000L;
+        this.nextRelease = System.nanoTime() + idleNanos;
+    }
+
+    /**
+     * Returns the class loader of this cache and all its parents.
+     **/
+    private static List<ClassLoader> getCacheSafeLoaders() {
+        List<ClassLoader> loaders = new ArrayList<ClassLoader>();
+        try {
+            for (ClassLoader loader = ClassCache.class.getClassLoader(); loader != null; loader = loader.getParent()) {
+                loaders.add(loader);
+            }
+        } catch (SecurityException e) {
+            // Parents not accessible, treat them as any other class loader
+        }
+        return loaders;
+    }
+
+    /**
+     * Returns the value for the supplied class, creating it
+     * if not already cached.
+     *
+     * @param clazz Class to get value for.
+     *
+     * @return the value for the supplied class.
+     **/
+    public V get(Class<?> clazz) {
+        V value = lookup(clazz);
+        if (value != null) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        value = create(clazz);
+        synchronized (cache) {
+            long now = System.nanoTime();
+            Entry<V> existing = cache.get(clazz);
+            V existingValue = existing == null ? null : existing.get(now);
+            if (existingValue != null) {
+                return existingValue;
+            }
+            cache.put(clazz, new Entry<V>(value, isCacheSafe(clazz), now));
+        }
+        return value;
+    }
+
+    /**
+     * Creates the value to cache for the supplied class.
+     *
+     * @param clazz Class to create value for.
+     *
+     * @return The value to cache, must not be null.
+     **/
+    protected abstract V create(Class<?> clazz);
+
+    /**
+     * Returns the cached value of clazz or null if not cached.
+     *
+     * @param clazz Class to look up.
+     *
+     * @return the cached value of clazz or null if not cached.
+     **/
+    private V lookup(Class<?> clazz) {
+        synchronized (cache) {
+            long now = System.nanoTime();
+            if (now - nextRelease >= 0) {
+                releaseIdle(now);
+            }
+            Entry<V> entry = cache.get(clazz);
+            return entry == null ? null : entry.get(now);
+        }
+    }
+
+    /**
+     * Releases the strong references to values not used within the idle time, must be
+     * invoked while holding the lock of the cache.
+     *
+     * @param now Current time in nanoseconds.
+     **/
+    private void releaseIdle(long now) {
+        for (Entry<V> entry : cache.values()) {
+            entry.releaseIfIdle(now, idleNanos);
+        }
+        nextRelease = now + idleNanos;
+    }
+
+    private boolean isCacheSafe(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        return classLoader == null || cacheSafeLoaders.contains(classLoader);
+    }
+
+    /**
+     * Removes all cached values and resets the statistics.
+     **/
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Removes the cached values of all classes loaded by classLoader.
+     *
+     * @param classLoader Class loader to remove the values of.
+     **/
+    public void clear(ClassLoader classLoader) {
+        synchronized (cache) {
+            for (Iterator<Class<?>> iterator = cache.keySet().iterator(); iterator.hasNext();) {
+                if (iterator.next().getClassLoader() == classLoader) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of classes currently in the cache.
+     *
+     * @return the number of classes currently in the cache.
+     **/
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return the number of lookups served from the cache.
+     **/
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that required the value to be created.
+     *
+     * @return the number of lookups that required the value to be created.
+     **/
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * A cached value, softly referenced for cache safe classes and strongly referenced
+     * while in use for other classes.
+     **/
+    private static class Entry<V> {
+        private final Reference<V> reference;
+        private V value;
+        private long lastUsed;
+
+        Entry(V value, boolean cacheSafe, long now) {
+            if (cacheSafe) {
+                this.reference = new SoftReference<V>(value);
+            } else {
+                this.reference = new WeakReference<V>(value);
+                this.value = value;
+                this.lastUsed = now;
+            }
+        }
+
+        V get(long now) {
+            if (reference instanceof SoftReference) {
+                return reference.get();
+            }
+            if (value == null) {
+                value = reference.get();
+            }
+            lastUsed = now;
+            return value;
+        }
+
+        void releaseIfIdle(long now, long idleNanos) {
+            if (value != null && now - lastUsed >= idleNanos) {
+                value = null;
+            }
+        }
+    }
+}
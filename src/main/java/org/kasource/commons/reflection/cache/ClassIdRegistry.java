@@ -0,0 +1,215 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread safe registry assigning each class a dense integer id, to be used as an array index
+ * by ClassIdMap and ClassIdSet.
+ * <p>
+ * Ids are scoped by class loader. Class loaders and classes are weakly referenced and once a
+ * class loader has been garbage collected the ids of all its classes are reclaimed and assigned
+ * to new classes, lowest id first, which keeps the ids dense when applications are redeployed.
+ * <p>
+ * Each id has a generation which is incremented when the id is reclaimed. Structures keyed by
+ * id store the generation along with the id, an entry of another generation belongs to a collected
+ * class and is ignored.
+ * <p>
+ * Example:
+ * {@code
+ * int id = ClassIdRegistry.getInstance().getId(clazz);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class ClassIdRegistry {
+    private static final ClassIdRegistry INSTANCE = new ClassIdRegistry();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<ClassLoader, Scope> scopes = new WeakHashMap<ClassLoader, Scope>();
+    // Keeps the references reachable until enqueued, the scopes are expunged with their class loaders
+    private final Set<ScopeReference> scopeReferences = new HashSet<ScopeReference>();
+    private final ReferenceQueue<ClassLoader> collected = new ReferenceQueue<ClassLoader>();
+    private final List<Reference<Class<?>>> classes = new ArrayList<Reference<Class<?>>>();
+    private final BitSet free = new BitSet();
+    private volatile AtomicIntegerArray generations = new AtomicIntegerArray(INITIAL_CAPACITY);
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static ClassIdRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the id of clazz, assigning the lowest free id if not already registered.
+     *
+     * @param clazz Class to get id for.
+     *
+     * @return the id of clazz.
+     **/
+    public int getId(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        synchronized (scopes) {
+            reclaimCollected();
+            Scope scope = scopes.get(classLoader);
+            if (scope == null) {
+                ScopeReference reference = new ScopeReference(classLoader, collected);
+                // The bootstrap class loader is never collected
+                if (classLoader != null) {
+                    scopeReferences.add(reference);
+                }
+                scope = new Scope(reference);
+                scopes.put(classLoader, scope);
+            }
+            Integer id = scope.ids.get(clazz);
+            if (id == null) {
+                id = allocate(clazz);
+                scope.ids.put(clazz, id);
+                scope.reference.ids.set(id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Returns the id of clazz or -1 if not registered, never assigns a new id.
+     *
+     * @param clazz Class to find id for.
+     *
+     * @return the id of clazz or -1 if not registered.
+     **/
+    public int findId(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        synchronized (scopes) {
+            Scope scope = scopes.get(classLoader);
+            Integer id = scope == null ? null : scope.ids.get(clazz);
+            return id == null ? -1 : id;
+        }
+    }
+
+    /**
+     * Returns the class with id or null if id is not assigned.
+     *
+     * @param id Id of the class.
+     *
+     * @return the class with id or null if id is not assigned.
+     **/
+    public Class<?> getClass(int id) {
+        synchronized (scopes) {
+            reclaimCollected();
+            Reference<Class<?>> reference = id >= 0 && id < classes.size() ? classes.get(id) : null;
+            return reference == null ? null : reference.get();
+        }
+    }
+
+    /**
+     * Returns the generation of id, which is incremented each time the id is reclaimed.
+     * <p>
+     * Does not lock, the generation of the id of a class can not change while the class is reachable.
+     *
+     * @param id Id to get generation for.
+     *
+     * @return the generation of id.
+     **/
+    public int getGeneration(int id) {
+        AtomicIntegerArray current = generations;
+        return id < current.length() ? current.get(id) : 0;
+    }
+
+    /**
+     * Returns the number of classes currently registered.
+     *
+     * @return the number of classes currently registered.
+     **/
+    public int size() {
+        synchronized (scopes) {
+            reclaimCollected();
+            return classes.size() - free.cardinality();
+        }
+    }
+
+    /**
+     * Returns the number of class loaders currently registered.
+     *
+     * @return the number of class loaders currently registered.
+     **/
+    public int getClassLoaderCount() {
+        synchronized (scopes) {
+            reclaimCollected();
+            return scopes.size();
+        }
+    }
+
+    /**
+     * Assigns the lowest free id to clazz, must be invoked while holding the lock of the registry.
+     **/
+    private int allocate(Class<?> clazz) {
+        int id = free.nextSetBit(0);
+        if (id < 0) {
+            id = classes.size();
+            classes.add(new WeakReference<Class<?>>(clazz));
+            if (id >= generations.length()) {
+                AtomicIntegerArray grown = new AtomicIntegerArray(generations.length() * 2);
+                for (int i = 0; i < generations.length(); i++) {
+                    grown.set(i, generations.get(i));
+                }
+                generations = grown;
+            }
+        } else {
+            free.clear(id);
+            classes.set(id, new WeakReference<Class<?>>(clazz));
+        }
+        return id;
+    }
+
+    /**
+     * Reclaims the ids of collected class loaders, must be invoked while holding the lock of the registry.
+     **/
+    private void reclaimCollected() {
+        ScopeReference reference;
+        while ((reference = (ScopeReference) collected.poll()) != null) {
+            scopeReferences.remove(reference);
+            for (int id = reference.ids.nextSetBit(0); id >= 0; id = reference.ids.nextSetBit(id + 1)) {
+                generations.incrementAndGet(id);
+                classes.set(id, null);
+                free.set(id);
+            }
+        }
+    }
+
+    /**
+     * The ids of the classes of a class loader.
+     **/
+    private static class Scope {
+        // Classes are weakly referenced as well, a class strongly referenced by the scope would keep its loader alive
+        private final Map<Class<?>, Integer> ids = new WeakHashMap<Class<?>, Integer>();
+        private final ScopeReference reference;
+
+        Scope(ScopeReference reference) {
+            this.reference = reference;
+        }
+    }
+
+    /**
+     * Weak reference to a class loader, holding the ids of its classes to reclaim once it is collected.
+     **/
+    private static class ScopeReference extends WeakReference<ClassLoader> {
+        private final BitSet ids = new BitSet();
+
+        ScopeReference(ClassLoader classLoader, ReferenceQueue<ClassLoader> queue) {
+            super(classLoader, queue);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe cache of classes loaded by name, per class loader.
+ * <p>
+ * Class.forName delegates to the class loader hierarchy on each call and a failed lookup
+ * creates a ClassNotFoundException, which is expensive. This cache remembers both the classes
+ * found and the names not found, so each name is only resolved once per class loader.
+ * <p>
+ * Class loaders are weakly referenced and classes found are weakly referenced, the cache
+ * will never prevent a class loader from being garbage collected, which makes the cache safe
+ * to use in environments where applications are undeployed.
+ * <p>
+ * Names not found are remembered for a limited time, 30 seconds by default, so a class defined
+ * by a class loader after a failed lookup is found once the entry has expired. The entries of a class
+ * loader can be evicted immediately with {@link #clear(ClassLoader)}. The number of names remembered
+ * per class loader is bounded, the least recently used name is evicted when the bound is reached.
+ * <p>
+ * Example:
+ * {@code
+ * Class<?> clazz = ClassLoadingCache.getInstance().forName(className, classLoader);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class ClassLoadingCache {
+    private static final ClassLoadingCache INSTANCE = new ClassLoadingCache();
+    private static final int DEFAULT_MAX_NAMES_PER_CLASS_LOADER = 4096;
+    private static final long DEFAULT_NOT_FOUND_TIME_TO_LIVE_MILLIS = 30000L;
+
+    private final Map<ClassLoader, Map<String, WeakReference<Class<?>>>> cache =
+                new WeakHashMap<ClassLoader, Map<String, WeakReference<Class<?>>>>();
+    private final int maxNamesPerClassLoader;
+    private final long notFoundTimeToLiveNanos;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor, using the default bounds.
+     **/
+    public ClassLoadingCache() {
+        this(DEFAULT_MAX_NAMES_PER_CLASS_LOADER, DEFAULT_NOT_FOUND_TIME_TO_LIVE_MILLIS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxNamesPerClassLoader   Maximum number of names remembered per class loader.
+     * @param notFoundTimeToLiveMillis Time in milliseconds a name not found is remembered, 0 to never remember.
+     *
+     * @throws IllegalArgumentException if maxNamesPerClassLoader is less than 1 or notFoundTimeToLiveMillis is negative.
+     **/
+    public ClassLoadingCache(int maxNamesPerClassLoader, long notFoundTimeToLiveMillis) {
+        if (maxNamesPerClassLoader < 1 || notFoundTimeToLiveMillis < 0) {
+            throw new IllegalArgumentException("maxNamesPerClassLoader must be positive and notFoundTimeToLiveMillis must not be negative");
+        }
+        this.maxNamesPerClassLoader = maxNamesPerClassLoader;
+        this.notFoundTimeToLiveNanos = notFoundTimeToLiveMillis * 1000000L;
+    }
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static ClassLoadingCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the class named className loaded by classLoader, initializing it if loaded.
+     *
+     * @param className   Fully qualified name of the class.
+     * @param classLoader Class loader to load the class with, null for the bootstrap class loader.
+     *
+     * @return The class named className.
+     *
+     * @throws ClassNotFoundException if the class could not be found, now or by a previous lookup that has not expired.
+     **/
+    public Class<?> forName(String className, ClassLoader classLoader) throws ClassNotFoundException {
+        Class<?> clazz = findClass(className, classLoader);
+        if (clazz == null) {
+            throw new ClassNotFoundException(className);
+        }
+        return clazz;
+    }
+
+    /**
+     * Returns the class named className loaded by classLoader or null if not found, initializing
+     * the class if loaded.
+     *
+     * @param className   Fully qualified name of the class.
+     * @param classLoader Class loader to load the class with, null for the bootstrap class loader.
+     *
+     * @return The class named className or null if not found.
+     **/
+    public Class<?> findClass(String className, ClassLoader classLoader) {
+        WeakReference<Class<?>> reference;
+        synchronized (cache) {
+            Map<String, WeakReference<Class<?>>> classes = cache.get(classLoader);
+            reference = classes == null ? null : classes.get(className);
+        }
+        if (reference instanceof NotFound && !((NotFound) reference).isExpired()) {
+            negativeHits.incrementAndGet();
+            return null;
+        }
+        Class<?> clazz = reference == null ? null : reference.get();
+        if (clazz != null) {
+            hits.incrementAndGet();
+            return clazz;
+        }
+        misses.incrementAndGet();
+        try {
+            clazz = Class.forName(className, true, classLoader);
+            reference = new WeakReference<Class<?>>(clazz);
+        } catch (ClassNotFoundException e) {
+            if (notFoundTimeToLiveNanos == 0) {
+                return null;
+            }
+            reference = new NotFound(System.nanoTime() + notFoundTimeToLiveNanos);
+        }
+        synchronized (cache) {
+            Map<String, WeakReference<Class<?>>> classes = cache.get(classLoader);
+            if (classes == null) {
+                classes = new LruMap(maxNamesPerClassLoader);
+                cache.put(classLoader, classes);
+            }
+            classes.put(className, reference);
+        }
+        return clazz;
+    }
+
+    /**
+     * Removes all cached classes and names not found of classLoader.
+     *
+     * @param classLoader Class loader to evict, null for the bootstrap class loader.
+     **/
+    public void clear(ClassLoader classLoader) {
+        synchronized (cache) {
+            cache.remove(classLoader);
+        }
+    }
+
+    /**
+     * Removes all cached classes and names not found and resets the statistics.
+     **/
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        hits.set(0);
+        negativeHits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Returns the number of class loaders currently in the cache.
+     *
+     * @return the number of class loaders currently in the cache.
+     **/
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns the number of lookups served with a class from the cache.
+     *
+     * @return the number of lookups served with a class from the cache.
+     **/
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups served from the cache with a name previously not found.
+     *
+     * @return the number of lookups served from the cache with a name previously not found.
+     **/
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    /**
+     * Returns the number of lookups that required the class to be loaded.
+     *
+     * @return the number of lookups that required the class to be loaded.
+     **/
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Marks a name that could not be loaded, until it expires.
+     **/
+    private static class NotFound extends WeakReference<Class<?>> {
+        private final long expires;
+
+        NotFound(long expires) {
+            super(null);
+            this.expires = expires;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expires >= 0;
+        }
+    }
+
+    /**
+     * Names of a class loader, evicting the least recently used name when full.
+     **/
+    private static class LruMap extends LinkedHashMap<String, WeakReference<Class<?>>> {
+        private static final long serialVersionUID = 1L;
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WeakReference<Class<?>>> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
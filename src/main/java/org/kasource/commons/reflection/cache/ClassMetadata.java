@@ -0,0 +1,265 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.kasource.commons.reflection.HierarchyScope;
+
+/**
+ * Reflective meta data of a single class.
+ * <p>
+ * Holds the declared methods, fields, constructors and interfaces of a class
+ * as well as the meta data of its super class and interfaces, so that the type hierarchy can be walked
+ * without calling the reflection API again.
+ * <p>
+ * The linearization of the type hierarchy for each HierarchyScope is computed once when the 
+ * meta data is created.
+ * <p>
+ * Lists returned by this class are shared and unmodifiable, so no copy is made on each call.
+ * <p>
+ * The declared constructors are sorted by number of parameters and then by parameter types, so that
+ * find-one lookups return the same constructor regardless of the order the JVM reports them in.
+ * <p>
+ * Note: Instances should be retrieved from the ClassMetadataCache.
+ *
+ * @author rikardwi
+ **/
+public class ClassMetadata {
+    /** Orders constructors by number of parameters, then by the names of the parameter types. **/
+    private static final Comparator<Constructor<?>> CONSTRUCTOR_ORDER = new Comparator<Constructor<?>>() {
+        @Override
+        public int compare(Constructor<?> constructor1, Constructor<?> constructor2) {
+            Class<?>[] params1 = constructor1.getParameterTypes();
+            Class<?>[] params2 = constructor2.getParameterTypes();
+            if (params1.length != params2.length) {
+                return params1.length < params2.length ? -1 : 1;
+            }
+            for (int i = 0; i < params1.length; i++) {
+                int result = params1[i].getName().compareTo(params2[i].getName());
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    };
+
+    private final Class<?> type;
+    private final ClassMetadata superclass;
+    private final List<Method> declaredMethods;
+    private final List<Field> declaredFields;
+    private final List<Constructor<?>> declaredConstructors;
+    private final List<Class<?>> interfaces;
+    private final List<ClassMetadata> interfaceMetadata;
+    private final List<Class<?>> classHierarchy;
+    private final List<Class<?>> typeHierarchy;
+    private final List<ClassMetadata> declaredScope;
+    private final List<ClassMetadata> superClassesScope;
+    private final List<ClassMetadata> typeHierarchyScope;
+
+    /**
+     * Constructor.
+     *
+     * @param type              The class to read meta data from.
+     * @param superclass        Meta data of the super class, null if type has no super class.
+     * @param interfaceMetadata Meta data of the interfaces directly implemented by type, in declaration order.
+     **/
+    ClassMetadata(Class<?> type, ClassMetadata superclass, ClassMetadata[] interfaceMetadata) {
+        this.type = type;
+        this.superclass = superclass;
+        this.declaredMethods = unmodifiable(type.getDeclaredMethods());
+        this.declaredFields = unmodifiable(type.getDeclaredFields());
+        this.declaredConstructors = unmodifiable(sort(type.getDeclaredConstructors()));
+        this.interfaces = unmodifiable(type.getInterfaces());
+        this.interfaceMetadata = unmodifiable(interfaceMetadata);
+        this.declaredScope = Collections.singletonList(this);
+        this.superClassesScope = resolveSuperClassesScope();
+        this.typeHierarchyScope = resolveTypeHierarchyScope();
+        this.classHierarchy = toTypes(superClassesScope);
+        this.typeHierarchy = toTypes(typeHierarchyScope);
+    }
+
+    private static <T> List<T> unmodifiable(T[] array) {
+        return Collections.unmodifiableList(Arrays.asList(array));
+    }
+
+    private static Constructor<?>[] sort(Constructor<?>[] constructors) {
+        Arrays.sort(constructors, CONSTRUCTOR_ORDER);
+        return constructors;
+    }
+
+    private List<ClassMetadata> resolveSuperClassesScope() {
+        if (superclass == null) {
+            return declaredScope;
+        }
+        List<ClassMetadata> scope = new ArrayList<ClassMetadata>(superclass.superClassesScope.size() + 1);
+        scope.add(this);
+        scope.addAll(superclass.superClassesScope);
+        return Collections.unmodifiableList(scope);
+    }
+
+    /**
+     * Linearizes the type hierarchy: the class chain without Object, followed by all interfaces
+     * in topological order followed by Object.
+     * <p>
+     * The interfaces are ordered by a depth first search in reverse order, which is then reversed
+     * (reverse post-order), this guarantees that an interface is always listed before the interfaces
+     * it extends while unrelated interfaces keep their declaration order.
+     **/
+    private List<ClassMetadata> resolveTypeHierarchyScope() {
+        List<ClassMetadata> classes = new ArrayList<ClassMetadata>();
+        List<ClassMetadata> roots = new ArrayList<ClassMetadata>();
+        ClassMetadata objectMetadata = null;
+        for (ClassMetadata classMetadata : superClassesScope) {
+            if (classMetadata.type.equals(Object.class)) {
+                objectMetadata = classMetadata;
+            } else {
+                classes.add(classMetadata);
+                roots.addAll(classMetadata.interfaceMetadata);
+            }
+        }
+        List<ClassMetadata> postOrder = new ArrayList<ClassMetadata>();
+        Set<Class<?>> visited = new HashSet<Class<?>>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            visitInterface(roots.get(i), visited, postOrder);
+        }
+        Collections.reverse(postOrder);
+        classes.addAll(postOrder);
+        if (objectMetadata != null) {
+            classes.add(objectMetadata);
+        }
+        return Collections.unmodifiableList(classes);
+    }
+
+    private static void visitInterface(ClassMetadata interfaceMetadata, Set<Class<?>> visited, List<ClassMetadata> postOrder) {
+        if (!visited.add(interfaceMetadata.type)) {
+            return;
+        }
+        List<ClassMetadata> superInterfaces = interfaceMetadata.interfaceMetadata;
+        for (int i = superInterfaces.size() - 1; i >= 0; i--) {
+            visitInterface(superInterfaces.get(i), visited, postOrder);
+        }
+        postOrder.add(interfaceMetadata);
+    }
+
+    private static List<Class<?>> toTypes(List<ClassMetadata> metadata) {
+        List<Class<?>> types = new ArrayList<Class<?>>(metadata.size());
+        for (ClassMetadata classMetadata : metadata) {
+            types.add(classMetadata.type);
+        }
+        return Collections.unmodifiableList(types);
+    }
+
+    /**
+     * Returns the class this meta data describes.
+     *
+     * @return the class this meta data describes.
+     **/
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the meta data of the super class or null if
+     * the class has no super class.
+     *
+     * @return the meta data of the super class, may be null.
+     **/
+    public ClassMetadata getSuperclass() {
+        return superclass;
+    }
+
+    /**
+     * Returns the methods declared by the class.
+     *
+     * @return the methods declared by the class.
+     **/
+    public List<Method> getDeclaredMethods() {
+        return declaredMethods;
+    }
+
+    /**
+     * Returns the fields declared by the class.
+     *
+     * @return the fields declared by the class.
+     **/
+    public List<Field> getDeclaredFields() {
+        return declaredFields;
+    }
+
+    /**
+     * Returns the constructors declared by the class, sorted by number of parameters
+     * and then by parameter types.
+     *
+     * @return the constructors declared by the class.
+     **/
+    public List<Constructor<?>> getDeclaredConstructors() {
+        return declaredConstructors;
+    }
+
+    /**
+     * Returns the interfaces directly implemented by the class.
+     *
+     * @return the interfaces directly implemented by the class.
+     **/
+    public List<Class<?>> getInterfaces() {
+        return interfaces;
+    }
+
+    /**
+     * Returns the meta data of the interfaces directly implemented by the class.
+     *
+     * @return the meta data of the interfaces directly implemented by the class.
+     **/
+    public List<ClassMetadata> getInterfaceMetadata() {
+        return interfaceMetadata;
+    }
+
+    /**
+     * Returns the class followed by all its super classes, most
+     * specific class first.
+     *
+     * @return the class and all its super classes.
+     **/
+    public List<Class<?>> getClassHierarchy() {
+        return classHierarchy;
+    }
+
+    /**
+     * Returns the linearized type hierarchy of the class, most
+     * specific type first.
+     *
+     * @return the class, all its super classes and all interfaces implemented.
+     *
+     * @see HierarchyScope#TYPE_HIERARCHY
+     **/
+    public List<Class<?>> getTypeHierarchy() {
+        return typeHierarchy;
+    }
+
+    /**
+     * Returns the meta data of the types in the scope supplied, most specific type first.
+     *
+     * @param scope The part of the type hierarchy to return.
+     *
+     * @return the meta data of the types in scope.
+     **/
+    public List<ClassMetadata> getHierarchy(HierarchyScope scope) {
+        switch (scope) {
+        case DECLARED:
+            return declaredScope;
+        case SUPER_CLASSES:
+            return superClassesScope;
+        default:
+            return typeHierarchyScope;
+        }
+    }
+}
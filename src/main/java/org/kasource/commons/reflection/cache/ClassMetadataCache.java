@@ -0,0 +1,40 @@
+package org.kasource.commons.reflection.cache;
+
+/**
+ * Shared cache of reflective class meta data.
+ * <p>
+ * Calls to Class.getDeclaredMethods() and the like copies the reflection data
+ * on each invocation, this cache reads the declared members of a class once and
+ * shares the result.
+ * <p>
+ * Example:
+ * {@code
+ * ClassMetadata metadata = ClassMetadataCache.getInstance().get(MyClass.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class ClassMetadataCache extends ClassCache<ClassMetadata> {
+    private static final ClassMetadataCache INSTANCE = new ClassMetadataCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static ClassMetadataCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected ClassMetadata create(Class<?> clazz) {
+        Class<?> superclass = clazz.getSuperclass();
+        Class<?>[] interfaces = clazz.getInterfaces();
+        ClassMetadata[] interfaceMetadata = new ClassMetadata[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaceMetadata[i] = get(interfaces[i]);
+        }
+        return new ClassMetadata(clazz, superclass == null ? null : get(superclass), interfaceMetadata);
+    }
+
+}
@@ -0,0 +1,278 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kasource.commons.reflection.HierarchyScope;
+
+/**
+ * The effective methods of a class: one method per name and parameter types, the 
+ * method invoked on an instance of the class when called by that signature.
+ * <p>
+ * Overrides are resolved most specific class first, a method implemented by a class
+ * takes precedence over the declaration of an interface and a sub interface over the interfaces
+ * it extends. Bridge and synthetic methods are excluded, as well as private methods of super 
+ * classes and static methods of interfaces, which are not inherited. Looking up the signature of
+ * a bridge method returns the method it bridges to.
+ * <p>
+ * Methods are ordered by signature, name first then parameter descriptor, and each method is
+ * assigned a slot: its index in that order. Methods are looked up by name and parameter types
+ * or parameter descriptor in constant time.
+ * <p>
+ * Note: Instances should be retrieved from the EffectiveMethodTableCache.
+ *
+ * @author rikardwi
+ **/
+public class EffectiveMethodTable {
+    private final Class<?> type;
+    private final Method[] methods;
+    private final Map<String, Integer> slots = new HashMap<String, Integer>();
+
+    /**
+     * Constructor.
+     *
+     * @param metadata Meta data of the class.
+     **/
+    EffectiveMethodTable(ClassMetadata metadata) {
+        this.type = metadata.getType();
+        Map<String, Method> effective = new LinkedHashMap<String, Method>();
+        Map<String, Method> bridges = new HashMap<String, Method>();
+        for (ClassMetadata classMetadata : metadata.getHierarchy(HierarchyScope.SUPER_CLASSES)) {
+            boolean inherited = classMetadata != metadata;
+            for (Method method : classMetadata.getDeclaredMethods()) {
+                if (!(inherited && Modifier.isPrivate(method.getModifiers()))) {
+                    add(method, effective, bridges);
+                }
+            }
+        }
+        for (ClassMetadata classMetadata : metadata.getHierarchy(HierarchyScope.TYPE_HIERARCHY)) {
+            if (classMetadata.getType().isInterface()) {
+                boolean inherited = classMetadata != metadata;
+                for (Method method : classMetadata.getDeclaredMethods()) {
+                    if (!(inherited && Modifier.isStatic(method.getModifiers()))) {
+                        add(method, effective, bridges);
+                    }
+                }
+            }
+        }
+        final Map<Method, String> keys = new HashMap<Method, String>();
+        for (Map.Entry<String, Method> entry : effective.entrySet()) {
+            keys.put(entry.getValue(), entry.getKey());
+        }
+        methods = effective.values().toArray(new Method[effective.size()]);
+        Arrays.sort(methods, new Comparator<Method>() {
+            @Override
+            public int compare(Method method1, Method method2) {
+                return keys.get(method1).compareTo(keys.get(method2));
+            }
+        });
+        for (int i = 0; i < methods.length; i++) {
+            slots.put(keys.get(methods[i]), i);
+        }
+        // Signatures of bridge methods resolves to the slot of the method bridged to
+        for (Map.Entry<String, Method> bridge : bridges.entrySet()) {
+            Method target = getBridged(bridge.getValue());
+            Integer slot = target == null ? null 
+                        : slots.get(getKey(target.getName(), getParameterDescriptor(target.getParameterTypes())));
+            if (slot != null) {
+                slots.put(bridge.getKey(), slot);
+            }
+        }
+    }
+
+    private static void add(Method method, Map<String, Method> effective, Map<String, Method> bridges) {
+        String key = getKey(method.getName(), getParameterDescriptor(method.getParameterTypes()));
+        Method bridge = bridges.get(key);
+        if (effective.containsKey(key) || (bridge != null && !isCovariantBridge(bridge, method))) {
+            return;
+        }
+        if (method.isBridge()) {
+            bridges.put(key, method);
+        } else if (!method.isSynthetic()) {
+            bridges.remove(key);
+            effective.put(key, method);
+        }
+    }
+
+    /**
+     * Returns true if bridge is the covariant return type bridge of method, which has the same signature.
+     **/
+    private static boolean isCovariantBridge(Method bridge, Method method) {
+        return bridge.getDeclaringClass().equals(method.getDeclaringClass()) && !method.isBridge();
+    }
+
+    /**
+     * Returns the method a bridge method delegates to: the non bridge method declared by the same
+     * class with the same name and parameter and return types assignable to the bridge method's.
+     **/
+    private static Method getBridged(Method bridge) {
+        Class<?>[] bridgeTypes = bridge.getParameterTypes();
+        for (Method method : bridge.getDeclaringClass().getDeclaredMethods()) {
+            if (method.isBridge() || method.isSynthetic() || !method.getName().equals(bridge.getName())
+                        || method.getParameterTypes().length != bridgeTypes.length
+                        || !bridge.getReturnType().isAssignableFrom(method.getReturnType())) {
+                continue;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            boolean assignable = true;
+            for (int i = 0; i < types.length && assignable; i++) {
+                assignable = bridgeTypes[i].isAssignableFrom(types[i]);
+            }
+            if (assignable) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static String getKey(String name, String parameterDescriptor) {
+        return name + parameterDescriptor;
+    }
+
+    /**
+     * Returns the JVM descriptor of parameter types, for example (Ljava/lang/String;I) for
+     * the parameter types String and int.
+     *
+     * @param parameterTypes Parameter types.
+     *
+     * @return the JVM descriptor of the parameter types.
+     **/
+    public static String getParameterDescriptor(Class<?>... parameterTypes) {
+        StringBuilder sb = new StringBuilder("(");
+        for (Class<?> parameterType : parameterTypes) {
+            appendDescriptor(sb, parameterType);
+        }
+        return sb.append(')').toString();
+    }
+
+    private static void appendDescriptor(StringBuilder sb, Class<?> clazz) {
+        if (clazz.isArray()) {
+            sb.append('[');
+            appendDescriptor(sb, clazz.getComponentType());
+        } else if (!clazz.isPrimitive()) {
+            sb.append('L').append(clazz.getName().replace('.', '/')).append(';');
+        } else if (clazz == Boolean.TYPE) {
+            sb.append('Z');
+        } else if (clazz == Long.TYPE) {
+            sb.append('J');
+        } else if (clazz == Void.TYPE) {
+            sb.append('V');
+        } else {
+            // byte, char, double, float, int and short are described by their first letter
+            sb.append(Character.toUpperCase(clazz.getName().charAt(0)));
+        }
+    }
+
+    /**
+     * Returns the class the table belongs to.
+     *
+     * @return the class the table belongs to.
+     **/
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of effective methods.
+     *
+     * @return the number of effective methods.
+     **/
+    public int size() {
+        return methods.length;
+    }
+
+    /**
+     * Returns the effective methods, ordered by signature.
+     *
+     * @return the effective methods.
+     **/
+    public List<Method> getMethods() {
+        return Collections.unmodifiableList(Arrays.asList(methods));
+    }
+
+    /**
+     * Returns the effective methods named name, ordered by parameter descriptor.
+     *
+     * @param name Name of the methods.
+     *
+     * @return the effective methods named name.
+     **/
+    public List<Method> getMethods(String name) {
+        List<Method> overloads = new ArrayList<Method>();
+        for (Method method : methods) {
+            if (method.getName().equals(name)) {
+                overloads.add(method);
+            }
+        }
+        return overloads;
+    }
+
+    /**
+     * Returns the method in slot.
+     *
+     * @param slot Slot of the method.
+     *
+     * @return the method in slot.
+     **/
+    public Method getMethod(int slot) {
+        return methods[slot];
+    }
+
+    /**
+     * Returns the slot of the effective method with name and parameter types or -1 if not found.
+     *
+     * @param name              Name of the method.
+     * @param parameterTypes    Parameter types of the method.
+     *
+     * @return the slot of the method or -1.
+     **/
+    public int getSlot(String name, Class<?>... parameterTypes) {
+        return getSlot(name, getParameterDescriptor(parameterTypes));
+    }
+
+    /**
+     * Returns the slot of the effective method with name and parameter descriptor or -1 if not found.
+     *
+     * @param name                  Name of the method.
+     * @param parameterDescriptor   JVM descriptor of the parameter types, see {@link #getParameterDescriptor(Class...)}.
+     *
+     * @return the slot of the method or -1.
+     **/
+    public int getSlot(String name, String parameterDescriptor) {
+        Integer slot = slots.get(getKey(name, parameterDescriptor));
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Returns the effective method with name and parameter types or null if not found.
+     *
+     * @param name              Name of the method.
+     * @param parameterTypes    Parameter types of the method.
+     *
+     * @return the effective method or null.
+     **/
+    public Method getMethod(String name, Class<?>... parameterTypes) {
+        return getMethod(name, getParameterDescriptor(parameterTypes));
+    }
+
+    /**
+     * Returns the effective method with name and parameter descriptor or null if not found.
+     *
+     * @param name                  Name of the method.
+     * @param parameterDescriptor   JVM descriptor of the parameter types, see {@link #getParameterDescriptor(Class...)}.
+     *
+     * @return the effective method or null.
+     **/
+    public Method getMethod(String name, String parameterDescriptor) {
+        int slot = getSlot(name, parameterDescriptor);
+        return slot < 0 ? null : methods[slot];
+    }
+}
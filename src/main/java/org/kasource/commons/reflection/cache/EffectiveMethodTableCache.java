@@ -0,0 +1,30 @@
+package org.kasource.commons.reflection.cache;
+
+/**
+ * Shared cache of effective method tables.
+ * <p>
+ * Example:
+ * {@code
+ * EffectiveMethodTable table = EffectiveMethodTableCache.getInstance().get(MyClass.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class EffectiveMethodTableCache extends ClassCache<EffectiveMethodTable> {
+    private static final EffectiveMethodTableCache INSTANCE = new EffectiveMethodTableCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static EffectiveMethodTableCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected EffectiveMethodTable create(Class<?> clazz) {
+        return new EffectiveMethodTable(ClassMetadataCache.getInstance().get(clazz));
+    }
+
+}
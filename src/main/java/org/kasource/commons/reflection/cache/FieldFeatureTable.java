@@ -0,0 +1,56 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kasource.commons.reflection.HierarchyScope;
+
+/**
+ * Columnar representation of the fields declared by a class and its super classes.
+ * <p>
+ * In addition to the columns of MemberFeatureTable the type id of each field is stored.
+ * <p>
+ * Fields are ordered most specific class first, as returned by ClassIntrospector.getFields.
+ * <p>
+ * Note: Instances should be retrieved from the FieldFeatureTableCache.
+ *
+ * @author rikardwi
+ **/
+public class FieldFeatureTable extends MemberFeatureTable<Field> {
+    private final int[] fieldTypeIds;
+
+    /**
+     * Constructor.
+     *
+     * @param metadata Meta data of the class.
+     **/
+    FieldFeatureTable(ClassMetadata metadata) {
+        super(metadata.getType(), collectFields(metadata));
+        fieldTypeIds = new int[size()];
+        for (int i = 0; i < fieldTypeIds.length; i++) {
+            fieldTypeIds[i] = intern(getMember(i).getType());
+        }
+    }
+
+    private static Field[] collectFields(ClassMetadata metadata) {
+        List<Field> fields = new ArrayList<Field>();
+        for (ClassMetadata classMetadata : metadata.getHierarchy(HierarchyScope.SUPER_CLASSES)) {
+            for (Field field : classMetadata.getDeclaredFields()) {
+                fields.add(field);
+            }
+        }
+        return fields.toArray(new Field[fields.size()]);
+    }
+
+    /**
+     * Returns the type id of the type of the field at index.
+     *
+     * @param index Index of the field.
+     *
+     * @return the type id of the field type.
+     **/
+    public int getFieldTypeId(int index) {
+        return fieldTypeIds[index];
+    }
+}
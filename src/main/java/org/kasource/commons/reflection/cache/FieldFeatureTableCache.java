@@ -0,0 +1,30 @@
+package org.kasource.commons.reflection.cache;
+
+/**
+ * Shared cache of field feature tables.
+ * <p>
+ * Example:
+ * {@code
+ * FieldFeatureTable table = FieldFeatureTableCache.getInstance().get(MyClass.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class FieldFeatureTableCache extends ClassCache<FieldFeatureTable> {
+    private static final FieldFeatureTableCache INSTANCE = new FieldFeatureTableCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static FieldFeatureTableCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected FieldFeatureTable create(Class<?> clazz) {
+        return new FieldFeatureTable(ClassMetadataCache.getInstance().get(clazz));
+    }
+
+}
@@ -0,0 +1,155 @@
+package org.kasource.commons.reflection.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of filter query results, keyed by the target class, the kind of query and
+ * the filter used.
+ * <p>
+ * Filters are compared by equals, all filters in org.kasource.commons.reflection.filter implements
+ * structural equality so that two filters built the same way will share the cached result. Filters
+ * that does not implement equals will only hit the cache when the same instance is reused, to
+ * bound the memory used by such filters only the most recently used results are kept per class.
+ * <p>
+ * Results are stored as unmodifiable sets.
+ *
+ * @author rikardwi
+ **/
+public class FilterResultCache extends ClassCache<Map<Object, Set<?>>> {
+    private static final FilterResultCache INSTANCE = new FilterResultCache();
+    private static final int MAX_RESULTS_PER_CLASS = 64;
+
+    /**
+     * The kind of query a result was produced by.
+     **/
+    public enum QueryType {METHODS, DECLARED_METHODS, HIERARCHY_METHODS, FIELDS, DECLARED_FIELDS, HIERARCHY_FIELDS, 
+                           INTERFACES, DECLARED_INTERFACES, HIERARCHY_INTERFACES, CONSTRUCTORS};
+
+    private final AtomicLong resultHits = new AtomicLong();
+    private final AtomicLong resultMisses = new AtomicLong();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static FilterResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected Map<Object, Set<?>> create(Class<?> clazz) {
+        return new LinkedHashMap<Object, Set<?>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Set<?>> eldest) {
+                return size() > MAX_RESULTS_PER_CLASS;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result of a query or null if not found.
+     *
+     * @param <T>       Type of result elements.
+     * @param clazz     The class queried.
+     * @param queryType The kind of query.
+     * @param filter    The filter used.
+     *
+     * @return the cached result or null if not found.
+     **/
+    @SuppressWarnings("unchecked")
+    public <T> Set<T> getResult(Class<?> clazz, QueryType queryType, Object filter) {
+        Map<Object, Set<?>> results = get(clazz);
+        Set<T> result;
+        synchronized (results) {
+            result = (Set<T>) results.get(new Query(queryType, filter));
+        }
+        if (result == null) {
+            resultMisses.incrementAndGet();
+        } else {
+            resultHits.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Stores the result of a query and returns an unmodifiable view of it.
+     *
+     * @param <T>       Type of result elements.
+     * @param clazz     The class queried.
+     * @param queryType The kind of query.
+     * @param filter    The filter used.
+     * @param result    The result to store.
+     *
+     * @return an unmodifiable view of the result stored.
+     **/
+    public <T> Set<T> putResult(Class<?> clazz, QueryType queryType, Object filter, Set<T> result) {
+        Set<T> unmodifiableResult = Collections.unmodifiableSet(result);
+        Map<Object, Set<?>> results = get(clazz);
+        synchronized (results) {
+            results.put(new Query(queryType, filter), unmodifiableResult);
+        }
+        return unmodifiableResult;
+    }
+
+    /**
+     * Returns the number of query results served from the cache.
+     *
+     * @return the number of query results served from the cache.
+     **/
+    public long getResultHits() {
+        return resultHits.get();
+    }
+
+    /**
+     * Returns the number of query results not found in the cache.
+     *
+     * @return the number of query results not found in the cache.
+     **/
+    public long getResultMisses() {
+        return resultMisses.get();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        resultHits.set(0);
+        resultMisses.set(0);
+    }
+
+    /**
+     * Key of a cached result.
+     **/
+    private static class Query {
+        private final QueryType queryType;
+        private final Object filter;
+
+        Query(QueryType queryType, Object filter) {
+            this.queryType = queryType;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Query)) {
+                return false;
+            }
+            Query other = (Query) obj;
+            return queryType == other.queryType && filter.equals(other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * queryType.hashCode() + filter.hashCode();
+        }
+    }
+}
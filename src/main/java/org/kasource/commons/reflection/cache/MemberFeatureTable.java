@@ -0,0 +1,197 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columnar representation of the members of a class.
+ * <p>
+ * Each feature of the members is stored as a column, indexed by the position of the member
+ * in the table, so that filters can be evaluated over all members in tight loops without
+ * invoking reflection. Types referenced by the members are interned into table local ids and
+ * the members annotated with each annotation type are stored as a BitSet.
+ * <p>
+ * Results of bulk evaluations are BitSets indexed like the table, which can be combined
+ * with and, or and not and finally mapped back to the members with {@link #getMembers(BitSet)}.
+ * <p>
+ * Tables are immutable and thread safe.
+ *
+ * @author rikardwi
+ *
+ * @param <M> Type of member.
+ **/
+public abstract class MemberFeatureTable<M extends Member & AnnotatedElement> {
+    private final Class<?> type;
+    private final M[] members;
+    private final int[] modifiers;
+    private final List<Class<?>> types = new ArrayList<Class<?>>();
+    private final Map<Class<?>, Integer> typeIds = new HashMap<Class<?>, Integer>();
+    private final Map<Class<? extends Annotation>, BitSet> annotations = new HashMap<Class<? extends Annotation>, BitSet>();
+
+    /**
+     * Constructor.
+     *
+     * @param type      The class the members belongs to.
+     * @param members   The members, in table order.
+     **/
+    MemberFeatureTable(Class<?> type, M[] members) {
+        this.type = type;
+        this.members = members;
+        this.modifiers = new int[members.length];
+        for (int i = 0; i < members.length; i++) {
+            modifiers[i] = members[i].getModifiers();
+            for (Annotation annotation : getAnnotations(members[i])) {
+                BitSet annotated = annotations.get(annotation.annotationType());
+                if (annotated == null) {
+                    annotated = new BitSet(members.length);
+                    annotations.put(annotation.annotationType(), annotated);
+                }
+                annotated.set(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the annotations of member to index, invoked by the constructor.
+     *
+     * @param member Member to return annotations for.
+     *
+     * @return the annotations of member.
+     **/
+    Annotation[] getAnnotations(M member) {
+        return member.getDeclaredAnnotations();
+    }
+
+    /**
+     * Interns a type, returning its table local id.
+     *
+     * @param clazz Type to intern.
+     *
+     * @return the table local id of the type.
+     **/
+    int intern(Class<?> clazz) {
+        Integer id = typeIds.get(clazz);
+        if (id == null) {
+            id = types.size();
+            types.add(clazz);
+            typeIds.put(clazz, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the class the members belongs to.
+     *
+     * @return the class the members belongs to.
+     **/
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of members in the table.
+     *
+     * @return the number of members in the table.
+     **/
+    public int size() {
+        return members.length;
+    }
+
+    /**
+     * Returns the member at index.
+     *
+     * @param index Index of the member.
+     *
+     * @return the member at index.
+     **/
+    public M getMember(int index) {
+        return members[index];
+    }
+
+    /**
+     * Returns the members set in bits, in table order.
+     *
+     * @param bits Indexes of the members to return.
+     *
+     * @return the members set in bits.
+     **/
+    public List<M> getMembers(BitSet bits) {
+        List<M> result = new ArrayList<M>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0 && i < members.length; i = bits.nextSetBit(i + 1)) {
+            result.add(members[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the modifiers of the member at index.
+     *
+     * @param index Index of the member.
+     *
+     * @return the modifiers of the member at index.
+     **/
+    public int getModifiers(int index) {
+        return modifiers[index];
+    }
+
+    /**
+     * Returns the table local id of a type or -1 if the type is not referenced by any member.
+     *
+     * @param clazz Type to look up.
+     *
+     * @return the table local id of clazz or -1.
+     **/
+    public int getTypeId(Class<?> clazz) {
+        Integer id = typeIds.get(clazz);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the type with the table local id supplied.
+     *
+     * @param typeId Table local id of the type.
+     *
+     * @return the type with the id supplied.
+     **/
+    public Class<?> getTypeById(int typeId) {
+        return types.get(typeId);
+    }
+
+    /**
+     * Returns the number of distinct types referenced by the members.
+     *
+     * @return the number of distinct types referenced by the members.
+     **/
+    public int getTypeCount() {
+        return types.size();
+    }
+
+    /**
+     * Returns the members annotated with annotation, as a new BitSet.
+     *
+     * @param annotation Annotation type.
+     *
+     * @return the indexes of the members annotated with annotation.
+     **/
+    public BitSet getAnnotated(Class<? extends Annotation> annotation) {
+        BitSet annotated = annotations.get(annotation);
+        return annotated == null ? new BitSet(members.length) : (BitSet) annotated.clone();
+    }
+
+    /**
+     * Returns the annotation types present on any member.
+     *
+     * @return the annotation types present on any member.
+     **/
+    public Set<Class<? extends Annotation>> getAnnotationTypes() {
+        return Collections.unmodifiableSet(annotations.keySet());
+    }
+}
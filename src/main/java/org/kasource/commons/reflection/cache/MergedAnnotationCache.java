@@ -0,0 +1,85 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * Shared cache of merged annotations, the annotations of a class or method including those declared 
+ * by the super classes, interfaces and overridden methods.
+ * <p>
+ * Example:
+ * {@code
+ * JmxAttribute attribute = MergedAnnotationCache.getInstance().getAnnotation(getter, JmxAttribute.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class MergedAnnotationCache extends ClassCache<MergedAnnotations> {
+    private static final MergedAnnotationCache INSTANCE = new MergedAnnotationCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static MergedAnnotationCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected MergedAnnotations create(Class<?> clazz) {
+        return new MergedAnnotations(ClassMetadataCache.getInstance().get(clazz), this);
+    }
+
+    /**
+     * Returns the merged annotation of annotationType of clazz or null if not found.
+     *
+     * @param <T>            Type of annotation.
+     * @param clazz          Class to inspect.
+     * @param annotationType Annotation to find.
+     *
+     * @return the merged annotation of annotationType or null if not found.
+     **/
+    public <T extends Annotation> T getAnnotation(Class<?> clazz, Class<T> annotationType) {
+        return get(clazz).getAnnotation(annotationType);
+    }
+
+    /**
+     * Returns the merged annotation of annotationType of method or null if not found.
+     *
+     * @param <T>            Type of annotation.
+     * @param method         Method to inspect.
+     * @param annotationType Annotation to find.
+     *
+     * @return the merged annotation of annotationType or null if not found.
+     **/
+    public <T extends Annotation> T getAnnotation(Method method, Class<T> annotationType) {
+        return get(method.getDeclaringClass()).getAnnotation(method, annotationType);
+    }
+
+    /**
+     * Returns the merged annotations of method.
+     *
+     * @param method Method to inspect.
+     *
+     * @return the merged annotations of method.
+     **/
+    public Annotation[] getAnnotations(Method method) {
+        Collection<Annotation> annotations = get(method.getDeclaringClass()).getAnnotations(method).values();
+        return annotations.toArray(new Annotation[annotations.size()]);
+    }
+
+    /**
+     * Returns true if annotationType is present on method, the methods it overrides or implements.
+     *
+     * @param method         Method to inspect.
+     * @param annotationType Annotation to find.
+     *
+     * @return true if annotationType is present on method.
+     **/
+    public boolean isAnnotationPresent(Method method, Class<? extends Annotation> annotationType) {
+        return get(method.getDeclaringClass()).getAnnotations(method).containsKey(annotationType);
+    }
+
+}
@@ -0,0 +1,170 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The merged annotations of a class and of the methods it declares.
+ * <p>
+ * The merged annotations of the class are the annotations declared by the class, its super classes
+ * and the interfaces it implements. The merged annotations of a method are the annotations declared
+ * by the method and by the methods it overrides or implements, found in the super class and
+ * interfaces of its declaring class. The nearest declaration of an annotation type takes precedence,
+ * the class itself first, then its super class and last the interfaces in declaration order.
+ * <p>
+ * The merged annotations of each method declared are computed once when the instance is created,
+ * reusing the merged annotations already computed for the super types.
+ * <p>
+ * Note: Instances should be retrieved from the MergedAnnotationCache.
+ *
+ * @author rikardwi
+ **/
+public class MergedAnnotations {
+    private final Class<?> type;
+    private final Map<Class<? extends Annotation>, Annotation> annotations;
+    private final Map<Method, Map<Class<? extends Annotation>, Annotation>> methodAnnotations =
+                new HashMap<Method, Map<Class<? extends Annotation>, Annotation>>();
+
+    /**
+     * Constructor.
+     *
+     * @param metadata  Meta data of the class.
+     * @param cache     Cache to retrieve the merged annotations of the super types from.
+     **/
+    MergedAnnotations(ClassMetadata metadata, MergedAnnotationCache cache) {
+        this.type = metadata.getType();
+        Map<Class<? extends Annotation>, Annotation> merged = new LinkedHashMap<Class<? extends Annotation>, Annotation>();
+        put(merged, type.getDeclaredAnnotations());
+        for (Class<?> superType : getSuperTypes(metadata)) {
+            putAll(merged, cache.get(superType).annotations);
+        }
+        this.annotations = Collections.unmodifiableMap(merged);
+        for (Method method : metadata.getDeclaredMethods()) {
+            methodAnnotations.put(method, Collections.unmodifiableMap(merge(method, metadata, cache)));
+        }
+    }
+
+    /**
+     * Returns the merged annotations of method.
+     *
+     * @param method    Method declared by the class.
+     * @param metadata  Meta data of the class.
+     * @param cache     Cache to retrieve the merged annotations of the super types from.
+     *
+     * @return the merged annotations of method.
+     **/
+    private Map<Class<? extends Annotation>, Annotation> merge(Method method, ClassMetadata metadata, MergedAnnotationCache cache) {
+        Map<Class<? extends Annotation>, Annotation> merged = new LinkedHashMap<Class<? extends Annotation>, Annotation>();
+        put(merged, method.getDeclaredAnnotations());
+        int modifiers = method.getModifiers();
+        if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers)) {
+            return merged;
+        }
+        String descriptor = EffectiveMethodTable.getParameterDescriptor(method.getParameterTypes());
+        for (Class<?> superType : getSuperTypes(metadata)) {
+            Method overridden = EffectiveMethodTableCache.getInstance().get(superType).getMethod(method.getName(), descriptor);
+            if (overridden != null && !Modifier.isPrivate(overridden.getModifiers())
+                        && !Modifier.isStatic(overridden.getModifiers())) {
+                putAll(merged, cache.get(overridden.getDeclaringClass()).getAnnotations(overridden));
+            }
+        }
+        return merged;
+    }
+
+    private Class<?>[] getSuperTypes(ClassMetadata metadata) {
+        List<Class<?>> interfaces = metadata.getInterfaces();
+        int offset = metadata.getSuperclass() == null ? 0 : 1;
+        Class<?>[] superTypes = new Class<?>[interfaces.size() + offset];
+        if (offset == 1) {
+            superTypes[0] = metadata.getSuperclass().getType();
+        }
+        for (int i = 0; i < interfaces.size(); i++) {
+            superTypes[i + offset] = interfaces.get(i);
+        }
+        return superTypes;
+    }
+
+    private static void put(Map<Class<? extends Annotation>, Annotation> merged, Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            merged.put(annotation.annotationType(), annotation);
+        }
+    }
+
+    private static void putAll(Map<Class<? extends Annotation>, Annotation> merged,
+                               Map<Class<? extends Annotation>, Annotation> annotations) {
+        for (Map.Entry<Class<? extends Annotation>, Annotation> entry : annotations.entrySet()) {
+            if (!merged.containsKey(entry.getKey())) {
+                merged.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the class.
+     *
+     * @return the class.
+     **/
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the merged annotation of annotationType of the class or null if not found.
+     *
+     * @param <T>            Type of annotation.
+     * @param annotationType Annotation to find.
+     *
+     * @return the merged annotation of annotationType or null if not found.
+     **/
+    public <T extends Annotation> T getAnnotation(Class<T> annotationType) {
+        return annotationType.cast(annotations.get(annotationType));
+    }
+
+    /**
+     * Returns the merged annotations of the class.
+     *
+     * @return the merged annotations of the class.
+     **/
+    public Collection<Annotation> getAnnotations() {
+        return annotations.values();
+    }
+
+    /**
+     * Returns the merged annotation of annotationType of method or null if not found.
+     *
+     * @param <T>            Type of annotation.
+     * @param method         Method declared by the class.
+     * @param annotationType Annotation to find.
+     *
+     * @return the merged annotation of annotationType or null if not found.
+     *
+     * @throws IllegalArgumentException if method is not declared by the class.
+     **/
+    public <T extends Annotation> T getAnnotation(Method method, Class<T> annotationType) {
+        return annotationType.cast(getAnnotations(method).get(annotationType));
+    }
+
+    /**
+     * Returns the merged annotations of method.
+     *
+     * @param method Method declared by the class.
+     *
+     * @return the merged annotations of method.
+     *
+     * @throws IllegalArgumentException if method is not declared by the class.
+     **/
+    public Map<Class<? extends Annotation>, Annotation> getAnnotations(Method method) {
+        Map<Class<? extends Annotation>, Annotation> merged = methodAnnotations.get(method);
+        if (merged == null) {
+            throw new IllegalArgumentException(method + " is not declared by " + type.getName());
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,77 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared cache of the transitive meta annotations of annotation types.
+ * <p>
+ * For each annotation type the set of all annotation types present on it, on those
+ * annotation types and so forth is computed once, so that composed (stereotype) annotations
+ * of any depth can be matched with a set lookup. Cycles, such as Documented annotating itself,
+ * are handled.
+ * <p>
+ * Example:
+ * {@code
+ * boolean stereotype = MetaAnnotationCache.getInstance().isMetaAnnotated(method.getDeclaredAnnotations(), Stereotype.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class MetaAnnotationCache extends ClassCache<Set<Class<? extends Annotation>>> {
+    private static final MetaAnnotationCache INSTANCE = new MetaAnnotationCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static MetaAnnotationCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns true if any of the annotations is meta annotated, directly or transitively, with
+     * metaAnnotation.
+     *
+     * @param annotations    Annotations to inspect.
+     * @param metaAnnotation The meta annotation to look for.
+     *
+     * @return true if any of the annotations is meta annotated with metaAnnotation.
+     **/
+    public boolean isMetaAnnotated(Annotation[] annotations, Class<? extends Annotation> metaAnnotation) {
+        for (Annotation annotation : annotations) {
+            if (get(annotation.annotationType()).contains(metaAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the transitive meta annotations of annotationType, in breadth first order.
+     * 
+     * @param clazz Annotation type.
+     * 
+     * @return the transitive meta annotations of annotationType.
+     **/
+    @Override
+    protected Set<Class<? extends Annotation>> create(Class<?> clazz) {
+        Set<Class<? extends Annotation>> metaAnnotations = new LinkedHashSet<Class<? extends Annotation>>();
+        List<Class<?>> queue = new ArrayList<Class<?>>();
+        queue.add(clazz);
+        for (int i = 0; i < queue.size(); i++) {
+            for (Annotation annotation : queue.get(i).getDeclaredAnnotations()) {
+                if (metaAnnotations.add(annotation.annotationType())) {
+                    queue.add(annotation.annotationType());
+                }
+            }
+        }
+        return Collections.unmodifiableSet(metaAnnotations);
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.kasource.commons.reflection.cache;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kasource.commons.reflection.HierarchyScope;
+
+/**
+ * Columnar representation of the methods declared by a class and its super classes.
+ * <p>
+ * In addition to the columns of MemberFeatureTable the number of parameters, the return type id
+ * and the parameter type ids of each method is stored. Methods are indexed by their merged annotations,
+ * including the annotations of the methods they override or implement.
+ * <p>
+ * Methods are ordered most specific class first, as returned by ClassIntrospector.getMethods.
+ * <p>
+ * Note: Instances should be retrieved from the MethodFeatureTableCache.
+ *
+ * @author rikardwi
+ **/
+public class MethodFeatureTable extends MemberFeatureTable<Method> {
+    private final int[] parameterCounts;
+    private final int[] returnTypeIds;
+    private final int[][] parameterTypeIds;
+
+    /**
+     * Constructor.
+     *
+     * @param metadata Meta data of the class.
+     **/
+    MethodFeatureTable(ClassMetadata metadata) {
+        super(metadata.getType(), collectMethods(metadata));
+        int size = size();
+        parameterCounts = new int[size];
+        returnTypeIds = new int[size];
+        parameterTypeIds = new int[size][];
+        for (int i = 0; i < size; i++) {
+            Method method = getMember(i);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            parameterCounts[i] = parameterTypes.length;
+            returnTypeIds[i] = intern(method.getReturnType());
+            parameterTypeIds[i] = new int[parameterTypes.length];
+            for (int j = 0; j < parameterTypes.length; j++) {
+                parameterTypeIds[i][j] = intern(parameterTypes[j]);
+            }
+        }
+    }
+
+    @Override
+    Annotation[] getAnnotations(Method method) {
+        return MergedAnnotationCache.getInstance().getAnnotations(method);
+    }
+
+    private static Method[] collectMethods(ClassMetadata metadata) {
+        List<Method> methods = new ArrayList<Method>();
+        for (ClassMetadata classMetadata : metadata.getHierarchy(HierarchyScope.SUPER_CLASSES)) {
+            for (Method method : classMetadata.getDeclaredMethods()) {
+                methods.add(method);
+            }
+        }
+        return methods.toArray(new Method[methods.size()]);
+    }
+
+    /**
+     * Returns the number of parameters of the method at index.
+     *
+     * @param index Index of the method.
+     *
+     * @return the number of parameters of the method at index.
+     **/
+    public int getParameterCount(int index) {
+        return parameterCounts[index];
+    }
+
+    /**
+     * Returns the type id of the return type of the method at index.
+     *
+     * @param index Index of the method.
+     *
+     * @return the type id of the return type.
+     **/
+    public int getReturnTypeId(int index) {
+        return returnTypeIds[index];
+    }
+
+    /**
+     * Returns the type id of parameter parameterIndex of the method at index.
+     *
+     * @param index             Index of the method.
+     * @param parameterIndex    Index of the parameter.
+     *
+     * @return the type id of the parameter.
+     **/
+    public int getParameterTypeId(int index, int parameterIndex) {
+        return parameterTypeIds[index][parameterIndex];
+    }
+}
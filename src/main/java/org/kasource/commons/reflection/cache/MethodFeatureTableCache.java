@@ -0,0 +1,30 @@
+package org.kasource.commons.reflection.cache;
+
+/**
+ * Shared cache of method feature tables.
+ * <p>
+ * Example:
+ * {@code
+ * MethodFeatureTable table = MethodFeatureTableCache.getInstance().get(MyClass.class);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class MethodFeatureTableCache extends ClassCache<MethodFeatureTable> {
+    private static final MethodFeatureTableCache INSTANCE = new MethodFeatureTableCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static MethodFeatureTableCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    protected MethodFeatureTable create(Class<?> clazz) {
+        return new MethodFeatureTable(ClassMetadataCache.getInstance().get(clazz));
+    }
+
+}
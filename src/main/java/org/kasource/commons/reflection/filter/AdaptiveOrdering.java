@@ -0,0 +1,164 @@
+package org.kasource.commons.reflection.filter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Evaluation order of the conjuncts of an adaptive AND filter list.
+ * <p>
+ * A sample of the evaluations is timed and the pass rate and average evaluation time
+ * of each conjunct is recorded. Periodically the conjuncts are reordered by their
+ * estimated cost per rejection, average time / (1 - pass rate), so that cheap and selective
+ * conjuncts are evaluated first.
+ * <p>
+ * Which evaluations are sampled is decided by a per list xorshift generator rather than a fixed
+ * stride, so that periodic input, such as the members of a class visited in a loop, does not
+ * alias with the sampling and teach the list the statistics of a single member.
+ * <p>
+ * The order is published as an immutable array through a volatile field, evaluation never locks.
+ * Only one thread at a time reorders, other threads continue with the current order. The generator
+ * state and the sample counter are deliberately not atomic, a lost update only shifts when the next
+ * sample is taken. They are however written on every evaluation, so a list shared by many threads
+ * contends on the cache line holding them.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use adaptive() of the filter builders.
+ *
+ * @author rikardwi
+ **/
+public class AdaptiveOrdering {
+    /** On average every 16th evaluation is sampled. **/
+    private static final int SAMPLE_MASK = 15;
+    /** Number of samples between reordering. **/
+    private static final int SAMPLES_PER_REORDER = 256;
+
+    private final int size;
+    private final AtomicLongArray evaluations;
+    private final AtomicLongArray passes;
+    private final AtomicLongArray nanos;
+    private final AtomicBoolean reordering = new AtomicBoolean();
+    private volatile int[] order;
+    private int random;
+    private int sampleCount;
+
+    /**
+     * Constructor.
+     *
+     * @param size Number of conjuncts, initially evaluated in index order.
+     **/
+    public AdaptiveOrdering(int size) {
+        this.size = size;
+        this.evaluations = new AtomicLongArray(size);
+        this.passes = new AtomicLongArray(size);
+        this.nanos = new AtomicLongArray(size);
+        int[] initialOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            initialOrder[i] = i;
+        }
+        this.order = initialOrder;
+        // Xorshift never leaves a non zero state, so make sure to start in one
+        this.random = System.identityHashCode(this) | 1;
+    }
+
+    /**
+     * Returns the current evaluation order, as indexes of the conjuncts.
+     * <p>
+     * The array returned must not be modified.
+     *
+     * @return the current evaluation order.
+     **/
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns true if the next evaluation should be sampled.
+     * <p>
+     * On average one in 16 evaluations is sampled.
+     *
+     * @return true if the next evaluation should be sampled.
+     **/
+    public boolean sample() {
+        int x = random;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        random = x;
+        return (x & SAMPLE_MASK) == 0;
+    }
+
+    /**
+     * Records a sampled evaluation of a conjunct.
+     *
+     * @param index     Index of the conjunct.
+     * @param passed    true if the conjunct passed.
+     * @param time      Evaluation time in nanoseconds.
+     **/
+    public void record(int index, boolean passed, long time) {
+        evaluations.incrementAndGet(index);
+        if (passed) {
+            passes.incrementAndGet(index);
+        }
+        nanos.addAndGet(index, time);
+    }
+
+    /**
+     * Signals that a sampled evaluation of the list is complete, may reorder the conjuncts.
+     **/
+    public void sampled() {
+        if (++sampleCount % SAMPLES_PER_REORDER == 0 && reordering.compareAndSet(false, true)) {
+            try {
+                reorder();
+            } finally {
+                reordering.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sorts the conjuncts by their estimated cost per rejection and publishes the new order.
+     **/
+    void reorder() {
+        final double[] rank = new double[size];
+        for (int i = 0; i < size; i++) {
+            long count = evaluations.get(i);
+            if (count == 0) {
+                // Not yet sampled, evaluate early to learn its statistics
+                rank[i] = 0;
+                continue;
+            }
+            double averageTime = (double) nanos.get(i) / count + 1;
+            double rejectionRate = 1 - (double) passes.get(i) / count;
+            rank[i] = rejectionRate == 0 ? Double.MAX_VALUE : averageTime / rejectionRate;
+        }
+        Integer[] newOrder = new Integer[size];
+        int[] currentOrder = order;
+        for (int i = 0; i < size; i++) {
+            newOrder[i] = currentOrder[i];
+        }
+        Arrays.sort(newOrder, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer index1, Integer index2) {
+                return Double.compare(rank[index1], rank[index2]);
+            }
+        });
+        int[] published = new int[size];
+        for (int i = 0; i < size; i++) {
+            published[i] = newOrder[i];
+        }
+        order = published;
+        decay();
+    }
+
+    /**
+     * Halves the statistics so that the order adapts to changes in the evaluated members.
+     **/
+    private void decay() {
+        for (int i = 0; i < size; i++) {
+            evaluations.set(i, evaluations.get(i) / 2);
+            passes.set(i, passes.get(i) / 2);
+            nanos.set(i, nanos.get(i) / 2);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.kasource.commons.reflection.filter;
+
+import java.util.BitSet;
+
+import org.kasource.commons.reflection.cache.FieldFeatureTable;
+import org.kasource.commons.reflection.cache.MethodFeatureTable;
+import org.kasource.commons.reflection.filter.fields.FieldFilter;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+
+/**
+ * Evaluates filters against all members of a feature table at once.
+ * <p>
+ * Filters built by the MethodFilterBuilder and FieldFilterBuilder are evaluated column by column:
+ * modifiers, parameter counts, return and parameter types and annotations are compared on the
+ * columns of the table without invoking reflection, filters on the type of a member are evaluated 
+ * once per distinct type and other filters are evaluated member by member.
+ * <p>
+ * The BitSets returned are indexed like the table and can be combined with and, or and andNot
+ * before being mapped back to members by the table.
+ * <p>
+ * Example:
+ * {@code
+ * MethodFeatureTable table = MethodFeatureTableCache.getInstance().get(MyClass.class);
+ * BitSet getters = BulkFilterEvaluator.evaluate(MethodFilterBuilder.FILTER_GETTERS, table);
+ * getters.andNot(BulkFilterEvaluator.evaluate(new MethodFilterBuilder().annotated(Deprecated.class).build(), table));
+ * List<Method> methods = table.getMembers(getters);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class BulkFilterEvaluator {
+    private static final MethodFilterCompiler METHOD_COMPILER = new MethodFilterCompiler();
+    private static final FieldFilterCompiler FIELD_COMPILER = new FieldFilterCompiler();
+
+    private BulkFilterEvaluator() {}
+
+    /**
+     * Returns the indexes of the methods in table that passes filter.
+     *
+     * @param filter Filter to evaluate.
+     * @param table  Methods to evaluate the filter against.
+     *
+     * @return the indexes of the methods that passes filter.
+     **/
+    public static BitSet evaluate(MethodFilter filter, MethodFeatureTable table) {
+        return METHOD_COMPILER.evaluate(filter, table);
+    }
+
+    /**
+     * Returns the indexes of the fields in table that passes filter.
+     *
+     * @param filter Filter to evaluate.
+     * @param table  Fields to evaluate the filter against.
+     *
+     * @return the indexes of the fields that passes filter.
+     **/
+    public static BitSet evaluate(FieldFilter filter, FieldFeatureTable table) {
+        return FIELD_COMPILER.evaluate(filter, table);
+    }
+}
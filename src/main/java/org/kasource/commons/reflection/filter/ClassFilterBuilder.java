@@ -9,7 +9,6 @@ import org.kasource.commons.reflection.filter.classes.AnnotationClassFilter;
 import org.kasource.commons.reflection.filter.classes.AssignableFromClassFilter;
 import org.kasource.commons.reflection.filter.classes.AssignableToClassFilter;
 import org.kasource.commons.reflection.filter.classes.ClassFilter;
-import org.kasource.commons.reflection.filter.classes.ClassFilterList;
 import org.kasource.commons.reflection.filter.classes.IsAnnotationClassFilter;
 import org.kasource.commons.reflection.filter.classes.IsAnonymousClassFilter;
 import org.kasource.commons.reflection.filter.classes.IsArrayClassFilter;
@@ -43,8 +42,11 @@ public class ClassFilterBuilder {
 
     private enum Operator {NONE, NOT, OR};
     
+    private static final ClassFilterCompiler COMPILER = new ClassFilterCompiler();
     private List<ClassFilter> filters = new ArrayList<ClassFilter>();
     private Operator operator = Operator.NONE;
+    private String profileName;
+    private boolean adaptive;
     
     /**
      * Adds a new filter and applies current operator.
@@ -282,7 +284,7 @@ public class ClassFilterBuilder {
      * @return This builder for method chaining.
      **/
     public ClassFilterBuilder isDefault() {
-        add(new NegationClassFilter(new ModifierClassFilter(Modifier.PUBLIC & Modifier.PROTECTED & Modifier.PRIVATE)));
+        add(new NegationClassFilter(new ModifierClassFilter(Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)));
         return this;
     }
     
@@ -326,8 +328,44 @@ public class ClassFilterBuilder {
         return this;
     }
     
+    /**
+     * Enables adaptive ordering of the filter built, the pass rate and evaluation time of each
+     * AND:ed filter is sampled while the filter is used and the filters are periodically reordered
+     * so that the cheapest and most selective filters are evaluated first.
+     * <p>
+     * Use for filters evaluated many times where the estimated cost order is a poor fit for the 
+     * members actually evaluated. 
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public ClassFilterBuilder adaptive() {
+        adaptive = true;
+        return this;
+    }
+    
+    /**
+     * Enables profiling of the filter built, each node of the filter will record
+     * its invocation count, pass rate and evaluation time in the FilterProfiler under name.
+     * <p>
+     * Profiled filters are only equal to themselves, so results are not shared with un-profiled 
+     * filters in the introspection caches.
+     * 
+     * @param name Name of the filter in the FilterProfiler.
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public ClassFilterBuilder profile(String name) {
+        profileName = name;
+        return this;
+    }
+    
     /**
      * Builds the filter and returns the result.
+     * <p>
+     * The filters added are compiled into an equivalent filter which is cheaper to evaluate,
+     * modifier filters are merged into a single bit mask test and the remaining filters are
+     * ordered by their estimated cost. Filters built equal to a previously built filter returns the
+     * instance from the FilterInternPool.
      * 
      * @return the ClassFilter built.
      * 
@@ -337,11 +375,8 @@ public class ClassFilterBuilder {
         if(filters.isEmpty()) {
             throw new IllegalStateException("No filters set.");
         }
-        if(filters.size() == 1) {
-            return filters.get(0);
-        }
-        ClassFilter[] classFilters = new ClassFilter[filters.size()];
-        filters.toArray(classFilters);
-        return new ClassFilterList(classFilters);
+        ClassFilter filter = COMPILER.compile(filters, adaptive, profileName);
+        // Profiled filters are only equal to themselves, nothing to share
+        return profileName == null ? FilterInternPool.getInstance().intern(filter) : filter;
     }
 }
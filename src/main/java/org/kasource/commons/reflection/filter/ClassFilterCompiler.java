@@ -0,0 +1,190 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kasource.commons.reflection.filter.classes.AdaptiveClassFilterList;
+import org.kasource.commons.reflection.filter.classes.AnnotationClassFilter;
+import org.kasource.commons.reflection.filter.classes.AnnotationMaskClassFilter;
+import org.kasource.commons.reflection.filter.classes.AssignableFromClassFilter;
+import org.kasource.commons.reflection.filter.classes.AssignableToClassFilter;
+import org.kasource.commons.reflection.filter.classes.ClassFilter;
+import org.kasource.commons.reflection.filter.classes.ClassFilterList;
+import org.kasource.commons.reflection.filter.classes.IsAnnotationClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsAnonymousClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsArrayClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsEnumClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsInterfaceClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsLocalClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsMemberClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsPrimitiveClassFilter;
+import org.kasource.commons.reflection.filter.classes.IsSyntheticClassFilter;
+import org.kasource.commons.reflection.filter.classes.ModifierClassFilter;
+import org.kasource.commons.reflection.filter.classes.ModifierMaskClassFilter;
+import org.kasource.commons.reflection.filter.classes.NameClassFilter;
+import org.kasource.commons.reflection.filter.classes.NegationClassFilter;
+import org.kasource.commons.reflection.filter.classes.OrClassFilter;
+import org.kasource.commons.reflection.filter.classes.ProfiledClassFilter;
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * Compiles class filters built by the ClassFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+class ClassFilterCompiler extends FilterCompiler<ClassFilter> implements NameFilterSupport<ClassFilter> {
+    private static final Map<Class<?>, Integer> COSTS = new HashMap<Class<?>, Integer>();
+    
+    static {
+        COSTS.put(ModifierClassFilter.class, 1);
+        COSTS.put(ModifierMaskClassFilter.class, 1);
+        COSTS.put(IsAnnotationClassFilter.class, 1);
+        COSTS.put(IsAnonymousClassFilter.class, 1);
+        COSTS.put(IsArrayClassFilter.class, 1);
+        COSTS.put(IsEnumClassFilter.class, 1);
+        COSTS.put(IsInterfaceClassFilter.class, 1);
+        COSTS.put(IsLocalClassFilter.class, 1);
+        COSTS.put(IsMemberClassFilter.class, 1);
+        COSTS.put(IsPrimitiveClassFilter.class, 1);
+        COSTS.put(IsSyntheticClassFilter.class, 1);
+        COSTS.put(AssignableFromClassFilter.class, 2);
+        COSTS.put(AssignableToClassFilter.class, 2);
+        COSTS.put(AnnotationClassFilter.class, 5);
+        COSTS.put(AnnotationMaskClassFilter.class, 5);
+        COSTS.put(NameClassFilter.class, 8);
+    }
+    
+    @Override
+    int leafCost(ClassFilter filter) {
+        Integer cost = COSTS.get(filter.getClass());
+        return cost == null ? DEFAULT_COST : cost;
+    }
+
+    @Override
+    List<ClassFilter> getConjuncts(ClassFilter filter) {
+        if (filter instanceof ClassFilterList) {
+            return Arrays.asList(((ClassFilterList) filter).getFilters());
+        }
+        return null;
+    }
+
+    @Override
+    List<ClassFilter> getDisjuncts(ClassFilter filter) {
+        if (filter instanceof OrClassFilter) {
+            List<ClassFilter> disjuncts = new ArrayList<ClassFilter>();
+            addDisjuncts(disjuncts, filter);
+            return disjuncts;
+        }
+        return null;
+    }
+    
+    /**
+     * Adds the operands of nested OR filters to disjuncts.
+     * 
+     * @param disjuncts List to add operands to.
+     * @param filter    Filter to add or to inspect if an OR filter.
+     **/
+    private void addDisjuncts(List<ClassFilter> disjuncts, ClassFilter filter) {
+        if (filter instanceof OrClassFilter) {
+            OrClassFilter or = (OrClassFilter) filter;
+            addDisjuncts(disjuncts, or.getLeft());
+            addDisjuncts(disjuncts, or.getRight());
+        } else {
+            disjuncts.add(filter);
+        }
+    }
+
+    @Override
+    ClassFilter getNegated(ClassFilter filter) {
+        if (filter instanceof NegationClassFilter) {
+            return ((NegationClassFilter) filter).getFilter();
+        }
+        return null;
+    }
+
+    @Override
+    Integer getModifier(ClassFilter filter) {
+        if (filter instanceof ModifierClassFilter) {
+            return ((ModifierClassFilter) filter).getModifier();
+        }
+        return null;
+    }
+
+    @Override
+    int[] getModifierMaskOf(ClassFilter filter) {
+        if (filter instanceof ModifierMaskClassFilter) {
+            ModifierMaskClassFilter mask = (ModifierMaskClassFilter) filter;
+            return new int[] {mask.getRequiredModifiers(), mask.getExcludedModifiers()};
+        }
+        return null;
+    }
+
+    @Override
+    ClassFilter newList(List<ClassFilter> filters) {
+        return new ClassFilterList(filters.toArray(new ClassFilter[filters.size()]));
+    }
+
+    @Override
+    ClassFilter newOr(List<ClassFilter> filters) {
+        // Right fold, so that the operands are evaluated in list order
+        ClassFilter or = filters.get(filters.size() - 1);
+        for (int i = filters.size() - 2; i >= 0; i--) {
+            or = new OrClassFilter(filters.get(i), or);
+        }
+        return or;
+    }
+
+    @Override
+    ClassFilter newNegation(ClassFilter filter) {
+        return new NegationClassFilter(filter);
+    }
+
+    @Override
+    ClassFilter newModifierMask(int requiredModifiers, int excludedModifiers) {
+        return new ModifierMaskClassFilter(requiredModifiers, excludedModifiers);
+    }
+
+    @Override
+    ClassFilter newProfiled(ClassFilter filter, FilterProfile profile) {
+        return new ProfiledClassFilter(filter, profile);
+    }
+
+    @Override
+    ClassFilter newAdaptiveList(List<ClassFilter> filters) {
+        return new AdaptiveClassFilterList(filters.toArray(new ClassFilter[filters.size()]));
+    }
+
+    @Override
+    public String[] getNameRegExps(ClassFilter filter) {
+        if (filter instanceof NameClassFilter) {
+            return ((NameClassFilter) filter).getNameRegExps();
+        }
+        return null;
+    }
+
+    @Override
+    public ClassFilter newNameFilter(String[] nameRegExps) {
+        return new NameClassFilter(nameRegExps);
+    }
+
+    @Override
+    Class<? extends Annotation>[] getAnnotations(ClassFilter filter) {
+        if (filter instanceof AnnotationClassFilter) {
+            return toAnnotationArray(((AnnotationClassFilter) filter).getAnnotation());
+        }
+        if (filter instanceof AnnotationMaskClassFilter) {
+            return ((AnnotationMaskClassFilter) filter).getAnnotations();
+        }
+        return null;
+    }
+
+    @Override
+    ClassFilter newAnnotationMask(Set<Class<? extends Annotation>> annotations) {
+        return new AnnotationMaskClassFilter(annotations.toArray(newAnnotationArray(annotations.size())));
+    }
+}
@@ -10,7 +10,6 @@ import org.kasource.commons.reflection.filter.constructors.AnnotatedConstructorF
 import org.kasource.commons.reflection.filter.constructors.AssignableFromConstructorFilter;
 import org.kasource.commons.reflection.filter.constructors.AssignableToConstructorFilter;
 import org.kasource.commons.reflection.filter.constructors.ConstructorFilter;
-import org.kasource.commons.reflection.filter.constructors.ConstructorFilterList;
 import org.kasource.commons.reflection.filter.constructors.MetaAnnotatedConstructorFilter;
 import org.kasource.commons.reflection.filter.constructors.ModifierConstructorFilter;
 import org.kasource.commons.reflection.filter.constructors.NegationConstructorFilter;
@@ -41,8 +40,11 @@ public class ConstructorFilterBuilder {
    
     
     private enum Operator {NONE, NOT, OR};
+    private static final ConstructorFilterCompiler COMPILER = new ConstructorFilterCompiler();
     private List<ConstructorFilter> filters = new ArrayList<ConstructorFilter>();
     private Operator operator = Operator.NONE;
+    private String profileName;
+    private boolean adaptive;
     
     /**
      * Adds filter to filter list and apply operator.
@@ -128,7 +130,7 @@ public class ConstructorFilterBuilder {
      * @return The builder to support method chaining.
      **/
     public ConstructorFilterBuilder isDefault() {
-        add(new NegationConstructorFilter(new ModifierConstructorFilter(Modifier.PUBLIC & Modifier.PROTECTED & Modifier.PRIVATE)));
+        add(new NegationConstructorFilter(new ModifierConstructorFilter(Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)));
         return this;
     }
     
@@ -295,8 +297,44 @@ public class ConstructorFilterBuilder {
         return this;
     }
     
+    /**
+     * Enables adaptive ordering of the filter built, the pass rate and evaluation time of each
+     * AND:ed filter is sampled while the filter is used and the filters are periodically reordered
+     * so that the cheapest and most selective filters are evaluated first.
+     * <p>
+     * Use for filters evaluated many times where the estimated cost order is a poor fit for the 
+     * members actually evaluated. 
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public ConstructorFilterBuilder adaptive() {
+        adaptive = true;
+        return this;
+    }
+    
+    /**
+     * Enables profiling of the filter built, each node of the filter will record
+     * its invocation count, pass rate and evaluation time in the FilterProfiler under name.
+     * <p>
+     * Profiled filters are only equal to themselves, so results are not shared with un-profiled 
+     * filters in the introspection caches.
+     * 
+     * @param name Name of the filter in the FilterProfiler.
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public ConstructorFilterBuilder profile(String name) {
+        profileName = name;
+        return this;
+    }
+    
     /**
      * Returns the ConstructorFilter built.
+     * <p>
+     * The filters added are compiled into an equivalent filter which is cheaper to evaluate,
+     * modifier filters are merged into a single bit mask test and the remaining filters are
+     * ordered by their estimated cost. Filters built equal to a previously built filter returns the
+     * instance from the FilterInternPool.
      * 
      * @return the ConstructorFilter built.
      * @throws IllegalStateException if no filter was specified before calling build()
@@ -305,12 +343,9 @@ public class ConstructorFilterBuilder {
         if(filters.isEmpty()) {
             throw new IllegalStateException("No filter specified.");
         }
-        if(filters.size() == 1) {
-            return filters.get(0);
-        }
-        ConstructorFilter[] methodFilters = new ConstructorFilter[filters.size()];
-        filters.toArray(methodFilters);
-        return new ConstructorFilterList(methodFilters);
+        ConstructorFilter filter = COMPILER.compile(filters, adaptive, profileName);
+        // Profiled filters are only equal to themselves, nothing to share
+        return profileName == null ? FilterInternPool.getInstance().intern(filter) : filter;
     }
     
 }
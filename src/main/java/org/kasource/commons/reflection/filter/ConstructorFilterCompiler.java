@@ -0,0 +1,161 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kasource.commons.reflection.filter.constructors.AdaptiveConstructorFilterList;
+import org.kasource.commons.reflection.filter.constructors.AnnotatedConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.AnnotationMaskConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.AssignableFromConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.AssignableToConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.ConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.ConstructorFilterList;
+import org.kasource.commons.reflection.filter.constructors.ModifierConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.ModifierMaskConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.NegationConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.NumberOfParametersConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.OrConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.ProfiledConstructorFilter;
+import org.kasource.commons.reflection.filter.constructors.SignatureConstructorFilter;
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * Compiles constructor filters built by the ConstructorFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+class ConstructorFilterCompiler extends FilterCompiler<ConstructorFilter> {
+    private static final Map<Class<?>, Integer> COSTS = new HashMap<Class<?>, Integer>();
+    
+    static {
+        COSTS.put(ModifierConstructorFilter.class, 1);
+        COSTS.put(ModifierMaskConstructorFilter.class, 1);
+        COSTS.put(NumberOfParametersConstructorFilter.class, 3);
+        COSTS.put(SignatureConstructorFilter.class, 4);
+        COSTS.put(AssignableFromConstructorFilter.class, 4);
+        COSTS.put(AssignableToConstructorFilter.class, 4);
+        COSTS.put(AnnotatedConstructorFilter.class, 5);
+        COSTS.put(AnnotationMaskConstructorFilter.class, 5);
+    }
+    
+    @Override
+    int leafCost(ConstructorFilter filter) {
+        Integer cost = COSTS.get(filter.getClass());
+        return cost == null ? DEFAULT_COST : cost;
+    }
+
+    @Override
+    List<ConstructorFilter> getConjuncts(ConstructorFilter filter) {
+        if (filter instanceof ConstructorFilterList) {
+            return Arrays.asList(((ConstructorFilterList) filter).getFilters());
+        }
+        return null;
+    }
+
+    @Override
+    List<ConstructorFilter> getDisjuncts(ConstructorFilter filter) {
+        if (filter instanceof OrConstructorFilter) {
+            List<ConstructorFilter> disjuncts = new ArrayList<ConstructorFilter>();
+            addDisjuncts(disjuncts, filter);
+            return disjuncts;
+        }
+        return null;
+    }
+    
+    /**
+     * Adds the operands of nested OR filters to disjuncts.
+     * 
+     * @param disjuncts List to add operands to.
+     * @param filter    Filter to add or to inspect if an OR filter.
+     **/
+    private void addDisjuncts(List<ConstructorFilter> disjuncts, ConstructorFilter filter) {
+        if (filter instanceof OrConstructorFilter) {
+            OrConstructorFilter or = (OrConstructorFilter) filter;
+            addDisjuncts(disjuncts, or.getLeft());
+            addDisjuncts(disjuncts, or.getRight());
+        } else {
+            disjuncts.add(filter);
+        }
+    }
+
+    @Override
+    ConstructorFilter getNegated(ConstructorFilter filter) {
+        if (filter instanceof NegationConstructorFilter) {
+            return ((NegationConstructorFilter) filter).getFilter();
+        }
+        return null;
+    }
+
+    @Override
+    Integer getModifier(ConstructorFilter filter) {
+        if (filter instanceof ModifierConstructorFilter) {
+            return ((ModifierConstructorFilter) filter).getModifier();
+        }
+        return null;
+    }
+
+    @Override
+    int[] getModifierMaskOf(ConstructorFilter filter) {
+        if (filter instanceof ModifierMaskConstructorFilter) {
+            ModifierMaskConstructorFilter mask = (ModifierMaskConstructorFilter) filter;
+            return new int[] {mask.getRequiredModifiers(), mask.getExcludedModifiers()};
+        }
+        return null;
+    }
+
+    @Override
+    ConstructorFilter newList(List<ConstructorFilter> filters) {
+        return new ConstructorFilterList(filters.toArray(new ConstructorFilter[filters.size()]));
+    }
+
+    @Override
+    ConstructorFilter newOr(List<ConstructorFilter> filters) {
+        // Right fold, so that the operands are evaluated in list order
+        ConstructorFilter or = filters.get(filters.size() - 1);
+        for (int i = filters.size() - 2; i >= 0; i--) {
+            or = new OrConstructorFilter(filters.get(i), or);
+        }
+        return or;
+    }
+
+    @Override
+    ConstructorFilter newNegation(ConstructorFilter filter) {
+        return new NegationConstructorFilter(filter);
+    }
+
+    @Override
+    ConstructorFilter newModifierMask(int requiredModifiers, int excludedModifiers) {
+        return new ModifierMaskConstructorFilter(requiredModifiers, excludedModifiers);
+    }
+
+    @Override
+    ConstructorFilter newProfiled(ConstructorFilter filter, FilterProfile profile) {
+        return new ProfiledConstructorFilter(filter, profile);
+    }
+
+    @Override
+    ConstructorFilter newAdaptiveList(List<ConstructorFilter> filters) {
+        return new AdaptiveConstructorFilterList(filters.toArray(new ConstructorFilter[filters.size()]));
+    }
+
+    @Override
+    Class<? extends Annotation>[] getAnnotations(ConstructorFilter filter) {
+        if (filter instanceof AnnotatedConstructorFilter) {
+            return toAnnotationArray(((AnnotatedConstructorFilter) filter).getAnnotation());
+        }
+        if (filter instanceof AnnotationMaskConstructorFilter) {
+            return ((AnnotationMaskConstructorFilter) filter).getAnnotations();
+        }
+        return null;
+    }
+
+    @Override
+    ConstructorFilter newAnnotationMask(Set<Class<? extends Annotation>> annotations) {
+        return new AnnotationMaskConstructorFilter(annotations.toArray(newAnnotationArray(annotations.size())));
+    }
+}
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,13 +12,14 @@ import org.kasource.commons.reflection.filter.fields.AssignableFromFieldFilter;
 import org.kasource.commons.reflection.filter.fields.AssignableToFieldFilter;
 import org.kasource.commons.reflection.filter.fields.FieldClassFieldFilter;
 import org.kasource.commons.reflection.filter.fields.FieldFilter;
-import org.kasource.commons.reflection.filter.fields.FieldFilterList;
+import org.kasource.commons.reflection.filter.fields.GenericTypeFieldFilter;
 import org.kasource.commons.reflection.filter.fields.IsEnumConstantFieldFilter;
 import org.kasource.commons.reflection.filter.fields.MetaAnnotatedFieldFilter;
 import org.kasource.commons.reflection.filter.fields.ModifierFieldFilter;
 import org.kasource.commons.reflection.filter.fields.NameFieldFilter;
 import org.kasource.commons.reflection.filter.fields.NegationFieldFilter;
 import org.kasource.commons.reflection.filter.fields.OrFieldFilter;
+import org.kasource.commons.reflection.type.GenericTypeResolver;
 
 /**
  * Builder for FieldFilter.
@@ -37,8 +39,11 @@ import org.kasource.commons.reflection.filter.fields.OrFieldFilter;
  **/
 public class FieldFilterBuilder {
     private enum Operator {NONE, NOT, OR};
+    private static final FieldFilterCompiler COMPILER = new FieldFilterCompiler();
     private List<FieldFilter> filters = new ArrayList<FieldFilter>();
     private Operator operator = Operator.NONE;
+    private String profileName;
+    private boolean adaptive;
     
     /**
      * Adds a filter and applies the current operator.
@@ -150,6 +155,42 @@ public class FieldFilterBuilder {
         return this;
     }
     
+    /**
+     * Adds filter for fields which generic type, with the type variables bound by targetType
+     * resolved, equals the supplied type.
+     * 
+     * @param targetType    The class to resolve type variables against.
+     * @param type          The generic type to match field type with, 
+     *                      see GenericTypeResolver.parameterizedType to create parameterized types.
+     * 
+     * @return This builder to support method chaining.
+     **/
+    public FieldFilterBuilder genericType(Class<?> targetType, Type type) {
+        add(new GenericTypeFieldFilter(targetType, type));
+        return this;
+    }
+    
+    /**
+     * Adds filter for fields which generic type, with the type variables bound by targetType
+     * resolved, is rawType parameterized with the supplied type arguments.
+     * 
+     * parameterizedField(MyClass.class, List.class, String.class) will be true for a field declared as 
+     * List&lt;T&gt; when MyClass binds T to String.
+     * 
+     * @param targetType    The class to resolve type variables against.
+     * @param rawType       The generic class of the field type.
+     * @param typeArguments The type arguments of the field type.
+     * 
+     * @return This builder to support method chaining.
+     * 
+     * @throws IllegalArgumentException if the number of type arguments does not match the 
+     * number of type parameters of rawType.
+     **/
+    public FieldFilterBuilder parameterizedField(Class<?> targetType, Class<?> rawType, Type... typeArguments) 
+        throws IllegalArgumentException {
+        return genericType(targetType, GenericTypeResolver.parameterizedType(rawType, typeArguments));
+    }
+    
     /**
      * Filter fields which type passes the supplied ClassFilter.
      * 
@@ -247,7 +288,7 @@ public class FieldFilterBuilder {
      * @return This builder to support method chaining.
      */
     public FieldFilterBuilder isDefault() {
-        add(new NegationFieldFilter(new ModifierFieldFilter(Modifier.PUBLIC & Modifier.PROTECTED & Modifier.PRIVATE)));
+        add(new NegationFieldFilter(new ModifierFieldFilter(Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)));
         return this;
     }
     
@@ -263,8 +304,44 @@ public class FieldFilterBuilder {
         return this;
     }
     
+    /**
+     * Enables adaptive ordering of the filter built, the pass rate and evaluation time of each
+     * AND:ed filter is sampled while the filter is used and the filters are periodically reordered
+     * so that the cheapest and most selective filters are evaluated first.
+     * <p>
+     * Use for filters evaluated many times where the estimated cost order is a poor fit for the 
+     * members actually evaluated. 
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public FieldFilterBuilder adaptive() {
+        adaptive = true;
+        return this;
+    }
+    
+    /**
+     * Enables profiling of the filter built, each node of the filter will record
+     * its invocation count, pass rate and evaluation time in the FilterProfiler under name.
+     * <p>
+     * Profiled filters are only equal to themselves, so results are not shared with un-profiled 
+     * filters in the introspection caches.
+     * 
+     * @param name Name of the filter in the FilterProfiler.
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public FieldFilterBuilder profile(String name) {
+        profileName = name;
+        return this;
+    }
+    
     /**
      * Build and returns a FieldFilter.
+     * <p>
+     * The filters added are compiled into an equivalent filter which is cheaper to evaluate,
+     * modifier filters are merged into a single bit mask test and the remaining filters are
+     * ordered by their estimated cost. Filters built equal to a previously built filter returns the
+     * instance from the FilterInternPool.
      * 
      * @return FieldFilter built.
      * 
@@ -274,11 +351,8 @@ public class FieldFilterBuilder {
         if (filters.isEmpty()) {
             throw new IllegalStateException("No field filters configured!");
         }
-        if (filters.size() == 1) {
-           return filters.get(0); 
-        }
-        FieldFilter[] fieldFilters = new FieldFilter[filters.size()];
-        filters.toArray(fieldFilters);
-        return new FieldFilterList(fieldFilters);
+        FieldFilter filter = COMPILER.compile(filters, adaptive, profileName);
+        // Profiled filters are only equal to themselves, nothing to share
+        return profileName == null ? FilterInternPool.getInstance().intern(filter) : filter;
     }
 }
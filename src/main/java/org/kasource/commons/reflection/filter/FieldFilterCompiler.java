@@ -0,0 +1,214 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kasource.commons.reflection.cache.FieldFeatureTable;
+import org.kasource.commons.reflection.cache.MemberFeatureTable;
+import org.kasource.commons.reflection.filter.fields.AdaptiveFieldFilterList;
+import org.kasource.commons.reflection.filter.fields.AnnotatedFieldFilter;
+import org.kasource.commons.reflection.filter.fields.AnnotationMaskFieldFilter;
+import org.kasource.commons.reflection.filter.fields.AssignableFromFieldFilter;
+import org.kasource.commons.reflection.filter.fields.AssignableToFieldFilter;
+import org.kasource.commons.reflection.filter.fields.FieldClassFieldFilter;
+import org.kasource.commons.reflection.filter.fields.FieldFilter;
+import org.kasource.commons.reflection.filter.fields.FieldFilterList;
+import org.kasource.commons.reflection.filter.fields.GenericTypeFieldFilter;
+import org.kasource.commons.reflection.filter.fields.IsEnumConstantFieldFilter;
+import org.kasource.commons.reflection.filter.fields.ModifierFieldFilter;
+import org.kasource.commons.reflection.filter.fields.ModifierMaskFieldFilter;
+import org.kasource.commons.reflection.filter.fields.NameFieldFilter;
+import org.kasource.commons.reflection.filter.fields.NegationFieldFilter;
+import org.kasource.commons.reflection.filter.fields.OrFieldFilter;
+import org.kasource.commons.reflection.filter.fields.ProfiledFieldFilter;
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * Compiles field filters built by the FieldFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+class FieldFilterCompiler extends TableFilterCompiler<FieldFilter> implements NameFilterSupport<FieldFilter> {
+    private static final Map<Class<?>, Integer> COSTS = new HashMap<Class<?>, Integer>();
+    
+    static {
+        COSTS.put(ModifierFieldFilter.class, 1);
+        COSTS.put(ModifierMaskFieldFilter.class, 1);
+        COSTS.put(IsEnumConstantFieldFilter.class, 1);
+        COSTS.put(AssignableFromFieldFilter.class, 2);
+        COSTS.put(AssignableToFieldFilter.class, 2);
+        COSTS.put(AnnotatedFieldFilter.class, 5);
+        COSTS.put(AnnotationMaskFieldFilter.class, 5);
+        COSTS.put(GenericTypeFieldFilter.class, 6);
+        COSTS.put(NameFieldFilter.class, 8);
+    }
+    
+    @Override
+    int leafCost(FieldFilter filter) {
+        Integer cost = COSTS.get(filter.getClass());
+        return cost == null ? DEFAULT_COST : cost;
+    }
+
+    @Override
+    List<FieldFilter> getConjuncts(FieldFilter filter) {
+        if (filter instanceof FieldFilterList) {
+            return Arrays.asList(((FieldFilterList) filter).getFilters());
+        }
+        return null;
+    }
+
+    @Override
+    List<FieldFilter> getDisjuncts(FieldFilter filter) {
+        if (filter instanceof OrFieldFilter) {
+            List<FieldFilter> disjuncts = new ArrayList<FieldFilter>();
+            addDisjuncts(disjuncts, filter);
+            return disjuncts;
+        }
+        return null;
+    }
+    
+    /**
+     * Adds the operands of nested OR filters to disjuncts.
+     * 
+     * @param disjuncts List to add operands to.
+     * @param filter    Filter to add or to inspect if an OR filter.
+     **/
+    private void addDisjuncts(List<FieldFilter> disjuncts, FieldFilter filter) {
+        if (filter instanceof OrFieldFilter) {
+            OrFieldFilter or = (OrFieldFilter) filter;
+            addDisjuncts(disjuncts, or.getLeft());
+            addDisjuncts(disjuncts, or.getRight());
+        } else {
+            disjuncts.add(filter);
+        }
+    }
+
+    @Override
+    FieldFilter getNegated(FieldFilter filter) {
+        if (filter instanceof NegationFieldFilter) {
+            return ((NegationFieldFilter) filter).getFilter();
+        }
+        return null;
+    }
+
+    @Override
+    Integer getModifier(FieldFilter filter) {
+        if (filter instanceof ModifierFieldFilter) {
+            return ((ModifierFieldFilter) filter).getModifier();
+        }
+        return null;
+    }
+
+    @Override
+    int[] getModifierMaskOf(FieldFilter filter) {
+        if (filter instanceof ModifierMaskFieldFilter) {
+            ModifierMaskFieldFilter mask = (ModifierMaskFieldFilter) filter;
+            return new int[] {mask.getRequiredModifiers(), mask.getExcludedModifiers()};
+        }
+        return null;
+    }
+
+    @Override
+    FieldFilter newList(List<FieldFilter> filters) {
+        return new FieldFilterList(filters.toArray(new FieldFilter[filters.size()]));
+    }
+
+    @Override
+    FieldFilter newOr(List<FieldFilter> filters) {
+        // Right fold, so that the operands are evaluated in list order
+        FieldFilter or = filters.get(filters.size() - 1);
+        for (int i = filters.size() - 2; i >= 0; i--) {
+            or = new OrFieldFilter(filters.get(i), or);
+        }
+        return or;
+    }
+
+    @Override
+    FieldFilter newNegation(FieldFilter filter) {
+        return new NegationFieldFilter(filter);
+    }
+
+    @Override
+    FieldFilter newModifierMask(int requiredModifiers, int excludedModifiers) {
+        return new ModifierMaskFieldFilter(requiredModifiers, excludedModifiers);
+    }
+
+    @Override
+    FieldFilter newProfiled(FieldFilter filter, FilterProfile profile) {
+        return new ProfiledFieldFilter(filter, profile);
+    }
+
+    @Override
+    FieldFilter newAdaptiveList(List<FieldFilter> filters) {
+        return new AdaptiveFieldFilterList(filters.toArray(new FieldFilter[filters.size()]));
+    }
+
+    @Override
+    BitSet evaluateLeaf(FieldFilter filter, MemberFeatureTable<?> features) {
+        FieldFeatureTable table = (FieldFeatureTable) features;
+        int size = table.size();
+        if (filter instanceof AnnotatedFieldFilter) {
+            return table.getAnnotated(((AnnotatedFieldFilter) filter).getAnnotation());
+        } 
+        if (filter instanceof AnnotationMaskFieldFilter) {
+            return getAnnotated(table, ((AnnotationMaskFieldFilter) filter).getAnnotations());
+        }
+        BitSet result = new BitSet(size);
+        if (filter instanceof AssignableFromFieldFilter || filter instanceof AssignableToFieldFilter 
+                    || filter instanceof FieldClassFieldFilter) {
+            // Depends only on the field type, evaluate once per distinct type
+            Boolean[] passed = new Boolean[table.getTypeCount()];
+            for (int i = 0; i < size; i++) {
+                int typeId = table.getFieldTypeId(i);
+                if (passed[typeId] == null) {
+                    passed[typeId] = filter.passFilter(table.getMember(i));
+                }
+                if (passed[typeId]) {
+                    result.set(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (filter.passFilter(table.getMember(i))) {
+                    result.set(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String[] getNameRegExps(FieldFilter filter) {
+        if (filter instanceof NameFieldFilter) {
+            return ((NameFieldFilter) filter).getNameRegExps();
+        }
+        return null;
+    }
+
+    @Override
+    public FieldFilter newNameFilter(String[] nameRegExps) {
+        return new NameFieldFilter(nameRegExps);
+    }
+
+    @Override
+    Class<? extends Annotation>[] getAnnotations(FieldFilter filter) {
+        if (filter instanceof AnnotatedFieldFilter) {
+            return toAnnotationArray(((AnnotatedFieldFilter) filter).getAnnotation());
+        }
+        if (filter instanceof AnnotationMaskFieldFilter) {
+            return ((AnnotationMaskFieldFilter) filter).getAnnotations();
+        }
+        return null;
+    }
+
+    @Override
+    FieldFilter newAnnotationMask(Set<Class<? extends Annotation>> annotations) {
+        return new AnnotationMaskFieldFilter(annotations.toArray(newAnnotationArray(annotations.size())));
+    }
+}
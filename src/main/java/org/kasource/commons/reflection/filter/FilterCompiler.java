@@ -0,0 +1,558 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.kasource.commons.reflection.profile.FilterProfile;
+import org.kasource.commons.reflection.profile.FilterProfiler;
+
+/**
+ * Compiles a filter tree created by a filter builder into an equivalent tree that
+ * is cheaper to evaluate.
+ * <p>
+ * The following optimizations are applied:
+ * <ul>
+ *  <li>Nested AND lists and nested OR filters are flattened.</li>
+ *  <li>Double negations are removed.</li>
+ *  <li>Constants are folded: a modifier filter for no modifiers never passes, an empty AND list always passes.</li>
+ *  <li>Modifier conjuncts are merged into a single bit mask test.</li>
+ *  <li>Annotation conjuncts are merged into a single annotation mask test.</li>
+ *  <li>Name disjuncts are merged into a single name filter, matching all names in one pass.</li>
+ *  <li>Equal operands are removed.</li>
+ *  <li>Operands of AND and OR are ordered by their estimated cost, cheapest first.</li>
+ * </ul>
+ * Operands of equal cost are ordered by their string representation, so the compiled filter
+ * is a canonical form: filters that only differ in the order of commutative operands, in duplicated
+ * operands or in double negations compiles to equal filters.
+ * The constant filter that always passes is represented by an empty filter list and the
+ * constant that never passes by a negated empty filter list.
+ * <p>
+ * Filters are assumed to be free from side effects, which is true for all filters
+ * in the org.kasource.commons.reflection.filter packages.
+ *
+ * @author rikardwi
+ *
+ * @param <F> Filter type.
+ **/
+abstract class FilterCompiler<F> {
+    /** Estimated cost for filters not known by the compiler. **/
+    static final int DEFAULT_COST = 10;
+
+    private final Comparator<F> costComparator = new Comparator<F>() {
+        @Override
+        public int compare(F filter1, F filter2) {
+            int cost1 = cost(filter1);
+            int cost2 = cost(filter2);
+            if (cost1 == cost2) {
+                // Canonical order of equally expensive operands, so that equal filters compiles to equal trees
+                return filter1.toString().compareTo(filter2.toString());
+            }
+            return cost1 < cost2 ? -1 : 1;
+        }
+    };
+
+    /**
+     * Compiles the AND:ed filters supplied.
+     * <p>
+     * A single leaf filter is returned as is.
+     *
+     * @param filters Filters to compile.
+     *
+     * @return The compiled filter.
+     **/
+    F compile(List<F> filters) {
+        if (filters.size() == 1 && isLeaf(filters.get(0))) {
+            return filters.get(0);
+        }
+        return simplify(newList(filters));
+    }
+
+    /**
+     * Compiles the AND:ed filters supplied and instruments each node of the compiled filter
+     * to record its evaluation statistics in the FilterProfiler under profileName.
+     *
+     * @param filters       Filters to compile.
+     * @param profileName   Name to profile the filter as, null to not profile the filter.
+     *
+     * @return The compiled filter.
+     **/
+    F compile(List<F> filters, String profileName) {
+        return compile(filters, false, profileName);
+    }
+
+    /**
+     * Compiles the AND:ed filters supplied, optionally into an adaptive AND filter list whose 
+     * conjuncts are reordered at runtime by their measured cost and selectivity.
+     * <p>
+     * The conjuncts of an adaptive list are compiled as usual and the estimated cost order is used
+     * as the initial order. When profiled the adaptive list is profiled as a single node.
+     *
+     * @param filters       Filters to compile.
+     * @param adaptive      true to reorder the top level conjuncts at runtime.
+     * @param profileName   Name to profile the filter as, null to not profile the filter.
+     *
+     * @return The compiled filter.
+     **/
+    F compile(List<F> filters, boolean adaptive, String profileName) {
+        F filter = compile(filters);
+        if (adaptive) {
+            List<F> conjuncts = getConjuncts(filter);
+            if (conjuncts != null && conjuncts.size() > 1) {
+                filter = newAdaptiveList(conjuncts);
+            }
+        }
+        if (profileName == null) {
+            return filter;
+        }
+        return instrument(filter, FilterProfiler.getInstance().getProfile(profileName, describe(filter)));
+    }
+
+    private F instrument(F filter, FilterProfile profile) {
+        List<F> operands = getConjuncts(filter);
+        if (operands != null) {
+            return newProfiled(newList(instrument(operands, profile)), profile);
+        }
+        operands = getDisjuncts(filter);
+        if (operands != null) {
+            return newProfiled(newOr(instrument(operands, profile)), profile);
+        }
+        F negated = getNegated(filter);
+        if (negated != null) {
+            return newProfiled(newNegation(instrument(negated, profile.getChild(0, describe(negated)))), profile);
+        }
+        return newProfiled(filter, profile);
+    }
+
+    private List<F> instrument(List<F> operands, FilterProfile profile) {
+        List<F> instrumented = new ArrayList<F>(operands.size());
+        for (int i = 0; i < operands.size(); i++) {
+            F operand = operands.get(i);
+            instrumented.add(instrument(operand, profile.getChild(i, describe(operand))));
+        }
+        return instrumented;
+    }
+
+    /**
+     * Returns a short description of a filter node.
+     **/
+    private String describe(F filter) {
+        if (getConjuncts(filter) != null) {
+            return "AND";
+        }
+        if (getDisjuncts(filter) != null) {
+            return "OR";
+        }
+        if (getNegated(filter) != null) {
+            return "NOT";
+        }
+        String description = filter.getClass().getSimpleName();
+        Integer modifier = getModifier(filter);
+        if (modifier != null) {
+            return description + "(" + Modifier.toString(modifier) + ")";
+        }
+        String[] nameRegExps = getNameRegExps(filter);
+        if (nameRegExps != null) {
+            return description + Arrays.toString(nameRegExps);
+        }
+        return description;
+    }
+
+    /**
+     * Returns the simplified version of filter.
+     *
+     * @param filter Filter to simplify.
+     *
+     * @return the simplified version of filter.
+     **/
+    private F simplify(F filter) {
+        List<F> conjuncts = getConjuncts(filter);
+        if (conjuncts != null) {
+            return simplifyAnd(conjuncts);
+        }
+        List<F> disjuncts = getDisjuncts(filter);
+        if (disjuncts != null) {
+            return simplifyOr(disjuncts);
+        }
+        F negated = getNegated(filter);
+        if (negated != null) {
+            return simplifyNegation(negated);
+        }
+        if (isFalse(filter)) {
+            return newFalse();
+        }
+        return filter;
+    }
+
+    private F simplifyAnd(List<F> conjuncts) {
+        List<F> operands = new ArrayList<F>();
+        for (F conjunct : conjuncts) {
+            F simplified = simplify(conjunct);
+            if (isFalse(simplified)) {
+                return newFalse();
+            }
+            List<F> nested = getConjuncts(simplified);
+            if (nested != null) {
+                // Already simplified, empty lists (true) are dropped here as well
+                addAllDistinct(operands, nested);
+            } else {
+                addDistinct(operands, simplified);
+            }
+        }
+        operands = mergeModifiers(operands);
+        if (operands == null) {
+            return newFalse();
+        }
+        operands = mergeAnnotations(operands);
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        Collections.sort(operands, costComparator);
+        return newList(operands);
+    }
+
+    private F simplifyOr(List<F> disjuncts) {
+        List<F> operands = new ArrayList<F>();
+        for (F disjunct : disjuncts) {
+            F simplified = simplify(disjunct);
+            if (isTrue(simplified)) {
+                return simplified;
+            }
+            if (isFalse(simplified)) {
+                continue;
+            }
+            List<F> nested = getDisjuncts(simplified);
+            if (nested != null) {
+                addAllDistinct(operands, nested);
+            } else {
+                addDistinct(operands, simplified);
+            }
+        }
+        if (operands.isEmpty()) {
+            return newFalse();
+        }
+        operands = mergeNames(operands);
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        Collections.sort(operands, costComparator);
+        return newOr(operands);
+    }
+
+    private F simplifyNegation(F negated) {
+        F simplified = simplify(negated);
+        if (isTrue(simplified)) {
+            return newFalse();
+        }
+        if (isFalse(simplified)) {
+            return newList(new ArrayList<F>());
+        }
+        F doubleNegated = getNegated(simplified);
+        if (doubleNegated != null) {
+            return doubleNegated;
+        }
+        return newNegation(simplified);
+    }
+
+    /**
+     * Merges modifier conjuncts into one modifier mask filter, if more than one such
+     * conjunct is found.
+     *
+     * @param operands Conjuncts.
+     *
+     * @return the conjuncts with modifier filters merged or null if the modifier
+     * conjuncts contradicts each other.
+     **/
+    private List<F> mergeModifiers(List<F> operands) {
+        int required = 0;
+        int excluded = 0;
+        List<F> others = new ArrayList<F>();
+        int merged = 0;
+        for (F operand : operands) {
+            int[] mask = getModifierMask(operand);
+            if (mask != null) {
+                required |= mask[0];
+                excluded |= mask[1];
+                merged++;
+            } else {
+                others.add(operand);
+            }
+        }
+        if (merged < 2) {
+            return operands;
+        }
+        if ((required & excluded) != 0) {
+            return null;
+        }
+        others.add(0, newModifierMask(required, excluded));
+        return others;
+    }
+
+    /**
+     * Merges annotation conjuncts into one annotation mask filter, if more than one such
+     * conjunct is found.
+     *
+     * @param operands Conjuncts.
+     *
+     * @return the conjuncts with annotation filters merged.
+     **/
+    private List<F> mergeAnnotations(List<F> operands) {
+        Set<Class<? extends Annotation>> annotations = new LinkedHashSet<Class<? extends Annotation>>();
+        List<F> others = new ArrayList<F>();
+        int annotationIndex = -1;
+        int merged = 0;
+        for (F operand : operands) {
+            Class<? extends Annotation>[] required = getAnnotations(operand);
+            if (required != null) {
+                if (annotationIndex < 0) {
+                    annotationIndex = others.size();
+                }
+                annotations.addAll(Arrays.asList(required));
+                merged++;
+            } else {
+                others.add(operand);
+            }
+        }
+        if (merged < 2) {
+            return operands;
+        }
+        others.add(annotationIndex, newAnnotationMask(annotations));
+        return others;
+    }
+
+    /**
+     * Merges name disjuncts into one name filter, if more than one such disjunct is found.
+     * <p>
+     * The regular expressions of the merged filter are sorted and without duplicates, so the
+     * result does not depend on the order the disjuncts were added in.
+     *
+     * @param operands Disjuncts.
+     *
+     * @return the disjuncts with the name filters merged.
+     **/
+    private List<F> mergeNames(List<F> operands) {
+        NameFilterSupport<F> names = getNameFilterSupport();
+        if (names == null) {
+            return operands;
+        }
+        Set<String> regExps = new TreeSet<String>();
+        List<F> others = new ArrayList<F>();
+        int nameIndex = -1;
+        int merged = 0;
+        for (F operand : operands) {
+            String[] nameRegExps = names.getNameRegExps(operand);
+            if (nameRegExps != null) {
+                if (nameIndex < 0) {
+                    nameIndex = others.size();
+                }
+                regExps.addAll(Arrays.asList(nameRegExps));
+                merged++;
+            } else {
+                others.add(operand);
+            }
+        }
+        if (merged < 2) {
+            return operands;
+        }
+        others.add(nameIndex, names.newNameFilter(regExps.toArray(new String[regExps.size()])));
+        return others;
+    }
+
+    /**
+     * Returns the required and excluded modifier masks of a conjunct if it can be
+     * expressed as a modifier mask test, else null.
+     *
+     * @param filter Filter to inspect.
+     *
+     * @return {required, excluded} or null.
+     **/
+    int[] getModifierMask(F filter) {
+        int[] mask = getModifierMaskOf(filter);
+        if (mask != null) {
+            return mask;
+        }
+        Integer modifier = getModifier(filter);
+        // A filter for any of several modifiers can't be merged into the required mask
+        if (modifier != null && Integer.bitCount(modifier) == 1) {
+            return new int[] {modifier, 0};
+        }
+        F negated = getNegated(filter);
+        if (negated != null) {
+            modifier = getModifier(negated);
+            if (modifier != null) {
+                return new int[] {0, modifier};
+            }
+        }
+        return null;
+    }
+
+    private void addAllDistinct(List<F> operands, List<F> filters) {
+        for (F filter : filters) {
+            addDistinct(operands, filter);
+        }
+    }
+
+    private void addDistinct(List<F> operands, F filter) {
+        if (!operands.contains(filter)) {
+            operands.add(filter);
+        }
+    }
+
+    private boolean isLeaf(F filter) {
+        return getConjuncts(filter) == null && getDisjuncts(filter) == null && getNegated(filter) == null;
+    }
+
+    private boolean isTrue(F filter) {
+        List<F> conjuncts = getConjuncts(filter);
+        return conjuncts != null && conjuncts.isEmpty();
+    }
+
+    private boolean isFalse(F filter) {
+        Integer modifier = getModifier(filter);
+        if (modifier != null && modifier == 0) {
+            return true;
+        }
+        int[] mask = getModifierMaskOf(filter);
+        if (mask != null && (mask[0] & mask[1]) != 0) {
+            return true;
+        }
+        F negated = getNegated(filter);
+        return negated != null && isTrue(negated);
+    }
+
+    private F newFalse() {
+        return newNegation(newList(new ArrayList<F>()));
+    }
+
+    /**
+     * Returns the estimated cost of evaluating filter.
+     *
+     * @param filter Filter to estimate.
+     *
+     * @return the estimated cost of evaluating filter.
+     **/
+    int cost(F filter) {
+        List<F> operands = getConjuncts(filter);
+        if (operands == null) {
+            operands = getDisjuncts(filter);
+        }
+        if (operands != null) {
+            int cost = 0;
+            for (F operand : operands) {
+                cost += cost(operand);
+            }
+            return cost;
+        }
+        F negated = getNegated(filter);
+        if (negated != null) {
+            return cost(negated);
+        }
+        return leafCost(filter);
+    }
+
+    /**
+     * Returns the estimated cost of evaluating a leaf filter.
+     *
+     * @param filter Leaf filter.
+     *
+     * @return the estimated cost of evaluating the filter.
+     **/
+    abstract int leafCost(F filter);
+
+    /**
+     * Returns the operands of an AND filter list or null if filter is not a list.
+     **/
+    abstract List<F> getConjuncts(F filter);
+
+    /**
+     * Returns the operands of an OR filter or null if filter is not an OR filter.
+     **/
+    abstract List<F> getDisjuncts(F filter);
+
+    /**
+     * Returns the negated filter if filter is a negation, else null.
+     **/
+    abstract F getNegated(F filter);
+
+    /**
+     * Returns the modifier of a modifier filter or null if filter is not a modifier filter.
+     **/
+    abstract Integer getModifier(F filter);
+
+    /**
+     * Returns {required, excluded} modifiers of a modifier mask filter, or null if
+     * filter is not a modifier mask filter.
+     **/
+    abstract int[] getModifierMaskOf(F filter);
+
+    abstract F newList(List<F> filters);
+
+    abstract F newOr(List<F> filters);
+
+    abstract F newNegation(F filter);
+
+    abstract F newModifierMask(int requiredModifiers, int excludedModifiers);
+
+    abstract F newProfiled(F filter, FilterProfile profile);
+
+    abstract F newAdaptiveList(List<F> filters);
+
+
+    /**
+     * Returns the annotations required by an annotation filter or null if filter is not an annotation filter.
+     **/
+    abstract Class<? extends Annotation>[] getAnnotations(F filter);
+
+    /**
+     * Returns an annotation mask filter requiring all the annotations supplied.
+     **/
+    abstract F newAnnotationMask(Set<Class<? extends Annotation>> annotations);
+
+    /**
+     * Returns the name filter support of this compiler or null if the filter type has no name filters.
+     **/
+    @SuppressWarnings("unchecked")
+    private NameFilterSupport<F> getNameFilterSupport() {
+        return this instanceof NameFilterSupport ? (NameFilterSupport<F>) this : null;
+    }
+
+    /**
+     * Returns the regular expressions of a name filter or null if filter is not a name filter.
+     **/
+    private String[] getNameRegExps(F filter) {
+        NameFilterSupport<F> names = getNameFilterSupport();
+        return names == null ? null : names.getNameRegExps(filter);
+    }
+
+    /**
+     * Returns a new annotation type array of length, generic arrays can not be created directly.
+     *
+     * @param length Length of the array.
+     *
+     * @return a new annotation type array of length.
+     **/
+    @SuppressWarnings("unchecked")
+    static Class<? extends Annotation>[] newAnnotationArray(int length) {
+        return (Class<? extends Annotation>[]) new Class<?>[length];
+    }
+
+    /**
+     * Returns an annotation type array holding only annotation.
+     *
+     * @param annotation Annotation type.
+     *
+     * @return an annotation type array holding only annotation.
+     **/
+    static Class<? extends Annotation>[] toAnnotationArray(Class<? extends Annotation> annotation) {
+        Class<? extends Annotation>[] annotations = newAnnotationArray(1);
+        annotations[0] = annotation;
+        return annotations;
+    }
+}
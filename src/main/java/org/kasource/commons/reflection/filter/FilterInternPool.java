@@ -0,0 +1,80 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of canonical filter instances.
+ * <p>
+ * Filters are compared by their structural equality, interning a filter returns the first
+ * equal filter interned, so that long lived filters built in different places share one instance 
+ * and caches keyed on filters can compare them by identity first.
+ * <p>
+ * Filters are weakly referenced, the pool never prevents a filter (or the classes it references)
+ * from being garbage collected.
+ * <p>
+ * Filters built by the filter builders are interned, unless profiled.
+ * <p>
+ * Example:
+ * {@code
+ * MethodFilter filter = FilterInternPool.getInstance().intern(myFilter);
+ * }
+ *
+ * @author rikardwi
+ **/
+public class FilterInternPool {
+    private static final FilterInternPool INSTANCE = new FilterInternPool();
+
+    private final Map<Object, WeakReference<Object>> pool = new WeakHashMap<Object, WeakReference<Object>>();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static FilterInternPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the canonical instance of filter.
+     *
+     * @param <F>    Type of filter.
+     * @param filter Filter to intern.
+     *
+     * @return the canonical instance equal to filter.
+     **/
+    @SuppressWarnings("unchecked")
+    public <F> F intern(F filter) {
+        synchronized (pool) {
+            WeakReference<Object> reference = pool.get(filter);
+            Object canonical = reference == null ? null : reference.get();
+            if (canonical != null) {
+                return (F) canonical;
+            }
+            pool.put(filter, new WeakReference<Object>(filter));
+            return filter;
+        }
+    }
+
+    /**
+     * Returns the number of filters in the pool.
+     *
+     * @return the number of filters in the pool.
+     **/
+    public int size() {
+        synchronized (pool) {
+            return pool.size();
+        }
+    }
+
+    /**
+     * Removes all filters from the pool.
+     **/
+    public void clear() {
+        synchronized (pool) {
+            pool.clear();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.kasource.commons.reflection.filter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,9 +10,10 @@ import org.kasource.commons.reflection.filter.classes.ClassFilter;
 import org.kasource.commons.reflection.filter.methods.AnnotatedMethodFilter;
 import org.kasource.commons.reflection.filter.methods.AssignableFromMethodFilter;
 import org.kasource.commons.reflection.filter.methods.AssignableToMethodFilter;
+import org.kasource.commons.reflection.filter.methods.GenericReturnTypeMethodFilter;
+import org.kasource.commons.reflection.filter.methods.GenericSignatureMethodFilter;
 import org.kasource.commons.reflection.filter.methods.MetaAnnotatedMethodFilter;
 import org.kasource.commons.reflection.filter.methods.MethodFilter;
-import org.kasource.commons.reflection.filter.methods.MethodFilterList;
 import org.kasource.commons.reflection.filter.methods.ModifierMethodFilter;
 import org.kasource.commons.reflection.filter.methods.NameMethodFilter;
 import org.kasource.commons.reflection.filter.methods.NegationMethodFilter;
@@ -40,6 +42,7 @@ import org.kasource.commons.reflection.filter.methods.SignatureMethodFilter;
  * @author rikardwi
  **/
 public class MethodFilterBuilder {
+    private static final MethodFilterCompiler COMPILER = new MethodFilterCompiler();
     public static final MethodFilter FILTER_GETTERS = new MethodFilterBuilder().name("get[A-Z]\\w*").or().name("is[A-Z]\\w*").or().name("has[A-Z]\\w*").isPublic().not().returnType(Void.TYPE).numberOfParameters(0).build();
     public static final MethodFilter FILTER_SETTERS = new MethodFilterBuilder().name("set[A-Z]\\w*").isPublic().returnType(Void.TYPE).numberOfParameters(1).build();
     
@@ -47,6 +50,8 @@ public class MethodFilterBuilder {
     private enum Operator {NONE, NOT, OR};
     private List<MethodFilter> filters = new ArrayList<MethodFilter>();
     private Operator operator = Operator.NONE;
+    private String profileName;
+    private boolean adaptive;
     
     /**
      * Adds filter to filter list and apply operator.
@@ -149,7 +154,7 @@ public class MethodFilterBuilder {
      * @return The builder to support method chaining.
      **/
     public MethodFilterBuilder isDefault() {
-        add(new NegationMethodFilter(new ModifierMethodFilter(Modifier.PUBLIC & Modifier.PROTECTED & Modifier.PRIVATE)));
+        add(new NegationMethodFilter(new ModifierMethodFilter(Modifier.PUBLIC | Modifier.PROTECTED | Modifier.PRIVATE)));
         return this;
     }
     
@@ -232,6 +237,38 @@ public class MethodFilterBuilder {
         return this;
     }
     
+    /**
+     * Adds a filter for methods which generic return type, with the type variables
+     * bound by targetType resolved, equals the supplied returnType.
+     * <p>
+     * Example: genericReturnType(StringList.class, String.class) passes E get(int) when
+     * StringList extends ArrayList&lt;String&gt;.
+     * 
+     * @param targetType The class to resolve type variables against.
+     * @param returnType The generic type to match return type with, 
+     *                   see GenericTypeResolver.parameterizedType to create parameterized types.
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public MethodFilterBuilder genericReturnType(Class<?> targetType, Type returnType) {
+        add(new GenericReturnTypeMethodFilter(targetType, returnType));
+        return this;
+    }
+    
+    /**
+     * Adds a filter for methods which generic parameter types, with the type variables
+     * bound by targetType resolved, equals the supplied parameter types.
+     * 
+     * @param targetType The class to resolve type variables against.
+     * @param params     The generic types to match parameter types with, may be empty.
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public MethodFilterBuilder genericSignature(Class<?> targetType, Type... params) {
+        add(new GenericSignatureMethodFilter(targetType, params));
+        return this;
+    }
+    
     /**
      * Adds a filter for methods which has a
      * return type that extends the supplied parameter returnType.
@@ -360,8 +397,44 @@ public class MethodFilterBuilder {
         return this;
     }
     
+    /**
+     * Enables adaptive ordering of the filter built, the pass rate and evaluation time of each
+     * AND:ed filter is sampled while the filter is used and the filters are periodically reordered
+     * so that the cheapest and most selective filters are evaluated first.
+     * <p>
+     * Use for filters evaluated many times where the estimated cost order is a poor fit for the 
+     * members actually evaluated. 
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public MethodFilterBuilder adaptive() {
+        adaptive = true;
+        return this;
+    }
+    
+    /**
+     * Enables profiling of the filter built, each node of the filter will record
+     * its invocation count, pass rate and evaluation time in the FilterProfiler under name.
+     * <p>
+     * Profiled filters are only equal to themselves, so results are not shared with un-profiled 
+     * filters in the introspection caches.
+     * 
+     * @param name Name of the filter in the FilterProfiler.
+     * 
+     * @return The builder to support method chaining.
+     **/
+    public MethodFilterBuilder profile(String name) {
+        profileName = name;
+        return this;
+    }
+    
     /**
      * Returns the MethodFilter built.
+     * <p>
+     * The filters added are compiled into an equivalent filter which is cheaper to evaluate,
+     * modifier filters are merged into a single bit mask test and the remaining filters are
+     * ordered by their estimated cost. Filters built equal to a previously built filter returns the
+     * instance from the FilterInternPool.
      * 
      * @return the MethodFilter built.
      * @throws IllegalStateException if no filter was specified before calling build()
@@ -370,12 +443,9 @@ public class MethodFilterBuilder {
         if(filters.isEmpty()) {
             throw new IllegalStateException("No filter specified.");
         }
-        if(filters.size() == 1) {
-            return filters.get(0);
-        }
-        MethodFilter[] methodFilters = new MethodFilter[filters.size()];
-        filters.toArray(methodFilters);
-        return new MethodFilterList(methodFilters);
+        MethodFilter filter = COMPILER.compile(filters, adaptive, profileName);
+        // Profiled filters are only equal to themselves, nothing to share
+        return profileName == null ? FilterInternPool.getInstance().intern(filter) : filter;
     }
     
 }
@@ -0,0 +1,247 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kasource.commons.reflection.cache.MemberFeatureTable;
+import org.kasource.commons.reflection.cache.MethodFeatureTable;
+import org.kasource.commons.reflection.filter.methods.AdaptiveMethodFilterList;
+import org.kasource.commons.reflection.filter.methods.AnnotatedMethodFilter;
+import org.kasource.commons.reflection.filter.methods.AnnotationMaskMethodFilter;
+import org.kasource.commons.reflection.filter.methods.AssignableFromMethodFilter;
+import org.kasource.commons.reflection.filter.methods.AssignableToMethodFilter;
+import org.kasource.commons.reflection.filter.methods.GenericReturnTypeMethodFilter;
+import org.kasource.commons.reflection.filter.methods.GenericSignatureMethodFilter;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+import org.kasource.commons.reflection.filter.methods.MethodFilterList;
+import org.kasource.commons.reflection.filter.methods.ModifierMaskMethodFilter;
+import org.kasource.commons.reflection.filter.methods.ModifierMethodFilter;
+import org.kasource.commons.reflection.filter.methods.NameMethodFilter;
+import org.kasource.commons.reflection.filter.methods.NegationMethodFilter;
+import org.kasource.commons.reflection.filter.methods.NumberOfParametersMethodFilter;
+import org.kasource.commons.reflection.filter.methods.OrMethodFilter;
+import org.kasource.commons.reflection.filter.methods.ProfiledMethodFilter;
+import org.kasource.commons.reflection.filter.methods.ReturnTypeAssignableFromMethodFilter;
+import org.kasource.commons.reflection.filter.methods.ReturnTypeMethodFilter;
+import org.kasource.commons.reflection.filter.methods.SignatureMethodFilter;
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * Compiles method filters built by the MethodFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+class MethodFilterCompiler extends TableFilterCompiler<MethodFilter> implements NameFilterSupport<MethodFilter> {
+    private static final Map<Class<?>, Integer> COSTS = new HashMap<Class<?>, Integer>();
+    
+    static {
+        COSTS.put(ModifierMethodFilter.class, 1);
+        COSTS.put(ModifierMaskMethodFilter.class, 1);
+        COSTS.put(ReturnTypeMethodFilter.class, 2);
+        COSTS.put(ReturnTypeAssignableFromMethodFilter.class, 2);
+        COSTS.put(NumberOfParametersMethodFilter.class, 3);
+        COSTS.put(SignatureMethodFilter.class, 4);
+        COSTS.put(AssignableFromMethodFilter.class, 4);
+        COSTS.put(AssignableToMethodFilter.class, 4);
+        COSTS.put(AnnotatedMethodFilter.class, 5);
+        COSTS.put(AnnotationMaskMethodFilter.class, 5);
+        COSTS.put(GenericReturnTypeMethodFilter.class, 6);
+        COSTS.put(GenericSignatureMethodFilter.class, 7);
+        COSTS.put(NameMethodFilter.class, 8);
+    }
+    
+    @Override
+    int leafCost(MethodFilter filter) {
+        Integer cost = COSTS.get(filter.getClass());
+        return cost == null ? DEFAULT_COST : cost;
+    }
+
+    @Override
+    List<MethodFilter> getConjuncts(MethodFilter filter) {
+        if (filter instanceof MethodFilterList) {
+            return Arrays.asList(((MethodFilterList) filter).getFilters());
+        }
+        return null;
+    }
+
+    @Override
+    List<MethodFilter> getDisjuncts(MethodFilter filter) {
+        if (filter instanceof OrMethodFilter) {
+            OrMethodFilter or = (OrMethodFilter) filter;
+            List<MethodFilter> disjuncts = new ArrayList<MethodFilter>();
+            disjuncts.add(or.getLeft());
+            disjuncts.add(or.getRight());
+            disjuncts.addAll(Arrays.asList(or.getRest()));
+            return disjuncts;
+        }
+        return null;
+    }
+
+    @Override
+    MethodFilter getNegated(MethodFilter filter) {
+        if (filter instanceof NegationMethodFilter) {
+            return ((NegationMethodFilter) filter).getFilter();
+        }
+        return null;
+    }
+
+    @Override
+    Integer getModifier(MethodFilter filter) {
+        if (filter instanceof ModifierMethodFilter) {
+            return ((ModifierMethodFilter) filter).getModifier();
+        }
+        return null;
+    }
+
+    @Override
+    int[] getModifierMaskOf(MethodFilter filter) {
+        if (filter instanceof ModifierMaskMethodFilter) {
+            ModifierMaskMethodFilter mask = (ModifierMaskMethodFilter) filter;
+            return new int[] {mask.getRequiredModifiers(), mask.getExcludedModifiers()};
+        }
+        return null;
+    }
+
+    @Override
+    MethodFilter newList(List<MethodFilter> filters) {
+        return new MethodFilterList(filters.toArray(new MethodFilter[filters.size()]));
+    }
+
+    @Override
+    MethodFilter newOr(List<MethodFilter> filters) {
+        List<MethodFilter> rest = filters.subList(2, filters.size());
+        return new OrMethodFilter(filters.get(0), filters.get(1), rest.toArray(new MethodFilter[rest.size()]));
+    }
+
+    @Override
+    MethodFilter newNegation(MethodFilter filter) {
+        return new NegationMethodFilter(filter);
+    }
+
+    @Override
+    MethodFilter newModifierMask(int requiredModifiers, int excludedModifiers) {
+        return new ModifierMaskMethodFilter(requiredModifiers, excludedModifiers);
+    }
+
+    @Override
+    MethodFilter newProfiled(MethodFilter filter, FilterProfile profile) {
+        return new ProfiledMethodFilter(filter, profile);
+    }
+
+    @Override
+    MethodFilter newAdaptiveList(List<MethodFilter> filters) {
+        return new AdaptiveMethodFilterList(filters.toArray(new MethodFilter[filters.size()]));
+    }
+
+    @Override
+    BitSet evaluateLeaf(MethodFilter filter, MemberFeatureTable<?> features) {
+        MethodFeatureTable table = (MethodFeatureTable) features;
+        int size = table.size();
+        BitSet result = new BitSet(size);
+        if (filter instanceof AnnotatedMethodFilter) {
+            return table.getAnnotated(((AnnotatedMethodFilter) filter).getAnnotation());
+        } else if (filter instanceof AnnotationMaskMethodFilter) {
+            return getAnnotated(table, ((AnnotationMaskMethodFilter) filter).getAnnotations());
+        } else if (filter instanceof NumberOfParametersMethodFilter) {
+            int numberOfParameters = ((NumberOfParametersMethodFilter) filter).getNumberOfParameters();
+            for (int i = 0; i < size; i++) {
+                if (table.getParameterCount(i) == numberOfParameters) {
+                    result.set(i);
+                }
+            }
+        } else if (filter instanceof ReturnTypeMethodFilter) {
+            int typeId = table.getTypeId(((ReturnTypeMethodFilter) filter).getReturnType());
+            for (int i = 0; typeId >= 0 && i < size; i++) {
+                if (table.getReturnTypeId(i) == typeId) {
+                    result.set(i);
+                }
+            }
+        } else if (filter instanceof SignatureMethodFilter) {
+            int[] typeIds = getTypeIds(((SignatureMethodFilter) filter).getParameterTypes(), table);
+            for (int i = 0; typeIds != null && i < size; i++) {
+                if (hasParameterTypes(table, i, typeIds)) {
+                    result.set(i);
+                }
+            }
+        } else if (filter instanceof ReturnTypeAssignableFromMethodFilter) {
+            // Depends only on the return type, evaluate once per distinct type
+            Boolean[] passed = new Boolean[table.getTypeCount()];
+            for (int i = 0; i < size; i++) {
+                int typeId = table.getReturnTypeId(i);
+                if (passed[typeId] == null) {
+                    passed[typeId] = filter.passFilter(table.getMember(i));
+                }
+                if (passed[typeId]) {
+                    result.set(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                Method method = table.getMember(i);
+                if (filter.passFilter(method)) {
+                    result.set(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private int[] getTypeIds(Class<?>[] types, MethodFeatureTable table) {
+        int[] typeIds = new int[types.length];
+        for (int i = 0; i < types.length; i++) {
+            typeIds[i] = table.getTypeId(types[i]);
+            if (typeIds[i] < 0) {
+                return null;
+            }
+        }
+        return typeIds;
+    }
+
+    private boolean hasParameterTypes(MethodFeatureTable table, int index, int[] typeIds) {
+        if (table.getParameterCount(index) != typeIds.length) {
+            return false;
+        }
+        for (int i = 0; i < typeIds.length; i++) {
+            if (table.getParameterTypeId(index, i) != typeIds[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String[] getNameRegExps(MethodFilter filter) {
+        if (filter instanceof NameMethodFilter) {
+            return ((NameMethodFilter) filter).getNameRegExps();
+        }
+        return null;
+    }
+
+    @Override
+    public MethodFilter newNameFilter(String[] nameRegExps) {
+        return new NameMethodFilter(nameRegExps);
+    }
+
+    @Override
+    Class<? extends Annotation>[] getAnnotations(MethodFilter filter) {
+        if (filter instanceof AnnotatedMethodFilter) {
+            return toAnnotationArray(((AnnotatedMethodFilter) filter).getAnnotation());
+        }
+        if (filter instanceof AnnotationMaskMethodFilter) {
+            return ((AnnotationMaskMethodFilter) filter).getAnnotations();
+        }
+        return null;
+    }
+
+    @Override
+    MethodFilter newAnnotationMask(Set<Class<? extends Annotation>> annotations) {
+        return new AnnotationMaskMethodFilter(annotations.toArray(newAnnotationArray(annotations.size())));
+    }
+}
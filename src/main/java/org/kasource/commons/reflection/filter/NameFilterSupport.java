@@ -0,0 +1,21 @@
+package org.kasource.commons.reflection.filter;
+
+/**
+ * Implemented by filter compilers of member types that have name filters, enables the
+ * compiler to merge name disjuncts into a single name filter.
+ *
+ * @author rikardwi
+ *
+ * @param <F> Filter type.
+ **/
+interface NameFilterSupport<F> {
+    /**
+     * Returns the regular expressions of a name filter or null if filter is not a name filter.
+     **/
+    String[] getNameRegExps(F filter);
+
+    /**
+     * Returns a name filter matching any of the regular expressions supplied.
+     **/
+    F newNameFilter(String[] nameRegExps);
+}
@@ -0,0 +1,96 @@
+package org.kasource.commons.reflection.filter;
+
+import java.lang.annotation.Annotation;
+import java.util.BitSet;
+import java.util.List;
+
+import org.kasource.commons.reflection.cache.MemberFeatureTable;
+
+/**
+ * Filter compiler for member types that have a feature table, which in addition to compiling
+ * filters can evaluate a filter against all members of a table at once.
+ *
+ * @author rikardwi
+ *
+ * @param <F> Filter type.
+ **/
+abstract class TableFilterCompiler<F> extends FilterCompiler<F> {
+    /**
+     * Evaluates filter against all members of a feature table.
+     * <p>
+     * AND, OR and NOT nodes are evaluated by combining the BitSets of their operands and
+     * modifier filters are evaluated on the modifier column. Other leaf filters are evaluated 
+     * by {@link #evaluateLeaf(Object, MemberFeatureTable)}.
+     *
+     * @param filter    Filter to evaluate.
+     * @param table     Members to evaluate the filter against.
+     *
+     * @return The indexes of the members that passes the filter.
+     **/
+    BitSet evaluate(F filter, MemberFeatureTable<?> table) {
+        int size = table.size();
+        List<F> operands = getConjuncts(filter);
+        if (operands != null) {
+            BitSet result = new BitSet(size);
+            result.set(0, size);
+            for (F operand : operands) {
+                if (result.isEmpty()) {
+                    break;
+                }
+                result.and(evaluate(operand, table));
+            }
+            return result;
+        }
+        operands = getDisjuncts(filter);
+        if (operands != null) {
+            BitSet result = new BitSet(size);
+            for (F operand : operands) {
+                result.or(evaluate(operand, table));
+            }
+            return result;
+        }
+        F negated = getNegated(filter);
+        if (negated != null) {
+            BitSet result = evaluate(negated, table);
+            result.flip(0, size);
+            return result;
+        }
+        int[] mask = getModifierMask(filter);
+        Integer modifier = getModifier(filter);
+        if (mask != null || modifier != null) {
+            BitSet result = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                int modifiers = table.getModifiers(i);
+                if (mask == null ? (modifiers & modifier) > 0 
+                                 : (modifiers & mask[0]) == mask[0] && (modifiers & mask[1]) == 0) {
+                    result.set(i);
+                }
+            }
+            return result;
+        }
+        return evaluateLeaf(filter, table);
+    }
+
+    /**
+     * Returns the members of table annotated with all annotations supplied.
+     *
+     * @param table       Members to evaluate.
+     * @param annotations Annotations that all must be present.
+     *
+     * @return The indexes of the members annotated with all annotations.
+     **/
+    BitSet getAnnotated(MemberFeatureTable<?> table, Class<? extends Annotation>[] annotations) {
+        BitSet result = new BitSet(table.size());
+        result.set(0, table.size());
+        for (Class<? extends Annotation> annotation : annotations) {
+            result.and(table.getAnnotated(annotation));
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates a leaf filter against all members of a feature table, filters not
+     * known by the compiler are evaluated member by member.
+     **/
+    abstract BitSet evaluateLeaf(F filter, MemberFeatureTable<?> table);
+}
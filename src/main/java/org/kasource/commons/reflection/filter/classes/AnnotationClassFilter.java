@@ -2,10 +2,14 @@ package org.kasource.commons.reflection.filter.classes;
 
 import java.lang.annotation.Annotation;
 
+import org.kasource.commons.reflection.cache.AnnotationIdRegistry;
+import org.kasource.commons.reflection.cache.AnnotationMaskCache;
 
 /**
  * Filters classes by presence of a certain annotation
  * <p>
+ * Evaluated as a bit test on the annotation mask of the class.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.ClassFilterBuilder.
  *  
  * @author Rikard Wigforss
@@ -13,15 +17,47 @@ import java.lang.annotation.Annotation;
 public class AnnotationClassFilter implements ClassFilter{
 
 	private Class<? extends Annotation> annotation;
+	private int annotationId;
 	
 	
 	public AnnotationClassFilter(Class<? extends Annotation> annotation) {
 		this.annotation = annotation;
-		
+		this.annotationId = AnnotationIdRegistry.getInstance().getId(annotation);
 	}
 	@Override
 	public boolean passFilter(Class<?> clazz) {
-		return clazz.isAnnotationPresent(annotation);
+		return AnnotationMaskCache.getInstance().getMask(clazz).contains(annotationId);
+	}
+
+	/**
+	 * Returns the annotation to match.
+	 * 
+	 * @return the annotation to match.
+	 **/
+	public Class<? extends Annotation> getAnnotation() {
+		return annotation;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		AnnotationClassFilter other = (AnnotationClassFilter) obj;
+		return annotation.equals(other.annotation);
+	}
+
+	@Override
+	public int hashCode() {
+		return annotation.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "annotated(@" + annotation.getName() + ")";
 	}
 
 }
@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter.classes;
 
+import org.kasource.commons.reflection.type.TypeRelations;
+
 
 /**
  * Filters classes which are assignable from the supplied assignable class.
@@ -12,6 +14,8 @@ package org.kasource.commons.reflection.filter.classes;
  **/
 public class AssignableFromClassFilter implements ClassFilter {
 
+	private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
 	/**
 	 * Interface or super class to test candidates with
 	 **/
@@ -23,7 +27,29 @@ public class AssignableFromClassFilter implements ClassFilter {
 	
 	@Override
 	public boolean passFilter(Class<?> clazz) {
-		return assignable.isAssignableFrom(clazz);
+		return TYPE_RELATIONS.isSubtype(clazz, assignable);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		AssignableFromClassFilter other = (AssignableFromClassFilter) obj;
+		return assignable.equals(other.assignable);
+	}
+
+	@Override
+	public int hashCode() {
+		return assignable.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "assignableFrom(" + assignable.getName() + ")";
 	}
 
 }
@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter.classes;
 
+import org.kasource.commons.reflection.type.TypeRelations;
+
 
 /**
  * Filters classes which are assignable from the supplied assignable class.
@@ -11,6 +13,8 @@ package org.kasource.commons.reflection.filter.classes;
  **/
 public class AssignableToClassFilter implements ClassFilter {
 
+	private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
 	/**
 	 * Interface or super class to test candidates with
 	 **/
@@ -22,7 +26,29 @@ public class AssignableToClassFilter implements ClassFilter {
 	
 	@Override
 	public boolean passFilter(Class<?> clazz) {
-		return clazz.isAssignableFrom(assignable);
+		return TYPE_RELATIONS.isSubtype(assignable, clazz);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		AssignableToClassFilter other = (AssignableToClassFilter) obj;
+		return assignable.equals(other.assignable);
+	}
+
+	@Override
+	public int hashCode() {
+		return assignable.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "assignableTo(" + assignable.getName() + ")";
 	}
 
 }
@@ -2,6 +2,10 @@ package org.kasource.commons.reflection.filter.classes;
 
 /**
  * Filters classes
+ * <p>
+ * Filters may be evaluated concurrently by several threads, for example by the BulkIntrospector,
+ * implementations must therefore be thread safe. All class filters in this package are immutable
+ * and safe to share between threads.
  * 
  * @author Rikard Wigforss
  **/
@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter.classes;
 
+import java.util.Arrays;
+
 
 /**
  * Composite filter that runs the filter list supplied in the constructor.
@@ -28,4 +30,35 @@ public class ClassFilterList implements ClassFilter{
 		return true;
 	}
 
+	/**
+	 * Returns the filters evaluated.
+	 * 
+	 * @return the filters evaluated.
+	 **/
+	public ClassFilter[] getFilters() {
+		return filters;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		ClassFilterList other = (ClassFilterList) obj;
+		return Arrays.equals(filters, other.filters);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(filters);
+	}
+
+	@Override
+	public String toString() {
+		return "and" + Arrays.toString(filters);
+	}
+
 }
@@ -13,4 +13,20 @@ public class IsEnumClassFilter implements ClassFilter{
 	public boolean passFilter(Class<?> clazz) {
 		return clazz.isEnum();
 	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj != null && getClass() == obj.getClass();
+	}
+
+	@Override
+	public int hashCode() {
+		return getClass().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "isEnum()";
+	}
+
 }
@@ -2,8 +2,11 @@ package org.kasource.commons.reflection.filter.classes;
 
 import java.lang.annotation.Annotation;
 
+import org.kasource.commons.reflection.cache.MetaAnnotationCache;
+
 /**
- * Filters all classes which is annotated with an annotation which is annotated with a specific meta annotation.
+ * Filters all classes which is annotated with an annotation which is annotated with a specific meta annotation,
+ * directly or by any number of annotations in between (composed annotations).
  * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.ClassFilterBuilder.
  * 
@@ -11,6 +14,8 @@ import java.lang.annotation.Annotation;
  **/
 public class MetaAnnotatedClassFilter implements ClassFilter {
 
+    private static final MetaAnnotationCache META_ANNOTATIONS = MetaAnnotationCache.getInstance();
+    
     private Class<? extends Annotation> inheritedAnnotation;
     
     public MetaAnnotatedClassFilter(Class<? extends Annotation> inheritedAnnotation) {
@@ -18,13 +23,29 @@ public class MetaAnnotatedClassFilter implements ClassFilter {
     }
     
     public boolean passFilter(Class<?> clazz) {
-        Annotation[] annotations = clazz.getDeclaredAnnotations();
-        for (Annotation annotation : annotations) {
-            if (annotation.annotationType().isAnnotationPresent(inheritedAnnotation)) {
-                return true;
-            }
+        return META_ANNOTATIONS.isMetaAnnotated(clazz.getDeclaredAnnotations(), inheritedAnnotation);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
         }
-        return false;
+        MetaAnnotatedClassFilter other = (MetaAnnotatedClassFilter) obj;
+        return inheritedAnnotation.equals(other.inheritedAnnotation);
     }
-    
+
+    @Override
+    public int hashCode() {
+        return inheritedAnnotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "metaAnnotated(@" + inheritedAnnotation.getName() + ")";
+    }
+
 }
@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter.classes;
 
+import java.lang.reflect.Modifier;
+
 /**
  * Filters classes by modifiers.
  * <p>
@@ -20,4 +22,35 @@ public class ModifierClassFilter implements ClassFilter {
         return (clazz.getModifiers() & modifier) > 0;
     }
 
+    /**
+     * Returns the modifier bit mask to match.
+     * 
+     * @return the modifier bit mask to match.
+     **/
+    public int getModifier() {
+        return modifier;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ModifierClassFilter other = (ModifierClassFilter) obj;
+        return modifier == other.modifier;
+    }
+
+    @Override
+    public int hashCode() {
+        return modifier;
+    }
+
+    @Override
+    public String toString() {
+        return "modifier(" + Modifier.toString(modifier) + ")";
+    }
+
 }
@@ -1,5 +1,9 @@
 package org.kasource.commons.reflection.filter.classes;
 
+import java.util.Arrays;
+
+import org.kasource.commons.util.NameMatcher;
+
 /**
  * Filters classes which name matches a Regular Expression.
  * <p>
@@ -9,15 +13,62 @@ package org.kasource.commons.reflection.filter.classes;
  **/
 public class NameClassFilter implements ClassFilter {
 
-    private String nameRegExp;
+    private String[] nameRegExps;
+    private NameMatcher matcher;
     
+    /**
+     * Constructor.
+     * 
+     * @param nameRegExp Regular expression the name should match.
+     **/
     public NameClassFilter(String nameRegExp) {
-        this.nameRegExp = nameRegExp;
+        this(new String[] {nameRegExp});
+    }
+    
+    /**
+     * Creates a filter that passes names matching any of the regular expressions supplied.
+     * 
+     * @param nameRegExps Regular expressions the name should match any of.
+     **/
+    public NameClassFilter(String... nameRegExps) {
+        this.nameRegExps = nameRegExps;
+        this.matcher = NameMatcher.anyOf(nameRegExps);
     }
     
     @Override
     public boolean passFilter(Class<?> clazz) {
-        return clazz.getName().matches(nameRegExp);
+        return matcher.matches(clazz.getName());
+    }
+
+    /**
+     * Returns the regular expressions to match names with.
+     * 
+     * @return the regular expressions to match names with.
+     **/
+    public String[] getNameRegExps() {
+        return nameRegExps;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NameClassFilter other = (NameClassFilter) obj;
+        return Arrays.equals(nameRegExps, other.nameRegExps);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(nameRegExps);
+    }
+
+    @Override
+    public String toString() {
+        return "name" + Arrays.toString(nameRegExps);
     }
 
 }
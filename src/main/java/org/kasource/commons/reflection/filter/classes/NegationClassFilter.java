@@ -20,4 +20,35 @@ public class NegationClassFilter implements ClassFilter {
         return !filter.passFilter(clazz);
     }
 
+    /**
+     * Returns the filter negated.
+     * 
+     * @return the filter negated.
+     **/
+    public ClassFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NegationClassFilter other = (NegationClassFilter) obj;
+        return filter.equals(other.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return filter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "not(" + filter + ")";
+    }
+
 }
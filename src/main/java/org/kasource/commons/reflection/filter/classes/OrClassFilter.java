@@ -24,4 +24,47 @@ public class OrClassFilter implements ClassFilter {
       return left.passFilter(clazz) || right.passFilter(clazz);
     }
 
+    /**
+     * Returns the left side filter.
+     * 
+     * @return the left side filter.
+     **/
+    public ClassFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the right side filter.
+     * 
+     * @return the right side filter.
+     **/
+    public ClassFilter getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        OrClassFilter other = (OrClassFilter) obj;
+        return left.equals(other.left)
+                && right.equals(other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left.hashCode();
+        result = 31 * result + right.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "or[" + left + ", " + right + "]";
+    }
+
 }
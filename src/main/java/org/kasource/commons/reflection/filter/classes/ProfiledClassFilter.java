@@ -0,0 +1,54 @@
+package org.kasource.commons.reflection.filter.classes;
+
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * A filter which records the evaluation statistics of another class filter in a FilterProfile.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use profile(name) of the 
+ * org.kasource.commons.reflection.filter.ClassFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class ProfiledClassFilter implements ClassFilter {
+
+    private ClassFilter filter;
+    private FilterProfile profile;
+    
+    public ProfiledClassFilter(ClassFilter filter, FilterProfile profile) {
+        this.filter = filter;
+        this.profile = profile;
+    }
+    
+    @Override
+    public boolean passFilter(Class<?> clazz) {
+        long start = System.nanoTime();
+        boolean passed = filter.passFilter(clazz);
+        profile.record(passed, System.nanoTime() - start);
+        return passed;
+    }
+
+    /**
+     * Returns the filter profiled.
+     * 
+     * @return the filter profiled.
+     **/
+    public ClassFilter getFilter() {
+        return filter;
+    }
+    
+    /**
+     * Returns the profile statistics are recorded in.
+     * 
+     * @return the profile statistics are recorded in.
+     **/
+    public FilterProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return "profiled(" + filter + ")";
+    }
+
+}
@@ -0,0 +1,96 @@
+package org.kasource.commons.reflection.filter.constructors;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.filter.AdaptiveOrdering;
+
+/**
+ * List of Constructor Filters evaluated in an adaptive order.
+ * 
+ * Evaluates the filters in an AND manner, like ConstructorFilterList, but samples the pass rate and 
+ * evaluation time of each filter and periodically reorders the filters so that the cheapest and most 
+ * selective filters are evaluated first. See AdaptiveOrdering.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use adaptive() of the 
+ * org.kasource.commons.reflection.filter.ConstructorFilterBuilder.
+ *  
+ * @author rikardwi
+ **/
+public class AdaptiveConstructorFilterList implements ConstructorFilter {
+    private ConstructorFilter[] filters;
+    private AdaptiveOrdering ordering;
+    
+    public AdaptiveConstructorFilterList(ConstructorFilter... filters) {
+        this.filters = filters;
+        this.ordering = new AdaptiveOrdering(filters.length);
+    }
+    
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean passFilter(Constructor constructor) {
+        int[] order = ordering.getOrder();
+        if (!ordering.sample()) {
+            for (int index : order) {
+                if (!filters[index].passFilter(constructor)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        try {
+            for (int index : order) {
+                long start = System.nanoTime();
+                boolean passed = filters[index].passFilter(constructor);
+                ordering.record(index, passed, System.nanoTime() - start);
+                if (!passed) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            ordering.sampled();
+        }
+    }
+
+    /**
+     * Returns the filters evaluated, in their original order.
+     * 
+     * @return the filters evaluated.
+     **/
+    public ConstructorFilter[] getFilters() {
+        return filters;
+    }
+    
+    /**
+     * Returns the evaluation ordering.
+     * 
+     * @return the evaluation ordering.
+     **/
+    public AdaptiveOrdering getOrdering() {
+        return ordering;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AdaptiveConstructorFilterList other = (AdaptiveConstructorFilterList) obj;
+        return Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(filters);
+    }
+
+    @Override
+    public String toString() {
+        return "adaptive" + Arrays.toString(filters);
+    }
+
+}
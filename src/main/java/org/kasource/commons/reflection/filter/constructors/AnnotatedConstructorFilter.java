@@ -3,9 +3,14 @@ package org.kasource.commons.reflection.filter.constructors;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 
+import org.kasource.commons.reflection.cache.AnnotationIdRegistry;
+import org.kasource.commons.reflection.cache.AnnotationMaskCache;
+
 /**
  * Filters constructors that is annotated with a specific annotation.
  * <p>
+ * Evaluated as a bit test on the annotation mask of the constructor.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.ConstructorFilterBuilder.
  * 
  * @author rikardwi
@@ -13,15 +18,48 @@ import java.lang.reflect.Constructor;
 public class AnnotatedConstructorFilter implements ConstructorFilter {
 
     private Class<? extends Annotation> annotation;
+    private int annotationId;
     
     public AnnotatedConstructorFilter(Class<? extends Annotation> annotation) {
         this.annotation = annotation;
+        this.annotationId = AnnotationIdRegistry.getInstance().getId(annotation);
     }
     
     @SuppressWarnings("rawtypes")
     @Override
     public boolean passFilter(Constructor constructor) {      
-        return constructor.isAnnotationPresent(annotation);
+        return AnnotationMaskCache.getInstance().getMask(constructor).contains(annotationId);
+    }
+
+    /**
+     * Returns the annotation to match.
+     * 
+     * @return the annotation to match.
+     **/
+    public Class<? extends Annotation> getAnnotation() {
+        return annotation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AnnotatedConstructorFilter other = (AnnotatedConstructorFilter) obj;
+        return annotation.equals(other.annotation);
+    }
+
+    @Override
+    public int hashCode() {
+        return annotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "annotated(@" + annotation.getName() + ")";
     }
 
 }
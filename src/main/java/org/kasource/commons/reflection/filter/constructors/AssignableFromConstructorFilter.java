@@ -1,6 +1,9 @@
 package org.kasource.commons.reflection.filter.constructors;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.type.TypeRelations;
 
 /**
  * Filters constructors which parameter types is assignable from a specific class.
@@ -11,6 +14,8 @@ import java.lang.reflect.Constructor;
  **/
 public class AssignableFromConstructorFilter implements ConstructorFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     private int paramterIndex;
     private Class<?> assignbleFromClass;
     private Class<?>[] assignbleFrom;
@@ -31,10 +36,10 @@ public class AssignableFromConstructorFilter implements ConstructorFilter {
             if((constructor.getParameterTypes().length - 1) < paramterIndex) {
                 return false;
             }
-            return assignbleFromClass.isAssignableFrom(constructor.getParameterTypes()[paramterIndex]);
+            return TYPE_RELATIONS.isSubtype(constructor.getParameterTypes()[paramterIndex], assignbleFromClass);
         } else if(assignbleFrom.length == constructor.getParameterTypes().length) {
             for(int i = 0; i < assignbleFrom.length; i++) {
-               if(!assignbleFrom[i].isAssignableFrom(constructor.getParameterTypes()[i])) {
+               if(!TYPE_RELATIONS.isSubtype(constructor.getParameterTypes()[i], assignbleFrom[i])) {
                    return false;
                }
             }
@@ -43,4 +48,31 @@ public class AssignableFromConstructorFilter implements ConstructorFilter {
         return false;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AssignableFromConstructorFilter other = (AssignableFromConstructorFilter) obj;
+        return paramterIndex == other.paramterIndex
+                && (assignbleFromClass == null ? other.assignbleFromClass == null : assignbleFromClass.equals(other.assignbleFromClass))
+                && Arrays.equals(assignbleFrom, other.assignbleFrom);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = paramterIndex;
+        result = 31 * result + (assignbleFromClass == null ? 0 : assignbleFromClass.hashCode());
+        result = 31 * result + Arrays.hashCode(assignbleFrom);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return assignbleFromClass != null ? "assignableFrom(" + paramterIndex + ", " + assignbleFromClass.getName() + ")" : "assignableFrom" + Arrays.toString(assignbleFrom);
+    }
+
 }
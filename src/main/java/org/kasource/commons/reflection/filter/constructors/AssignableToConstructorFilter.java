@@ -1,6 +1,9 @@
 package org.kasource.commons.reflection.filter.constructors;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.type.TypeRelations;
 
 /**
  * Filters constructors which parameter types is assignable to a specific class.
@@ -11,6 +14,8 @@ import java.lang.reflect.Constructor;
  **/
 public class AssignableToConstructorFilter implements ConstructorFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     private int paramterIndex;
     private Class<?> assignbleToClass;
     private Class<?>[] assignbleTo;
@@ -31,10 +36,10 @@ public class AssignableToConstructorFilter implements ConstructorFilter {
             if((constructor.getParameterTypes().length - 1) < paramterIndex) {
                 return false;
             }
-            return constructor.getParameterTypes()[paramterIndex].isAssignableFrom(assignbleToClass);
+            return TYPE_RELATIONS.isSubtype(assignbleToClass, constructor.getParameterTypes()[paramterIndex]);
         } else if(assignbleTo.length == constructor.getParameterTypes().length) {
             for(int i = 0; i < assignbleTo.length; i++) {
-               if(!constructor.getParameterTypes()[i].isAssignableFrom(assignbleTo[i])) {
+               if(!TYPE_RELATIONS.isSubtype(assignbleTo[i], constructor.getParameterTypes()[i])) {
                    return false;
                }
             }
@@ -43,4 +48,31 @@ public class AssignableToConstructorFilter implements ConstructorFilter {
         return false;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AssignableToConstructorFilter other = (AssignableToConstructorFilter) obj;
+        return paramterIndex == other.paramterIndex
+                && (assignbleToClass == null ? other.assignbleToClass == null : assignbleToClass.equals(other.assignbleToClass))
+                && Arrays.equals(assignbleTo, other.assignbleTo);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = paramterIndex;
+        result = 31 * result + (assignbleToClass == null ? 0 : assignbleToClass.hashCode());
+        result = 31 * result + Arrays.hashCode(assignbleTo);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return assignbleToClass != null ? "assignableTo(" + paramterIndex + ", " + assignbleToClass.getName() + ")" : "assignableTo" + Arrays.toString(assignbleTo);
+    }
+
 }
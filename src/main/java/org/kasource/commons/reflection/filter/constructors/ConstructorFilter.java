@@ -6,6 +6,10 @@ import java.lang.reflect.Constructor;
  * Filters Constructors.
  * <p>
  * Implement this interface to create a Constructor filter.
+ * <p>
+ * Filters may be evaluated concurrently by several threads, for example by the BulkIntrospector,
+ * implementations must therefore be thread safe. All constructor filters in this package are immutable
+ * and safe to share between threads.
  * 
  * @author rikardwi
  **/
@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.constructors;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
 
 
 /**
@@ -29,4 +30,36 @@ public class ConstructorFilterList implements ConstructorFilter {
         }
         return true;
     }
+
+    /**
+     * Returns the filters evaluated.
+     * 
+     * @return the filters evaluated.
+     **/
+    public ConstructorFilter[] getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ConstructorFilterList other = (ConstructorFilterList) obj;
+        return Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(filters);
+    }
+
+    @Override
+    public String toString() {
+        return "and" + Arrays.toString(filters);
+    }
+
 }
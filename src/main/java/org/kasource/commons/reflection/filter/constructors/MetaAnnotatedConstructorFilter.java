@@ -3,9 +3,12 @@ package org.kasource.commons.reflection.filter.constructors;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 
+import org.kasource.commons.reflection.cache.MetaAnnotationCache;
+
 /**
 * Filters constructors which is annotated with an annotation which is annotated with 
-* a specific meta annotation.
+* a specific meta annotation, directly or by any number of annotations in between 
+* (composed annotations).
 * <p>
 * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.ConstructorFilterBuilder. 
 * 
@@ -13,6 +16,8 @@ import java.lang.reflect.Constructor;
 **/
 public class MetaAnnotatedConstructorFilter implements ConstructorFilter {
 
+    private static final MetaAnnotationCache META_ANNOTATIONS = MetaAnnotationCache.getInstance();
+    
     private Class<? extends Annotation> inheritedAnnotation;
     
     public MetaAnnotatedConstructorFilter(Class<? extends Annotation> inheritedAnnotation) {
@@ -22,13 +27,29 @@ public class MetaAnnotatedConstructorFilter implements ConstructorFilter {
     @SuppressWarnings("rawtypes")
     @Override
     public boolean passFilter(Constructor constructor) {
-        Annotation[] annotations = constructor.getDeclaredAnnotations();
-        for (Annotation annotation : annotations) {
-            if (annotation.annotationType().isAnnotationPresent(inheritedAnnotation)) {
-                return true;
-            }
+        return META_ANNOTATIONS.isMetaAnnotated(constructor.getDeclaredAnnotations(), inheritedAnnotation);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
         }
-        return false;
+        MetaAnnotatedConstructorFilter other = (MetaAnnotatedConstructorFilter) obj;
+        return inheritedAnnotation.equals(other.inheritedAnnotation);
+    }
+
+    @Override
+    public int hashCode() {
+        return inheritedAnnotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "metaAnnotated(@" + inheritedAnnotation.getName() + ")";
     }
 
 }
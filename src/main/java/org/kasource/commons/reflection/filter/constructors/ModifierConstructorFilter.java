@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.constructors;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
 
 /**
  * Filter constructors by modifiers,
@@ -24,4 +25,35 @@ public class ModifierConstructorFilter implements ConstructorFilter {
        
     }
 
+    /**
+     * Returns the modifier bit mask to match.
+     * 
+     * @return the modifier bit mask to match.
+     **/
+    public int getModifier() {
+        return modifier;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ModifierConstructorFilter other = (ModifierConstructorFilter) obj;
+        return modifier == other.modifier;
+    }
+
+    @Override
+    public int hashCode() {
+        return modifier;
+    }
+
+    @Override
+    public String toString() {
+        return "modifier(" + Modifier.toString(modifier) + ")";
+    }
+
 }
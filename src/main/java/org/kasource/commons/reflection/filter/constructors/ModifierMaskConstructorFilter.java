@@ -0,0 +1,81 @@
+package org.kasource.commons.reflection.filter.constructors;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+
+/**
+ * Filters constructors by a combined modifier bit mask test.
+ * <p>
+ * A constructor passes if it has all modifiers in the required mask and none of the
+ * modifiers in the excluded mask. Created by the ConstructorFilterBuilder when several
+ * modifier filters are combined.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.ConstructorFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class ModifierMaskConstructorFilter implements ConstructorFilter {
+
+    private int requiredModifiers;
+    private int excludedModifiers;
+    
+    /**
+     * Constructor.
+     * 
+     * @param requiredModifiers Modifiers that all must be present.
+     * @param excludedModifiers Modifiers that none may be present.
+     **/
+    public ModifierMaskConstructorFilter(int requiredModifiers, int excludedModifiers) {
+        this.requiredModifiers = requiredModifiers;
+        this.excludedModifiers = excludedModifiers;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean passFilter(Constructor constructor) {
+        int modifiers = constructor.getModifiers();
+        return (modifiers & requiredModifiers) == requiredModifiers && (modifiers & excludedModifiers) == 0;
+    }
+
+    /**
+     * Returns the modifiers that all must be present.
+     * 
+     * @return the modifiers that all must be present.
+     **/
+    public int getRequiredModifiers() {
+        return requiredModifiers;
+    }
+
+    /**
+     * Returns the modifiers that none may be present.
+     * 
+     * @return the modifiers that none may be present.
+     **/
+    public int getExcludedModifiers() {
+        return excludedModifiers;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ModifierMaskConstructorFilter other = (ModifierMaskConstructorFilter) obj;
+        return requiredModifiers == other.requiredModifiers
+                && excludedModifiers == other.excludedModifiers;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * requiredModifiers + excludedModifiers;
+    }
+
+    @Override
+    public String toString() {
+        return "modifierMask(" + Modifier.toString(requiredModifiers) + ", !(" + Modifier.toString(excludedModifiers) + "))";
+    }
+
+}
@@ -23,4 +23,35 @@ public class NegationConstructorFilter implements ConstructorFilter {
        return !filter.passFilter(constructor);
     }
 
+    /**
+     * Returns the filter negated.
+     * 
+     * @return the filter negated.
+     **/
+    public ConstructorFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NegationConstructorFilter other = (NegationConstructorFilter) obj;
+        return filter.equals(other.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return filter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "not(" + filter + ")";
+    }
+
 }
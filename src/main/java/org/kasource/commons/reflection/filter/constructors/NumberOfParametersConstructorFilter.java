@@ -23,4 +23,26 @@ public class NumberOfParametersConstructorFilter implements ConstructorFilter {
         return constructor.getParameterTypes().length == numParameters;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NumberOfParametersConstructorFilter other = (NumberOfParametersConstructorFilter) obj;
+        return numParameters == other.numParameters;
+    }
+
+    @Override
+    public int hashCode() {
+        return numParameters;
+    }
+
+    @Override
+    public String toString() {
+        return "numberOfParameters(" + numParameters + ")";
+    }
+
 }
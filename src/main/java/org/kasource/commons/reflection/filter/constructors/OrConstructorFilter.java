@@ -25,4 +25,47 @@ public class OrConstructorFilter implements ConstructorFilter {
         return left.passFilter(constructor) || right.passFilter(constructor);
     }
 
+    /**
+     * Returns the left side filter.
+     * 
+     * @return the left side filter.
+     **/
+    public ConstructorFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the right side filter.
+     * 
+     * @return the right side filter.
+     **/
+    public ConstructorFilter getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        OrConstructorFilter other = (OrConstructorFilter) obj;
+        return left.equals(other.left)
+                && right.equals(other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left.hashCode();
+        result = 31 * result + right.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "or[" + left + ", " + right + "]";
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.constructors;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
 
 
 import org.kasource.commons.reflection.filter.classes.ClassFilter;
@@ -48,4 +49,32 @@ public class ParameterClassFilterConstructorFilter implements ConstructorFilter
         }
         return true;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ParameterClassFilterConstructorFilter other = (ParameterClassFilterConstructorFilter) obj;
+        return parameterIndex == other.parameterIndex
+                && (filter == null ? other.filter == null : filter.equals(other.filter))
+                && Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = parameterIndex;
+        result = 31 * result + (filter == null ? 0 : filter.hashCode());
+        result = 31 * result + Arrays.hashCode(filters);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return filter != null ? "parameterClass(" + parameterIndex + ", " + filter + ")" : "parameterClass" + Arrays.toString(filters);
+    }
+
 }
@@ -0,0 +1,57 @@
+package org.kasource.commons.reflection.filter.constructors;
+
+import java.lang.reflect.Constructor;
+
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * A filter which records the evaluation statistics of another constructor filter in a FilterProfile.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use profile(name) of the 
+ * org.kasource.commons.reflection.filter.ConstructorFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class ProfiledConstructorFilter implements ConstructorFilter {
+
+    private ConstructorFilter filter;
+    private FilterProfile profile;
+    
+    public ProfiledConstructorFilter(ConstructorFilter filter, FilterProfile profile) {
+        this.filter = filter;
+        this.profile = profile;
+    }
+    
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean passFilter(Constructor constructor) {
+        long start = System.nanoTime();
+        boolean passed = filter.passFilter(constructor);
+        profile.record(passed, System.nanoTime() - start);
+        return passed;
+    }
+
+    /**
+     * Returns the filter profiled.
+     * 
+     * @return the filter profiled.
+     **/
+    public ConstructorFilter getFilter() {
+        return filter;
+    }
+    
+    /**
+     * Returns the profile statistics are recorded in.
+     * 
+     * @return the profile statistics are recorded in.
+     **/
+    public FilterProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return "profiled(" + filter + ")";
+    }
+
+}
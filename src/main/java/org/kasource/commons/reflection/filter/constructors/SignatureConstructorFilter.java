@@ -24,4 +24,26 @@ public class SignatureConstructorFilter implements ConstructorFilter {
         return (Arrays.equals(constructor.getParameterTypes(), params));
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SignatureConstructorFilter other = (SignatureConstructorFilter) obj;
+        return Arrays.equals(params, other.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(params);
+    }
+
+    @Override
+    public String toString() {
+        return "signature" + Arrays.toString(params);
+    }
+
 }
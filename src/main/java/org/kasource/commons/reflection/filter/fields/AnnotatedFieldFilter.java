@@ -3,9 +3,14 @@ package org.kasource.commons.reflection.filter.fields;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 
+import org.kasource.commons.reflection.cache.AnnotationIdRegistry;
+import org.kasource.commons.reflection.cache.AnnotationMaskCache;
+
 /**
  * Filter fields which are annotated with a specific annotation.
  * <p>
+ * Evaluated as a bit test on the annotation mask of the field.
+ * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.FieldFilterBuilder.
  * 
  * @author rikardwi
@@ -13,14 +18,47 @@ import java.lang.reflect.Field;
 public class AnnotatedFieldFilter implements FieldFilter {
 
  private Class<? extends Annotation> annotation;
+ private int annotationId;
     
     public AnnotatedFieldFilter(Class<? extends Annotation> annotation) {
         this.annotation = annotation;
+        this.annotationId = AnnotationIdRegistry.getInstance().getId(annotation);
     }
     
     @Override
     public boolean passFilter(Field field) {
-       return field.isAnnotationPresent(annotation);
+       return AnnotationMaskCache.getInstance().getMask(field).contains(annotationId);
+    }
+
+    /**
+     * Returns the annotation to match.
+     * 
+     * @return the annotation to match.
+     **/
+    public Class<? extends Annotation> getAnnotation() {
+        return annotation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AnnotatedFieldFilter other = (AnnotatedFieldFilter) obj;
+        return annotation.equals(other.annotation);
+    }
+
+    @Override
+    public int hashCode() {
+        return annotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "annotated(@" + annotation.getName() + ")";
     }
 
 }
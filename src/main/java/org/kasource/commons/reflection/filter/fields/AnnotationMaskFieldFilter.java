@@ -0,0 +1,85 @@
+package org.kasource.commons.reflection.filter.fields;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+
+import org.kasource.commons.reflection.cache.AnnotationIdRegistry;
+import org.kasource.commons.reflection.cache.AnnotationMask;
+import org.kasource.commons.reflection.cache.AnnotationMaskCache;
+
+/**
+ * Filters fields annotated with all of several annotations, by a single annotation mask comparison.
+ * Created by the FieldFilterBuilder when several annotated filters are combined.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.FieldFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class AnnotationMaskFieldFilter implements FieldFilter {
+
+    private Class<? extends Annotation>[] annotations;
+    private AnnotationMask mask;
+    
+    /**
+     * Constructor.
+     * 
+     * @param annotations Annotations that all must be present.
+     **/
+    @SuppressWarnings("unchecked")
+    public AnnotationMaskFieldFilter(Class<? extends Annotation>... annotations) {
+        this.annotations = new LinkedHashSet<Class<? extends Annotation>>(Arrays.asList(annotations))
+                    .toArray(Arrays.copyOf(annotations, 0));
+        // Canonical order
+        Arrays.sort(this.annotations, new Comparator<Class<?>>() {
+            @Override
+            public int compare(Class<?> annotation1, Class<?> annotation2) {
+                return annotation1.getName().compareTo(annotation2.getName());
+            }
+        });
+        this.mask = AnnotationIdRegistry.getInstance().getMask(this.annotations);
+    }
+    
+    @Override
+    public boolean passFilter(Field field) {
+        return AnnotationMaskCache.getInstance().getMask(field).containsAll(mask);
+    }
+
+    /**
+     * Returns the annotations that all must be present.
+     * 
+     * @return the annotations that all must be present.
+     **/
+    public Class<? extends Annotation>[] getAnnotations() {
+        return annotations.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AnnotationMaskFieldFilter other = (AnnotationMaskFieldFilter) obj;
+        return Arrays.equals(annotations, other.annotations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(annotations);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("annotated(");
+        for (int i = 0; i < annotations.length; i++) {
+            sb.append(i == 0 ? "@" : ", @").append(annotations[i].getName());
+        }
+        return sb.append(')').toString();
+    }
+
+}
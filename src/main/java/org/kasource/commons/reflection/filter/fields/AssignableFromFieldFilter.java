@@ -2,6 +2,8 @@ package org.kasource.commons.reflection.filter.fields;
 
 import java.lang.reflect.Field;
 
+import org.kasource.commons.reflection.type.TypeRelations;
+
 /**
  * Filters fields which type is assignable from a specific class.
  * <p>
@@ -11,6 +13,8 @@ import java.lang.reflect.Field;
  **/
 public class AssignableFromFieldFilter implements FieldFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     /**
      * Interface or super class to test candidates with
      **/
@@ -22,7 +26,29 @@ public class AssignableFromFieldFilter implements FieldFilter {
     
     @Override
     public boolean passFilter(Field field) {
-        return assignable.isAssignableFrom(field.getType());
+        return TYPE_RELATIONS.isSubtype(field.getType(), assignable);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AssignableFromFieldFilter other = (AssignableFromFieldFilter) obj;
+        return assignable.equals(other.assignable);
+    }
+
+    @Override
+    public int hashCode() {
+        return assignable.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "assignableFrom(" + assignable.getName() + ")";
     }
 
 }
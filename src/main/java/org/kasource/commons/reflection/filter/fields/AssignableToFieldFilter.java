@@ -2,6 +2,8 @@ package org.kasource.commons.reflection.filter.fields;
 
 import java.lang.reflect.Field;
 
+import org.kasource.commons.reflection.type.TypeRelations;
+
 /**
  * Filters fields which type is assignable to a specific class.
  * <p>
@@ -11,6 +13,8 @@ import java.lang.reflect.Field;
  **/
 public class AssignableToFieldFilter implements FieldFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     /**
      * Interface or super class to test candidates with
      **/
@@ -22,7 +26,29 @@ public class AssignableToFieldFilter implements FieldFilter {
     
     @Override
     public boolean passFilter(Field field) {
-        return field.getType().isAssignableFrom(assignable);
+        return TYPE_RELATIONS.isSubtype(assignable, field.getType());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AssignableToFieldFilter other = (AssignableToFieldFilter) obj;
+        return assignable.equals(other.assignable);
+    }
+
+    @Override
+    public int hashCode() {
+        return assignable.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "assignableTo(" + assignable.getName() + ")";
     }
 
 }
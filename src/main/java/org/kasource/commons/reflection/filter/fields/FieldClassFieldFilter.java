@@ -24,4 +24,26 @@ public class FieldClassFieldFilter implements FieldFilter {
        return filter.passFilter(field.getType());
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        FieldClassFieldFilter other = (FieldClassFieldFilter) obj;
+        return filter.equals(other.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return filter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "fieldClass(" + filter + ")";
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.fields;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 
 /**
  * List of Field Filters.
@@ -30,4 +31,35 @@ public class FieldFilterList implements FieldFilter {
         return true;
     }
 
+    /**
+     * Returns the filters evaluated.
+     * 
+     * @return the filters evaluated.
+     **/
+    public FieldFilter[] getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        FieldFilterList other = (FieldFilterList) obj;
+        return Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(filters);
+    }
+
+    @Override
+    public String toString() {
+        return "and" + Arrays.toString(filters);
+    }
+
 }
@@ -0,0 +1,61 @@
+package org.kasource.commons.reflection.filter.fields;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+
+import org.kasource.commons.reflection.type.GenericTypeResolver;
+
+/**
+ * Filters fields which generic type, resolved against a target class, equals a specific type.
+ * <p>
+ * Fields not declared by the target class or its super classes are resolved against their declaring class.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.FieldFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class GenericTypeFieldFilter implements FieldFilter {
+
+    private Class<?> targetType;
+    private Type type;
+    
+    /**
+     * Constructor.
+     * 
+     * @param targetType    Class to resolve type variables against.
+     * @param type          The generic type to match the field type with.
+     **/
+    public GenericTypeFieldFilter(Class<?> targetType, Type type) {
+        this.targetType = targetType;
+        this.type = type;
+    }
+    
+    @Override
+    public boolean passFilter(Field field) {
+        Class<?> resolveAgainst = field.getDeclaringClass().isAssignableFrom(targetType) ? targetType : field.getDeclaringClass();
+        return type.equals(GenericTypeResolver.getInstance().getType(field, resolveAgainst));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        GenericTypeFieldFilter other = (GenericTypeFieldFilter) obj;
+        return targetType.equals(other.targetType) && type.equals(other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * targetType.hashCode() + type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "genericType(" + targetType.getName() + ", " + GenericTypeResolver.getTypeName(type) + ")";
+    }
+
+}
@@ -16,4 +16,19 @@ public class IsEnumConstantFieldFilter implements FieldFilter {
        return field.isEnumConstant();
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && getClass() == obj.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "isEnumConstant()";
+    }
+
 }
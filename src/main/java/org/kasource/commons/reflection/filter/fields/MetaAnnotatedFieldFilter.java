@@ -3,8 +3,11 @@ package org.kasource.commons.reflection.filter.fields;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 
+import org.kasource.commons.reflection.cache.MetaAnnotationCache;
+
 /**
- * Filters all fields which is annotated with an annotation which is annotated with a specific meta annotation.
+ * Filters all fields which is annotated with an annotation which is annotated with a specific meta annotation,
+ * directly or by any number of annotations in between (composed annotations).
  * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.FieldFilterBuilder.
  * 
@@ -12,6 +15,8 @@ import java.lang.reflect.Field;
  **/
 public class MetaAnnotatedFieldFilter implements FieldFilter {
 
+    private static final MetaAnnotationCache META_ANNOTATIONS = MetaAnnotationCache.getInstance();
+    
     private Class<? extends Annotation> inheritedAnnotation;
     
     public MetaAnnotatedFieldFilter(Class<? extends Annotation> inheritedAnnotation) {
@@ -19,13 +24,29 @@ public class MetaAnnotatedFieldFilter implements FieldFilter {
     }
     
     public boolean passFilter(Field field) {
-        Annotation[] annotations = field.getDeclaredAnnotations();
-        for (Annotation annotation : annotations) {
-            if (annotation.annotationType().isAnnotationPresent(inheritedAnnotation)) {
-                return true;
-            }
+        return META_ANNOTATIONS.isMetaAnnotated(field.getDeclaredAnnotations(), inheritedAnnotation);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
         }
-        return false;
+        MetaAnnotatedFieldFilter other = (MetaAnnotatedFieldFilter) obj;
+        return inheritedAnnotation.equals(other.inheritedAnnotation);
     }
-    
+
+    @Override
+    public int hashCode() {
+        return inheritedAnnotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "metaAnnotated(@" + inheritedAnnotation.getName() + ")";
+    }
+
 }
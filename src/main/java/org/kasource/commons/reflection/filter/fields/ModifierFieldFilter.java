@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.fields;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 /**
  * Filters fields by modifiers.
@@ -22,4 +23,35 @@ public class ModifierFieldFilter implements FieldFilter {
         return (field.getModifiers() & modifier) > 0;
     }
 
+    /**
+     * Returns the modifier bit mask to match.
+     * 
+     * @return the modifier bit mask to match.
+     **/
+    public int getModifier() {
+        return modifier;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ModifierFieldFilter other = (ModifierFieldFilter) obj;
+        return modifier == other.modifier;
+    }
+
+    @Override
+    public int hashCode() {
+        return modifier;
+    }
+
+    @Override
+    public String toString() {
+        return "modifier(" + Modifier.toString(modifier) + ")";
+    }
+
 }
@@ -1,6 +1,9 @@
 package org.kasource.commons.reflection.filter.fields;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import org.kasource.commons.util.NameMatcher;
 
 /**
  * Filters fields which name matches a Regular Expression.
@@ -11,16 +14,62 @@ import java.lang.reflect.Field;
  **/
 public class NameFieldFilter implements FieldFilter {
 
-    private String nameRegExp;
+    private String[] nameRegExps;
+    private NameMatcher matcher;
     
+    /**
+     * Constructor.
+     * 
+     * @param nameRegExp Regular expression the name should match.
+     **/
     public NameFieldFilter(String nameRegExp) {
-        this.nameRegExp = nameRegExp;
+        this(new String[] {nameRegExp});
     }
-
+    
+    /**
+     * Creates a filter that passes names matching any of the regular expressions supplied.
+     * 
+     * @param nameRegExps Regular expressions the name should match any of.
+     **/
+    public NameFieldFilter(String... nameRegExps) {
+        this.nameRegExps = nameRegExps;
+        this.matcher = NameMatcher.anyOf(nameRegExps);
+    }
+    
     @Override
     public boolean passFilter(Field field) {
-       return field.getName().matches(nameRegExp);
+        return matcher.matches(field.getName());
     }
-    
-    
+
+    /**
+     * Returns the regular expressions to match names with.
+     * 
+     * @return the regular expressions to match names with.
+     **/
+    public String[] getNameRegExps() {
+        return nameRegExps;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NameFieldFilter other = (NameFieldFilter) obj;
+        return Arrays.equals(nameRegExps, other.nameRegExps);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(nameRegExps);
+    }
+
+    @Override
+    public String toString() {
+        return "name" + Arrays.toString(nameRegExps);
+    }
+
 }
@@ -22,4 +22,35 @@ public class NegationFieldFilter implements FieldFilter {
        return !filter.passFilter(field);
     }
 
+    /**
+     * Returns the filter negated.
+     * 
+     * @return the filter negated.
+     **/
+    public FieldFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NegationFieldFilter other = (NegationFieldFilter) obj;
+        return filter.equals(other.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return filter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "not(" + filter + ")";
+    }
+
 }
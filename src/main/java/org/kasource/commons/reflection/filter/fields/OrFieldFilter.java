@@ -24,4 +24,47 @@ public class OrFieldFilter implements FieldFilter {
       return left.passFilter(field) || right.passFilter(field);
     }
 
+    /**
+     * Returns the left side filter.
+     * 
+     * @return the left side filter.
+     **/
+    public FieldFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the right side filter.
+     * 
+     * @return the right side filter.
+     **/
+    public FieldFilter getRight() {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        OrFieldFilter other = (OrFieldFilter) obj;
+        return left.equals(other.left)
+                && right.equals(other.right);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left.hashCode();
+        result = 31 * result + right.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "or[" + left + ", " + right + "]";
+    }
+
 }
@@ -0,0 +1,56 @@
+package org.kasource.commons.reflection.filter.fields;
+
+import java.lang.reflect.Field;
+
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * A filter which records the evaluation statistics of another field filter in a FilterProfile.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use profile(name) of the 
+ * org.kasource.commons.reflection.filter.FieldFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class ProfiledFieldFilter implements FieldFilter {
+
+    private FieldFilter filter;
+    private FilterProfile profile;
+    
+    public ProfiledFieldFilter(FieldFilter filter, FilterProfile profile) {
+        this.filter = filter;
+        this.profile = profile;
+    }
+    
+    @Override
+    public boolean passFilter(Field field) {
+        long start = System.nanoTime();
+        boolean passed = filter.passFilter(field);
+        profile.record(passed, System.nanoTime() - start);
+        return passed;
+    }
+
+    /**
+     * Returns the filter profiled.
+     * 
+     * @return the filter profiled.
+     **/
+    public FieldFilter getFilter() {
+        return filter;
+    }
+    
+    /**
+     * Returns the profile statistics are recorded in.
+     * 
+     * @return the profile statistics are recorded in.
+     **/
+    public FilterProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return "profiled(" + filter + ")";
+    }
+
+}
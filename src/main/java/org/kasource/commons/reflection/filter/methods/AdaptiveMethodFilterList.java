@@ -0,0 +1,95 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.filter.AdaptiveOrdering;
+
+/**
+ * List of Method Filters evaluated in an adaptive order.
+ * 
+ * Evaluates the filters in an AND manner, like MethodFilterList, but samples the pass rate and 
+ * evaluation time of each filter and periodically reorders the filters so that the cheapest and most 
+ * selective filters are evaluated first. See AdaptiveOrdering.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use adaptive() of the 
+ * org.kasource.commons.reflection.filter.MethodFilterBuilder.
+ *  
+ * @author rikardwi
+ **/
+public class AdaptiveMethodFilterList implements MethodFilter {
+    private MethodFilter[] filters;
+    private AdaptiveOrdering ordering;
+    
+    public AdaptiveMethodFilterList(MethodFilter... filters) {
+        this.filters = filters;
+        this.ordering = new AdaptiveOrdering(filters.length);
+    }
+    
+    @Override
+    public boolean passFilter(Method method) {
+        int[] order = ordering.getOrder();
+        if (!ordering.sample()) {
+            for (int index : order) {
+                if (!filters[index].passFilter(method)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        try {
+            for (int index : order) {
+                long start = System.nanoTime();
+                boolean passed = filters[index].passFilter(method);
+                ordering.record(index, passed, System.nanoTime() - start);
+                if (!passed) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            ordering.sampled();
+        }
+    }
+
+    /**
+     * Returns the filters evaluated, in their original order.
+     * 
+     * @return the filters evaluated.
+     **/
+    public MethodFilter[] getFilters() {
+        return filters;
+    }
+    
+    /**
+     * Returns the evaluation ordering.
+     * 
+     * @return the evaluation ordering.
+     **/
+    public AdaptiveOrdering getOrdering() {
+        return ordering;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AdaptiveMethodFilterList other = (AdaptiveMethodFilterList) obj;
+        return Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(filters);
+    }
+
+    @Override
+    public String toString() {
+        return "adaptive" + Arrays.toString(filters);
+    }
+
+}
@@ -3,8 +3,13 @@ package org.kasource.commons.reflection.filter.methods;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 
+import org.kasource.commons.reflection.cache.AnnotationIdRegistry;
+import org.kasource.commons.reflection.cache.AnnotationMaskCache;
+
 /**
- * Filters methods that's annotated with a specific annotation.
+ * Filters methods that's annotated with a specific annotation, directly or on a method it overrides or implements.
+ * <p>
+ * Evaluated as a bit test on the annotation mask of the method.
  * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.MethodFilterBuilder. 
  * 
@@ -13,13 +18,46 @@ import java.lang.reflect.Method;
 public class AnnotatedMethodFilter implements MethodFilter {
 
     private Class<? extends Annotation> annotation;
+    private int annotationId;
     
     public AnnotatedMethodFilter(Class<? extends Annotation> annotation) {
         this.annotation = annotation;
+        this.annotationId = AnnotationIdRegistry.getInstance().getId(annotation);
     }
     
     public boolean passFilter(Method method) {
-        return method.isAnnotationPresent(annotation);
+        return AnnotationMaskCache.getInstance().getMask(method).contains(annotationId);
     }
-    
+
+    /**
+     * Returns the annotation to match.
+     * 
+     * @return the annotation to match.
+     **/
+    public Class<? extends Annotation> getAnnotation() {
+        return annotation;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AnnotatedMethodFilter other = (AnnotatedMethodFilter) obj;
+        return annotation.equals(other.annotation);
+    }
+
+    @Override
+    public int hashCode() {
+        return annotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "annotated(@" + annotation.getName() + ")";
+    }
+
 }
@@ -1,6 +1,9 @@
 package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.type.TypeRelations;
 
 /**
  * Filters methods which parameter types is assignable from a specific class.
@@ -11,6 +14,8 @@ import java.lang.reflect.Method;
  **/
 public class AssignableFromMethodFilter implements MethodFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     private int paramterIndex;
     private Class<?> assignbleFromClass;
     private Class<?>[] assignbleFrom;
@@ -30,10 +35,10 @@ public class AssignableFromMethodFilter implements MethodFilter {
             if((method.getParameterTypes().length - 1) < paramterIndex) {
                 return false;
             }
-            return assignbleFromClass.isAssignableFrom(method.getParameterTypes()[paramterIndex]);
+            return TYPE_RELATIONS.isSubtype(method.getParameterTypes()[paramterIndex], assignbleFromClass);
         } else if(assignbleFrom.length == method.getParameterTypes().length) {
             for(int i = 0; i < assignbleFrom.length; i++) {
-               if(!assignbleFrom[i].isAssignableFrom(method.getParameterTypes()[i])) {
+               if(!TYPE_RELATIONS.isSubtype(method.getParameterTypes()[i], assignbleFrom[i])) {
                    return false;
                }
             }
@@ -42,4 +47,31 @@ public class AssignableFromMethodFilter implements MethodFilter {
         return false;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AssignableFromMethodFilter other = (AssignableFromMethodFilter) obj;
+        return paramterIndex == other.paramterIndex
+                && (assignbleFromClass == null ? other.assignbleFromClass == null : assignbleFromClass.equals(other.assignbleFromClass))
+                && Arrays.equals(assignbleFrom, other.assignbleFrom);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = paramterIndex;
+        result = 31 * result + (assignbleFromClass == null ? 0 : assignbleFromClass.hashCode());
+        result = 31 * result + Arrays.hashCode(assignbleFrom);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return assignbleFromClass != null ? "assignableFrom(" + paramterIndex + ", " + assignbleFromClass.getName() + ")" : "assignableFrom" + Arrays.toString(assignbleFrom);
+    }
+
 }
@@ -1,6 +1,9 @@
 package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.type.TypeRelations;
 
 /**
  * Filters methods which parameter types is assignable to a specific class.
@@ -11,6 +14,8 @@ import java.lang.reflect.Method;
  **/
 public class AssignableToMethodFilter implements MethodFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     private int paramterIndex;
     private Class<?> assignbleToClass;
     private Class<?>[] assignbleTo;
@@ -30,10 +35,10 @@ public class AssignableToMethodFilter implements MethodFilter {
             if((method.getParameterTypes().length - 1) < paramterIndex) {
                 return false;
             }
-            return method.getParameterTypes()[paramterIndex].isAssignableFrom(assignbleToClass);
+            return TYPE_RELATIONS.isSubtype(assignbleToClass, method.getParameterTypes()[paramterIndex]);
         } else if(assignbleTo.length == method.getParameterTypes().length) {
             for(int i = 0; i < assignbleTo.length; i++) {
-               if(!method.getParameterTypes()[i].isAssignableFrom(assignbleTo[i])) {
+               if(!TYPE_RELATIONS.isSubtype(assignbleTo[i], method.getParameterTypes()[i])) {
                    return false;
                }
             }
@@ -42,4 +47,31 @@ public class AssignableToMethodFilter implements MethodFilter {
         return false;
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        AssignableToMethodFilter other = (AssignableToMethodFilter) obj;
+        return paramterIndex == other.paramterIndex
+                && (assignbleToClass == null ? other.assignbleToClass == null : assignbleToClass.equals(other.assignbleToClass))
+                && Arrays.equals(assignbleTo, other.assignbleTo);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = paramterIndex;
+        result = 31 * result + (assignbleToClass == null ? 0 : assignbleToClass.hashCode());
+        result = 31 * result + Arrays.hashCode(assignbleTo);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return assignbleToClass != null ? "assignableTo(" + paramterIndex + ", " + assignbleToClass.getName() + ")" : "assignableTo" + Arrays.toString(assignbleTo);
+    }
+
 }
@@ -0,0 +1,61 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
+import org.kasource.commons.reflection.type.GenericTypeResolver;
+
+/**
+ * Filters methods which generic return type, resolved against a target class, equals a specific type.
+ * <p>
+ * Methods not declared by the target class or its super types are resolved against their declaring class.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.MethodFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class GenericReturnTypeMethodFilter implements MethodFilter {
+
+    private Class<?> targetType;
+    private Type returnType;
+    
+    /**
+     * Constructor.
+     * 
+     * @param targetType    Class to resolve type variables against.
+     * @param returnType    The generic type to match the return type with.
+     **/
+    public GenericReturnTypeMethodFilter(Class<?> targetType, Type returnType) {
+        this.targetType = targetType;
+        this.returnType = returnType;
+    }
+    
+    @Override
+    public boolean passFilter(Method method) {
+        Class<?> resolveAgainst = method.getDeclaringClass().isAssignableFrom(targetType) ? targetType : method.getDeclaringClass();
+        return returnType.equals(GenericTypeResolver.getInstance().getReturnType(method, resolveAgainst));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        GenericReturnTypeMethodFilter other = (GenericReturnTypeMethodFilter) obj;
+        return targetType.equals(other.targetType) && returnType.equals(other.returnType);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * targetType.hashCode() + returnType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "genericReturnType(" + targetType.getName() + ", " + GenericTypeResolver.getTypeName(returnType) + ")";
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+import org.kasource.commons.reflection.type.GenericTypeResolver;
+
+/**
+ * Filters methods which generic parameter types, resolved against a target class, equals specific types.
+ * <p>
+ * Methods not declared by the target class or its super types are resolved against their declaring class.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.MethodFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class GenericSignatureMethodFilter implements MethodFilter {
+
+    private Class<?> targetType;
+    private Type[] params;
+    
+    /**
+     * Constructor.
+     * 
+     * @param targetType    Class to resolve type variables against.
+     * @param params        The generic types to match the parameter types with.
+     **/
+    public GenericSignatureMethodFilter(Class<?> targetType, Type... params) {
+        this.targetType = targetType;
+        this.params = params;
+    }
+    
+    @Override
+    public boolean passFilter(Method method) {
+        if (method.getParameterTypes().length != params.length) {
+            return false;
+        }
+        Class<?> resolveAgainst = method.getDeclaringClass().isAssignableFrom(targetType) ? targetType : method.getDeclaringClass();
+        return Arrays.equals(params, GenericTypeResolver.getInstance().getParameterTypes(method, resolveAgainst));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        GenericSignatureMethodFilter other = (GenericSignatureMethodFilter) obj;
+        return targetType.equals(other.targetType) && Arrays.equals(params, other.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * targetType.hashCode() + Arrays.hashCode(params);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("genericSignature(").append(targetType.getName());
+        for (Type param : params) {
+            sb.append(", ").append(GenericTypeResolver.getTypeName(param));
+        }
+        return sb.append(')').toString();
+    }
+
+}
@@ -3,9 +3,13 @@ package org.kasource.commons.reflection.filter.methods;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 
+import org.kasource.commons.reflection.cache.MergedAnnotationCache;
+import org.kasource.commons.reflection.cache.MetaAnnotationCache;
+
 /**
  * Filters methods which is annotated with an annotation which is annotated with 
- * a specific meta annotation.
+ * a specific meta annotation, directly or by any number of annotations in between 
+ * (composed annotations). Annotations of the methods it overrides or implements are included.
  * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.MethodFilterBuilder. 
  * 
@@ -13,6 +17,8 @@ import java.lang.reflect.Method;
  **/
 public class MetaAnnotatedMethodFilter implements MethodFilter {
 
+    private static final MetaAnnotationCache META_ANNOTATIONS = MetaAnnotationCache.getInstance();
+    
     private Class<? extends Annotation> inheritedAnnotation;
     
     public MetaAnnotatedMethodFilter(Class<? extends Annotation> inheritedAnnotation) {
@@ -20,13 +26,30 @@ public class MetaAnnotatedMethodFilter implements MethodFilter {
     }
     
     public boolean passFilter(Method method) {
-        Annotation[] annotations = method.getDeclaredAnnotations();
-        for (Annotation annotation : annotations) {
-            if (annotation.annotationType().isAnnotationPresent(inheritedAnnotation)) {
-                return true;
-            }
+        return META_ANNOTATIONS.isMetaAnnotated(MergedAnnotationCache.getInstance().getAnnotations(method), 
+                                                inheritedAnnotation);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
         }
-        return false;
+        MetaAnnotatedMethodFilter other = (MetaAnnotatedMethodFilter) obj;
+        return inheritedAnnotation.equals(other.inheritedAnnotation);
     }
-    
+
+    @Override
+    public int hashCode() {
+        return inheritedAnnotation.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "metaAnnotated(@" + inheritedAnnotation.getName() + ")";
+    }
+
 }
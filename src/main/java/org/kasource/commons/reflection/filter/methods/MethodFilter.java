@@ -6,6 +6,10 @@ import java.lang.reflect.Method;
  * Method Filter.
  * 
  * Implement this interface to create a MethodFilter.
+ * <p>
+ * Filters may be evaluated concurrently by several threads, for example by the BulkIntrospector,
+ * implementations must therefore be thread safe. All method filters in this package are immutable
+ * and safe to share between threads.
  * 
  * @author rikardwi
  **/
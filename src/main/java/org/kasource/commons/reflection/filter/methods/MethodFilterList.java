@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 
 /**
@@ -28,4 +29,36 @@ private MethodFilter[] filters;
         }
         return true;
     }
+
+    /**
+     * Returns the filters evaluated.
+     * 
+     * @return the filters evaluated.
+     **/
+    public MethodFilter[] getFilters() {
+        return filters;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        MethodFilterList other = (MethodFilterList) obj;
+        return Arrays.equals(filters, other.filters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(filters);
+    }
+
+    @Override
+    public String toString() {
+        return "and" + Arrays.toString(filters);
+    }
+
 }
@@ -0,0 +1,80 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Filters methods by a combined modifier bit mask test.
+ * <p>
+ * A method passes if it has all modifiers in the required mask and none of the
+ * modifiers in the excluded mask. Created by the MethodFilterBuilder when several
+ * modifier filters are combined.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.MethodFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class ModifierMaskMethodFilter implements MethodFilter {
+
+    private int requiredModifiers;
+    private int excludedModifiers;
+    
+    /**
+     * Constructor.
+     * 
+     * @param requiredModifiers Modifiers that all must be present.
+     * @param excludedModifiers Modifiers that none may be present.
+     **/
+    public ModifierMaskMethodFilter(int requiredModifiers, int excludedModifiers) {
+        this.requiredModifiers = requiredModifiers;
+        this.excludedModifiers = excludedModifiers;
+    }
+    
+    @Override
+    public boolean passFilter(Method method) {
+        int modifiers = method.getModifiers();
+        return (modifiers & requiredModifiers) == requiredModifiers && (modifiers & excludedModifiers) == 0;
+    }
+
+    /**
+     * Returns the modifiers that all must be present.
+     * 
+     * @return the modifiers that all must be present.
+     **/
+    public int getRequiredModifiers() {
+        return requiredModifiers;
+    }
+
+    /**
+     * Returns the modifiers that none may be present.
+     * 
+     * @return the modifiers that none may be present.
+     **/
+    public int getExcludedModifiers() {
+        return excludedModifiers;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ModifierMaskMethodFilter other = (ModifierMaskMethodFilter) obj;
+        return requiredModifiers == other.requiredModifiers
+                && excludedModifiers == other.excludedModifiers;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * requiredModifiers + excludedModifiers;
+    }
+
+    @Override
+    public String toString() {
+        return "modifierMask(" + Modifier.toString(requiredModifiers) + ", !(" + Modifier.toString(excludedModifiers) + "))";
+    }
+
+}
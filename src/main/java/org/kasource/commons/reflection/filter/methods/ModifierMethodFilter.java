@@ -1,6 +1,7 @@
 package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
  * Filter methods by modifiers,
@@ -23,4 +24,35 @@ public class ModifierMethodFilter implements MethodFilter {
        
     }
 
+    /**
+     * Returns the modifier bit mask to match.
+     * 
+     * @return the modifier bit mask to match.
+     **/
+    public int getModifier() {
+        return modifier;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ModifierMethodFilter other = (ModifierMethodFilter) obj;
+        return modifier == other.modifier;
+    }
+
+    @Override
+    public int hashCode() {
+        return modifier;
+    }
+
+    @Override
+    public String toString() {
+        return "modifier(" + Modifier.toString(modifier) + ")";
+    }
+
 }
@@ -1,9 +1,12 @@
 package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.kasource.commons.util.NameMatcher;
 
 /**
- * Filter methods which name matches a Regular Expresson.
+ * Filter methods which name matches a Regular Expression.
  * <p>
  * Note: It's not recommended to use this class directly, instead use the org.kasource.commons.reflection.MethodFilterBuilder.
  * 
@@ -11,16 +14,62 @@ import java.lang.reflect.Method;
  **/
 public class NameMethodFilter implements MethodFilter {
 
-    private String nameRegExp;
+    private String[] nameRegExps;
+    private NameMatcher matcher;
     
+    /**
+     * Constructor.
+     * 
+     * @param nameRegExp Regular expression the name should match.
+     **/
     public NameMethodFilter(String nameRegExp) {
-        this.nameRegExp = nameRegExp;
+        this(new String[] {nameRegExp});
     }
     
+    /**
+     * Creates a filter that passes names matching any of the regular expressions supplied.
+     * 
+     * @param nameRegExps Regular expressions the name should match any of.
+     **/
+    public NameMethodFilter(String... nameRegExps) {
+        this.nameRegExps = nameRegExps;
+        this.matcher = NameMatcher.anyOf(nameRegExps);
+    }
     
     @Override
     public boolean passFilter(Method method) {
-        return method.getName().matches(nameRegExp);
+        return matcher.matches(method.getName());
+    }
+
+    /**
+     * Returns the regular expressions to match names with.
+     * 
+     * @return the regular expressions to match names with.
+     **/
+    public String[] getNameRegExps() {
+        return nameRegExps;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NameMethodFilter other = (NameMethodFilter) obj;
+        return Arrays.equals(nameRegExps, other.nameRegExps);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(nameRegExps);
+    }
+
+    @Override
+    public String toString() {
+        return "name" + Arrays.toString(nameRegExps);
     }
 
 }
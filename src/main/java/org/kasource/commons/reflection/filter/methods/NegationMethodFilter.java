@@ -22,4 +22,35 @@ public class NegationMethodFilter implements MethodFilter {
         return !filter.passFilter(method);
     }
 
+    /**
+     * Returns the filter negated.
+     * 
+     * @return the filter negated.
+     **/
+    public MethodFilter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NegationMethodFilter other = (NegationMethodFilter) obj;
+        return filter.equals(other.filter);
+    }
+
+    @Override
+    public int hashCode() {
+        return filter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "not(" + filter + ")";
+    }
+
 }
@@ -21,4 +21,35 @@ public class NumberOfParametersMethodFilter implements MethodFilter {
         return method.getParameterTypes().length == numberOfParameters;
     }
 
+    /**
+     * Returns the number of parameters to match.
+     * 
+     * @return the number of parameters to match.
+     **/
+    public int getNumberOfParameters() {
+        return numberOfParameters;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        NumberOfParametersMethodFilter other = (NumberOfParametersMethodFilter) obj;
+        return numberOfParameters == other.numberOfParameters;
+    }
+
+    @Override
+    public int hashCode() {
+        return numberOfParameters;
+    }
+
+    @Override
+    public String toString() {
+        return "numberOfParameters(" + numberOfParameters + ")";
+    }
+
 }
@@ -1,6 +1,9 @@
 package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Filters methods by evaluating two other method filters by OR:ing their result.
@@ -31,11 +34,72 @@ public class OrMethodFilter implements MethodFilter {
     
     @Override
     public boolean passFilter(Method method) {
-        boolean result = left.passFilter(method) || right.passFilter(method);
+        if (left.passFilter(method) || right.passFilter(method)) {
+            return true;
+        }
         for(MethodFilter filter : rest) {
-            result |= filter.passFilter(method);
+            if (filter.passFilter(method)) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    /**
+     * Returns the left side filter.
+     * 
+     * @return the left side filter.
+     **/
+    public MethodFilter getLeft() {
+        return left;
+    }
+
+    /**
+     * Returns the right side filter.
+     * 
+     * @return the right side filter.
+     **/
+    public MethodFilter getRight() {
+        return right;
+    }
+
+    /**
+     * Returns the additional filters, may be empty.
+     * 
+     * @return the additional filters, may be empty.
+     **/
+    public MethodFilter[] getRest() {
+        return rest;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        OrMethodFilter other = (OrMethodFilter) obj;
+        return left.equals(other.left)
+                && right.equals(other.right)
+                && Arrays.equals(rest, other.rest);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left.hashCode();
+        result = 31 * result + right.hashCode();
+        result = 31 * result + Arrays.hashCode(rest);
         return result;
     }
 
+    @Override
+    public String toString() {
+        List<MethodFilter> operands = new ArrayList<MethodFilter>(Arrays.asList(rest));
+        operands.add(0, right);
+        operands.add(0, left);
+        return "or" + operands;
+    }
+
 }
@@ -0,0 +1,56 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import java.lang.reflect.Method;
+
+import org.kasource.commons.reflection.profile.FilterProfile;
+
+/**
+ * A filter which records the evaluation statistics of another method filter in a FilterProfile.
+ * <p>
+ * Note: It's not recommended to use this class directly, instead use profile(name) of the 
+ * org.kasource.commons.reflection.filter.MethodFilterBuilder.
+ * 
+ * @author rikardwi
+ **/
+public class ProfiledMethodFilter implements MethodFilter {
+
+    private MethodFilter filter;
+    private FilterProfile profile;
+    
+    public ProfiledMethodFilter(MethodFilter filter, FilterProfile profile) {
+        this.filter = filter;
+        this.profile = profile;
+    }
+    
+    @Override
+    public boolean passFilter(Method method) {
+        long start = System.nanoTime();
+        boolean passed = filter.passFilter(method);
+        profile.record(passed, System.nanoTime() - start);
+        return passed;
+    }
+
+    /**
+     * Returns the filter profiled.
+     * 
+     * @return the filter profiled.
+     **/
+    public MethodFilter getFilter() {
+        return filter;
+    }
+    
+    /**
+     * Returns the profile statistics are recorded in.
+     * 
+     * @return the profile statistics are recorded in.
+     **/
+    public FilterProfile getProfile() {
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        return "profiled(" + filter + ")";
+    }
+
+}
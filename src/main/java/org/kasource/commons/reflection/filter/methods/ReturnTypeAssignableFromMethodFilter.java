@@ -2,6 +2,8 @@ package org.kasource.commons.reflection.filter.methods;
 
 import java.lang.reflect.Method;
 
+import org.kasource.commons.reflection.type.TypeRelations;
+
 /**
  * Filter methods which return type extends/implements the assignableFromClass.
  * <p>
@@ -11,6 +13,8 @@ import java.lang.reflect.Method;
  **/
 public class ReturnTypeAssignableFromMethodFilter implements MethodFilter {
 
+    private static final TypeRelations TYPE_RELATIONS = TypeRelations.getInstance();
+
     private Class<?> assignableFromClass;
     
     public ReturnTypeAssignableFromMethodFilter(Class<?> assignableFromClass) {
@@ -19,9 +23,29 @@ public class ReturnTypeAssignableFromMethodFilter implements MethodFilter {
     
     @Override
     public boolean passFilter(Method method) {
-        return assignableFromClass.isAssignableFrom(method.getReturnType());
+        return TYPE_RELATIONS.isSubtype(method.getReturnType(), assignableFromClass);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ReturnTypeAssignableFromMethodFilter other = (ReturnTypeAssignableFromMethodFilter) obj;
+        return assignableFromClass.equals(other.assignableFromClass);
     }
 
-   
+    @Override
+    public int hashCode() {
+        return assignableFromClass.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "returnTypeAssignableFrom(" + assignableFromClass.getName() + ")";
+    }
 
 }
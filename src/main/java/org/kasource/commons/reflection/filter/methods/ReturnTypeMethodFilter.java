@@ -22,4 +22,35 @@ public class ReturnTypeMethodFilter implements MethodFilter {
         return method.getReturnType().equals(returnType);
     }
 
+    /**
+     * Returns the return type to match.
+     * 
+     * @return the return type to match.
+     **/
+    public Class<?> getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ReturnTypeMethodFilter other = (ReturnTypeMethodFilter) obj;
+        return returnType.equals(other.returnType);
+    }
+
+    @Override
+    public int hashCode() {
+        return returnType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "returnType(" + returnType.getName() + ")";
+    }
+
 }
@@ -23,4 +23,35 @@ public class SignatureMethodFilter implements MethodFilter {
         return (Arrays.equals(method.getParameterTypes(), params));
     }
 
+    /**
+     * Returns the parameter types to match.
+     * 
+     * @return the parameter types to match.
+     **/
+    public Class<?>[] getParameterTypes() {
+        return params;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        SignatureMethodFilter other = (SignatureMethodFilter) obj;
+        return Arrays.equals(params, other.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(params);
+    }
+
+    @Override
+    public String toString() {
+        return "signature" + Arrays.toString(params);
+    }
+
 }
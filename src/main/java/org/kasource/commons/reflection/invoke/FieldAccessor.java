@@ -0,0 +1,231 @@
+package org.kasource.commons.reflection.invoke;
+
+import java.lang.reflect.Field;
+
+/**
+ * Reusable accessor of a single field.
+ * <p>
+ * Accessors are created once per field by the FieldAccessorFactory and then reused, the field
+ * is made accessible once when the accessor is created and is not access checked again.
+ * Primitive variants of get and set are offered which does not box the value.
+ * <p>
+ * Accessors are thread safe.
+ * 
+ * @author rikardwi
+ **/
+public interface FieldAccessor {
+    
+    /**
+     * Returns the field accessed.
+     * 
+     * @return the field accessed.
+     **/
+    public Field getField();
+    
+    /**
+     * Returns the value of the field, primitive values are boxed.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public Object get(Object target);
+    
+    /**
+     * Sets the value of the field, primitive values are unboxed.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target or value is not valid.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void set(Object target, Object value);
+    
+    /**
+     * Returns the value of a boolean field.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field is not a boolean.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public boolean getBoolean(Object target);
+    
+    /**
+     * Returns the value of a byte field.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to byte.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public byte getByte(Object target);
+    
+    /**
+     * Returns the value of a char field.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to char.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public char getChar(Object target);
+    
+    /**
+     * Returns the value of a short field, widening byte values.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to short.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public short getShort(Object target);
+    
+    /**
+     * Returns the value of an int field, widening byte, short and char values.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to int.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public int getInt(Object target);
+    
+    /**
+     * Returns the value of a long field, widening byte, short, char and int values.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to long.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public long getLong(Object target);
+    
+    /**
+     * Returns the value of a float field, widening integral values.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to float.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public float getFloat(Object target);
+    
+    /**
+     * Returns the value of a double field, widening integral and float values.
+     * 
+     * @param target Object to read the field from, null for static fields.
+     * 
+     * @return The value of the field.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field can't be converted to double.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public double getDouble(Object target);
+    
+    /**
+     * Sets the value of a boolean field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field is not a boolean.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setBoolean(Object target, boolean value);
+    
+    /**
+     * Sets the value of a byte field, or of a wider numeric field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or value can't be converted to the field type.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setByte(Object target, byte value);
+    
+    /**
+     * Sets the value of a char field, or of a wider numeric field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or value can't be converted to the field type.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setChar(Object target, char value);
+    
+    /**
+     * Sets the value of a short field, or of a wider numeric field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or value can't be converted to the field type.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setShort(Object target, short value);
+    
+    /**
+     * Sets the value of an int field, or of a wider numeric field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or value can't be converted to the field type.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setInt(Object target, int value);
+    
+    /**
+     * Sets the value of a long field, or of a wider numeric field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or value can't be converted to the field type.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setLong(Object target, long value);
+    
+    /**
+     * Sets the value of a float field, or of a double field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or value can't be converted to the field type.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setFloat(Object target, float value);
+    
+    /**
+     * Sets the value of a double field.
+     * 
+     * @param target Object to set the field on, null for static fields.
+     * @param value  The new value.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the field is not a double.
+     * @throws IllegalStateException if the field could not be accessed.
+     **/
+    public void setDouble(Object target, double value);
+}
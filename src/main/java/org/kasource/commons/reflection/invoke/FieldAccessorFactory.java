@@ -0,0 +1,56 @@
+package org.kasource.commons.reflection.invoke;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.kasource.commons.reflection.cache.ClassCache;
+
+/**
+ * Creates and caches field accessors.
+ * <p>
+ * Accessors are cached per field, keyed by the declaring class of the field, so repeated lookups
+ * for the same field returns the same accessor.
+ * <p>
+ * Example:
+ * {@code
+ * FieldAccessor accessor = FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("count"));
+ * accessor.setInt(myObject, accessor.getInt(myObject) + 1);
+ * }
+ * 
+ * @author rikardwi
+ **/
+public class FieldAccessorFactory {
+    private static final AccessorCache CACHE = new AccessorCache();
+    
+    private FieldAccessorFactory() {}
+    
+    /**
+     * Returns an accessor for field.
+     * 
+     * @param field The field to access.
+     * 
+     * @return Accessor for field.
+     **/
+    public static FieldAccessor getAccessor(Field field) {
+        Map<Field, FieldAccessor> accessors = CACHE.get(field.getDeclaringClass());
+        synchronized (accessors) {
+            FieldAccessor accessor = accessors.get(field);
+            if (accessor == null) {
+                accessor = new ReflectiveFieldAccessor(field);
+                accessors.put(field, accessor);
+            }
+            return accessor;
+        }
+    }
+    
+    /**
+     * Cache of accessors per declaring class.
+     **/
+    private static class AccessorCache extends ClassCache<Map<Field, FieldAccessor>> {
+        @Override
+        protected Map<Field, FieldAccessor> create(Class<?> clazz) {
+            return new HashMap<Field, FieldAccessor>();
+        }
+    }
+}
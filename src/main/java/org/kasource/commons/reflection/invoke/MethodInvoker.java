@@ -0,0 +1,83 @@
+package org.kasource.commons.reflection.invoke;
+
+import java.lang.reflect.Method;
+
+/**
+ * Reusable invoker of a single method.
+ * <p>
+ * Invokers are created once per method by the MethodInvokerFactory and then reused, the method
+ * is made accessible once when the invoker is created and is not looked up or access checked again.
+ * Fixed arity overloads are offered for the common cases of few arguments, note that the reflective
+ * implementation still passes the arguments to Method.invoke as an array.
+ * <p>
+ * Exceptions thrown by the invoked method are re-thrown unchanged if unchecked, checked 
+ * exceptions are wrapped in an IllegalStateException.
+ * <p>
+ * Invokers are thread safe.
+ * 
+ * @author rikardwi
+ *
+ * @param <T> The return type of the method, the wrapper type is used for primitive return types 
+ *            and Void for void methods.
+ **/
+public interface MethodInvoker<T> {
+    
+    /**
+     * Returns the method invoked.
+     * 
+     * @return the method invoked.
+     **/
+    public Method getMethod();
+    
+    /**
+     * Invokes a method without parameters.
+     * 
+     * @param target Object to invoke the method on, null for static methods.
+     * 
+     * @return The value returned by the method, null for void methods.
+     * 
+     * @throws IllegalArgumentException if target is not valid or the number of parameters does not match.
+     * @throws IllegalStateException if the method threw a checked exception or could not be accessed.
+     **/
+    public T invoke(Object target);
+    
+    /**
+     * Invokes a method with one parameter.
+     * 
+     * @param target Object to invoke the method on, null for static methods.
+     * @param arg    Argument.
+     * 
+     * @return The value returned by the method, null for void methods.
+     * 
+     * @throws IllegalArgumentException if target or arguments are not valid.
+     * @throws IllegalStateException if the method threw a checked exception or could not be accessed.
+     **/
+    public T invoke(Object target, Object arg);
+    
+    /**
+     * Invokes a method with two parameters.
+     * 
+     * @param target Object to invoke the method on, null for static methods.
+     * @param arg1   First argument.
+     * @param arg2   Second argument.
+     * 
+     * @return The value returned by the method, null for void methods.
+     * 
+     * @throws IllegalArgumentException if target or arguments are not valid.
+     * @throws IllegalStateException if the method threw a checked exception or could not be accessed.
+     **/
+    public T invoke(Object target, Object arg1, Object arg2);
+    
+    /**
+     * Invokes a method with any number of parameters.
+     * 
+     * @param target Object to invoke the method on, null for static methods.
+     * @param args   Arguments.
+     * 
+     * @return The value returned by the method, null for void methods.
+     * 
+     * @throws IllegalArgumentException if target or arguments are not valid.
+     * @throws IllegalStateException if the method threw a checked exception or could not be accessed.
+     **/
+    public T invokeWithArguments(Object target, Object... args);
+}
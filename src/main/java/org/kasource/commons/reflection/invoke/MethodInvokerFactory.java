@@ -0,0 +1,94 @@
+package org.kasource.commons.reflection.invoke;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.kasource.commons.reflection.cache.ClassCache;
+
+/**
+ * Creates and caches method invokers.
+ * <p>
+ * Invokers are cached per method, keyed by the declaring class of the method, so repeated lookups
+ * for the same method returns the same invoker. 
+ * <p>
+ * Example:
+ * {@code
+ * MethodInvoker<String> invoker = MethodInvokerFactory.getInvoker(MyClass.class.getMethod("getName"), String.class);
+ * String name = invoker.invoke(myObject);
+ * }
+ * 
+ * @author rikardwi
+ **/
+public class MethodInvokerFactory {
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<Class<?>, Class<?>>();
+    private static final InvokerCache CACHE = new InvokerCache();
+    
+    static {
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(void.class, Void.class);
+    }
+    
+    private MethodInvokerFactory() {}
+    
+    /**
+     * Returns an invoker for method.
+     * 
+     * @param method The method to invoke.
+     * 
+     * @return Invoker for method.
+     **/
+    public static MethodInvoker<Object> getInvoker(Method method) {
+        return getInvoker(method, Object.class);
+    }
+    
+    /**
+     * Returns an invoker for method, which returns values of returnType.
+     * 
+     * @param <T>        The return type.
+     * @param method     The method to invoke.
+     * @param returnType The return type of method or any of its super types. Wrapper types 
+     *                   are used for primitive return types and Void (or Object) for void methods.
+     * 
+     * @return Invoker for method.
+     * 
+     * @throws IllegalArgumentException if the return type of method is not assignable to returnType.
+     **/
+    @SuppressWarnings("unchecked")
+    public static <T> MethodInvoker<T> getInvoker(Method method, Class<T> returnType) {
+        Class<?> actualReturnType = method.getReturnType();
+        if (actualReturnType.isPrimitive()) {
+            actualReturnType = WRAPPERS.get(actualReturnType);
+        }
+        if (!returnType.isAssignableFrom(actualReturnType)) {
+            throw new IllegalArgumentException("Return type of " + method + " is not assignable to " + returnType);
+        }
+        Map<Method, MethodInvoker<?>> invokers = CACHE.get(method.getDeclaringClass());
+        synchronized (invokers) {
+            MethodInvoker<?> invoker = invokers.get(method);
+            if (invoker == null) {
+                invoker = new ReflectiveMethodInvoker<Object>(method);
+                invokers.put(method, invoker);
+            }
+            // Safe since the return type has been verified
+            return (MethodInvoker<T>) invoker;
+        }
+    }
+    
+    /**
+     * Cache of invokers per declaring class.
+     **/
+    private static class InvokerCache extends ClassCache<Map<Method, MethodInvoker<?>>> {
+        @Override
+        protected Map<Method, MethodInvoker<?>> create(Class<?> clazz) {
+            return new HashMap<Method, MethodInvoker<?>>();
+        }
+    }
+}
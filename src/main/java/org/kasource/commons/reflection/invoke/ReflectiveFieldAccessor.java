@@ -0,0 +1,224 @@
+package org.kasource.commons.reflection.invoke;
+
+import java.lang.reflect.Field;
+
+/**
+ * Field accessor based on the typed get and set methods of Field.
+ * <p>
+ * A private copy of the field is made accessible once on creation, which disables the access check 
+ * made by Field on each call. The field supplied is left unchanged, as it may be shared by other
+ * callers through the ClassMetadataCache. The typed methods of Field reads and writes primitive values without boxing.
+ * 
+ * @author rikardwi
+ **/
+class ReflectiveFieldAccessor implements FieldAccessor {
+    private final Field field;
+    private final Field accessibleField;
+    
+    /**
+     * Constructor.
+     * 
+     * @param field Field to access.
+     **/
+    ReflectiveFieldAccessor(Field field) {
+        this.field = field;
+        this.accessibleField = getAccessibleCopy(field);
+    }
+    
+    /**
+     * Returns an accessible copy of field or field itself if it could not be made accessible.
+     * 
+     * @param field Field to copy.
+     * 
+     * @return an accessible copy of field.
+     **/
+    private static Field getAccessibleCopy(Field field) {
+        try {
+            // Each call to getDeclaredField returns a new Field instance
+            Field copy = field.getDeclaringClass().getDeclaredField(field.getName());
+            copy.setAccessible(true);
+            return copy;
+        } catch (NoSuchFieldException e) {
+            // Can not happen, the field is declared by its declaring class
+        } catch (SecurityException e) {
+            // Access will be checked by each call instead
+        }
+        return field;
+    }
+
+    @Override
+    public Field getField() {
+        return field;
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return accessibleField.get(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            accessibleField.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object target) {
+        try {
+            return accessibleField.getBoolean(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public byte getByte(Object target) {
+        try {
+            return accessibleField.getByte(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public char getChar(Object target) {
+        try {
+            return accessibleField.getChar(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public short getShort(Object target) {
+        try {
+            return accessibleField.getShort(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object target) {
+        try {
+            return accessibleField.getInt(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object target) {
+        try {
+            return accessibleField.getLong(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public float getFloat(Object target) {
+        try {
+            return accessibleField.getFloat(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object target) {
+        try {
+            return accessibleField.getDouble(target);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object target, boolean value) {
+        try {
+            accessibleField.setBoolean(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setByte(Object target, byte value) {
+        try {
+            accessibleField.setByte(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setChar(Object target, char value) {
+        try {
+            accessibleField.setChar(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setShort(Object target, short value) {
+        try {
+            accessibleField.setShort(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+        try {
+            accessibleField.setInt(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+        try {
+            accessibleField.setLong(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setFloat(Object target, float value) {
+        try {
+            accessibleField.setFloat(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+        try {
+            accessibleField.setDouble(target, value);
+        } catch (IllegalAccessException e) {
+            throw accessFailed(e);
+        }
+    }
+
+    private IllegalStateException accessFailed(IllegalAccessException e) {
+        return new IllegalStateException("Could not access " + field, e);
+    }
+    
+    @Override
+    public String toString() {
+        return "FieldAccessor(" + field + ")";
+    }
+}
@@ -0,0 +1,103 @@
+package org.kasource.commons.reflection.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Method invoker based on Method.invoke.
+ * <p>
+ * A private copy of the method is made accessible once on creation, which disables the access check 
+ * made by Method.invoke on each call. The method supplied is left unchanged, as it may be shared by
+ * other callers through the ClassMetadataCache. The JVM replaces the native reflective accessor with generated byte code
+ * after a number of invocations, so steady-state calls run close to direct call speed.
+ * 
+ * @author rikardwi
+ *
+ * @param <T> Return type.
+ **/
+class ReflectiveMethodInvoker<T> implements MethodInvoker<T> {
+    private static final Object[] NO_ARGS = new Object[0];
+    
+    private final Method method;
+    private final Method accessibleMethod;
+    
+    /**
+     * Constructor.
+     * 
+     * @param method Method to invoke, its return type must be assignable to T.
+     **/
+    ReflectiveMethodInvoker(Method method) {
+        this.method = method;
+        this.accessibleMethod = getAccessibleCopy(method);
+    }
+    
+    /**
+     * Returns an accessible copy of method or method itself if it could not be made accessible.
+     * 
+     * @param method Method to copy.
+     * 
+     * @return an accessible copy of method.
+     **/
+    private static Method getAccessibleCopy(Method method) {
+        try {
+            // Each call to getDeclaredMethods returns new Method instances
+            for (Method copy : method.getDeclaringClass().getDeclaredMethods()) {
+                if (copy.equals(method)) {
+                    copy.setAccessible(true);
+                    return copy;
+                }
+            }
+        } catch (SecurityException e) {
+            // Access will be checked by each invocation instead
+        }
+        return method;
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public T invoke(Object target) {
+        return doInvoke(target, NO_ARGS);
+    }
+
+    @Override
+    public T invoke(Object target, Object arg) {
+        return doInvoke(target, new Object[] {arg});
+    }
+
+    @Override
+    public T invoke(Object target, Object arg1, Object arg2) {
+        return doInvoke(target, new Object[] {arg1, arg2});
+    }
+
+    @Override
+    public T invokeWithArguments(Object target, Object... args) {
+        return doInvoke(target, args == null ? NO_ARGS : args);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private T doInvoke(Object target, Object[] args) {
+        try {
+            return (T) accessibleMethod.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access " + method, e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Invocation of " + method + " failed", cause);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "MethodInvoker(" + method + ")";
+    }
+}
@@ -0,0 +1,157 @@
+package org.kasource.commons.reflection.profile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluation statistics of a node in a profiled filter tree.
+ * <p>
+ * Records the number of invocations, the number of invocations that passed and the
+ * cumulative evaluation time in nanoseconds, which includes the time spent in child nodes.
+ * <p>
+ * Instances are thread safe.
+ * 
+ * @author rikardwi
+ **/
+public class FilterProfile {
+    private final String description;
+    private final List<FilterProfile> children = new ArrayList<FilterProfile>();
+    private final AtomicLong invocations = new AtomicLong();
+    private final AtomicLong passes = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+    
+    /**
+     * Constructor.
+     * 
+     * @param description Description of the filter node.
+     **/
+    FilterProfile(String description) {
+        this.description = description;
+    }
+    
+    /**
+     * Returns the profile of the child node at index, creating it if the node has no child
+     * with the same description at that index.
+     * <p>
+     * Filters built the same way several times will therefore share profiles.
+     * 
+     * @param index         Index of the child node.
+     * @param description   Description of the child node.
+     * 
+     * @return the profile of the child node.
+     **/
+    public synchronized FilterProfile getChild(int index, String description) {
+        if (index < children.size()) {
+            FilterProfile child = children.get(index);
+            if (child.description.equals(description)) {
+                return child;
+            }
+            child = new FilterProfile(description);
+            children.set(index, child);
+            return child;
+        }
+        FilterProfile child = new FilterProfile(description);
+        children.add(child);
+        return child;
+    }
+    
+    /**
+     * Records an evaluation.
+     * 
+     * @param passed    true if the filter passed.
+     * @param time      The time spent evaluating, in nanoseconds.
+     **/
+    public void record(boolean passed, long time) {
+        invocations.incrementAndGet();
+        if (passed) {
+            passes.incrementAndGet();
+        }
+        nanos.addAndGet(time);
+    }
+    
+    /**
+     * Returns the description of the filter node.
+     * 
+     * @return the description of the filter node.
+     **/
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * Returns the profiles of the child nodes.
+     * 
+     * @return the profiles of the child nodes.
+     **/
+    public synchronized List<FilterProfile> getChildren() {
+        return Collections.unmodifiableList(new ArrayList<FilterProfile>(children));
+    }
+    
+    /**
+     * Returns the number of evaluations.
+     * 
+     * @return the number of evaluations.
+     **/
+    public long getInvocations() {
+        return invocations.get();
+    }
+    
+    /**
+     * Returns the number of evaluations that passed.
+     * 
+     * @return the number of evaluations that passed.
+     **/
+    public long getPasses() {
+        return passes.get();
+    }
+    
+    /**
+     * Returns the fraction of evaluations that passed, 0 if not evaluated.
+     * 
+     * @return the fraction of evaluations that passed.
+     **/
+    public double getPassRate() {
+        long count = invocations.get();
+        return count == 0 ? 0 : (double) passes.get() / count;
+    }
+    
+    /**
+     * Returns the cumulative evaluation time in nanoseconds, including child nodes.
+     * 
+     * @return the cumulative evaluation time in nanoseconds.
+     **/
+    public long getTotalNanos() {
+        return nanos.get();
+    }
+    
+    /**
+     * Resets the statistics of this node and its child nodes.
+     **/
+    public void reset() {
+        invocations.set(0);
+        passes.set(0);
+        nanos.set(0);
+        for (FilterProfile child : getChildren()) {
+            child.reset();
+        }
+    }
+    
+    /**
+     * Appends a report of this node and its child nodes to report.
+     * 
+     * @param report    Report to append to.
+     * @param indent    Indentation of this node.
+     **/
+    void appendReport(StringBuilder report, String indent) {
+        report.append(indent).append(description)
+              .append(" invocations=").append(getInvocations())
+              .append(" passRate=").append(String.format("%.3f", getPassRate()))
+              .append(" nanos=").append(getTotalNanos())
+              .append('\n');
+        for (FilterProfile child : getChildren()) {
+            child.appendReport(report, indent + "    ");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.kasource.commons.reflection.profile;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.kasource.commons.jmx.annotation.JmxBean;
+
+/**
+ * Registry of profiled filters.
+ * <p>
+ * Filters are profiled by invoking profile(name) on a filter builder, which instruments
+ * each node of the built filter tree. The statistics can be read from the FilterProfile of each
+ * filter, as a report or through JMX by registering the shared instance with the MBeanRegistrator.
+ * <p>
+ * Example:
+ * {@code
+ * MethodFilter filter = new MethodFilterBuilder().profile("listeners").isPublic().annotated(OnEvent.class).build();
+ * ...
+ * System.out.println(FilterProfiler.getInstance().getReport());
+ * mBeanRegistrator.register(FilterProfiler.getInstance());
+ * }
+ * <p>
+ * Profiling adds two System.nanoTime() calls to every node evaluated and should not be enabled in production
+ * for frequently evaluated filters.
+ * 
+ * @author rikardwi
+ **/
+@JmxBean(value = "org.kasource.commons:type=FilterProfiler", description = "Evaluation statistics of profiled filters")
+public class FilterProfiler implements FilterProfilerMBean {
+    private static final FilterProfiler INSTANCE = new FilterProfiler();
+    
+    private final Map<String, FilterProfile> profiles = new TreeMap<String, FilterProfile>();
+    
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static FilterProfiler getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Returns the root profile of the filter named name, creating it if no profile with the same 
+     * name and description exists.
+     * 
+     * @param name          Name of the filter.
+     * @param description   Description of the root node of the filter.
+     * 
+     * @return the root profile of the filter.
+     **/
+    public synchronized FilterProfile getProfile(String name, String description) {
+        FilterProfile profile = profiles.get(name);
+        if (profile == null || !profile.getDescription().equals(description)) {
+            profile = new FilterProfile(description);
+            profiles.put(name, profile);
+        }
+        return profile;
+    }
+    
+    /**
+     * Returns the root profile of the filter named name.
+     * 
+     * @param name Name of the filter.
+     * 
+     * @return the root profile of the filter or null if no filter is profiled by that name.
+     **/
+    public synchronized FilterProfile getProfile(String name) {
+        return profiles.get(name);
+    }
+    
+    @Override
+    public synchronized String[] getFilterNames() {
+        return profiles.keySet().toArray(new String[profiles.size()]);
+    }
+    
+    @Override
+    public synchronized String getReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, FilterProfile> entry : profiles.entrySet()) {
+            report.append(entry.getKey()).append(":\n");
+            entry.getValue().appendReport(report, "    ");
+        }
+        return report.toString();
+    }
+    
+    @Override
+    public synchronized void reset() {
+        for (FilterProfile profile : profiles.values()) {
+            profile.reset();
+        }
+    }
+    
+    /**
+     * Removes all profiles.
+     **/
+    public synchronized void clear() {
+        profiles.clear();
+    }
+}
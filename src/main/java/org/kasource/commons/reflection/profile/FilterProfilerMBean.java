@@ -0,0 +1,28 @@
+package org.kasource.commons.reflection.profile;
+
+/**
+ * Management interface of the FilterProfiler.
+ * 
+ * @author rikardwi
+ **/
+public interface FilterProfilerMBean {
+    
+    /**
+     * Returns the names of the profiled filters.
+     * 
+     * @return the names of the profiled filters.
+     **/
+    public String[] getFilterNames();
+    
+    /**
+     * Returns a report of all profiled filters.
+     * 
+     * @return a report of all profiled filters.
+     **/
+    public String getReport();
+    
+    /**
+     * Resets the statistics of all profiled filters.
+     **/
+    public void reset();
+}
@@ -0,0 +1,45 @@
+package org.kasource.commons.reflection.type;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Type;
+
+/**
+ * GenericArrayType created when resolving type variables.
+ * <p>
+ * Equality and hash code are compatible with the GenericArrayType implementation of the JDK.
+ *
+ * @author rikardwi
+ **/
+class GenericArrayTypeImpl implements GenericArrayType {
+    private final Type componentType;
+
+    GenericArrayTypeImpl(Type componentType) {
+        this.componentType = componentType;
+    }
+
+    @Override
+    public Type getGenericComponentType() {
+        return componentType;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GenericArrayType)) {
+            return false;
+        }
+        return componentType.equals(((GenericArrayType) obj).getGenericComponentType());
+    }
+
+    @Override
+    public int hashCode() {
+        return componentType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return GenericTypeResolver.getTypeName(componentType) + "[]";
+    }
+}
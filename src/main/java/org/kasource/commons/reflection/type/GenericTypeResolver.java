@@ -0,0 +1,187 @@
+package org.kasource.commons.reflection.type;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+import org.kasource.commons.reflection.cache.ClassCache;
+
+/**
+ * Resolves the generic types of methods, fields and constructors against a concrete class.
+ * <p>
+ * The generic types of a member declared by a super type can reference the type variables of 
+ * that super type, this resolver replaces them with the types the target class binds them to.
+ * The type variables of all super types are bound once per target class and cached, resolved
+ * member types are cached per member and target class.
+ * <p>
+ * Example: Resolving the generic return type of {@code T getValue()} declared by {@code Holder<T>}
+ * against {@code class StringHolder extends Holder<String>}:
+ * {@code
+ * Type type = GenericTypeResolver.getInstance().getReturnType(getValueMethod, StringHolder.class); // String.class
+ * }
+ *
+ * @author rikardwi
+ **/
+public class GenericTypeResolver {
+    private static final GenericTypeResolver INSTANCE = new GenericTypeResolver();
+
+    private final BindingsCache cache = new BindingsCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static GenericTypeResolver getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the type variable bindings of targetType.
+     *
+     * @param targetType Class to get bindings for.
+     *
+     * @return the type variable bindings of targetType.
+     **/
+    public TypeBindings getBindings(Class<?> targetType) {
+        return cache.get(targetType);
+    }
+
+    /**
+     * Returns type with the type variables bound by targetType replaced.
+     *
+     * @param type          Type to resolve.
+     * @param targetType    Class to resolve type against.
+     *
+     * @return the resolved type.
+     **/
+    public Type resolve(Type type, Class<?> targetType) {
+        return getBindings(targetType).resolve(type);
+    }
+
+    /**
+     * Returns the generic return type of method, resolved against targetType.
+     *
+     * @param method        Method declared by targetType or one of its super types.
+     * @param targetType    Class to resolve the return type against.
+     *
+     * @return the resolved generic return type.
+     **/
+    public Type getReturnType(Method method, Class<?> targetType) {
+        return getBindings(targetType).getReturnType(method);
+    }
+
+    /**
+     * Returns the generic parameter types of method, resolved against targetType.
+     *
+     * @param method        Method declared by targetType or one of its super types.
+     * @param targetType    Class to resolve the parameter types against.
+     *
+     * @return the resolved generic parameter types.
+     **/
+    public Type[] getParameterTypes(Method method, Class<?> targetType) {
+        return getBindings(targetType).getParameterTypes(method);
+    }
+
+    /**
+     * Returns the generic parameter types of constructor, resolved against targetType.
+     *
+     * @param constructor   Constructor declared by targetType or one of its super classes.
+     * @param targetType    Class to resolve the parameter types against.
+     *
+     * @return the resolved generic parameter types.
+     **/
+    public Type[] getParameterTypes(Constructor<?> constructor, Class<?> targetType) {
+        return getBindings(targetType).getParameterTypes(constructor);
+    }
+
+    /**
+     * Returns the generic type of field, resolved against targetType.
+     *
+     * @param field         Field declared by targetType or one of its super classes.
+     * @param targetType    Class to resolve the field type against.
+     *
+     * @return the resolved generic field type.
+     **/
+    public Type getType(Field field, Class<?> targetType) {
+        return getBindings(targetType).getType(field);
+    }
+
+    /**
+     * Returns a parameterized type, equal to the parameterized type the JDK returns for 
+     * the same raw type and type arguments.
+     *
+     * @param rawType       The generic class.
+     * @param typeArguments The type arguments.
+     *
+     * @return a parameterized type.
+     *
+     * @throws IllegalArgumentException if the number of type arguments does not match the 
+     * number of type parameters of rawType.
+     **/
+    public static ParameterizedType parameterizedType(Class<?> rawType, Type... typeArguments) 
+        throws IllegalArgumentException {
+        if (rawType.getTypeParameters().length != typeArguments.length) {
+            throw new IllegalArgumentException(rawType.getName() + " has " + rawType.getTypeParameters().length 
+                        + " type parameters, " + typeArguments.length + " type arguments supplied.");
+        }
+        return new ParameterizedTypeImpl(rawType.getDeclaringClass(), rawType, typeArguments.clone());
+    }
+
+    /**
+     * Returns the class type is erased to.
+     *
+     * @param type Type to erase.
+     *
+     * @return the class type is erased to.
+     **/
+    public static Class<?> getRawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof GenericArrayType) {
+            return Array.newInstance(getRawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        } else if (type instanceof TypeVariable) {
+            Type[] bounds = ((TypeVariable<?>) type).getBounds();
+            return bounds.length == 0 ? Object.class : getRawClass(bounds[0]);
+        } else if (type instanceof WildcardType) {
+            Type[] bounds = ((WildcardType) type).getUpperBounds();
+            return bounds.length == 0 ? Object.class : getRawClass(bounds[0]);
+        }
+        throw new IllegalArgumentException("Unknown type " + type);
+    }
+
+    /**
+     * Returns the name of type as written in source code, using fully qualified class names.
+     *
+     * @param type Type to name.
+     *
+     * @return the name of type.
+     **/
+    public static String getTypeName(Type type) {
+        if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+            return clazz.isArray() ? getTypeName(clazz.getComponentType()) + "[]" : clazz.getName();
+        } else if (type instanceof TypeVariable) {
+            return ((TypeVariable<?>) type).getName();
+        }
+        return type.toString();
+    }
+
+    /**
+     * Cache of type bindings per target class.
+     **/
+    private static class BindingsCache extends ClassCache<TypeBindings> {
+        @Override
+        protected TypeBindings create(Class<?> clazz) {
+            return new TypeBindings(clazz);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.kasource.commons.reflection.type;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * ParameterizedType created when resolving type variables.
+ * <p>
+ * Equality and hash code are compatible with the ParameterizedType implementation of the JDK.
+ *
+ * @author rikardwi
+ **/
+class ParameterizedTypeImpl implements ParameterizedType {
+    private final Type ownerType;
+    private final Class<?> rawType;
+    private final Type[] typeArguments;
+
+    ParameterizedTypeImpl(Type ownerType, Class<?> rawType, Type[] typeArguments) {
+        this.ownerType = ownerType;
+        this.rawType = rawType;
+        this.typeArguments = typeArguments;
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+        return typeArguments.clone();
+    }
+
+    @Override
+    public Type getRawType() {
+        return rawType;
+    }
+
+    @Override
+    public Type getOwnerType() {
+        return ownerType;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType other = (ParameterizedType) obj;
+        return rawType.equals(other.getRawType())
+                && (ownerType == null ? other.getOwnerType() == null : ownerType.equals(other.getOwnerType()))
+                && Arrays.equals(typeArguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(typeArguments) ^ (ownerType == null ? 0 : ownerType.hashCode()) ^ rawType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(GenericTypeResolver.getTypeName(rawType)).append('<');
+        for (int i = 0; i < typeArguments.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(GenericTypeResolver.getTypeName(typeArguments[i]));
+        }
+        return sb.append('>').toString();
+    }
+}
@@ -0,0 +1,182 @@
+package org.kasource.commons.reflection.type;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kasource.commons.collection.ClassIdMap;
+import org.kasource.commons.reflection.cache.ClassIdRegistry;
+
+/**
+ * All super types of a class, including the class itself, with their distance in the type hierarchy.
+ * <p>
+ * A type is in the set exactly when it is assignable from the class, as by Class.isAssignableFrom: 
+ * super classes, implemented and extended interfaces, Object for interfaces and arrays, and for arrays
+ * Cloneable, Serializable and the arrays of the super types of the component type. A primitive type
+ * is only a super type of itself.
+ * <p>
+ * The distance of a super type is the length of the shortest path from the class, the class itself
+ * has distance 0 and its direct super class and interfaces distance 1. Super types are ordered
+ * by distance, at equal distance interfaces before classes and then in declaration order.
+ * <p>
+ * The distances are also indexed by the ids of the super types in the ClassIdRegistry, letting
+ * the super types of two classes be compared by array access.
+ * <p>
+ * Note: Instances should be retrieved from TypeRelations.
+ *
+ * @author rikardwi
+ **/
+public class Supertypes {
+    private final Class<?> type;
+    private final Map<Class<?>, Integer> distances = new HashMap<Class<?>, Integer>();
+    private final Set<Class<?>> supertypes;
+    private final ClassIdMap<Integer> distancesById = new ClassIdMap<Integer>();
+    private final int[] supertypeIds;
+    private final int[] supertypeDistances;
+
+    /**
+     * Constructor.
+     *
+     * @param type      The class.
+     * @param relations Relations to retrieve the super types of the direct super types from.
+     **/
+    Supertypes(Class<?> type, TypeRelations relations) {
+        this.type = type;
+        final Map<Class<?>, Integer> found = new LinkedHashMap<Class<?>, Integer>();
+        found.put(type, 0);
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            if (!componentType.isPrimitive()) {
+                Supertypes componentSupertypes = relations.getSupertypes(componentType);
+                for (Class<?> supertype : componentSupertypes.getSupertypes()) {
+                    add(found, Array.newInstance(supertype, 0).getClass(), componentSupertypes.getDistance(supertype));
+                }
+            }
+            add(found, Cloneable.class, 1);
+            add(found, Serializable.class, 1);
+            add(found, Object.class, 1);
+        } else if (!type.isPrimitive()) {
+            for (Class<?> interfaceClass : type.getInterfaces()) {
+                addAll(found, relations.getSupertypes(interfaceClass));
+            }
+            if (type.getSuperclass() != null) {
+                addAll(found, relations.getSupertypes(type.getSuperclass()));
+            } else if (type.isInterface()) {
+                add(found, Object.class, 1);
+            }
+        }
+        List<Class<?>> ordered = new ArrayList<Class<?>>(found.keySet());
+        // Stable sort, keeps declaration order at equal distance
+        Collections.sort(ordered, new Comparator<Class<?>>() {
+            @Override
+            public int compare(Class<?> type1, Class<?> type2) {
+                int distance1 = found.get(type1);
+                int distance2 = found.get(type2);
+                if (distance1 != distance2) {
+                    return distance1 < distance2 ? -1 : 1;
+                }
+                return (type1.isInterface() ? 0 : 1) - (type2.isInterface() ? 0 : 1);
+            }
+        });
+        distances.putAll(found);
+        supertypes = Collections.unmodifiableSet(new LinkedHashSet<Class<?>>(ordered));
+        // The ids can not be reclaimed, the super types are strongly referenced
+        ClassIdRegistry registry = ClassIdRegistry.getInstance();
+        supertypeIds = new int[ordered.size()];
+        supertypeDistances = new int[ordered.size()];
+        for (int i = 0; i < supertypeIds.length; i++) {
+            Class<?> supertype = ordered.get(i);
+            supertypeIds[i] = registry.getId(supertype);
+            supertypeDistances[i] = found.get(supertype);
+            distancesById.put(supertype, supertypeDistances[i]);
+        }
+    }
+
+    private static void add(Map<Class<?>, Integer> found, Class<?> supertype, int distance) {
+        Integer existing = found.get(supertype);
+        if (existing == null || existing > distance) {
+            found.put(supertype, distance);
+        }
+    }
+
+    private static void addAll(Map<Class<?>, Integer> found, Supertypes direct) {
+        for (Class<?> supertype : direct.supertypes) {
+            add(found, supertype, direct.distances.get(supertype) + 1);
+        }
+    }
+
+    /**
+     * Returns the class.
+     *
+     * @return the class.
+     **/
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns true if supertype is a super type of the class or the class itself.
+     *
+     * @param supertype Type to test.
+     *
+     * @return true if supertype is assignable from the class.
+     **/
+    public boolean contains(Class<?> supertype) {
+        return distances.containsKey(supertype);
+    }
+
+    /**
+     * Returns the distance to supertype or -1 if supertype is not a super type of the class.
+     *
+     * @param supertype Super type.
+     *
+     * @return the distance to supertype or -1 if not a super type.
+     **/
+    public int getDistance(Class<?> supertype) {
+        Integer distance = distances.get(supertype);
+        return distance == null ? -1 : distance;
+    }
+
+    /**
+     * Returns the distance to the super type with id or -1 if it is not a super type of the class.
+     *
+     * @param id Id of the super type in the ClassIdRegistry.
+     *
+     * @return the distance to the super type with id or -1 if not a super type.
+     **/
+    public int getDistance(int id) {
+        Integer distance = distancesById.get(id);
+        return distance == null ? -1 : distance;
+    }
+
+    /**
+     * Returns the ids of the super types in the ClassIdRegistry, in the order of {@link #getSupertypes()}.
+     **/
+    int[] getSupertypeIds() {
+        return supertypeIds;
+    }
+
+    /**
+     * Returns the distances of the super types, in the order of {@link #getSupertypes()}.
+     **/
+    int[] getSupertypeDistances() {
+        return supertypeDistances;
+    }
+
+    /**
+     * Returns all super types, including the class itself, ordered by distance.
+     *
+     * @return all super types ordered by distance.
+     **/
+    public Set<Class<?>> getSupertypes() {
+        return supertypes;
+    }
+}
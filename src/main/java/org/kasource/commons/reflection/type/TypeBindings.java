@@ -0,0 +1,239 @@
+package org.kasource.commons.reflection.type;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The type variables of all super types of a target class bound to the types they 
+ * resolve to, as seen from the target class.
+ * <p>
+ * Example: given {@code class StringList extends ArrayList<String>} the type variable E of
+ * ArrayList, AbstractList, List and Collection are all bound to String.
+ * <p>
+ * Type variables not bound by the target class, such as the type variables of the 
+ * target class itself or of raw super types, resolves to themselves.
+ * <p>
+ * The resolved types of members are computed once and cached, arrays returned must not be modified.
+ * <p>
+ * Note: Instances should be retrieved from the GenericTypeResolver.
+ *
+ * @author rikardwi
+ **/
+public class TypeBindings {
+    private final Class<?> targetType;
+    private final Map<TypeVariable<?>, Type> bindings = new HashMap<TypeVariable<?>, Type>();
+    private final Map<Member, Type[]> members = new HashMap<Member, Type[]>();
+
+    /**
+     * Constructor.
+     *
+     * @param targetType Class to bind type variables for.
+     **/
+    TypeBindings(Class<?> targetType) {
+        this.targetType = targetType;
+        bind(targetType, new HashSet<Class<?>>());
+    }
+
+    private void bind(Class<?> clazz, Set<Class<?>> visited) {
+        if (!visited.add(clazz)) {
+            return;
+        }
+        if (clazz.getGenericSuperclass() != null) {
+            bindSuperType(clazz.getGenericSuperclass(), visited);
+        }
+        for (Type interfaceType : clazz.getGenericInterfaces()) {
+            bindSuperType(interfaceType, visited);
+        }
+    }
+
+    private void bindSuperType(Type superType, Set<Class<?>> visited) {
+        if (superType instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) superType;
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            TypeVariable<?>[] variables = rawType.getTypeParameters();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i < variables.length; i++) {
+                if (!bindings.containsKey(variables[i])) {
+                    bindings.put(variables[i], resolve(arguments[i]));
+                }
+            }
+            bind(rawType, visited);
+        } else if (superType instanceof Class) {
+            bind((Class<?>) superType, visited);
+        }
+    }
+
+    /**
+     * Returns the class type variables are bound for.
+     *
+     * @return the class type variables are bound for.
+     **/
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Returns the type bound to variable or null if the variable is not bound.
+     *
+     * @param variable Type variable to look up.
+     *
+     * @return the type bound to variable or null.
+     **/
+    public Type getBinding(TypeVariable<?> variable) {
+        return bindings.get(variable);
+    }
+
+    /**
+     * Returns type with all bound type variables replaced by the types they are bound to.
+     *
+     * @param type Type to resolve.
+     *
+     * @return The resolved type, type itself if no type variables was bound.
+     **/
+    public Type resolve(Type type) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            return bound == null ? type : bound;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = parameterizedType.getOwnerType();
+            Type resolvedOwner = ownerType == null ? null : resolve(ownerType);
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            Type[] resolvedArguments = resolve(arguments);
+            if (resolvedOwner == ownerType && resolvedArguments == arguments) {
+                return type;
+            }
+            return new ParameterizedTypeImpl(resolvedOwner, (Class<?>) parameterizedType.getRawType(), resolvedArguments);
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            Type resolvedComponent = resolve(componentType);
+            if (resolvedComponent == componentType) {
+                return type;
+            }
+            if (resolvedComponent instanceof Class) {
+                return Array.newInstance((Class<?>) resolvedComponent, 0).getClass();
+            }
+            return new GenericArrayTypeImpl(resolvedComponent);
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            Type[] resolvedUpper = resolve(upperBounds);
+            Type[] resolvedLower = resolve(lowerBounds);
+            if (resolvedUpper == upperBounds && resolvedLower == lowerBounds) {
+                return type;
+            }
+            return new WildcardTypeImpl(resolvedUpper, resolvedLower);
+        }
+        return type;
+    }
+
+    /**
+     * Resolves types, returning the same array if no type was changed.
+     **/
+    private Type[] resolve(Type[] types) {
+        Type[] resolved = types;
+        for (int i = 0; i < types.length; i++) {
+            Type type = resolve(types[i]);
+            if (type != types[i]) {
+                if (resolved == types) {
+                    resolved = types.clone();
+                }
+                resolved[i] = type;
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the resolved generic return type of method.
+     *
+     * @param method Method declared by the target class or one of its super types.
+     *
+     * @return the resolved generic return type of method.
+     **/
+    public Type getReturnType(Method method) {
+        return getMemberTypes(method)[0];
+    }
+
+    /**
+     * Returns the resolved generic parameter types of method.
+     *
+     * @param method Method declared by the target class or one of its super types.
+     *
+     * @return the resolved generic parameter types of method.
+     **/
+    public Type[] getParameterTypes(Method method) {
+        Type[] types = getMemberTypes(method);
+        Type[] parameterTypes = new Type[types.length - 1];
+        System.arraycopy(types, 1, parameterTypes, 0, parameterTypes.length);
+        return parameterTypes;
+    }
+
+    /**
+     * Returns the resolved generic parameter types of constructor.
+     *
+     * @param constructor Constructor declared by the target class or one of its super classes.
+     *
+     * @return the resolved generic parameter types of constructor.
+     **/
+    public Type[] getParameterTypes(Constructor<?> constructor) {
+        return getMemberTypes(constructor).clone();
+    }
+
+    /**
+     * Returns the resolved generic type of field.
+     *
+     * @param field Field declared by the target class or one of its super classes.
+     *
+     * @return the resolved generic type of field.
+     **/
+    public Type getType(Field field) {
+        return getMemberTypes(field)[0];
+    }
+
+    /**
+     * Returns the resolved types of a member: the return type followed by the parameter types
+     * of a method, the parameter types of a constructor or the type of a field.
+     **/
+    private Type[] getMemberTypes(Member member) {
+        synchronized (members) {
+            Type[] types = members.get(member);
+            if (types != null) {
+                return types;
+            }
+        }
+        Type[] types;
+        if (member instanceof Method) {
+            Method method = (Method) member;
+            Type[] parameterTypes = method.getGenericParameterTypes();
+            types = new Type[parameterTypes.length + 1];
+            types[0] = resolve(method.getGenericReturnType());
+            for (int i = 0; i < parameterTypes.length; i++) {
+                types[i + 1] = resolve(parameterTypes[i]);
+            }
+        } else if (member instanceof Constructor) {
+            types = resolve(((Constructor<?>) member).getGenericParameterTypes()).clone();
+        } else {
+            types = new Type[] {resolve(((Field) member).getGenericType())};
+        }
+        synchronized (members) {
+            members.put(member, types);
+        }
+        return types;
+    }
+}
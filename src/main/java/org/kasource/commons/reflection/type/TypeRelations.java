@@ -0,0 +1,121 @@
+package org.kasource.commons.reflection.type;
+
+import org.kasource.commons.reflection.cache.ClassCache;
+
+/**
+ * Answers sub type, distance and common super type queries from cached super type sets.
+ * <p>
+ * The super types of each class are computed once, reusing the cached super types of its
+ * direct super class and interfaces, after which a sub type test is a hash lookup.
+ * <p>
+ * Example:
+ * {@code
+ * boolean subtype = TypeRelations.getInstance().isSubtype(Integer.class, Number.class); // true
+ * }
+ *
+ * @author rikardwi
+ **/
+public class TypeRelations {
+    private static final TypeRelations INSTANCE = new TypeRelations();
+
+    private final SupertypeCache cache = new SupertypeCache();
+
+    /**
+     * Returns the shared instance.
+     *
+     * @return the shared instance.
+     **/
+    public static TypeRelations getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the super types of type.
+     *
+     * @param type Class to get super types for.
+     *
+     * @return the super types of type.
+     **/
+    public Supertypes getSupertypes(Class<?> type) {
+        return cache.get(type);
+    }
+
+    /**
+     * Returns true if subtype is supertype or a sub type of it, the equivalent of 
+     * supertype.isAssignableFrom(subtype).
+     *
+     * @param subtype   Type to test.
+     * @param supertype Super type.
+     *
+     * @return true if supertype is assignable from subtype.
+     **/
+    public boolean isSubtype(Class<?> subtype, Class<?> supertype) {
+        return subtype == supertype || cache.get(subtype).contains(supertype);
+    }
+
+    /**
+     * Returns the distance in the type hierarchy from subtype to supertype or -1 if 
+     * supertype is not a super type of subtype.
+     *
+     * @param subtype   Sub type.
+     * @param supertype Super type.
+     *
+     * @return the distance from subtype to supertype or -1 if not a super type.
+     **/
+    public int getDistance(Class<?> subtype, Class<?> supertype) {
+        return cache.get(subtype).getDistance(supertype);
+    }
+
+    /**
+     * Returns the nearest common super type of type1 and type2, the common super type with 
+     * the smallest total distance. Ties are resolved in favor of classes over interfaces, then by
+     * the super type order of type1.
+     *
+     * @param type1 First type.
+     * @param type2 Second type.
+     *
+     * @return the nearest common super type or null if the types have none, which only 
+     * happens for primitive types.
+     **/
+    public Class<?> getCommonSupertype(Class<?> type1, Class<?> type2) {
+        Supertypes supertypes1 = cache.get(type1);
+        Supertypes supertypes2 = cache.get(type2);
+        int[] ids = supertypes1.getSupertypeIds();
+        int[] distances = supertypes1.getSupertypeDistances();
+        Class<?> common = null;
+        int commonDistance = Integer.MAX_VALUE;
+        int index = 0;
+        for (Class<?> supertype : supertypes1.getSupertypes()) {
+            int distance1 = distances[index];
+            if (distance1 >= commonDistance) {
+                break;
+            }
+            // Array access by id instead of a hash lookup
+            int distance2 = supertypes2.getDistance(ids[index++]);
+            if (distance2 >= 0 && (distance1 + distance2 < commonDistance 
+                        || distance1 + distance2 == commonDistance && common.isInterface() && !supertype.isInterface())) {
+                common = supertype;
+                commonDistance = distance1 + distance2;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Removes all cached super types.
+     **/
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Computes the super types of a class.
+     **/
+    private class SupertypeCache extends ClassCache<Supertypes> {
+
+        @Override
+        protected Supertypes create(Class<?> clazz) {
+            return new Supertypes(clazz, TypeRelations.this);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.kasource.commons.reflection.type;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * WildcardType created when resolving type variables.
+ * <p>
+ * Equality and hash code are compatible with the WildcardType implementation of the JDK.
+ *
+ * @author rikardwi
+ **/
+class WildcardTypeImpl implements WildcardType {
+    private final Type[] upperBounds;
+    private final Type[] lowerBounds;
+
+    WildcardTypeImpl(Type[] upperBounds, Type[] lowerBounds) {
+        this.upperBounds = upperBounds;
+        this.lowerBounds = lowerBounds;
+    }
+
+    @Override
+    public Type[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    @Override
+    public Type[] getLowerBounds() {
+        return lowerBounds.clone();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof WildcardType)) {
+            return false;
+        }
+        WildcardType other = (WildcardType) obj;
+        return Arrays.equals(lowerBounds, other.getLowerBounds()) && Arrays.equals(upperBounds, other.getUpperBounds());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+    }
+
+    @Override
+    public String toString() {
+        if (lowerBounds.length > 0) {
+            return "? super " + GenericTypeResolver.getTypeName(lowerBounds[0]);
+        }
+        if (upperBounds.length == 0 || Object.class.equals(upperBounds[0])) {
+            return "?";
+        }
+        return "? extends " + GenericTypeResolver.getTypeName(upperBounds[0]);
+    }
+}
@@ -10,6 +10,8 @@ import java.util.Set;
 
 
 
+import org.kasource.commons.reflection.cache.ClassLoadingCache;
+import org.kasource.commons.reflection.type.TypeRelations;
 import org.scannotation.AnnotationDB;
 import org.scannotation.ClasspathUrlFinder;
 
@@ -43,14 +45,14 @@ public class AnnotationScanner {
         }     
         String[] scanPaths = scanPath.split(",");
         
-        String includeRegExp = buildIncludeRegExp(scanPaths);
+        NameMatcher includeMatcher = buildIncludeMatcher(scanPaths);
         Set<URL> urls = resolverUrls(scanPaths);
          
         Map<String, Set<String>> annotationIndex = scanForAnnotatedClasses(urls);
         Set<String> classNames = annotationIndex.get(annotationClass.getName());
         if (classNames != null) {
             for (String className : classNames) {
-                addClass(classes, includeRegExp, className, ofType, annotationClass);
+                addClass(classes, includeMatcher, className, ofType, annotationClass);
             }
         }
 
@@ -60,30 +62,30 @@ public class AnnotationScanner {
 
     
     /**
-     * Created and adds the event to the eventsFound set, if its package matches the includeRegExp.
+     * Created and adds the event to the eventsFound set, if its package matches the includeMatcher.
      * 
      * @param eventBuilderFactory      Event Factory used to create the EventConfig instance with.
      * @param eventsFound       Set of events found, to add the newly created EventConfig to.
-     * @param includeRegExp     Regular expression to test eventClassName with.
+     * @param includeMatcher    Matcher to test eventClassName with.
      * @param eventClassName    Name of the class.
      **/
     @SuppressWarnings("unchecked")
     private <T> void addClass(Set<Class<? extends T>> classes, 
-                         String includeRegExp,
+                         NameMatcher includeMatcher,
                          String className,
                          Class<T> ofType,
                          Class<? extends Annotation> annotationClass) {
-        if (className.matches(includeRegExp)) {
+        if (includeMatcher.matches(className)) {
         try {
-            Class<?> matchingClass = Class.forName(className);
-            matchingClass.asSubclass(ofType);
-           
+            Class<?> matchingClass = ClassLoadingCache.getInstance().forName(className, 
+                                                                            AnnotationScanner.class.getClassLoader());
+            if (!TypeRelations.getInstance().isSubtype(matchingClass, ofType)) {
+                throw new IllegalStateException("Class " + className
+                        + " is annoted with @"+annotationClass+" but does not extend or implement "+ofType);
+            }
             classes.add((Class<T>) matchingClass);
         } catch (ClassNotFoundException cnfe) {
             throw new IllegalStateException("Scannotation found a class that does not exist " + className + " !", cnfe);
-        } catch (ClassCastException cce) {
-            throw new IllegalStateException("Class " + className
-                    + " is annoted with @"+annotationClass+" but does not extend or implement "+ofType);
         }
         }
     }
@@ -109,21 +111,17 @@ public class AnnotationScanner {
     }
     
     /**
-     * Returns a regular expression of acceptable package names. 
+     * Returns a matcher of acceptable package names. 
      * 
      * @param scanPaths  Comma separated list of package names.
-     * @return a regular expression of acceptable package names. 
+     * @return a matcher of acceptable package names. 
      **/
-    private String buildIncludeRegExp(String[] scanPaths) {
-        String includeRegExp = "";
-        for (String path : scanPaths) {
-            includeRegExp += path.trim().replace("/", "\\.") + ".*|";
-        }
-        if (scanPaths.length > 0) {
-            // Remove last |
-            includeRegExp = includeRegExp.substring(0, includeRegExp.length() - 1);
+    private NameMatcher buildIncludeMatcher(String[] scanPaths) {
+        String[] includeRegExps = new String[scanPaths.length];
+        for (int i = 0; i < scanPaths.length; i++) {
+            includeRegExps[i] = scanPaths[i].trim().replace("/", "\\.") + ".*";
         }
-        return includeRegExp;
+        return NameMatcher.anyOf(includeRegExps);
     }
     
     /**
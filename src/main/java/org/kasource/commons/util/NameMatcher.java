@@ -0,0 +1,497 @@
+package org.kasource.commons.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Matches names, such as class, method and field names, against regular expressions
+ * without using the regular expression engine for the most common kinds of expressions.
+ * <p>
+ * The regular expression is analyzed once when the matcher is compiled and the cheapest
+ * strategy able to evaluate the expression is selected:
+ * <ul>
+ *  <li>Literal: <i>com\\.example\\.MyClass</i> is tested by String.equals.</li>
+ *  <li>Prefix: <i>com\\.example\\..*</i> is tested by String.startsWith.</li>
+ *  <li>Suffix: <i>.*MXBean</i> is tested by String.endsWith.</li>
+ *  <li>Character class prefix: <i>get[A-Z]\\w*</i> is tested by String.startsWith and a range check.</li>
+ * </ul>
+ * All other expressions are evaluated by a pre-compiled Pattern. The result of
+ * {@link #matches(String)} is always the same as String.matches(regExp) would return.
+ * <p>
+ * Several expressions can be combined into one matcher with {@link #anyOf(String...)}, the
+ * prefixes of the expressions are then merged into a trie so that a name is
+ * scanned only once no matter how many expressions are combined. Top-level
+ * alternations (a|b) in an expression are combined the same way.
+ * <p>
+ * Instances are immutable and thread safe.
+ * <p>
+ * Example:
+ * {@code
+ * NameMatcher getters = NameMatcher.anyOf("get[A-Z]\\w*", "is[A-Z]\\w*", "has[A-Z]\\w*");
+ * boolean isGetter = getters.matches(method.getName());
+ * }
+ *
+ * @author rikardwi
+ **/
+public abstract class NameMatcher {
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * Returns true if the name matches the expression(s) of this matcher.
+     *
+     * @param name Name to match.
+     *
+     * @return true if name matches, else false.
+     **/
+    public abstract boolean matches(String name);
+
+    /**
+     * Compiles and returns a matcher for the regular expression supplied.
+     *
+     * @param regExp Regular expression to match names with.
+     *
+     * @return Matcher for regExp.
+     *
+     * @throws java.util.regex.PatternSyntaxException if regExp is not a valid regular expression.
+     **/
+    public static NameMatcher compile(String regExp) {
+        List<String> alternatives = splitAlternatives(regExp);
+        if (alternatives.size() > 1) {
+            return anyOf(alternatives.toArray(new String[alternatives.size()]));
+        }
+        NameMatcher matcher = compileSimple(regExp);
+        return matcher == null ? new PatternMatcher(regExp) : matcher;
+    }
+
+    /**
+     * Compiles and returns a matcher for names matching any of the regular expressions
+     * supplied.
+     *
+     * @param regExps Regular expressions to match names with.
+     *
+     * @return Matcher for any of the regExps.
+     *
+     * @throws java.util.regex.PatternSyntaxException if any of the regExps is not a valid regular expression.
+     **/
+    public static NameMatcher anyOf(String... regExps) {
+        if (regExps.length == 1) {
+            return compile(regExps[0]);
+        }
+        AnyOfMatcher anyOf = new AnyOfMatcher();
+        for (String regExp : regExps) {
+            for (String alternative : splitAlternatives(regExp)) {
+                NameMatcher matcher = compileSimple(alternative);
+                anyOf.add(matcher == null ? new PatternMatcher(alternative) : matcher);
+            }
+        }
+        return anyOf;
+    }
+
+    /**
+     * Splits regExp into its top-level alternatives.
+     *
+     * @param regExp Regular expression to split.
+     *
+     * @return the top-level alternatives of regExp, or regExp alone if alternatives could not be safely determined.
+     **/
+    private static List<String> splitAlternatives(String regExp) {
+        List<String> alternatives = new ArrayList<String>();
+        // Quoted sections and embedded flags are left to the regular expression engine
+        if (regExp.contains("\\Q") || regExp.contains("(?")) {
+            alternatives.add(regExp);
+            return alternatives;
+        }
+        int groupDepth = 0;
+        int classDepth = 0;
+        int start = 0;
+        for (int i = 0; i < regExp.length(); i++) {
+            char c = regExp.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                classDepth++;
+                // A ] first in a class is a literal
+                if (i + 1 < regExp.length() && regExp.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regExp.length() && regExp.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']' && classDepth > 0) {
+                classDepth--;
+            } else if (classDepth == 0) {
+                if (c == '(') {
+                    groupDepth++;
+                } else if (c == ')') {
+                    groupDepth--;
+                } else if (c == '|' && groupDepth == 0) {
+                    alternatives.add(regExp.substring(start, i));
+                    start = i + 1;
+                }
+            }
+        }
+        alternatives.add(regExp.substring(start));
+        return alternatives;
+    }
+
+    /**
+     * Returns a matcher for regExp if a strategy cheaper than Pattern could be found
+     * else null.
+     *
+     * @param regExp Regular expression without top-level alternatives.
+     *
+     * @return matcher or null if regExp needs to be evaluated by Pattern.
+     **/
+    private static NameMatcher compileSimple(String regExp) {
+        if (regExp.startsWith(".*")) {
+            String suffix = parseLiteral(regExp, 2, regExp.length());
+            return suffix == null ? null : new SuffixMatcher(suffix);
+        }
+        int literalEnd = 0;
+        while (literalEnd < regExp.length() && !isMetaAt(regExp, literalEnd)) {
+            literalEnd += regExp.charAt(literalEnd) == '\\' ? 2 : 1;
+        }
+        String prefix = parseLiteral(regExp, 0, literalEnd);
+        if (prefix == null) {
+            return null;
+        }
+        int pos = literalEnd;
+        char[] ranges = null;
+        if (pos < regExp.length() && regExp.charAt(pos) == '[') {
+            int classEnd = regExp.indexOf(']', pos + 1);
+            if (classEnd < 0) {
+                return null;
+            }
+            ranges = parseCharClass(regExp.substring(pos + 1, classEnd));
+            if (ranges == null) {
+                return null;
+            }
+            pos = classEnd + 1;
+        }
+        Tail tail = Tail.parse(regExp.substring(pos));
+        if (tail == null) {
+            return null;
+        }
+        return new PrefixMatcher(prefix, ranges, tail);
+    }
+
+    /**
+     * Returns true if the character at index of regExp starts a regular expression construct, that is
+     * not a literal character.
+     **/
+    private static boolean isMetaAt(String regExp, int index) {
+        char c = regExp.charAt(index);
+        int next = index + 1;
+        if (c == '\\') {
+            // Escaped letters and digits are character classes or back references
+            if (next >= regExp.length() || Character.isLetterOrDigit(regExp.charAt(next))) {
+                return true;
+            }
+            next++;
+        } else if (META_CHARACTERS.indexOf(c) >= 0) {
+            return true;
+        }
+        // A quantifier applies to the last literal character, which is then not a literal
+        return next < regExp.length() && "?*+{".indexOf(regExp.charAt(next)) >= 0;
+    }
+
+    /**
+     * Returns the literal text of regExp between start and end, or null if
+     * the section contains a regular expression construct.
+     **/
+    private static String parseLiteral(String regExp, int start, int end) {
+        StringBuilder literal = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            if (isMetaAt(regExp, i)) {
+                return null;
+            }
+            char c = regExp.charAt(i);
+            if (c == '\\') {
+                c = regExp.charAt(++i);
+            }
+            literal.append(c);
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Parses a simple character class body, such as A-Za-z_, into pairs of inclusive ranges.
+     *
+     * @param body The character class without brackets.
+     *
+     * @return pairs of {from, to} characters or null if the class is not a simple class.
+     **/
+    private static char[] parseCharClass(String body) {
+        if (body.length() == 0 || body.charAt(0) == '^') {
+            return null;
+        }
+        StringBuilder ranges = new StringBuilder();
+        for (int i = 0; i < body.length(); i++) {
+            char from = body.charAt(i);
+            if (from == '\\' || from == '[' || from == '&') {
+                return null;
+            }
+            char to = from;
+            if (i + 2 < body.length() && body.charAt(i + 1) == '-') {
+                to = body.charAt(i + 2);
+                if (to == '\\' || to == '[' || to == '&' || to < from) {
+                    return null;
+                }
+                i += 2;
+            }
+            ranges.append(from).append(to);
+        }
+        return ranges.toString().toCharArray();
+    }
+
+    /**
+     * Returns true if c is a line terminator, which is not matched by the regular
+     * expression dot.
+     **/
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Returns true if c is matched by the regular expression \w.
+     **/
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * The supported expressions following a literal prefix.
+     **/
+    private enum Tail {
+        NONE(""), ANY_STAR(".*"), ANY_PLUS(".+"), WORD_STAR("\\w*"), WORD_PLUS("\\w+");
+
+        private final String regExp;
+
+        private Tail(String regExp) {
+            this.regExp = regExp;
+        }
+
+        static Tail parse(String regExp) {
+            for (Tail tail : values()) {
+                if (tail.regExp.equals(regExp)) {
+                    return tail;
+                }
+            }
+            return null;
+        }
+
+        boolean matches(String name, int offset) {
+            int length = name.length();
+            switch (this) {
+            case NONE:
+                return offset == length;
+            case ANY_PLUS:
+                return offset < length && !hasLineTerminator(name, offset);
+            case ANY_STAR:
+                return !hasLineTerminator(name, offset);
+            case WORD_PLUS:
+                return offset < length && isWord(name, offset);
+            default:
+                return isWord(name, offset);
+            }
+        }
+
+        private static boolean hasLineTerminator(String name, int offset) {
+            for (int i = offset; i < name.length(); i++) {
+                if (isLineTerminator(name.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isWord(String name, int offset) {
+            for (int i = offset; i < name.length(); i++) {
+                if (!isWordCharacter(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Matches a literal prefix, optionally followed by a single character class, followed by a tail.
+     * <p>
+     * Literal expressions are represented by an empty tail.
+     **/
+    private static class PrefixMatcher extends NameMatcher {
+        private final String prefix;
+        private final char[] ranges;
+        private final Tail tail;
+
+        PrefixMatcher(String prefix, char[] ranges, Tail tail) {
+            this.prefix = prefix;
+            this.ranges = ranges;
+            this.tail = tail;
+        }
+
+        @Override
+        public boolean matches(String name) {
+            if (ranges == null && tail == Tail.NONE) {
+                return name.equals(prefix);
+            }
+            return name.startsWith(prefix) && matchesFrom(name, prefix.length());
+        }
+
+        /**
+         * Matches the part of the expression after the prefix against name, starting at offset.
+         **/
+        boolean matchesFrom(String name, int offset) {
+            if (ranges != null) {
+                if (offset >= name.length() || !inRanges(name.charAt(offset))) {
+                    return false;
+                }
+                offset++;
+            }
+            return tail.matches(name, offset);
+        }
+
+        private boolean inRanges(char c) {
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (c >= ranges[i] && c <= ranges[i + 1]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Matches names ending with a literal suffix.
+     **/
+    private static class SuffixMatcher extends NameMatcher {
+        private final String suffix;
+
+        SuffixMatcher(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean matches(String name) {
+            if (!name.endsWith(suffix)) {
+                return false;
+            }
+            for (int i = name.length() - suffix.length() - 1; i >= 0; i--) {
+                if (isLineTerminator(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Matches names by a pre-compiled Pattern.
+     **/
+    private static class PatternMatcher extends NameMatcher {
+        private final Pattern pattern;
+
+        PatternMatcher(String regExp) {
+            this.pattern = Pattern.compile(regExp);
+        }
+
+        @Override
+        public boolean matches(String name) {
+            return pattern.matcher(name).matches();
+        }
+    }
+
+    /**
+     * Matches names against several matchers, prefix matchers are merged into a trie.
+     **/
+    private static class AnyOfMatcher extends NameMatcher {
+        private final TrieNode root = new TrieNode();
+        private final List<NameMatcher> others = new ArrayList<NameMatcher>();
+
+        void add(NameMatcher matcher) {
+            if (matcher instanceof PrefixMatcher) {
+                PrefixMatcher prefixMatcher = (PrefixMatcher) matcher;
+                root.getOrCreate(prefixMatcher.prefix, 0).addMatcher(prefixMatcher);
+            } else {
+                others.add(matcher);
+            }
+        }
+
+        @Override
+        public boolean matches(String name) {
+            TrieNode node = root;
+            int offset = 0;
+            while (node != null) {
+                if (node.matches(name, offset)) {
+                    return true;
+                }
+                if (offset == name.length()) {
+                    break;
+                }
+                node = node.getChild(name.charAt(offset++));
+            }
+            for (NameMatcher matcher : others) {
+                if (matcher.matches(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Node in a prefix trie, holding the matchers which prefix ends at the node.
+     **/
+    private static class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private PrefixMatcher[] matchers = new PrefixMatcher[0];
+
+        TrieNode getChild(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        TrieNode getOrCreate(String prefix, int index) {
+            if (index == prefix.length()) {
+                return this;
+            }
+            char c = prefix.charAt(index);
+            TrieNode child = getChild(c);
+            if (child == null) {
+                child = new TrieNode();
+                char[] newKeys = new char[keys.length + 1];
+                TrieNode[] newChildren = new TrieNode[children.length + 1];
+                System.arraycopy(keys, 0, newKeys, 0, keys.length);
+                System.arraycopy(children, 0, newChildren, 0, children.length);
+                newKeys[keys.length] = c;
+                newChildren[children.length] = child;
+                keys = newKeys;
+                children = newChildren;
+            }
+            return child.getOrCreate(prefix, index + 1);
+        }
+
+        void addMatcher(PrefixMatcher matcher) {
+            PrefixMatcher[] newMatchers = new PrefixMatcher[matchers.length + 1];
+            System.arraycopy(matchers, 0, newMatchers, 0, matchers.length);
+            newMatchers[matchers.length] = matcher;
+            matchers = newMatchers;
+        }
+
+        boolean matches(String name, int offset) {
+            for (PrefixMatcher matcher : matchers) {
+                if (matcher.matchesFrom(name, offset)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -3,9 +3,13 @@ package org.kasource.commons.util.reflection;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.kasource.commons.reflection.cache.ClassLoadingCache;
 
 /**
  * Class loading Utilities.
+ * <p>
+ * Classes are loaded through the shared ClassLoadingCache, so each class name is only resolved
+ * once per class loader.
  * 
  * @author rikardwi
  **/
@@ -50,15 +54,41 @@ public class ClassUtils {
      * @param <T> Type of the class
      * @param className Name of the class to load
      * @param superClass Type of the class to load
+     * <p>
+     * Classes are loaded through the shared ClassLoadingCache, a name that could not be found is 
+     * remembered for a limited time and fails again without asking the class loader until then. 
+     * Use ClassLoadingCache.getInstance().clear(classLoader) after defining new classes.
+     * 
      * @return The loaded class of type superClass.
      * 
      * @throws IllegalArgumentException if the class with className could not be loaded or
      * if the that class does not extend the class supplied in the superClass parameter.
      **/
-    @SuppressWarnings("unchecked")
     public static <T> Class<? extends T>  loadClass(String className, Class<T> ofType) {
+        return loadClass(className, ofType, ClassUtils.class.getClassLoader());
+    }
+    
+    /**
+     * Loads and returns the class named className of type superClass using the supplied class loader.
+     * 
+     * @param <T> Type of the class
+     * @param className Name of the class to load
+     * @param superClass Type of the class to load
+     * @param classLoader Class loader to load the class with.
+     * <p>
+     * Classes are loaded through the shared ClassLoadingCache, a name that could not be found is 
+     * remembered for a limited time and fails again without asking the class loader until then. 
+     * Use ClassLoadingCache.getInstance().clear(classLoader) after defining new classes.
+     * 
+     * @return The loaded class of type superClass.
+     * 
+     * @throws IllegalArgumentException if the class with className could not be loaded or
+     * if the that class does not extend the class supplied in the superClass parameter.
+     **/
+    @SuppressWarnings("unchecked")
+    public static <T> Class<? extends T>  loadClass(String className, Class<T> ofType, ClassLoader classLoader) {
         try {
-            Class<?> clazz = Class.forName(className);
+            Class<?> clazz = ClassLoadingCache.getInstance().forName(className, classLoader);
          
             if(ofType == null || ! ofType.isAssignableFrom(clazz)) {
                 throw new IllegalArgumentException("Class " + className + " must extend or implement " + ofType + "!");
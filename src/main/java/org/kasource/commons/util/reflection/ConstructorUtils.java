@@ -1,13 +1,25 @@
 package org.kasource.commons.util.reflection;
 
-import java.lang.reflect.Constructor;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.kasource.commons.reflection.cache.ClassLoadingCache;
 
 /**
  * Utility class for creating object instances using Reflection Based Construction.
+ * <p>
+ * Instance factories are cached per class loader, class name and constructor parameters
+ * so that classes and constructors are only resolved once.
  * 
  * @author rikardwi
  **/
 public class ConstructorUtils {
+    // Factories references their class loader, so a loader is only collected once its soft value is cleared
+    private static final Map<ClassLoader, SoftReference<Map<FactoryKey, InstanceFactory<?>>>> FACTORY_CACHE = 
+                new WeakHashMap<ClassLoader, SoftReference<Map<FactoryKey, InstanceFactory<?>>>>();
     
     /**
      * Creates and returns a new instance of class with name className, loading the class and using the default constructor.
@@ -17,8 +29,8 @@ public class ConstructorUtils {
      * @param ofType
      * @return a new instance of class loaded from className.
      * 
-     * @throws IllegalStateException if className could not be loaded or if that class does not have a default constructor
-     * or if the loaded class is not of the supplied type (ofType).
+     * @throws IllegalStateException if className could not be loaded or if that class does not have a default constructor.
+     * @throws ClassCastException if the loaded class is not of the supplied type (ofType).
      */
     public static <T> T getInstance(String className, Class<T> ofType) throws IllegalStateException {
         return getInstance(className, ofType, new Class<?>[]{}, new Object[]{});
@@ -34,26 +46,121 @@ public class ConstructorUtils {
      * @return A new instance of class with name className casted to the ofType class.
      *
      * @throws IllegalStateException if className could not be loaded or if that class does not have a matching constructor
-     * to the constructorParam or if the loaded class is not of the supplied type (ofType).
+     * to the constructorParam.
+     * @throws ClassCastException if the loaded class is not of the supplied type (ofType).
      **/
-    @SuppressWarnings("unchecked")
     public static <T> T getInstance(String className, Class<T> ofType, Class<?>[] constructorParams, Object[] constructorArgs) {
-        Constructor<?> constructor = null;
+        return getFactory(className, ofType, constructorParams).newInstance(constructorArgs);
+    }
+    
+    /**
+     * Returns a factory creating instances of <i>className</i> using the constructor matching constructorParams.
+     * The class is loaded by the class loader of this class.
+     * 
+     * @param className         Name of the class to create instances of.
+     * @param ofType            An super class or interface of the className class.
+     * @param constructorParams Parameter types of the constructor to use.
+     * 
+     * @return A cached factory creating instances of className.
+     * 
+     * @throws IllegalStateException if className could not be loaded or if that class does not have a matching constructor.
+     * @throws ClassCastException if the loaded class is not of the supplied type (ofType).
+     **/
+    public static <T> InstanceFactory<T> getFactory(String className, Class<T> ofType, Class<?>... constructorParams) {
+        return getFactory(className, ofType, ConstructorUtils.class.getClassLoader(), constructorParams);
+    }
+    
+    /**
+     * Returns a factory creating instances of <i>className</i> using the constructor matching constructorParams.
+     * 
+     * @param className         Name of the class to create instances of.
+     * @param ofType            An super class or interface of the className class.
+     * @param classLoader       Class loader to load className with.
+     * @param constructorParams Parameter types of the constructor to use.
+     * 
+     * @return A cached factory creating instances of className.
+     * 
+     * @throws IllegalStateException if className could not be loaded or if that class does not have a matching constructor.
+     * @throws ClassCastException if the loaded class is not of the supplied type (ofType).
+     **/
+    @SuppressWarnings("unchecked")
+    public static <T> InstanceFactory<T> getFactory(String className, Class<T> ofType, ClassLoader classLoader, 
+                                                    Class<?>... constructorParams) {
+        FactoryKey key = new FactoryKey(className, constructorParams);
+        Map<FactoryKey, InstanceFactory<?>> factories;
+        InstanceFactory<?> factory;
+        synchronized (FACTORY_CACHE) {
+            SoftReference<Map<FactoryKey, InstanceFactory<?>>> reference = FACTORY_CACHE.get(classLoader);
+            factories = reference == null ? null : reference.get();
+            if (factories == null) {
+                factories = new HashMap<FactoryKey, InstanceFactory<?>>();
+                FACTORY_CACHE.put(classLoader, new SoftReference<Map<FactoryKey, InstanceFactory<?>>>(factories));
+            }
+            factory = factories.get(key);
+        }
+        if (factory == null) {
+            factory = createFactory(className, classLoader, constructorParams);
+            synchronized (FACTORY_CACHE) {
+                factories.put(key, factory);
+            }
+        }
+        Class<?> clazz = factory.getConstructor().getDeclaringClass();
+        if (!ofType.isAssignableFrom(clazz)) {
+            throw new ClassCastException(clazz.getName() + " is not of type " + ofType.getName());
+        }
+        // Safe since the type has been verified
+        return (InstanceFactory<T>) factory;
+    }
+    
+    private static InstanceFactory<?> createFactory(String className, ClassLoader classLoader, Class<?>[] constructorParams) {
+        Class<?> clazz;
+        try {
+            clazz = ClassLoadingCache.getInstance().forName(className, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Could not instanceiate " + className + ". Class not found.", e);
+        }
         try {
-            Class<?> clazz = Class.forName(className);
-            constructor = clazz.getConstructor(constructorParams);
-            return (T) constructor.newInstance(constructorArgs);
-        } catch (Exception e) {       
-                String errorMessage = "Could not instanceiate " + className+".";
-                if(constructor == null) {
-                    errorMessage += " No constructor found with parameters "+constructorParams;
-                } else if(constructorParams.length == 0) {
-                    errorMessage += " Using default constructor.";
-                } else {
-                    errorMessage += " " + constructor;
-                }
-                throw new IllegalStateException(errorMessage, e);          
-        } 
+            return new InstanceFactory<Object>(clazz.getConstructor(constructorParams));
+        } catch (NoSuchMethodException e) {
+            String errorMessage = "Could not instanceiate " + className + ".";
+            if (constructorParams.length == 0) {
+                errorMessage += " No default constructor found.";
+            } else {
+                errorMessage += " No constructor found with parameters " + Arrays.toString(constructorParams);
+            }
+            throw new IllegalStateException(errorMessage, e);
+        } catch (SecurityException e) {
+            throw new IllegalStateException("Could not instanceiate " + className + ". Access to constructor denied.", e);
+        }
     }
     
+    /**
+     * Key of a cached factory.
+     **/
+    private static class FactoryKey {
+        private final String className;
+        private final Class<?>[] constructorParams;
+        
+        FactoryKey(String className, Class<?>[] constructorParams) {
+            this.className = className;
+            this.constructorParams = constructorParams.clone();
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FactoryKey)) {
+                return false;
+            }
+            FactoryKey other = (FactoryKey) obj;
+            return className.equals(other.className) && Arrays.equals(constructorParams, other.constructorParams);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * className.hashCode() + Arrays.hashCode(constructorParams);
+        }
+    }
 }
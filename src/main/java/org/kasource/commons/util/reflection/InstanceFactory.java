@@ -0,0 +1,90 @@
+package org.kasource.commons.util.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+/**
+ * Creates instances of a class using a constructor resolved once.
+ * <p>
+ * The class is loaded and the constructor looked up and made accessible when the factory is created,
+ * each call to newInstance only invokes the constructor. Factories are obtained from
+ * {@link ConstructorUtils#getFactory(String, Class, Class...)} which caches them.
+ * <p>
+ * Example:
+ * {@code
+ * InstanceFactory<Handler> factory = ConstructorUtils.getFactory(handlerClassName, Handler.class);
+ * Handler handler = factory.newInstance();
+ * }
+ * <p>
+ * Factories are thread safe.
+ * 
+ * @author rikardwi
+ *
+ * @param <T> Type of instances created.
+ **/
+public class InstanceFactory<T> {
+    private static final Object[] NO_ARGS = new Object[0];
+    
+    private final Constructor<? extends T> constructor;
+    
+    /**
+     * Constructor.
+     * 
+     * @param constructor Constructor to create instances with.
+     **/
+    InstanceFactory(Constructor<? extends T> constructor) {
+        this.constructor = constructor;
+        try {
+            constructor.setAccessible(true);
+        } catch (SecurityException e) {
+            // Access will be checked by each invocation instead
+        }
+    }
+    
+    /**
+     * Returns the constructor used.
+     * 
+     * @return the constructor used.
+     **/
+    public Constructor<? extends T> getConstructor() {
+        return constructor;
+    }
+    
+    /**
+     * Creates and returns a new instance using the default constructor.
+     * 
+     * @return a new instance.
+     * 
+     * @throws IllegalStateException if the instance could not be created.
+     **/
+    public T newInstance() {
+        return newInstance(NO_ARGS);
+    }
+    
+    /**
+     * Creates and returns a new instance.
+     * 
+     * @param constructorArgs Constructor arguments.
+     * 
+     * @return a new instance.
+     * 
+     * @throws IllegalStateException if the instance could not be created.
+     **/
+    public T newInstance(Object... constructorArgs) {
+        try {
+            return constructor.newInstance(constructorArgs == null ? NO_ARGS : constructorArgs);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Could not instanceiate " + constructor.getDeclaringClass().getName() 
+                        + ". " + constructor, e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not instanceiate " + constructor.getDeclaringClass().getName() 
+                        + ". " + constructor + " with arguments " + Arrays.toString(constructorArgs), e);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "InstanceFactory(" + constructor + ")";
+    }
+}
@@ -0,0 +1,63 @@
+package org.kasource.commons.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.cache.ClassIdRegistry;
+
+public class ClassIdMapTest {
+
+    private ClassIdRegistry registry = new ClassIdRegistry();
+
+    @Test
+    public void putGetRemove() {
+        ClassIdMap<String> map = new ClassIdMap<String>(registry);
+        assertNull(map.put(String.class, "string"));
+        assertEquals("string", map.put(String.class, "text"));
+        assertEquals("text", map.get(String.class));
+        assertEquals("text", map.get(registry.getId(String.class)));
+        assertNull(map.get(Integer.class));
+        assertTrue(map.containsKey(String.class));
+        assertEquals(1, map.size());
+        assertEquals("text", map.remove(String.class));
+        assertNull(map.remove(String.class));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullValue() {
+        new ClassIdMap<String>(registry).put(String.class, null);
+    }
+
+    @Test
+    public void reclaimedIdHasNoValue() throws Exception {
+        ClassIdMap<String> map = new ClassIdMap<String>(registry);
+        map.put(String.class, "string");
+        int id = putUnloadable(map);
+        for (int i = 0; i < 50 && registry.getClassLoaderCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(id, registry.getId(Integer.class));
+        assertNull(map.get(Integer.class));
+        assertFalse(map.containsKey(Integer.class));
+        assertEquals(1, map.size());
+    }
+
+    private int putUnloadable(ClassIdMap<String> map) throws Exception {
+        URL classes = Unloadable.class.getProtectionDomain().getCodeSource().getLocation();
+        Class<?> clazz = new URLClassLoader(new URL[] {classes}, null).loadClass(Unloadable.class.getName());
+        map.put(clazz, "unloadable");
+        assertEquals("unloadable", map.get(clazz));
+        return registry.findId(clazz);
+    }
+
+    public static class Unloadable {
+    }
+}
@@ -0,0 +1,76 @@
+package org.kasource.commons.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.cache.ClassIdRegistry;
+
+public class ClassIdSetTest {
+
+    private ClassIdRegistry registry = new ClassIdRegistry();
+
+    @Test
+    public void addContainsRemove() {
+        ClassIdSet set = new ClassIdSet(registry);
+        assertTrue(set.add(String.class));
+        assertFalse(set.add(String.class));
+        assertTrue(set.contains(String.class));
+        assertTrue(set.contains(registry.getId(String.class)));
+        assertFalse(set.contains(Integer.class));
+        assertTrue(set.remove(String.class));
+        assertFalse(set.remove(String.class));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void setOperations() {
+        ClassIdSet numbers = new ClassIdSet(registry);
+        numbers.add(Integer.class);
+        numbers.add(Long.class);
+        ClassIdSet integers = new ClassIdSet(registry);
+        integers.add(Integer.class);
+        assertTrue(numbers.containsAll(integers));
+        assertFalse(integers.containsAll(numbers));
+        assertTrue(integers.intersects(numbers));
+        integers.addAll(numbers);
+        assertEquals(2, integers.size());
+        assertEquals(2, numbers.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void otherRegistry() {
+        new ClassIdSet(registry).addAll(new ClassIdSet(new ClassIdRegistry()));
+    }
+
+    @Test
+    public void reclaimedIdNotContained() throws Exception {
+        ClassIdSet set = new ClassIdSet(registry);
+        set.add(String.class);
+        int id = addUnloadable(set);
+        for (int i = 0; i < 50 && registry.getClassLoaderCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(id, registry.getId(Integer.class));
+        assertFalse(set.contains(Integer.class));
+        assertEquals(1, set.size());
+        assertTrue(set.add(Integer.class));
+        assertTrue(set.contains(id));
+    }
+
+    private int addUnloadable(ClassIdSet set) throws Exception {
+        URL classes = Unloadable.class.getProtectionDomain().getCodeSource().getLocation();
+        Class<?> clazz = new URLClassLoader(new URL[] {classes}, null).loadClass(Unloadable.class.getName());
+        set.add(clazz);
+        assertTrue(set.contains(clazz));
+        return registry.findId(clazz);
+    }
+
+    public static class Unloadable {
+    }
+}
@@ -1,9 +1,13 @@
 package org.kasource.commons.collection;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import javax.management.AttributeList;
 
@@ -43,4 +47,72 @@ public class ClassMapTest {
         ClassMap<String> classMap = new ClassMap<String>(map);
         assertEquals("List", classMap.get(AttributeList.class));       
     }
+    
+    @Test
+    public void getSuperInterfaceNotResolved() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(Iterable.class, "Iterable");
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertEquals("Object", classMap.get(AttributeList.class));       
+    }
+    
+    @Test
+    public void getInterfacesBeforeSuperClass() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(Collection.class, "Collection");
+        map.put(AbstractCollection.class, "AbstractCollection");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertEquals("AbstractCollection", classMap.get(ArrayList.class));
+        map.put(RandomAccess.class, "RandomAccess");
+        assertEquals("RandomAccess", classMap.get(ArrayList.class));
+    }
+    
+    @Test
+    public void getArrayResolvesObject() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(Object[].class, "Object[]");
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertEquals("Object", classMap.get(String[].class));       
+    }
+    
+    @Test
+    public void getExcludeInterfaces() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(List.class, "List");
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertEquals("List", classMap.get(AttributeList.class));
+        classMap.setExcludeInterfaces(true);
+        assertEquals("Object", classMap.get(AttributeList.class));       
+    }
+    
+    @Test
+    public void getInterfaceExcludeInterfaces() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(List.class, "List");
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        classMap.setExcludeInterfaces(true);
+        assertEquals("List", classMap.get(List.class));       
+    }
+    
+    @Test
+    public void getInterfaceNotObject() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertNull(classMap.get(Runnable.class));       
+    }
+    
+    @Test
+    public void getAfterMapModified() {
+        Map<Class<?>, String> map = new HashMap<Class<?>, String>();
+        map.put(Object.class, "Object");
+        ClassMap<String> classMap = new ClassMap<String>(map);
+        assertEquals("Object", classMap.get(Integer.class));
+        map.put(Integer.class, "Integer");
+        assertEquals("Integer", classMap.get(Integer.class));       
+    }
 }
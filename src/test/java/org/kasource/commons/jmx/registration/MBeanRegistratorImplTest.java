@@ -0,0 +1,52 @@
+package org.kasource.commons.jmx.registration;
+
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.Notification;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.kasource.commons.jmx.annotation.JmxBean;
+import org.kasource.commons.jmx.annotation.OnJmxNotification;
+
+public class MBeanRegistratorImplTest {
+    
+    @Test
+    public void registerListenerDeclaredByInterface() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MyListenerBean.NAME);
+        MBeanRegistratorImpl registrator = new MBeanRegistratorImpl();
+        registrator.initialize();
+        try {
+            MyListenerBean bean = new MyListenerBean();
+            registrator.register(bean);
+            assertTrue(mBeanServer.isRegistered(name));
+            // The delegate notifies the listener when an MBean is unregistered
+            mBeanServer.unregisterMBean(name);
+            assertTrue(bean.notified);
+        } finally {
+            if (mBeanServer.isRegistered(name)) {
+                mBeanServer.unregisterMBean(name);
+            }
+        }
+    }
+    
+    public interface MyListener {
+        @OnJmxNotification("JMImplementation:type=MBeanServerDelegate")
+        void onNote(Notification notification, Object handback);
+    }
+    
+    @JmxBean(MyListenerBean.NAME)
+    public static class MyListenerBean implements MyListener {
+        static final String NAME = "org.kasource.commons.jmx.registration:type=MyListenerBean";
+        private volatile boolean notified;
+        
+        @Override
+        public void onNote(Notification notification, Object handback) {
+            notified = true;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.kasource.commons.reflection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.ClassFilterBuilder;
+import org.kasource.commons.reflection.filter.MethodFilterBuilder;
+import org.kasource.commons.reflection.filter.classes.ClassFilter;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+
+public class BulkIntrospectorTest {
+
+    private static final List<Class<?>> CLASSES = Arrays.<Class<?>>asList(String.class, Integer.class, ArrayList.class, 
+                                                                          Runnable.class, Thread.class, Map.class);
+    
+    @Test
+    public void getMethodsSmallCollection() throws SecurityException, NoSuchMethodException {
+        MethodFilter filter = new MethodFilterBuilder().name("size").build();
+        Map<Class<?>, Set<Method>> methods = new BulkIntrospector(CLASSES).getMethods(filter);
+        assertEquals(CLASSES, new ArrayList<Class<?>>(methods.keySet()));
+        assertTrue(methods.get(String.class).isEmpty());
+        assertEquals(ArrayList.class.getMethod("size"), methods.get(ArrayList.class).iterator().next());
+    }
+    
+    @Test
+    public void getMethodsParallel() {
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (int i = 0; i < 50; i++) {
+            classes.addAll(CLASSES);
+        }
+        classes.addAll(Arrays.<Class<?>>asList(Object.class, Number.class, Long.class));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            MethodFilter filter = new MethodFilterBuilder().name("size").build();
+            Map<Class<?>, Set<Method>> methods = new BulkIntrospector(classes, executor).getMethods(filter, HierarchyScope.TYPE_HIERARCHY);
+            assertEquals(CLASSES.size() + 3, methods.size());
+            assertEquals(1, methods.get(Map.class).size());
+            assertEquals(Long.class, new ArrayList<Class<?>>(methods.keySet()).get(methods.size() - 1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void getClasses() {
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (int i = 0; i < 100; i++) {
+            classes.addAll(CLASSES);
+        }
+        Set<Class<?>> interfaces = new BulkIntrospector(classes).getClasses(new ClassFilterBuilder().isInterface().build());
+        assertEquals(Arrays.<Class<?>>asList(Runnable.class, Map.class), new ArrayList<Class<?>>(interfaces));
+    }
+
+    @Test(timeout = 10000)
+    public void nestedUseOfSharedPool() {
+        final List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (int i = 0; i < 1000; i++) {
+            classes.addAll(CLASSES);
+        }
+        final Set<ClassLoader> contextClassLoaders = Collections.synchronizedSet(new HashSet<ClassLoader>());
+        Set<Class<?>> interfaces = new BulkIntrospector(classes).getClasses(new ClassFilter() {
+            @Override
+            public boolean passFilter(Class<?> clazz) {
+                if (Thread.currentThread().getName().startsWith("BulkIntrospector-")) {
+                    contextClassLoaders.add(Thread.currentThread().getContextClassLoader());
+                }
+                return !new BulkIntrospector(classes.subList(0, 200)).getClasses(new ClassFilterBuilder().isInterface().build()).isEmpty() 
+                       && clazz.isInterface();
+            }
+        });
+        assertEquals(Arrays.<Class<?>>asList(Runnable.class, Map.class), new ArrayList<Class<?>>(interfaces));
+        assertTrue(contextClassLoaders.isEmpty() || contextClassLoaders.equals(Collections.singleton(null)));
+    }
+}
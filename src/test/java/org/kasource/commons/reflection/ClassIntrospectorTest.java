@@ -6,19 +6,29 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EventListener;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 import static org.easymock.classextension.EasyMock.*;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kasource.commons.reflection.filter.ClassFilterBuilder;
+import org.kasource.commons.reflection.filter.ConstructorFilterBuilder;
+import org.kasource.commons.reflection.filter.FieldFilterBuilder;
 import org.kasource.commons.reflection.filter.MethodFilterBuilder;
 import org.kasource.commons.reflection.filter.classes.ClassFilter;
 import org.kasource.commons.reflection.filter.constructors.ConstructorFilter;
@@ -252,6 +262,8 @@ public class ClassIntrospectorTest {
 	    assertTrue(anno1.contains(method2));
 	    assertEquals(1, anno2.size());
 	    assertTrue(anno2.contains(method3));
+	    anno2.clear();
+	    assertEquals(1, introspector.findAnnotatedMethods(null, annotations).get(MethodAnnotation2.class).size());
 	}
 	
 	@Test
@@ -272,6 +284,165 @@ public class ClassIntrospectorTest {
         assertTrue(anno2.contains(method3));
     }
 	
+	@Test
+    public void findAnnotatedMethodsInheritedFromInterface() throws SecurityException, NoSuchMethodException {
+        ClassIntrospector implementationIntrospector = new ClassIntrospector(MyImplementation.class);
+        Set<Class<? extends Annotation>> annotations = new HashSet<Class<? extends Annotation>>();
+        annotations.add(MethodAnnotation1.class);
+        Map<Class<? extends Annotation>, Set<Method>> map = implementationIntrospector.findAnnotatedMethods(null, annotations);
+        assertEquals(implementationIntrospector.getMethods(new MethodFilterBuilder().annotated(MethodAnnotation1.class).build()), 
+                     map.get(MethodAnnotation1.class));
+        assertTrue(map.get(MethodAnnotation1.class).contains(MyImplementation.class.getMethod("execute")));
+    }
+	
+	@Test
+	public void getCachedMethodsCachesResult() {
+	    Set<Method> methods = introspector.getCachedMethods(new MethodFilterBuilder().isPublic().annotated(MethodAnnotation1.class).build());
+	    assertEquals(1, methods.size());
+	    assertSame(methods, introspector.getCachedMethods(new MethodFilterBuilder().isPublic().annotated(MethodAnnotation1.class).build()));
+	}
+	
+	@Test
+	public void getMethodsReturnsModifiableCopy() {
+	    MethodFilter filter = new MethodFilterBuilder().isPublic().annotated(MethodAnnotation1.class).build();
+	    Set<Method> methods = introspector.getMethods(filter);
+	    assertEquals(introspector.getCachedMethods(filter), methods);
+	    methods.clear();
+	    assertEquals(1, introspector.getMethods(filter).size());
+	}
+	
+	@Test
+	public void getTypeHierarchy() {
+	    assertEquals(Arrays.asList(MyClass.class, MyBase.class, EventListener.class, Serializable.class, Runnable.class, Object.class), 
+	                 introspector.getTypeHierarchy());
+	}
+	
+	@Test
+	public void getInterfacesTypeHierarchy() {
+	    ClassIntrospector hierarchyIntrospector = new ClassIntrospector(MyHierarchyClass.class);
+	    ClassFilter all = new ClassFilterBuilder().isInterface().build();
+	    assertEquals(new ArrayList<Class<?>>(Arrays.asList(MyChildInterface.class, EventListener.class)), 
+	                 new ArrayList<Class<?>>(hierarchyIntrospector.getInterfaces(all)));
+	    assertEquals(new ArrayList<Class<?>>(Arrays.asList(MyChildInterface.class, MyParentInterface.class, EventListener.class)), 
+	                 new ArrayList<Class<?>>(hierarchyIntrospector.getInterfaces(all, HierarchyScope.TYPE_HIERARCHY)));
+	}
+	
+	@Test
+	public void getMethodsTypeHierarchy() throws SecurityException, NoSuchMethodException {
+	    ClassIntrospector hierarchyIntrospector = new ClassIntrospector(MyHierarchyClass.class);
+	    MethodFilter filter = new MethodFilterBuilder().name("parentMethod").build();
+	    assertTrue(hierarchyIntrospector.getMethods(filter).isEmpty());
+	    assertEquals(1, hierarchyIntrospector.getMethods(filter, HierarchyScope.TYPE_HIERARCHY).size());
+	    assertEquals(MyParentInterface.class.getMethod("parentMethod"), 
+	                 hierarchyIntrospector.getMethods(filter, HierarchyScope.TYPE_HIERARCHY).iterator().next());
+	}
+	
+	@Test
+	public void getFieldsTypeHierarchy() {
+	    ClassIntrospector hierarchyIntrospector = new ClassIntrospector(MyHierarchyClass.class);
+	    FieldFilter filter = new FieldFilterBuilder().name("CONSTANT").build();
+	    assertTrue(hierarchyIntrospector.getFields(filter).isEmpty());
+	    assertEquals(1, hierarchyIntrospector.getFields(filter, HierarchyScope.TYPE_HIERARCHY).size());
+	}
+	
+	@Test
+	public void iterateMethodsIsLazy() throws SecurityException, NoSuchMethodException {
+	    MethodFilter filter = new MethodFilterBuilder().name("oneParameter|superClassMethod").build();
+	    Iterator<Method> methods = introspector.iterateMethods(filter, HierarchyScope.SUPER_CLASSES).iterator();
+	    assertEquals(MyClass.class.getMethod("oneParameter", String.class), methods.next());
+	    assertEquals(MyBase.class.getMethod("superClassMethod", String.class), methods.next());
+	    assertFalse(methods.hasNext());
+	}
+	
+	@Test
+	public void getMethodMostSpecificFirst() throws SecurityException, NoSuchMethodException {
+	    ClassIntrospector overrideIntrospector = new ClassIntrospector(MyOverride.class);
+	    assertEquals(MyOverride.class.getMethod("run"), overrideIntrospector.getMethod(new MethodFilterBuilder().name("run").build()));
+	}
+	
+	@Test
+	public void iterateInterfacesDistinct() {
+	    ClassIntrospector overrideIntrospector = new ClassIntrospector(MyOverride.class);
+	    List<Class<?>> interfaces = new ArrayList<Class<?>>();
+	    for (Class<?> interfaceClass : overrideIntrospector.iterateInterfaces(new ClassFilterBuilder().isInterface().build(), 
+	                                                                           HierarchyScope.SUPER_CLASSES)) {
+	        interfaces.add(interfaceClass);
+	    }
+	    assertEquals(Arrays.asList(Runnable.class), interfaces);
+	    assertEquals(MyParentInterface.class, new ClassIntrospector(MyHierarchyClass.class)
+	                 .getInterface(new ClassFilterBuilder().name(".*Parent.*").build(), HierarchyScope.TYPE_HIERARCHY));
+	}
+	
+	@Test
+	public void getField() throws SecurityException, NoSuchFieldException {
+	    assertEquals(MyBase.class.getDeclaredField("superField"), introspector.getField(new FieldFilterBuilder().name("super.*").build()));
+	    assertNull(introspector.getField(new FieldFilterBuilder().name("noSuchField").build()));
+	}
+	
+	@Test
+	public void forEachMethod() throws SecurityException, NoSuchMethodException {
+	    final List<Method> visited = new ArrayList<Method>();
+	    introspector.forEachMethod(new MethodFilterBuilder().annotated(MethodAnnotation1.class).build(), new MemberVisitor<Method>() {
+	        @Override
+	        public boolean visit(Method method) {
+	            visited.add(method);
+	            return false;
+	        }
+	    });
+	    assertEquals(1, visited.size());
+	    assertEquals(2, introspector.countMethods(new MethodFilterBuilder().annotated(MethodAnnotation1.class).build(), 
+	                                              HierarchyScope.SUPER_CLASSES));
+	    assertTrue(introspector.hasMethod(new MethodFilterBuilder().annotated(MethodAnnotation2.class).build(), 
+	                                      HierarchyScope.SUPER_CLASSES));
+	    assertFalse(introspector.hasMethod(new MethodFilterBuilder().annotated(MethodAnnotation2.class).build(), 
+	                                       HierarchyScope.DECLARED));
+	}
+	
+	@Test
+	public void forEachFieldAndConstructor() {
+	    final List<Object> visited = new ArrayList<Object>();
+	    MemberVisitor<Object> visitor = new MemberVisitor<Object>() {
+	        @Override
+	        public boolean visit(Object member) {
+	            visited.add(member);
+	            return true;
+	        }
+	    };
+	    introspector.forEachField(new FieldFilterBuilder().isPrivate().build(), visitor);
+	    assertEquals(introspector.countFields(new FieldFilterBuilder().isPrivate().build(), HierarchyScope.SUPER_CLASSES), visited.size());
+	    visited.clear();
+	    introspector.forEachConstructor(new ConstructorFilterBuilder().isPublic().build(), visitor);
+	    assertEquals(2, visited.size());
+	    assertEquals(2, introspector.countConstructors(new ConstructorFilterBuilder().isPublic().build()));
+	}
+	
+	@Test
+	public void forEachMethodDoesNotAllocate() {
+	    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+	    assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+	    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+	    assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled());
+	    
+	    MethodFilter filter = new MethodFilterBuilder().isPublic().build();
+	    MemberVisitor<Method> visitor = new MemberVisitor<Method>() {
+	        @Override
+	        public boolean visit(Method method) {
+	            return true;
+	        }
+	    };
+	    for (int i = 0; i < 10000; i++) {
+	        introspector.forEachMethod(filter, visitor);
+	    }
+	    long threadId = Thread.currentThread().getId();
+	    long before = allocationBean.getThreadAllocatedBytes(threadId);
+	    for (int i = 0; i < 10000; i++) {
+	        introspector.forEachMethod(filter, visitor);
+	    }
+	    long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+	    // Allows for the allocations made by the measurement itself
+	    assertTrue("Allocated " + allocated + " bytes", allocated < 10000);
+	}
+	
 	@Target(ElementType.METHOD)
 	@Retention(RetentionPolicy.RUNTIME)
 	@interface MethodAnnotation1{}
@@ -292,6 +463,7 @@ public class ClassIntrospectorTest {
 	
 	
 	private static class MyClass extends MyBase implements EventListener, Serializable {
+	    private static final long serialVersionUID = 1L;
 	    private String name;
 	    private int age;
 	    
@@ -321,4 +493,31 @@ public class ClassIntrospectorTest {
 			
 		}
 	}
+	
+	private interface MyParentInterface {
+	    String CONSTANT = "constant";
+	    
+	    void parentMethod();
+	}
+	
+	private interface MyChildInterface extends MyParentInterface {
+	}
+	
+	private static abstract class MyHierarchyClass implements MyChildInterface, EventListener {
+	}
+	
+	private static class MyOverride extends MyBase implements Runnable {
+	    @Override
+	    public void run() {}
+	}
+	
+	private interface MyAnnotatedInterface {
+	    @MethodAnnotation1
+	    void execute();
+	}
+	
+	private static class MyImplementation implements MyAnnotatedInterface {
+	    @Override
+	    public void execute() {}
+	}
 }
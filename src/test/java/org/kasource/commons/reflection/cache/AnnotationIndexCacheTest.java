@@ -0,0 +1,89 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class AnnotationIndexCacheTest {
+
+    private AnnotationIndexCache cache = new AnnotationIndexCache();
+
+    @Test
+    public void getCachesIndex() {
+        AnnotationIndex index = cache.get(MyClass.class);
+        assertSame(index, cache.get(MyClass.class));
+        assertEquals(MyClass.class, index.getType());
+    }
+
+    @Test
+    public void methodsMostSpecificFirst() throws Exception {
+        AnnotationIndex index = cache.get(MyClass.class);
+        assertEquals(Arrays.asList(MyClass.class.getMethod("run"), MyBase.class.getMethod("stop")),
+                     Arrays.asList(index.getMethods(MyAnnotation.class).toArray()));
+        assertEquals(1, index.getMethods(MyOtherAnnotation.class).size());
+    }
+
+    @Test
+    public void fieldsAndConstructors() throws Exception {
+        AnnotationIndex index = cache.get(MyClass.class);
+        assertTrue(index.getFields(MyAnnotation.class).contains(MyBase.class.getDeclaredField("name")));
+        assertEquals(MyClass.class.getDeclaredConstructor(String.class), 
+                     index.getConstructors(MyAnnotation.class).iterator().next());
+    }
+
+    @Test
+    public void notPresent() {
+        AnnotationIndex index = cache.get(MyBase.class);
+        assertTrue(index.getMethods(MyOtherAnnotation.class).isEmpty());
+        assertTrue(index.getConstructors(MyAnnotation.class).isEmpty());
+    }
+
+    @Test
+    public void methodAnnotationInheritedFromInterface() throws Exception {
+        AnnotationIndex index = cache.get(MyImplementation.class);
+        assertEquals(Arrays.asList(MyImplementation.class.getMethod("execute")),
+                     Arrays.asList(index.getMethods(MyAnnotation.class).toArray()));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface MyAnnotation {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface MyOtherAnnotation {}
+
+    @SuppressWarnings("unused")
+    private static class MyBase {
+        @MyAnnotation
+        private String name;
+
+        @MyAnnotation
+        public void stop() {}
+    }
+
+    private static class MyClass extends MyBase {
+        public MyClass() {}
+
+        @MyAnnotation
+        public MyClass(String name) {}
+
+        @MyAnnotation
+        @MyOtherAnnotation
+        public void run() {}
+    }
+
+    private interface MyInterface {
+        @MyAnnotation
+        void execute();
+    }
+
+    private static class MyImplementation implements MyInterface {
+        @Override
+        public void execute() {}
+    }
+}
@@ -0,0 +1,75 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class AnnotationMaskCacheTest {
+
+    private AnnotationIdRegistry registry = AnnotationIdRegistry.getInstance();
+    private AnnotationMaskCache cache = AnnotationMaskCache.getInstance();
+
+    @Test
+    public void idsStable() {
+        int id = registry.getId(MyAnnotation.class);
+        assertEquals(id, registry.getId(MyAnnotation.class));
+        assertTrue(registry.getId(MyOtherAnnotation.class) != id);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void mask() {
+        AnnotationMask both = registry.getMask(MyAnnotation.class, MyOtherAnnotation.class);
+        AnnotationMask one = registry.getMask(MyAnnotation.class);
+        assertTrue(both.contains(registry.getId(MyAnnotation.class)));
+        assertTrue(both.containsAll(one));
+        assertFalse(one.containsAll(both));
+        assertEquals(both, registry.getMask(MyOtherAnnotation.class, MyAnnotation.class, MyAnnotation.class));
+        assertEquals(both.hashCode(), registry.getMask(MyOtherAnnotation.class, MyAnnotation.class).hashCode());
+        assertTrue(registry.getMask().isEmpty());
+        assertFalse(registry.getMask().contains(1000));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void memberMasks() throws NoSuchMethodException, NoSuchFieldException {
+        int id = registry.getId(MyAnnotation.class);
+        assertTrue(cache.getMask(MyClass.class).contains(id));
+        assertTrue(cache.getMask(MyClass.class.getDeclaredField("field")).contains(id));
+        assertTrue(cache.getMask(MyClass.class.getDeclaredConstructor()).isEmpty());
+        Method run = MyClass.class.getMethod("run");
+        // Merged from the interface
+        assertTrue(cache.getMask(run).containsAll(registry.getMask(MyAnnotation.class, MyOtherAnnotation.class)));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyAnnotation {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyOtherAnnotation {
+    }
+
+    private interface MyInterface {
+        @MyAnnotation
+        void run();
+    }
+
+    @MyAnnotation
+    private static class MyClass implements MyInterface {
+        @SuppressWarnings("unused")
+        @MyAnnotation
+        private String field;
+
+        @Override
+        @MyOtherAnnotation
+        public void run() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class AnnotationValueCacheTest {
+
+    @SuppressWarnings("unchecked")
+    private AnnotationValueCache cache = new AnnotationValueCache(MyAnnotation.class, MyParameter.class);
+
+    @Test
+    public void classValues() {
+        assertEquals("class", cache.getValues(MyClass.class, MyAnnotation.class).getString("value"));
+        assertNull(cache.getValues(MyInterface.class, MyParameter.class));
+    }
+
+    @Test
+    public void memberValues() throws NoSuchMethodException, NoSuchFieldException {
+        assertEquals("field", cache.getValues(MyClass.class.getDeclaredField("field"), MyAnnotation.class).getString("value"));
+        assertEquals("constructor", cache.getValues(MyClass.class.getDeclaredConstructor(String.class), MyAnnotation.class)
+                                         .getString("value"));
+        // Merged from the interface
+        Method method = MyClass.class.getMethod("run", String.class, int.class);
+        assertEquals("interface", cache.getValues(method, MyAnnotation.class).getString("value"));
+        assertSame(cache.getValues(method, MyAnnotation.class), cache.getValues(method, MyAnnotation.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void parameterValues() throws NoSuchMethodException {
+        AnnotationValues[] parameters = cache.getParameterValues(MyClass.class.getMethod("run", String.class, int.class), 
+                                                                 MyParameter.class);
+        assertEquals(2, parameters.length);
+        assertNull(parameters[0]);
+        assertEquals("count", parameters[1].getString("value"));
+        Constructor<?> constructor = MyClass.class.getDeclaredConstructor(String.class);
+        assertEquals("name", cache.getParameterValues(constructor, MyParameter.class)[0].getString("value"));
+        assertNull(cache.getParameterValues(constructor, MyAnnotation.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notRegistered() {
+        cache.getValues(MyClass.class, Retention.class);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyAnnotation {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyParameter {
+        String value();
+    }
+
+    private interface MyInterface {
+        @MyAnnotation("interface")
+        void run(String name, int count);
+    }
+
+    @MyAnnotation("class")
+    private static class MyClass implements MyInterface {
+        @SuppressWarnings("unused")
+        @MyAnnotation("field")
+        private String field;
+
+        @MyAnnotation("constructor")
+        MyClass(@MyParameter("name") String name) {
+        }
+
+        @Override
+        public void run(String name, @MyParameter("count") int count) {
+        }
+    }
+}
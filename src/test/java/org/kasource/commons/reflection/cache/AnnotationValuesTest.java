@@ -0,0 +1,73 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class AnnotationValuesTest {
+
+    private AnnotationValues values = AnnotationValues.of(MyClass.class.getAnnotation(MyAnnotation.class));
+
+    @Test
+    public void values() {
+        assertEquals(MyAnnotation.class, values.getAnnotationType());
+        assertEquals("name", values.getString("value"));
+        assertEquals(Integer.valueOf(5), values.get("count", Integer.class));
+        assertEquals(ElementType.TYPE, values.get("element", ElementType.class));
+        assertEquals(Arrays.asList("count", "element", "nested", "tags", "value"), 
+                     Arrays.asList(values.asMap().keySet().toArray()));
+    }
+
+    @Test
+    public void nestedAnnotationMaterialized() {
+        AnnotationValues[] nested = values.get("nested", AnnotationValues[].class);
+        assertEquals(1, nested.length);
+        assertEquals(MyNested.class, nested[0].getAnnotationType());
+        assertEquals("inner", nested[0].getString("value"));
+    }
+
+    @Test
+    public void arraysCopied() {
+        int[] tags = values.get("tags", int[].class);
+        assertArrayEquals(new int[] {1, 2}, tags);
+        tags[0] = 3;
+        assertNotSame(tags, values.get("tags"));
+        assertArrayEquals(new int[] {1, 2}, values.get("tags", int[].class));
+    }
+
+    @Test
+    public void toStringFormat() {
+        assertEquals("@" + MyAnnotation.class.getName() + "(count=5, element=TYPE, nested=[@" + MyNested.class.getName() 
+                     + "(value=inner)], tags=[1, 2], value=name)", values.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownAttribute() {
+        values.get("unknown");
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyNested {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyAnnotation {
+        String value();
+        int count() default 5;
+        ElementType element() default ElementType.TYPE;
+        int[] tags() default {1, 2};
+        MyNested[] nested() default {@MyNested("inner")};
+    }
+
+    @MyAnnotation("name")
+    private static class MyClass {
+    }
+}
@@ -0,0 +1,89 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ClassCacheTest {
+    
+    @Test
+    public void cacheSafeClass() {
+        MethodsCache cache = new MethodsCache(0);
+        List<Method> methods = cache.get(Unloadable.class);
+        assertSame(methods, cache.get(Unloadable.class));
+    }
+    
+    @Test
+    public void otherClassLoaderKeptWhileInUse() throws Exception {
+        MethodsCache cache = new MethodsCache(60000);
+        URLClassLoader classLoader = newClassLoader();
+        Class<?> clazz = classLoader.loadClass(Unloadable.class.getName());
+        assertNotSame(Unloadable.class, clazz);
+        List<Method> methods = cache.get(clazz);
+        assertSame(methods, cache.get(clazz));
+        assertEquals(1, cache.getMisses());
+    }
+    
+    @Test
+    public void otherClassLoaderCollectedWhenIdle() throws Exception {
+        MethodsCache cache = new MethodsCache(0);
+        WeakReference<ClassLoader> reference = loadAndCache(cache);
+        // Any access releases idle values
+        cache.get(String.class);
+        assertCollected(reference);
+    }
+    
+    @Test
+    public void clearClassLoader() throws Exception {
+        MethodsCache cache = new MethodsCache(60000);
+        URLClassLoader classLoader = newClassLoader();
+        cache.get(classLoader.loadClass(Unloadable.class.getName()));
+        cache.get(String.class);
+        cache.clear(classLoader);
+        assertEquals(1, cache.size());
+    }
+    
+    private WeakReference<ClassLoader> loadAndCache(MethodsCache cache) throws Exception {
+        URLClassLoader classLoader = newClassLoader();
+        cache.get(classLoader.loadClass(Unloadable.class.getName()));
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+    
+    private URLClassLoader newClassLoader() {
+        URL classes = Unloadable.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[] {classes}, null);
+    }
+    
+    private void assertCollected(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+    
+    private static class MethodsCache extends ClassCache<List<Method>> {
+        MethodsCache(long idleMillis) {
+            super(idleMillis);
+        }
+
+        @Override
+        protected List<Method> create(Class<?> clazz) {
+            return Arrays.asList(clazz.getDeclaredMethods());
+        }
+    }
+    
+    public static class Unloadable {
+        public void run() {}
+    }
+}
@@ -0,0 +1,66 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+public class ClassIdRegistryTest {
+
+    private ClassIdRegistry registry = new ClassIdRegistry();
+
+    @Test
+    public void idsAreDenseAndStable() {
+        assertEquals(-1, registry.findId(String.class));
+        assertEquals(0, registry.getId(String.class));
+        assertEquals(1, registry.getId(Integer.class));
+        assertEquals(0, registry.getId(String.class));
+        assertEquals(0, registry.findId(String.class));
+        assertSame(Integer.class, registry.getClass(1));
+        assertNull(registry.getClass(2));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void perClassLoader() {
+        int bootstrapId = registry.getId(String.class);
+        int applicationId = registry.getId(getClass());
+        assertTrue(bootstrapId != applicationId);
+        assertEquals(2, registry.getClassLoaderCount());
+    }
+
+    @Test
+    public void idsReclaimedWithClassLoader() throws Exception {
+        registry.getId(String.class);
+        int id = registerUnloadable();
+        int generation = registry.getGeneration(id);
+        awaitCollected();
+        assertEquals(generation + 1, registry.getGeneration(id));
+        assertNull(registry.getClass(id));
+        assertEquals(1, registry.size());
+        assertEquals(id, registry.getId(Integer.class));
+        assertEquals(generation + 1, registry.getGeneration(id));
+    }
+
+    private int registerUnloadable() throws Exception {
+        URL classes = Unloadable.class.getProtectionDomain().getCodeSource().getLocation();
+        URLClassLoader classLoader = new URLClassLoader(new URL[] {classes}, null);
+        return registry.getId(classLoader.loadClass(Unloadable.class.getName()));
+    }
+
+    private void awaitCollected() throws InterruptedException {
+        for (int i = 0; i < 50 && registry.getClassLoaderCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, registry.getClassLoaderCount());
+    }
+
+    public static class Unloadable {
+    }
+}
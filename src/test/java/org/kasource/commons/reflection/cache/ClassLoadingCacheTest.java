@@ -0,0 +1,78 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ClassLoadingCacheTest {
+
+    private ClassLoadingCache cache = new ClassLoadingCache();
+    private ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    public void forNameIsCached() throws ClassNotFoundException {
+        assertSame(String.class, cache.forName("java.lang.String", classLoader));
+        assertSame(String.class, cache.forName("java.lang.String", classLoader));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void missesAreCached() {
+        assertNull(cache.findClass("org.kasource.NoSuchClass", classLoader));
+        assertNull(cache.findClass("org.kasource.NoSuchClass", classLoader));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getNegativeHits());
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void forNameNotFound() throws ClassNotFoundException {
+        cache.findClass("org.kasource.NoSuchClass", classLoader);
+        cache.forName("org.kasource.NoSuchClass", classLoader);
+    }
+
+    @Test
+    public void perClassLoader() throws ClassNotFoundException {
+        cache.forName("java.lang.String", classLoader);
+        cache.forName("java.lang.String", null);
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void missesExpire() {
+        ClassLoadingCache expiringCache = new ClassLoadingCache(10, 0);
+        assertNull(expiringCache.findClass("org.kasource.NoSuchClass", classLoader));
+        assertNull(expiringCache.findClass("org.kasource.NoSuchClass", classLoader));
+        assertEquals(2, expiringCache.getMisses());
+        assertEquals(0, expiringCache.getNegativeHits());
+    }
+
+    @Test
+    public void namesPerClassLoaderAreBounded() throws ClassNotFoundException {
+        ClassLoadingCache boundedCache = new ClassLoadingCache(1, 1000);
+        boundedCache.forName("java.lang.String", classLoader);
+        boundedCache.forName("java.lang.Integer", classLoader);
+        boundedCache.forName("java.lang.String", classLoader);
+        assertEquals(3, boundedCache.getMisses());
+    }
+
+    @Test
+    public void clearClassLoader() {
+        cache.findClass("org.kasource.NoSuchClass", classLoader);
+        cache.clear(classLoader);
+        assertEquals(0, cache.size());
+        assertNull(cache.findClass("org.kasource.NoSuchClass", classLoader));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void clear() throws ClassNotFoundException {
+        cache.forName("java.lang.String", classLoader);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+    }
+}
@@ -0,0 +1,113 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class ClassMetadataCacheTest {
+
+    private ClassMetadataCache cache = new ClassMetadataCache();
+
+    @Test
+    public void getCachesMetadata() {
+        ClassMetadata metadata = cache.get(MyClass.class);
+        assertSame(metadata, cache.get(MyClass.class));
+        assertEquals(1, cache.getHits());
+        // MyClass, MyBase, Serializable and Object
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void declaredMembers() {
+        ClassMetadata metadata = cache.get(MyClass.class);
+        assertEquals(MyClass.class, metadata.getType());
+        assertEquals(new HashSet<Object>(Arrays.asList(MyClass.class.getDeclaredMethods())),
+                     new HashSet<Object>(metadata.getDeclaredMethods()));
+        assertEquals(new HashSet<Object>(Arrays.asList(MyClass.class.getDeclaredFields())),
+                     new HashSet<Object>(metadata.getDeclaredFields()));
+        assertEquals(MyClass.class.getDeclaredConstructors().length, metadata.getDeclaredConstructors().size());
+        assertEquals(Arrays.asList(Serializable.class), metadata.getInterfaces());
+    }
+
+    @Test
+    public void classHierarchy() {
+        ClassMetadata metadata = cache.get(MyClass.class);
+        assertEquals(Arrays.asList(MyClass.class, MyBase.class, Object.class), metadata.getClassHierarchy());
+        assertSame(cache.get(MyBase.class), metadata.getSuperclass());
+        assertNull(cache.get(Object.class).getSuperclass());
+    }
+
+    @Test
+    public void typeHierarchy() {
+        ClassMetadata metadata = cache.get(MyDiamond.class);
+        assertEquals(Arrays.asList(MyDiamond.class, MyLeft.class, MyRight.class, MyTop.class, Serializable.class, 
+                                         Object.class), metadata.getTypeHierarchy());
+        assertEquals(Arrays.asList(MyLeft.class, MyTop.class), cache.get(MyLeft.class).getTypeHierarchy());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void declaredMethodsAreUnmodifiable() {
+        cache.get(MyClass.class).getDeclaredMethods().set(0, null);
+    }
+
+    @Test
+    public void constructorsSortedByParameters() throws SecurityException, NoSuchMethodException {
+        ClassMetadata metadata = cache.get(MyConstructors.class);
+        assertEquals(Arrays.asList(MyConstructors.class.getDeclaredConstructor(),
+                    MyConstructors.class.getDeclaredConstructor(int.class),
+                    MyConstructors.class.getDeclaredConstructor(String.class),
+                    MyConstructors.class.getDeclaredConstructor(String.class, int.class)), 
+                    metadata.getDeclaredConstructors());
+    }
+
+    @Test
+    public void clear() {
+        cache.get(MyBase.class);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @SuppressWarnings({ "unused", "serial" })
+    private static class MyClass extends MyBase implements Serializable {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private interface MyTop {}
+
+    private interface MyLeft extends MyTop {}
+
+    private interface MyRight extends MyTop, Serializable {}
+
+    @SuppressWarnings("serial")
+    private static class MyDiamond implements MyLeft, MyRight {}
+
+    @SuppressWarnings("unused")
+    private static class MyConstructors {
+        MyConstructors(String name, int age) {}
+
+        MyConstructors(String name) {}
+
+        MyConstructors(int age) {}
+
+        MyConstructors() {}
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyBase {
+        private int age;
+
+        public void run() {}
+    }
+}
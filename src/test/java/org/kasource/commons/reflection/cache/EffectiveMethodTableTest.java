@@ -0,0 +1,117 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.Test;
+
+public class EffectiveMethodTableTest {
+    private EffectiveMethodTable table = EffectiveMethodTableCache.getInstance().get(MyClass.class);
+    
+    @Test
+    public void cached() {
+        assertSame(table, EffectiveMethodTableCache.getInstance().get(MyClass.class));
+    }
+    
+    @Test
+    public void overrideResolved() throws SecurityException, NoSuchMethodException {
+        assertEquals(MyClass.class.getDeclaredMethod("getValue"), table.getMethod("getValue"));
+        assertEquals(MyClass.class.getDeclaredMethod("toString"), table.getMethod("toString"));
+        assertEquals(Object.class.getDeclaredMethod("hashCode"), table.getMethod("hashCode"));
+        assertEquals(1, table.getMethods("getValue").size());
+    }
+    
+    @Test
+    public void bridgeMethodsCollapsed() throws SecurityException, NoSuchMethodException {
+        // MyClass.compareTo(MyClass) has a bridge compareTo(Object)
+        Method compareTo = MyClass.class.getDeclaredMethod("compareTo", MyClass.class);
+        assertEquals(compareTo, table.getMethod("compareTo", MyClass.class));
+        assertEquals(compareTo, table.getMethod("compareTo", Object.class));
+        assertEquals(1, table.getMethods("compareTo").size());
+        for (Method method : table.getMethods()) {
+            assertFalse(method.isBridge());
+        }
+    }
+    
+    @Test
+    public void privateSuperMethodsExcluded() {
+        assertNull(table.getMethod("reset"));
+        assertTrue(table.getMethod("init", int.class) != null);
+    }
+    
+    @Test
+    public void orderedBySignature() {
+        List<Method> methods = table.getMethods();
+        for (int i = 1; i < methods.size(); i++) {
+            assertTrue(methods.get(i - 1).getName().compareTo(methods.get(i).getName()) <= 0);
+        }
+    }
+    
+    @Test
+    public void slots() {
+        int slot = table.getSlot("setValue", String.class);
+        assertEquals(table.getMethod("setValue", String.class), table.getMethod(slot));
+        assertEquals(slot, table.getSlot("setValue", "(Ljava/lang/String;)"));
+        assertEquals(-1, table.getSlot("setValue", Integer.class));
+    }
+    
+    @Test
+    public void interfaceMethods() throws SecurityException, NoSuchMethodException {
+        EffectiveMethodTable abstractTable = EffectiveMethodTableCache.getInstance().get(MyAbstract.class);
+        assertEquals(MyInterface.class.getMethod("run"), abstractTable.getMethod("run"));
+    }
+    
+    @Test
+    public void parameterDescriptor() {
+        assertEquals("(Z[JLjava/lang/String;[[Ljava/lang/Object;IC)", 
+                     EffectiveMethodTable.getParameterDescriptor(boolean.class, long[].class, String.class, 
+                                                                 Object[][].class, int.class, char.class));
+    }
+    
+    private interface MyInterface {
+        void run();
+    }
+    
+    private abstract static class MyAbstract implements MyInterface {
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyBase {
+        public Object getValue() {
+            return null;
+        }
+        
+        public void setValue(String value) {
+        }
+        
+        private void reset() {
+        }
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyClass extends MyBase implements Comparable<MyClass> {
+        @Override
+        public String getValue() {
+            return null;
+        }
+        
+        private void init(int size) {
+        }
+        
+        @Override
+        public int compareTo(MyClass other) {
+            return 0;
+        }
+        
+        @Override
+        public String toString() {
+            return "MyClass";
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.cache.FilterResultCache.QueryType;
+import org.kasource.commons.reflection.filter.MethodFilterBuilder;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+
+public class FilterResultCacheTest {
+
+    private FilterResultCache cache = new FilterResultCache();
+
+    @Test
+    public void getResultWithEqualFilter() throws SecurityException, NoSuchMethodException {
+        Set<Method> methods = new HashSet<Method>();
+        methods.add(String.class.getMethod("length"));
+        MethodFilter filter = new MethodFilterBuilder().isPublic().name("length").build();
+        Set<Method> stored = cache.putResult(String.class, QueryType.METHODS, filter, methods);
+        assertSame(stored, cache.getResult(String.class, QueryType.METHODS, new MethodFilterBuilder().isPublic().name("length").build()));
+        assertEquals(1, cache.getResultHits());
+    }
+
+    @Test
+    public void getResultOtherQueryType() {
+        MethodFilter filter = new MethodFilterBuilder().isPublic().build();
+        cache.putResult(String.class, QueryType.METHODS, filter, new HashSet<Method>());
+        assertNull(cache.getResult(String.class, QueryType.DECLARED_METHODS, filter));
+        assertNull(cache.getResult(Integer.class, QueryType.METHODS, filter));
+        assertEquals(2, cache.getResultMisses());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void resultIsUnmodifiable() throws SecurityException, NoSuchMethodException {
+        Set<Method> stored = cache.putResult(String.class, QueryType.METHODS, new MethodFilterBuilder().isPublic().build(), new HashSet<Method>());
+        stored.add(String.class.getMethod("length"));
+    }
+}
@@ -0,0 +1,115 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class MergedAnnotationCacheTest {
+
+    private MergedAnnotationCache cache = MergedAnnotationCache.getInstance();
+
+    @Test
+    public void classAnnotationsMerged() {
+        assertEquals("class", cache.getAnnotation(MyClass.class, MyAnnotation.class).value());
+        assertEquals("interface", cache.getAnnotation(MyClass.class, MyOtherAnnotation.class).value());
+        assertEquals("base", cache.getAnnotation(MySubClass.class, MyAnnotation.class).value());
+        assertEquals("interface", cache.getAnnotation(MySubClass.class, MyOtherAnnotation.class).value());
+        assertEquals(2, cache.get(MyClass.class).getAnnotations().size());
+    }
+
+    @Test
+    public void interfaceMethodAnnotationMerged() throws NoSuchMethodException {
+        Method method = MyClass.class.getMethod("run");
+        assertEquals("interface", cache.getAnnotation(method, MyAnnotation.class).value());
+        assertTrue(cache.isAnnotationPresent(method, MyAnnotation.class));
+    }
+
+    @Test
+    public void overriddenMethodAnnotationMerged() throws NoSuchMethodException {
+        Method method = MySubClass.class.getMethod("run");
+        // Inherited from MyClass which implements MyInterface.run
+        assertEquals("interface", cache.getAnnotation(method, MyAnnotation.class).value());
+        assertEquals("sub", cache.getAnnotation(method, MyOtherAnnotation.class).value());
+        assertEquals(2, cache.getAnnotations(method).length);
+    }
+
+    @Test
+    public void nearestDeclarationTakesPrecedence() throws NoSuchMethodException {
+        assertEquals("class", cache.getAnnotation(MyClass.class.getMethod("stop"), MyAnnotation.class).value());
+    }
+
+    @Test
+    public void privateMethodsNotMerged() throws NoSuchMethodException {
+        Method method = MySubClass.class.getDeclaredMethod("hidden");
+        assertFalse(cache.isAnnotationPresent(method, MyAnnotation.class));
+        assertNull(cache.getAnnotation(method, MyOtherAnnotation.class));
+    }
+
+    @Test
+    public void cached() {
+        assertSame(cache.get(MySubClass.class), cache.get(MySubClass.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void methodNotDeclared() throws NoSuchMethodException {
+        cache.get(MySubClass.class).getAnnotations(MyClass.class.getMethod("stop"));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyAnnotation {
+        String value();
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyOtherAnnotation {
+        String value();
+    }
+
+    @MyAnnotation("interface")
+    @MyOtherAnnotation("interface")
+    private interface MyInterface {
+        @MyAnnotation("interface")
+        void run();
+
+        @MyAnnotation("interface")
+        void stop();
+    }
+
+    @MyAnnotation("class")
+    private static class MyClass implements MyInterface {
+        public void run() {
+        }
+
+        @MyAnnotation("class")
+        public void stop() {
+        }
+
+        @SuppressWarnings("unused")
+        @MyAnnotation("base")
+        private void hidden() {
+        }
+    }
+
+    @MyAnnotation("base")
+    private static class MyBase extends MyClass {
+    }
+
+    private static class MySubClass extends MyBase {
+        @Override
+        @MyOtherAnnotation("sub")
+        public void run() {
+        }
+
+        @SuppressWarnings("unused")
+        private void hidden() {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.Test;
+
+public class MetaAnnotationCacheTest {
+
+    private MetaAnnotationCache cache = new MetaAnnotationCache();
+
+    @Test
+    public void transitiveClosure() {
+        assertTrue(cache.get(MyComposed.class).contains(MyStereotype.class));
+        assertTrue(cache.get(MyComposed.class).contains(MyRoot.class));
+        assertTrue(cache.get(MyComposed.class).contains(Documented.class));
+        assertFalse(cache.get(MyComposed.class).contains(MyComposed.class));
+        assertFalse(cache.get(MyRoot.class).contains(MyStereotype.class));
+    }
+
+    @Test
+    public void cycles() {
+        // Documented, Retention and Target annotates each other and themselves
+        assertTrue(cache.get(Documented.class).contains(Documented.class));
+        assertTrue(cache.get(Retention.class).contains(Target.class));
+    }
+
+    @Test
+    public void getCachesClosure() {
+        assertSame(cache.get(MyComposed.class), cache.get(MyComposed.class));
+    }
+
+    @Test
+    public void isMetaAnnotated() throws Exception {
+        assertTrue(cache.isMetaAnnotated(MyClass.class.getDeclaredAnnotations(), MyRoot.class));
+        assertFalse(cache.isMetaAnnotated(MyClass.class.getDeclaredAnnotations(), Deprecated.class));
+    }
+
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface MyRoot {}
+
+    @MyRoot
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface MyStereotype {}
+
+    @MyStereotype
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface MyComposed {}
+
+    @MyComposed
+    private static class MyClass {}
+}
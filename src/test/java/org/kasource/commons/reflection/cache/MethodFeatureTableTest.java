@@ -0,0 +1,86 @@
+package org.kasource.commons.reflection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class MethodFeatureTableTest {
+
+    private MethodFeatureTable table = MethodFeatureTableCache.getInstance().get(MyClass.class);
+    
+    @Test
+    public void cached() {
+        assertSame(table, MethodFeatureTableCache.getInstance().get(MyClass.class));
+        assertSame(MyClass.class, table.getType());
+    }
+    
+    @Test
+    public void columns() throws SecurityException, NoSuchMethodException {
+        Method setName = MyClass.class.getMethod("setName", String.class, int.class);
+        int index = indexOf(setName);
+        assertEquals(2, table.getParameterCount(index));
+        assertEquals(Modifier.PUBLIC, table.getModifiers(index));
+        assertEquals(table.getTypeId(Void.TYPE), table.getReturnTypeId(index));
+        assertSame(String.class, table.getTypeById(table.getParameterTypeId(index, 0)));
+        assertSame(int.class, table.getTypeById(table.getParameterTypeId(index, 1)));
+    }
+    
+    @Test
+    public void typesInterned() throws SecurityException, NoSuchMethodException {
+        int getName = indexOf(MyClass.class.getMethod("getName"));
+        int toString = indexOf(MyClass.class.getMethod("toString"));
+        assertEquals(table.getReturnTypeId(getName), table.getReturnTypeId(toString));
+        assertEquals(-1, table.getTypeId(Thread.class));
+    }
+    
+    @Test
+    public void annotated() throws SecurityException, NoSuchMethodException {
+        BitSet deprecated = table.getAnnotated(Deprecated.class);
+        List<Method> methods = table.getMembers(deprecated);
+        // Object.finalize is deprecated in later JDKs
+        assertEquals(MyClass.class.getMethod("getName"), methods.get(0));
+        assertFalse(methods.contains(MyClass.class.getMethod("toString")));
+        assertTrue(table.getAnnotated(Test.class).isEmpty());
+        // Returns a copy
+        deprecated.clear();
+        assertEquals(methods.size(), table.getAnnotated(Deprecated.class).cardinality());
+    }
+    
+    @Test
+    public void includesSuperClassMethods() throws SecurityException, NoSuchMethodException {
+        assertTrue(indexOf(Object.class.getMethod("hashCode")) >= 0);
+        assertTrue(indexOf(MyClass.class.getMethod("getName")) < indexOf(Object.class.getMethod("hashCode")));
+    }
+    
+    private int indexOf(Method method) {
+        for (int i = 0; i < table.size(); i++) {
+            if (table.getMember(i).equals(method)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static class MyClass {
+        @Deprecated
+        public String getName() {
+            return null;
+        }
+        
+        public void setName(String name, int index) {
+        }
+        
+        @Override
+        public String toString() {
+            return "MyClass";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.kasource.commons.reflection.filter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AdaptiveOrderingTest {
+
+    @Test
+    public void initialOrder() {
+        assertArrayEquals(new int[] {0, 1, 2}, new AdaptiveOrdering(3).getOrder());
+    }
+    
+    @Test
+    public void sampleOnAverageEvery16th() {
+        AdaptiveOrdering ordering = new AdaptiveOrdering(1);
+        int samples = 0;
+        for (int i = 0; i < 160000; i++) {
+            if (ordering.sample()) {
+                samples++;
+            }
+        }
+        assertTrue(samples > 9000 && samples < 11000);
+    }
+    
+    @Test
+    public void sampleDoesNotAliasWithPeriodicInput() {
+        AdaptiveOrdering ordering = new AdaptiveOrdering(1);
+        int[] samplesPerPhase = new int[16];
+        for (int i = 0; i < 160000; i++) {
+            if (ordering.sample()) {
+                samplesPerPhase[i % 16]++;
+            }
+        }
+        for (int samples : samplesPerPhase) {
+            assertTrue(samples > 0);
+        }
+    }
+    
+    @Test
+    public void reorderBySelectivity() {
+        AdaptiveOrdering ordering = new AdaptiveOrdering(2);
+        for (int i = 0; i < 100; i++) {
+            ordering.record(0, true, 100);
+            ordering.record(1, i % 10 == 0, 100);
+        }
+        ordering.reorder();
+        assertArrayEquals(new int[] {1, 0}, ordering.getOrder());
+    }
+    
+    @Test
+    public void reorderByCost() {
+        AdaptiveOrdering ordering = new AdaptiveOrdering(2);
+        for (int i = 0; i < 100; i++) {
+            ordering.record(0, false, 1000);
+            ordering.record(1, false, 10);
+        }
+        ordering.reorder();
+        assertArrayEquals(new int[] {1, 0}, ordering.getOrder());
+    }
+    
+    @Test
+    public void unsampledFirst() {
+        AdaptiveOrdering ordering = new AdaptiveOrdering(2);
+        for (int i = 0; i < 100; i++) {
+            ordering.record(0, false, 10);
+        }
+        ordering.reorder();
+        assertArrayEquals(new int[] {1, 0}, ordering.getOrder());
+    }
+    
+    @Test
+    public void publishesNewArray() {
+        AdaptiveOrdering ordering = new AdaptiveOrdering(2);
+        int[] order = ordering.getOrder();
+        ordering.record(0, true, 10);
+        ordering.record(1, false, 10);
+        ordering.reorder();
+        assertArrayEquals(new int[] {0, 1}, order);
+        assertArrayEquals(new int[] {1, 0}, ordering.getOrder());
+    }
+}
@@ -0,0 +1,135 @@
+package org.kasource.commons.reflection.filter;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.cache.FieldFeatureTable;
+import org.kasource.commons.reflection.cache.FieldFeatureTableCache;
+import org.kasource.commons.reflection.cache.MethodFeatureTable;
+import org.kasource.commons.reflection.cache.MethodFeatureTableCache;
+import org.kasource.commons.reflection.filter.fields.FieldFilter;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+
+public class BulkFilterEvaluatorTest {
+    private MethodFeatureTable methods = MethodFeatureTableCache.getInstance().get(MyClass.class);
+    private FieldFeatureTable fields = FieldFeatureTableCache.getInstance().get(MyClass.class);
+    
+    @Test
+    public void getters() {
+        assertMethods(MethodFilterBuilder.FILTER_GETTERS);
+    }
+    
+    @Test
+    public void setters() {
+        assertMethods(MethodFilterBuilder.FILTER_SETTERS);
+    }
+    
+    @Test
+    public void methodFilters() {
+        assertMethods(new MethodFilterBuilder().isPublic().not().isStatic().numberOfParameters(1).build());
+        assertMethods(new MethodFilterBuilder().isProtected().or().isPrivate().build());
+        assertMethods(new MethodFilterBuilder().returnType(String.class).or().annotated(Deprecated.class).build());
+        assertMethods(new MethodFilterBuilder().hasSignature(String.class, int.class).build());
+        assertMethods(new MethodFilterBuilder().hasSignature().build());
+        assertMethods(new MethodFilterBuilder().hasSignature(Thread.class).build());
+        assertMethods(new MethodFilterBuilder().returnTypeExtends(Number.class).build());
+        assertMethods(new MethodFilterBuilder().not().name("get.*").adaptive().build());
+    }
+    
+    @Test
+    public void fieldFilters() {
+        assertFields(new FieldFilterBuilder().isPrivate().not().isStatic().build());
+        assertFields(new FieldFilterBuilder().annotated(Deprecated.class).or().extendsType(Number.class).build());
+        assertFields(new FieldFilterBuilder().superType(Integer.class).build());
+    }
+    
+    @Test
+    public void combine() {
+        BitSet getters = BulkFilterEvaluator.evaluate(MethodFilterBuilder.FILTER_GETTERS, methods);
+        getters.andNot(BulkFilterEvaluator.evaluate(new MethodFilterBuilder().annotated(Deprecated.class).build(), 
+                                                    methods));
+        assertEquals(methods.getMembers(getters), 
+                     passed(new MethodFilterBuilder().not().annotated(Deprecated.class).build(), 
+                            passed(MethodFilterBuilder.FILTER_GETTERS, methods.getMembers(all(methods.size())))));
+    }
+    
+    private void assertMethods(MethodFilter filter) {
+        BitSet result = BulkFilterEvaluator.evaluate(filter, methods);
+        assertEquals(passed(filter, methods.getMembers(all(methods.size()))), methods.getMembers(result));
+    }
+    
+    private void assertFields(FieldFilter filter) {
+        BitSet result = BulkFilterEvaluator.evaluate(filter, fields);
+        List<Field> expected = new ArrayList<Field>();
+        for (Field field : fields.getMembers(all(fields.size()))) {
+            if (filter.passFilter(field)) {
+                expected.add(field);
+            }
+        }
+        assertEquals(expected, fields.getMembers(result));
+    }
+    
+    private List<Method> passed(MethodFilter filter, List<Method> candidates) {
+        List<Method> passed = new ArrayList<Method>();
+        for (Method method : candidates) {
+            if (filter.passFilter(method)) {
+                passed.add(method);
+            }
+        }
+        return passed;
+    }
+    
+    private BitSet all(int size) {
+        BitSet all = new BitSet(size);
+        all.set(0, size);
+        return all;
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyBase {
+        protected Integer count;
+        
+        protected Integer getCount() {
+            return count;
+        }
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyClass extends MyBase {
+        private static final long MAX = 10;
+        @Deprecated
+        private String name;
+        private int index;
+        
+        @Deprecated
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public void setName(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+        
+        public boolean isNamed() {
+            return name != null;
+        }
+        
+        public static Long getMax() {
+            return MAX;
+        }
+        
+        private void reset() {
+        }
+    }
+}
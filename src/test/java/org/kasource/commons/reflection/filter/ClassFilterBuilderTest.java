@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.annotation.Retention;
@@ -24,6 +26,7 @@ import org.kasource.commons.reflection.filter.classes.IsPrimitiveClassFilter;
 import org.kasource.commons.reflection.filter.classes.IsSyntheticClassFilter;
 import org.kasource.commons.reflection.filter.classes.MetaAnnotatedClassFilter;
 import org.kasource.commons.reflection.filter.classes.ModifierClassFilter;
+import org.kasource.commons.reflection.filter.classes.ModifierMaskClassFilter;
 import org.kasource.commons.reflection.filter.classes.NameClassFilter;
 import org.kasource.commons.reflection.filter.classes.NegationClassFilter;
 import org.kasource.commons.reflection.filter.classes.OrClassFilter;
@@ -167,11 +170,17 @@ public class ClassFilterBuilderTest {
     
     @Test
     public void filterList() {
-        ClassFilter filter = builder.isPrivate().isStatic().build();
+        ClassFilter filter = builder.isPrivate().name("My.*").build();
         assertTrue(filter instanceof ClassFilterList);
        
     }
     
+    @Test
+    public void compileMergesModifiers() {
+        ClassFilter filter = builder.isPrivate().isStatic().build();
+        assertEquals(new ModifierMaskClassFilter(Modifier.PRIVATE | Modifier.STATIC, 0), filter);
+    }
+    
     @Test
     public void isDefault() {
         ClassFilter filter = builder.isDefault().build();
@@ -183,4 +192,13 @@ public class ClassFilterBuilderTest {
         ClassFilter filter = builder.byModifiers(Modifier.ABSTRACT).build();
         assertTrue(filter instanceof ModifierClassFilter);
     }
+    
+    @Test
+    public void equalFilters() {
+        ClassFilter filter = builder.isInterface().or().isEnum().annotated(Retention.class).build();
+        ClassFilter other = new ClassFilterBuilder().isInterface().or().isEnum().annotated(Retention.class).build();
+        assertEquals(filter, other);
+        assertEquals(filter.hashCode(), other.hashCode());
+        assertFalse(filter.equals(new ClassFilterBuilder().isInterface().build()));
+    }
 }
@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.annotation.Retention;
@@ -50,10 +52,17 @@ public class ConstructorFilterBuilderTest {
     
     @Test
     public void listTest() {
-    	ConstructorFilter filter = builder.isPublic().isPrivate().build();
+    	ConstructorFilter filter = builder.isPublic().numberOfParameters(0).build();
         assertTrue(filter instanceof ConstructorFilterList);
     }
     
+    @Test
+    public void compileFoldsContradictingModifiers() {
+    	ConstructorFilter filter = builder.isPublic().not().isPublic().build();
+        assertFalse(filter.passFilter(Object.class.getConstructors()[0]));
+        assertEquals(new NegationConstructorFilter(new ConstructorFilterList()), filter);
+    }
+    
     @Test
     public void isPublic() {
     	ConstructorFilter filter = builder.isPublic().build();
@@ -143,5 +152,13 @@ public class ConstructorFilterBuilderTest {
     	ConstructorFilter filter = builder.parametersTypesFilter(new NameClassFilter("Abstract.*")).build();
         assertTrue(filter instanceof ParameterClassFilterConstructorFilter);
     }
-
+    
+    @Test
+    public void equalFilters() {
+        ConstructorFilter filter = builder.isPublic().hasSignature(String.class, int.class).build();
+        ConstructorFilter other = new ConstructorFilterBuilder().isPublic().hasSignature(String.class, int.class).build();
+        assertEquals(filter, other);
+        assertEquals(filter.hashCode(), other.hashCode());
+        assertFalse(filter.equals(new ConstructorFilterBuilder().isPublic().hasSignature(String.class).build()));
+    }
 }
@@ -1,5 +1,7 @@
 package org.kasource.commons.reflection.filter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.annotation.Retention;
@@ -19,6 +21,7 @@ import org.kasource.commons.reflection.filter.fields.FieldFilterList;
 import org.kasource.commons.reflection.filter.fields.IsEnumConstantFieldFilter;
 import org.kasource.commons.reflection.filter.fields.MetaAnnotatedFieldFilter;
 import org.kasource.commons.reflection.filter.fields.ModifierFieldFilter;
+import org.kasource.commons.reflection.filter.fields.ModifierMaskFieldFilter;
 import org.kasource.commons.reflection.filter.fields.NameFieldFilter;
 import org.kasource.commons.reflection.filter.fields.NegationFieldFilter;
 import org.kasource.commons.reflection.filter.fields.OrFieldFilter;
@@ -146,8 +149,45 @@ public class FieldFilterBuilderTest {
     
     @Test
     public void listTest() {
-        FieldFilter filter = builder.isStatic().isFinal().build();
+        FieldFilter filter = builder.isStatic().name("[A-Z_]+").build();
         assertTrue(filter instanceof FieldFilterList);
     }
     
+    @Test
+    public void compileMergesModifiers() {
+        FieldFilter filter = builder.isStatic().isFinal().not().isPrivate().build();
+        assertEquals(new ModifierMaskFieldFilter(Modifier.STATIC | Modifier.FINAL, Modifier.PRIVATE), filter);
+    }
+    
+    @Test
+    public void equalFilters() {
+        FieldFilter filter = builder.isStatic().not().isFinal().extendsType(List.class).build();
+        FieldFilter other = new FieldFilterBuilder().isStatic().not().isFinal().extendsType(List.class).build();
+        assertEquals(filter, other);
+        assertEquals(filter.hashCode(), other.hashCode());
+        assertFalse(filter.equals(new FieldFilterBuilder().isStatic().build()));
+    }
+    
+    @Test
+    public void parameterizedField() throws SecurityException, NoSuchFieldException {
+        FieldFilter filter = builder.parameterizedField(MyStringHolder.class, List.class, String.class).build();
+        assertTrue(filter.passFilter(MyHolder.class.getDeclaredField("values")));
+        assertFalse(filter.passFilter(MyHolder.class.getDeclaredField("value")));
+    }
+    
+    @Test
+    public void genericType() throws SecurityException, NoSuchFieldException {
+        FieldFilter filter = builder.genericType(MyStringHolder.class, String.class).build();
+        assertTrue(filter.passFilter(MyHolder.class.getDeclaredField("value")));
+        assertFalse(filter.passFilter(MyHolder.class.getDeclaredField("values")));
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyHolder<T> {
+        private T value;
+        private List<T> values;
+    }
+    
+    private static class MyStringHolder extends MyHolder<String> {
+    }
 }
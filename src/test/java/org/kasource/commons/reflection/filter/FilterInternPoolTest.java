@@ -0,0 +1,37 @@
+package org.kasource.commons.reflection.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+import org.kasource.commons.reflection.filter.methods.NameMethodFilter;
+import org.kasource.commons.reflection.filter.methods.NumberOfParametersMethodFilter;
+
+public class FilterInternPoolTest {
+    private FilterInternPool pool = new FilterInternPool();
+    
+    @Test
+    public void internEqualFilters() {
+        MethodFilter filter = new NameMethodFilter("get.*");
+        assertSame(filter, pool.intern(filter));
+        assertSame(filter, pool.intern(new NameMethodFilter("get.*")));
+        assertEquals(1, pool.size());
+    }
+    
+    @Test
+    public void internDifferentFilters() {
+        MethodFilter filter = new NumberOfParametersMethodFilter(1);
+        MethodFilter other = new NumberOfParametersMethodFilter(2);
+        assertSame(filter, pool.intern(filter));
+        assertSame(other, pool.intern(other));
+        assertEquals(2, pool.size());
+    }
+    
+    @Test
+    public void clear() {
+        pool.intern(new NameMethodFilter("get.*"));
+        pool.clear();
+        assertEquals(0, pool.size());
+    }
+}
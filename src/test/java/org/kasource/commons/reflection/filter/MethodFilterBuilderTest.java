@@ -1,21 +1,29 @@
 package org.kasource.commons.reflection.filter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.annotation.Retention;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kasource.commons.reflection.filter.MethodFilterBuilder;
 import org.kasource.commons.reflection.filter.classes.NameClassFilter;
+import org.kasource.commons.reflection.filter.methods.AdaptiveMethodFilterList;
 import org.kasource.commons.reflection.filter.methods.AnnotatedMethodFilter;
+import org.kasource.commons.reflection.filter.methods.AnnotationMaskMethodFilter;
 import org.kasource.commons.reflection.filter.methods.AssignableFromMethodFilter;
 import org.kasource.commons.reflection.filter.methods.AssignableToMethodFilter;
 import org.kasource.commons.reflection.filter.methods.MetaAnnotatedMethodFilter;
 import org.kasource.commons.reflection.filter.methods.MethodFilter;
 import org.kasource.commons.reflection.filter.methods.MethodFilterList;
+import org.kasource.commons.reflection.filter.methods.ModifierMaskMethodFilter;
 import org.kasource.commons.reflection.filter.methods.ModifierMethodFilter;
 import org.kasource.commons.reflection.filter.methods.NameMethodFilter;
 import org.kasource.commons.reflection.filter.methods.NegationMethodFilter;
@@ -54,10 +62,46 @@ public class MethodFilterBuilderTest {
     
     @Test
     public void listTest() {
-        MethodFilter filter = builder.isPublic().isSynchronized().build();
+        MethodFilter filter = builder.isPublic().name("get.*").build();
         assertTrue(filter instanceof MethodFilterList);
     }
     
+    @Test
+    public void compileMergesModifiers() {
+        MethodFilter filter = builder.isPublic().isSynchronized().not().isStatic().build();
+        assertEquals(new ModifierMaskMethodFilter(Modifier.PUBLIC | Modifier.SYNCHRONIZED, Modifier.STATIC), filter);
+    }
+    
+    @Test
+    public void compileOrdersByCost() {
+        MethodFilter filter = builder.name("get.*").numberOfParameters(0).isPublic().build();
+        assertEquals(new MethodFilterList(new ModifierMethodFilter(Modifier.PUBLIC), 
+                                          new NumberOfParametersMethodFilter(0), 
+                                          new NameMethodFilter("get.*")), filter);
+    }
+    
+    @Test
+    public void compileFlattensOr() {
+        MethodFilter filter = builder.name("get.*").or().isPublic().or().isStatic().build();
+        assertEquals(new OrMethodFilter(new ModifierMethodFilter(Modifier.PUBLIC), 
+                                        new ModifierMethodFilter(Modifier.STATIC), 
+                                        new NameMethodFilter("get.*")), filter);
+    }
+    
+    @Test
+    public void compileMergesNames() {
+        MethodFilter filter = builder.name("get[A-Z]\\w*").or().name("is[A-Z]\\w*").or().isStatic().build();
+        assertEquals(new OrMethodFilter(new ModifierMethodFilter(Modifier.STATIC), 
+                                        new NameMethodFilter("get[A-Z]\\w*", "is[A-Z]\\w*")), filter);
+    }
+    
+    @Test
+    public void compileFoldsConstants() throws SecurityException, NoSuchMethodException {
+        MethodFilter filter = builder.isPublic().not().isPublic().name("to.*").build();
+        assertFalse(filter.passFilter(Object.class.getMethod("toString")));
+        assertEquals(new NegationMethodFilter(new MethodFilterList()), filter);
+    }
+    
     @Test
     public void isPublic() {
         MethodFilter filter = builder.isPublic().build();
@@ -113,6 +157,19 @@ public class MethodFilterBuilderTest {
         assertTrue(filter instanceof AnnotatedMethodFilter);
     }
 
+    @Test
+    public void annotatedMerged() throws SecurityException, NoSuchMethodException {
+        MethodFilter filter = builder.annotated(Retention.class).isPublic().annotated(Deprecated.class).build();
+        MethodFilterList list = (MethodFilterList) filter;
+        assertEquals(2, list.getFilters().length);
+        AnnotationMaskMethodFilter mask = (AnnotationMaskMethodFilter) list.getFilters()[1];
+        assertEquals(2, mask.getAnnotations().length);
+        assertEquals("annotated(@java.lang.Deprecated, @java.lang.annotation.Retention)", mask.toString());
+        assertFalse(filter.passFilter(Object.class.getMethod("toString")));
+        assertTrue(new MethodFilterBuilder().annotated(Deprecated.class).annotated(Deprecated.class).build() 
+                    instanceof AnnotatedMethodFilter);
+    }
+
     @Test
     public void metaAnnotated() {
         MethodFilter filter = builder.metaAnnotated(Retention.class).build();
@@ -179,5 +236,76 @@ public class MethodFilterBuilderTest {
         MethodFilter filter = builder.parametersTypesFilter(new NameClassFilter("Abstract.*")).build();
         assertTrue(filter instanceof ParameterClassMethodFilter);
     }
-
+    
+    @Test
+    public void equalFilters() {
+        MethodFilter filter = builder.isPublic().name("get[A-Z].*").or().name("is[A-Z].*").not().returnType(Void.TYPE).build();
+        MethodFilter other = new MethodFilterBuilder().isPublic().name("get[A-Z].*").or().name("is[A-Z].*").not().returnType(Void.TYPE).build();
+        assertEquals(filter, other);
+        assertEquals(filter.hashCode(), other.hashCode());
+        assertFalse(filter.equals(new MethodFilterBuilder().isPublic().name("get[A-Z].*").build()));
+    }
+    
+    @Test
+    public void adaptive() {
+        MethodFilter filter = builder.name("get[A-Z].*").returnType(String.class).adaptive().build();
+        assertTrue(filter instanceof AdaptiveMethodFilterList);
+        assertEquals(2, ((AdaptiveMethodFilterList) filter).getFilters().length);
+    }
+    
+    @Test
+    public void adaptiveSingleFilter() {
+        MethodFilter filter = builder.name("get[A-Z].*").adaptive().build();
+        assertTrue(filter instanceof NameMethodFilter);
+    }
+    
+    @Test
+    public void canonicalForm() {
+        MethodFilter filter = builder.annotated(Deprecated.class).name("get.*").annotated(Retention.class).build();
+        MethodFilter other = new MethodFilterBuilder().annotated(Retention.class).name("get.*")
+                    .annotated(Deprecated.class).annotated(Retention.class).build();
+        assertEquals(filter, other);
+        assertEquals(filter.toString(), other.toString());
+    }
+    
+    @Test
+    public void canonicalFormOfNames() {
+        MethodFilter filter = builder.name("a.*").or().name("b.*").or().name("a.*").build();
+        MethodFilter other = new MethodFilterBuilder().name("b.*").or().name("a.*").build();
+        assertEquals(filter, other);
+        assertEquals(filter.hashCode(), other.hashCode());
+        assertEquals("name[a.*, b.*]", other.toString());
+    }
+    
+    @Test
+    public void interned() {
+        MethodFilter filter = builder.isPublic().name("set[A-Z].*").numberOfParameters(1).build();
+        assertSame(filter, new MethodFilterBuilder().numberOfParameters(1).name("set[A-Z].*").isPublic().build());
+        assertNotSame(filter, new MethodFilterBuilder().isPublic().name("set[A-Z].*").numberOfParameters(1)
+                    .profile("interned").build());
+    }
+    
+    @Test
+    public void filterToString() {
+        MethodFilter filter = builder.isPublic().name("get.*").or().name("is.*").not().returnType(Void.TYPE).build();
+        assertEquals("and[modifier(public), not(returnType(void)), name[get.*, is.*]]", filter.toString());
+    }
+    
+    @Test
+    public void genericReturnType() throws SecurityException, NoSuchMethodException {
+        MethodFilter filter = builder.genericReturnType(MyStringList.class, String.class).build();
+        assertTrue(filter.passFilter(List.class.getMethod("get", int.class)));
+        assertFalse(filter.passFilter(List.class.getMethod("size")));
+    }
+    
+    @Test
+    public void genericSignature() throws SecurityException, NoSuchMethodException {
+        MethodFilter filter = builder.genericSignature(MyStringList.class, String.class).build();
+        assertTrue(filter.passFilter(List.class.getMethod("add", Object.class)));
+        assertFalse(filter.passFilter(List.class.getMethod("remove", Object.class)));
+    }
+    
+    @SuppressWarnings("serial")
+    private static class MyStringList extends ArrayList<String> {
+    }
 }
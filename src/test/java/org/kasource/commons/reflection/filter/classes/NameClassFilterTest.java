@@ -8,7 +8,6 @@ import org.junit.runner.RunWith;
 import org.kasource.commons.reflection.filter.classes.NameClassFilter;
 import org.unitils.UnitilsJUnit4TestClassRunner;
 import org.unitils.inject.annotation.TestedObject;
-import org.unitils.inject.util.InjectionUtils;
 
 @RunWith(UnitilsJUnit4TestClassRunner.class)
 public class NameClassFilterTest {
@@ -19,7 +18,7 @@ public class NameClassFilterTest {
     
     @Test
     public void passTrue() {
-        InjectionUtils.injectInto("java\\.lang\\..*", filter, "nameRegExp");
+        filter = new NameClassFilter("java\\.lang\\..*");
         assertTrue(filter.passFilter(String.class));
     }
     
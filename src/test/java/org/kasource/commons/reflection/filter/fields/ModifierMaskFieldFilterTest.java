@@ -0,0 +1,38 @@
+package org.kasource.commons.reflection.filter.fields;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.unitils.UnitilsJUnit4TestClassRunner;
+import org.unitils.inject.annotation.TestedObject;
+
+@RunWith(UnitilsJUnit4TestClassRunner.class)
+public class ModifierMaskFieldFilterTest {
+
+    @TestedObject
+    private ModifierMaskFieldFilter filter = new ModifierMaskFieldFilter(Modifier.STATIC, Modifier.PRIVATE);
+    
+    @Test
+    public void passTrue() throws SecurityException, NoSuchFieldException {
+        Field field = MyClass.class.getField("publicStatic");
+        assertTrue(filter.passFilter(field));
+    }
+    
+    @Test
+    public void passFalse() throws SecurityException, NoSuchFieldException {
+        assertFalse(filter.passFilter(MyClass.class.getDeclaredField("privateStatic")));
+        assertFalse(filter.passFilter(MyClass.class.getField("publicNumber")));
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public static int publicStatic;
+        private static int privateStatic;
+        public int publicNumber;
+    }
+}
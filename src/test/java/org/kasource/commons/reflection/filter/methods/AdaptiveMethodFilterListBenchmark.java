@@ -0,0 +1,68 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+/**
+ * Compares the adaptive order to a static order where the expensive, non selective
+ * filter is evaluated first.
+ * <p>
+ * Not part of the regular test run, the class name does not match the test includes of surefire.
+ * Run it manually, timings are printed and only the results are asserted.
+ **/
+public class AdaptiveMethodFilterListBenchmark {
+    private static final int ITERATIONS = 20000;
+
+    private MethodFilter slowPassing = new MethodFilter() {
+        @Override
+        public boolean passFilter(Method method) {
+            return method.getName().matches("[a-z]\\w*") && method.toGenericString().length() > 0;
+        }
+    };
+
+    private MethodFilter fastRejecting = new NumberOfParametersMethodFilter(0);
+
+    @Test
+    public void benchmarkAgainstStaticOrder() {
+        MethodFilter staticFilter = new MethodFilterList(slowPassing, fastRejecting);
+        MethodFilter adaptiveFilter = new AdaptiveMethodFilterList(slowPassing, fastRejecting);
+        Method[] methods = MyClass.class.getDeclaredMethods();
+        // Warm up
+        assertEquals(run(staticFilter, methods), run(adaptiveFilter, methods));
+
+        long start = System.nanoTime();
+        int staticPassed = run(staticFilter, methods);
+        long staticTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        int adaptivePassed = run(adaptiveFilter, methods);
+        long adaptiveTime = System.nanoTime() - start;
+
+        assertEquals(staticPassed, adaptivePassed);
+        System.out.println("AdaptiveMethodFilterList: static order " + staticTime / ITERATIONS
+                    + " ns/op, adaptive order " + adaptiveTime / ITERATIONS + " ns/op");
+    }
+
+    private int run(MethodFilter filter, Method[] methods) {
+        int passed = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (filter.passFilter(methods[i % methods.length])) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public void noParamters() {}
+
+        public void oneParamter(String value) {}
+
+        public void twoParamters(String value, int index) {}
+
+        public void threeParamters(String value, int index, int length) {}
+    }
+}
@@ -0,0 +1,74 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AdaptiveMethodFilterListTest {
+    private static final int ITERATIONS = 20000;
+    
+    private MethodFilter slowPassing = new MethodFilter() {
+        @Override
+        public boolean passFilter(Method method) {
+            return method.getName().matches("[a-z]\\w*") && method.toGenericString().length() > 0;
+        }
+    };
+    
+    private MethodFilter fastRejecting = new NumberOfParametersMethodFilter(0);
+    
+    @Test
+    public void passFilter() throws SecurityException, NoSuchMethodException {
+        AdaptiveMethodFilterList filter = new AdaptiveMethodFilterList(slowPassing, fastRejecting);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(filter.passFilter(MyClass.class.getMethod("noParamters")));
+            assertFalse(filter.passFilter(MyClass.class.getMethod("oneParamter", String.class)));
+        }
+    }
+    
+    @Test
+    public void emptyFilter() throws SecurityException, NoSuchMethodException {
+        assertTrue(new AdaptiveMethodFilterList().passFilter(MyClass.class.getMethod("noParamters")));
+    }
+    
+    @Test
+    public void equalFilters() {
+        AdaptiveMethodFilterList filter = new AdaptiveMethodFilterList(slowPassing, fastRejecting);
+        assertEquals(filter, new AdaptiveMethodFilterList(slowPassing, fastRejecting));
+        assertEquals(filter.hashCode(), new AdaptiveMethodFilterList(slowPassing, fastRejecting).hashCode());
+        assertFalse(filter.equals(new MethodFilterList(slowPassing, fastRejecting)));
+    }
+    
+    @Test
+    public void reordersSelectiveFilterFirst() throws SecurityException, NoSuchMethodException {
+        AdaptiveMethodFilterList filter = new AdaptiveMethodFilterList(slowPassing, fastRejecting);
+        Method[] methods = new Method[] {
+                    MyClass.class.getMethod("noParamters"),
+                    MyClass.class.getMethod("oneParamter", String.class),
+                    MyClass.class.getMethod("twoParamters", String.class, int.class),
+                    MyClass.class.getMethod("threeParamters", String.class, int.class, int.class)
+        };
+        // Fixed seed, the sequence is deterministic but not periodic
+        Random random = new Random(42);
+        for (int i = 0; i < ITERATIONS; i++) {
+            filter.passFilter(methods[random.nextInt(methods.length)]);
+        }
+        assertArrayEquals(new int[] {1, 0}, filter.getOrdering().getOrder());
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyClass {       
+        public void noParamters() {}
+        
+        public void oneParamter(String value) {}
+        
+        public void twoParamters(String value, int index) {}
+        
+        public void threeParamters(String value, int index, int length) {}
+    }
+}
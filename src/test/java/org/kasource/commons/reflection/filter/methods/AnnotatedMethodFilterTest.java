@@ -32,6 +32,12 @@ public class AnnotatedMethodFilterTest {
         assertFalse(filter.passFilter(method));
     }
     
+    @Test
+    public void passOverridden() throws SecurityException, NoSuchMethodException {
+        assertTrue(filter.passFilter(MySubClass.class.getMethod("annotated")));
+        assertTrue(filter.passFilter(MyImplementation.class.getMethod("run")));
+    }
+    
     @Target(ElementType.METHOD)
     @Retention(RetentionPolicy.RUNTIME)
     @interface MyAnnotation {
@@ -51,4 +57,25 @@ public class AnnotatedMethodFilterTest {
             
         }
     }
+    
+    private static class MySubClass extends MyClass {
+        
+        @Override
+        public void annotated() {
+            
+        }
+    }
+    
+    private interface MyInterface {
+        @MyAnnotation
+        void run();
+    }
+    
+    private static class MyImplementation implements MyInterface {
+        
+        @Override
+        public void run() {
+            
+        }
+    }
 }
@@ -31,12 +31,25 @@ public class MetaAnnotatedMethodFilterTest {
         assertFalse(filter.passFilter(method));
     }
     
+    @Test
+    public void passComposedAnnotation() throws SecurityException, NoSuchMethodException {
+        Method method = MyClass.class.getMethod("thirdMethod");
+        assertTrue(filter.passFilter(method));
+    }
+    
     @Target(ElementType.ANNOTATION_TYPE)
     @Retention(RetentionPolicy.RUNTIME)
     @interface SuperAnnotation{}
     
+    @MyAnnotation
+    @Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface MyComposedAnnotation {
+        
+    }
+    
     @SuperAnnotation
-    @Target(ElementType.METHOD)
+    @Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
     @Retention(RetentionPolicy.RUNTIME)
     @interface MyAnnotation {
         
@@ -50,5 +63,9 @@ public class MetaAnnotatedMethodFilterTest {
         
         @SuppressWarnings("unused")
         public void secondMethod(){}
+        
+        @MyComposedAnnotation
+        @SuppressWarnings("unused")
+        public void thirdMethod(){}
     }
 }
@@ -0,0 +1,47 @@
+package org.kasource.commons.reflection.filter.methods;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.unitils.UnitilsJUnit4TestClassRunner;
+import org.unitils.inject.annotation.TestedObject;
+
+@RunWith(UnitilsJUnit4TestClassRunner.class)
+public class ModifierMaskMethodFilterTest {
+
+    @TestedObject
+    private ModifierMaskMethodFilter filter = new ModifierMaskMethodFilter(Modifier.PUBLIC | Modifier.STATIC, Modifier.FINAL);
+    
+    @Test
+    public void passTrue() throws SecurityException, NoSuchMethodException {
+        Method method = MyClass.class.getMethod("publicStaticMethod");
+        assertTrue(filter.passFilter(method));
+    }
+    
+    @Test
+    public void passFalseMissingRequired() throws SecurityException, NoSuchMethodException {
+        Method method = MyClass.class.getMethod("publicMethod");
+        assertFalse(filter.passFilter(method));
+    }
+    
+    @Test
+    public void passFalseExcluded() throws SecurityException, NoSuchMethodException {
+        Method method = MyClass.class.getMethod("publicStaticFinalMethod");
+        assertFalse(filter.passFilter(method));
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public void publicMethod() {}
+        
+        public static void publicStaticMethod() {}
+        
+        public static final void publicStaticFinalMethod() {}
+    }
+    
+}
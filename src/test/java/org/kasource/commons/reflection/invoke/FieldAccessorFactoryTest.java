@@ -0,0 +1,71 @@
+package org.kasource.commons.reflection.invoke;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+public class FieldAccessorFactoryTest {
+
+    @Test
+    public void getAccessorIsCached() throws Exception {
+        Field field = MyClass.class.getDeclaredField("count");
+        FieldAccessor accessor = FieldAccessorFactory.getAccessor(field);
+        assertSame(accessor, FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("count")));
+        assertEquals(field, accessor.getField());
+    }
+
+    @Test
+    public void sharedFieldIsNotMadeAccessible() throws Exception {
+        Field field = MyClass.class.getDeclaredField("name");
+        FieldAccessor accessor = FieldAccessorFactory.getAccessor(field);
+        accessor.set(new MyClass(), "name");
+        assertFalse(field.isAccessible());
+        assertFalse(accessor.getField().isAccessible());
+    }
+
+    @Test
+    public void primitiveAccess() throws Exception {
+        MyClass myClass = new MyClass();
+        FieldAccessor count = FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("count"));
+        FieldAccessor total = FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("total"));
+        FieldAccessor ratio = FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("ratio"));
+        FieldAccessor enabled = FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("enabled"));
+        count.setInt(myClass, 5);
+        total.setLong(myClass, 10L);
+        ratio.setDouble(myClass, 0.5);
+        enabled.setBoolean(myClass, true);
+        assertEquals(5, count.getInt(myClass));
+        assertEquals(5L, count.getLong(myClass));
+        assertEquals(10L, total.getLong(myClass));
+        assertEquals(0.5, ratio.getDouble(myClass), 0.0);
+        assertTrue(enabled.getBoolean(myClass));
+        assertEquals(Integer.valueOf(5), count.get(myClass));
+    }
+
+    @Test
+    public void objectAccess() throws Exception {
+        MyClass myClass = new MyClass();
+        FieldAccessor name = FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("name"));
+        name.set(myClass, "name");
+        assertEquals("name", name.get(myClass));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPrimitiveType() throws Exception {
+        FieldAccessorFactory.getAccessor(MyClass.class.getDeclaredField("total")).getInt(new MyClass());
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        private int count;
+        private long total;
+        private double ratio;
+        private boolean enabled;
+        private String name;
+    }
+}
@@ -0,0 +1,93 @@
+package org.kasource.commons.reflection.invoke;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+public class MethodInvokerFactoryTest {
+
+    @Test
+    public void getInvokerIsCached() throws Exception {
+        MethodInvoker<String> invoker = MethodInvokerFactory.getInvoker(MyClass.class.getMethod("getName"), String.class);
+        assertSame(invoker, MethodInvokerFactory.getInvoker(MyClass.class.getMethod("getName"), String.class));
+        assertEquals(MyClass.class.getMethod("getName"), invoker.getMethod());
+    }
+
+    @Test
+    public void invoke() throws Exception {
+        MethodInvoker<String> invoker = MethodInvokerFactory.getInvoker(MyClass.class.getMethod("getName"), String.class);
+        assertEquals("name", invoker.invoke(new MyClass()));
+    }
+
+    @Test
+    public void invokePrivateMethod() throws Exception {
+        MethodInvoker<Integer> invoker = 
+            MethodInvokerFactory.getInvoker(MyClass.class.getDeclaredMethod("add", int.class, int.class), Integer.class);
+        assertEquals(Integer.valueOf(3), invoker.invoke(new MyClass(), 1, 2));
+        assertEquals(Integer.valueOf(5), invoker.invokeWithArguments(new MyClass(), 2, 3));
+    }
+
+    @Test
+    public void sharedMethodIsNotMadeAccessible() throws Exception {
+        Method add = MyClass.class.getDeclaredMethod("add", int.class, int.class);
+        MethodInvoker<Integer> invoker = MethodInvokerFactory.getInvoker(add, Integer.class);
+        assertEquals(Integer.valueOf(3), invoker.invoke(new MyClass(), 1, 2));
+        assertFalse(add.isAccessible());
+        assertFalse(invoker.getMethod().isAccessible());
+    }
+
+    @Test
+    public void invokeStaticMethod() throws Exception {
+        MethodInvoker<Object> invoker = MethodInvokerFactory.getInvoker(MyClass.class.getMethod("echo", Object.class));
+        assertEquals("echo", invoker.invoke(null, "echo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidReturnType() throws Exception {
+        MethodInvokerFactory.getInvoker(MyClass.class.getMethod("getName"), Integer.class);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void uncheckedExceptionIsRethrown() throws Exception {
+        MethodInvokerFactory.getInvoker(MyClass.class.getMethod("fail")).invoke(new MyClass());
+    }
+
+    @Test
+    public void checkedExceptionIsWrapped() throws Exception {
+        try {
+            MethodInvokerFactory.getInvoker(MyClass.class.getMethod("failChecked")).invoke(new MyClass());
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertEquals(IOException.class, e.getCause().getClass());
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public String getName() {
+            return "name";
+        }
+
+        private int add(int a, int b) {
+            return a + b;
+        }
+
+        public static Object echo(Object value) {
+            return value;
+        }
+
+        public void fail() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void failChecked() throws IOException {
+            throw new IOException();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.kasource.commons.reflection.profile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.kasource.commons.jmx.registration.MBeanRegistratorImpl;
+import org.kasource.commons.reflection.filter.MethodFilterBuilder;
+import org.kasource.commons.reflection.filter.methods.MethodFilter;
+
+public class FilterProfilerTest {
+
+    private FilterProfiler profiler = FilterProfiler.getInstance();
+
+    @After
+    public void clear() {
+        profiler.clear();
+    }
+
+    @Test
+    public void profileRecordsEachNode() {
+        MethodFilter filter = new MethodFilterBuilder().profile("getters").isPublic().name("get.*").build();
+        for (Method method : MyClass.class.getDeclaredMethods()) {
+            filter.passFilter(method);
+        }
+        FilterProfile profile = profiler.getProfile("getters");
+        assertEquals("AND", profile.getDescription());
+        assertEquals(3, profile.getInvocations());
+        assertEquals(1, profile.getPasses());
+        assertEquals(2, profile.getChildren().size());
+        FilterProfile modifier = profile.getChildren().get(0);
+        assertEquals(3, modifier.getInvocations());
+        assertEquals(2.0 / 3.0, modifier.getPassRate(), 0.001);
+        FilterProfile name = profile.getChildren().get(1);
+        assertEquals(2, name.getInvocations());
+        assertTrue(profile.getTotalNanos() >= name.getTotalNanos());
+    }
+
+    @Test
+    public void filtersBuiltAgainShareProfile() {
+        new MethodFilterBuilder().profile("getters").isPublic().name("get.*").build();
+        FilterProfile profile = profiler.getProfile("getters");
+        new MethodFilterBuilder().profile("getters").isPublic().name("get.*").build();
+        assertSame(profile, profiler.getProfile("getters"));
+        assertSame(profile.getChildren().get(1), profiler.getProfile("getters").getChildren().get(1));
+    }
+
+    @Test
+    public void report() throws Exception {
+        MethodFilter filter = new MethodFilterBuilder().profile("run").name("run").build();
+        filter.passFilter(MyClass.class.getMethod("run"));
+        profiler.reset();
+        filter.passFilter(MyClass.class.getMethod("run"));
+        String report = profiler.getReport();
+        assertTrue(report, report.startsWith("run:\n"));
+        assertTrue(report, report.contains("invocations=1 "));
+    }
+
+    @Test
+    public void registerMBean() throws Exception {
+        new MethodFilterBuilder().profile("run").name("run").build();
+        MBeanRegistratorImpl registrator = new MBeanRegistratorImpl();
+        registrator.initialize();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.kasource.commons:type=FilterProfiler");
+        registrator.register(profiler);
+        try {
+            assertEquals("run", ((String[]) server.getAttribute(name, "FilterNames"))[0]);
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class MyClass {
+        public String getName() {
+            return null;
+        }
+
+        public void run() {}
+
+        private String getSecret() {
+            return null;
+        }
+    }
+}
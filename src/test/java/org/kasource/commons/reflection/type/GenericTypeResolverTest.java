@@ -0,0 +1,119 @@
+package org.kasource.commons.reflection.type;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class GenericTypeResolverTest {
+    private GenericTypeResolver resolver = GenericTypeResolver.getInstance();
+    
+    @Test
+    public void resolveReturnType() throws SecurityException, NoSuchMethodException {
+        Method getValue = MyHolder.class.getMethod("getValue");
+        assertEquals(String.class, resolver.getReturnType(getValue, MyStringHolder.class));
+        assertTrue(resolver.getReturnType(getValue, MyHolder.class) instanceof TypeVariable);
+    }
+    
+    @Test
+    public void resolveThroughHierarchy() throws SecurityException, NoSuchMethodException {
+        Method getValues = MyHolder.class.getMethod("getValues");
+        assertEquals(GenericTypeResolver.parameterizedType(List.class, Integer.class), 
+                     resolver.getReturnType(getValues, MyIntegerHolder.class));
+        Method get = List.class.getMethod("get", int.class);
+        assertEquals(String.class, resolver.getReturnType(get, MyStringList.class));
+    }
+    
+    @Test
+    public void resolveParameterTypes() throws SecurityException, NoSuchMethodException {
+        Method setValues = MyHolder.class.getMethod("setValues", Map.class, Object[].class);
+        Type[] types = resolver.getParameterTypes(setValues, MyStringHolder.class);
+        assertEquals(GenericTypeResolver.parameterizedType(Map.class, String.class, String.class), types[0]);
+        assertEquals(String[].class, types[1]);
+    }
+    
+    @Test
+    public void resolveField() throws SecurityException, NoSuchFieldException {
+        Field values = MyHolder.class.getDeclaredField("values");
+        assertEquals(GenericTypeResolver.parameterizedType(List.class, String.class), 
+                     resolver.getType(values, MyStringHolder.class));
+    }
+    
+    @Test
+    public void unresolvedTypeIsSame() throws SecurityException, NoSuchFieldException {
+        Field values = MyHolder.class.getDeclaredField("values");
+        assertSame(values.getGenericType(), resolver.getType(values, MyHolder.class));
+    }
+    
+    @Test
+    public void equalToJdkTypes() throws SecurityException, NoSuchFieldException {
+        Type jdkType = MyStringHolder.class.getDeclaredField("names").getGenericType();
+        Type type = GenericTypeResolver.parameterizedType(List.class, String.class);
+        assertEquals(jdkType, type);
+        assertEquals(type, jdkType);
+        assertEquals(jdkType.hashCode(), type.hashCode());
+    }
+    
+    @Test
+    public void bindingsCached() {
+        assertSame(resolver.getBindings(MyStringHolder.class), resolver.getBindings(MyStringHolder.class));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void parameterizedTypeWrongNumberOfArguments() {
+        GenericTypeResolver.parameterizedType(Map.class, String.class);
+    }
+    
+    @Test
+    public void rawClass() {
+        assertEquals(List.class, GenericTypeResolver.getRawClass(GenericTypeResolver.parameterizedType(List.class, String.class)));
+        assertEquals(Object.class, GenericTypeResolver.getRawClass(MyHolder.class.getTypeParameters()[0]));
+    }
+    
+    @Test
+    public void typeName() {
+        assertEquals("java.util.Map<java.lang.String, java.lang.Integer[]>", 
+                     GenericTypeResolver.getTypeName(GenericTypeResolver.parameterizedType(Map.class, String.class, Integer[].class)));
+    }
+    
+    @SuppressWarnings("unused")
+    private static class MyHolder<T> {
+        private List<T> values;
+        
+        public T getValue() {
+            return null;
+        }
+        
+        public List<T> getValues() {
+            return values;
+        }
+        
+        public void setValues(Map<String, T> map, T[] array) {
+        }
+    }
+    
+    private static class MyStringHolder extends MyHolder<String> {
+        @SuppressWarnings("unused")
+        private List<String> names;
+    }
+    
+    private static class MyNumberHolder<N extends Number> extends MyHolder<N> {
+    }
+    
+    private static class MyIntegerHolder extends MyNumberHolder<Integer> {
+    }
+    
+    @SuppressWarnings("serial")
+    private static class MyStringList extends ArrayList<String> {
+    }
+}
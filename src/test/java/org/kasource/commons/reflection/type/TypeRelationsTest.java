@@ -0,0 +1,99 @@
+package org.kasource.commons.reflection.type;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TypeRelationsTest {
+    private TypeRelations relations = TypeRelations.getInstance();
+
+    @Test
+    public void isSubtype() {
+        assertTrue(relations.isSubtype(Integer.class, Number.class));
+        assertTrue(relations.isSubtype(Integer.class, Comparable.class));
+        assertTrue(relations.isSubtype(ArrayList.class, Iterable.class));
+        assertTrue(relations.isSubtype(List.class, Object.class));
+        assertTrue(relations.isSubtype(String.class, String.class));
+        assertFalse(relations.isSubtype(Number.class, Integer.class));
+        assertFalse(relations.isSubtype(String.class, Number.class));
+    }
+
+    @Test
+    public void matchesIsAssignableFrom() {
+        Class<?>[] types = {Object.class, String.class, Integer.class, Number.class, Comparable.class,
+                    List.class, ArrayList.class, Iterable.class, Serializable.class, Cloneable.class,
+                    int.class, long.class, int[].class, Object[].class, String[].class, Comparable[].class,
+                    Object[][].class, String[][].class, Serializable[].class};
+        for (Class<?> subtype : types) {
+            for (Class<?> supertype : types) {
+                assertEquals(subtype + " -> " + supertype, supertype.isAssignableFrom(subtype),
+                            relations.isSubtype(subtype, supertype));
+            }
+        }
+    }
+
+    @Test
+    public void distance() {
+        assertEquals(0, relations.getDistance(ArrayList.class, ArrayList.class));
+        assertEquals(1, relations.getDistance(ArrayList.class, List.class));
+        assertEquals(1, relations.getDistance(ArrayList.class, AbstractList.class));
+        assertEquals(2, relations.getDistance(ArrayList.class, Collection.class));
+        assertEquals(1, relations.getDistance(List.class, Object.class));
+        assertEquals(-1, relations.getDistance(ArrayList.class, Iterator.class));
+    }
+
+    @Test
+    public void supertypeOrder() {
+        Iterator<Class<?>> supertypes = relations.getSupertypes(MyCircle.class).getSupertypes().iterator();
+        assertEquals(MyCircle.class, supertypes.next());
+        assertEquals(MyRound.class, supertypes.next());
+        assertEquals(MyShape.class, supertypes.next());
+        assertEquals(MyDrawable.class, supertypes.next());
+        assertEquals(Object.class, supertypes.next());
+        assertFalse(supertypes.hasNext());
+    }
+
+    @Test
+    public void primitives() {
+        assertTrue(relations.isSubtype(int.class, int.class));
+        assertFalse(relations.isSubtype(int.class, Object.class));
+        assertEquals(1, relations.getSupertypes(int.class).getSupertypes().size());
+        assertNull(relations.getCommonSupertype(int.class, long.class));
+    }
+
+    @Test
+    public void commonSupertype() {
+        assertEquals(MyShape.class, relations.getCommonSupertype(MyCircle.class, MySquare.class));
+        assertEquals(MyDrawable.class, relations.getCommonSupertype(MyCircle.class, MyDrawable.class));
+        assertEquals(List.class, relations.getCommonSupertype(ArrayList.class, LinkedList.class));
+        assertEquals(List.class, relations.getCommonSupertype(ArrayList.class, List.class));
+        assertEquals(Object.class, relations.getCommonSupertype(String.class, Thread.class));
+        assertEquals(Object[].class, relations.getCommonSupertype(String[].class, Thread[].class));
+    }
+
+    private interface MyDrawable {
+    }
+
+    private interface MyRound extends MyDrawable {
+    }
+
+    private static class MyShape implements MyDrawable {
+    }
+
+    private static class MyCircle extends MyShape implements MyRound {
+    }
+
+    private static class MySquare extends MyShape {
+    }
+}
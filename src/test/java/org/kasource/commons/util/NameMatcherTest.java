@@ -0,0 +1,51 @@
+package org.kasource.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class NameMatcherTest {
+
+    private static final String[] NAMES = {"", "get", "getName", "getname", "get_Name", "getName$1", "is", "isValid", 
+                                           "com.example.MyClass", "com.example.MyClassMBean", "comxexample", "MyMXBean", 
+                                           "My\nMXBean", "set", "setX", "hasNext", "toString", "a", "aa", "ab", "]"};
+    
+    private static final String[] REG_EXPS = {"get", "get.*", "get.+", "get\\w*", "get\\w+", "get[A-Z]\\w*", "get[A-Z].*", 
+                                              "com\\.example\\.MyClass", "com\\.example\\..*", "com.example.*", ".*MXBean", 
+                                              ".*", "", "[a-c]", "a*", "a+b?", "is[A-Z]\\w*|has[A-Z]\\w*|get",
+                                              "(get|set)[A-Z]\\w*", "[^a-z].*", "[]]", "\\w+", "(?i)GET.*|set", "a\\.*"};
+    
+    @Test
+    public void matchesSameAsRegularExpression() {
+        for (String regExp : REG_EXPS) {
+            NameMatcher matcher = NameMatcher.compile(regExp);
+            for (String name : NAMES) {
+                assertEquals(regExp + " " + name, name.matches(regExp), matcher.matches(name));
+            }
+        }
+    }
+    
+    @Test
+    public void anyOfSameAsAlternation() {
+        NameMatcher matcher = NameMatcher.anyOf(REG_EXPS);
+        for (String name : NAMES) {
+            boolean expected = false;
+            for (String regExp : REG_EXPS) {
+                expected |= name.matches(regExp);
+            }
+            assertEquals(name, expected, matcher.matches(name));
+        }
+    }
+    
+    @Test
+    public void anyOfSharedPrefix() {
+        NameMatcher matcher = NameMatcher.anyOf("get[A-Z]\\w*", "getter", "ge", "g.*");
+        assertTrue(matcher.matches("getName"));
+        assertTrue(matcher.matches("getter"));
+        assertTrue(matcher.matches("ge"));
+        assertTrue(matcher.matches("gx"));
+        assertFalse(matcher.matches("xget"));
+    }
+}
@@ -3,6 +3,12 @@ package org.kasource.commons.util.reflection;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 import org.junit.Test;
 
 public class ConstructorUtilsTest {
@@ -17,6 +23,16 @@ public class ConstructorUtilsTest {
         List list = ConstructorUtils.getInstance("org.rikard.MyClass", List.class);
     }
     
+    @Test
+    public void getInstanceTestUnknownClassMessage() {
+        try {
+            ConstructorUtils.getInstance("org.rikard.MyClass", List.class);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().endsWith("Class not found."));
+        }
+    }
+    
     @Test(expected = ClassCastException.class)
     public void getInstanceTestWrongTypeClass() {
         List list = ConstructorUtils.getInstance("java.lang.Integer", List.class, new Class<?>[]{int.class}, new Object[]{5});
@@ -31,4 +47,22 @@ public class ConstructorUtilsTest {
     public void getInstanceOneParamWrongTypeTest() {
         Number number = ConstructorUtils.getInstance("java.lang.Integer", Number.class, new Class<?>[]{List.class}, new Object[]{new ArrayList<Integer>()});
     }
+    
+    @Test
+    public void getFactoryIsCached() {
+        InstanceFactory<CharSequence> factory = ConstructorUtils.getFactory("java.lang.StringBuilder", CharSequence.class);
+        assertSame(factory, ConstructorUtils.getFactory("java.lang.StringBuilder", CharSequence.class));
+        assertNotSame(factory.newInstance(), factory.newInstance());
+    }
+    
+    @Test
+    public void getFactoryOneParam() {
+        InstanceFactory<Number> factory = ConstructorUtils.getFactory("java.lang.Integer", Number.class, int.class);
+        assertEquals(5, factory.newInstance(5));
+    }
+    
+    @Test(expected = ClassCastException.class)
+    public void getFactoryWrongType() {
+        ConstructorUtils.getFactory("java.util.ArrayList", Number.class);
+    }
 }